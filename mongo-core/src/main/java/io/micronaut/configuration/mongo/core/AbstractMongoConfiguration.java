@@ -24,17 +24,28 @@ import com.mongodb.connection.SocketSettings;
 import com.mongodb.connection.SslSettings;
 import com.mongodb.event.CommandListener;
 import com.mongodb.event.ConnectionPoolListener;
+import com.mongodb.selector.CompositeServerSelector;
+import com.mongodb.selector.ServerSelector;
+import io.micronaut.configuration.mongo.core.bulkhead.BulkheadSettings;
+import io.micronaut.configuration.mongo.core.intern.InterningCodecRegistry;
+import io.micronaut.configuration.mongo.core.intern.StringInternSettings;
+import io.micronaut.configuration.mongo.core.monitor.MongoClientMonitor;
+import io.micronaut.configuration.mongo.core.select.LoadAwareServerSelector;
+import io.micronaut.configuration.mongo.core.select.ServerSelectionSettings;
 import io.micronaut.context.env.Environment;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.util.StringUtils;
 import io.micronaut.runtime.ApplicationConfiguration;
 import org.bson.codecs.Codec;
 import org.bson.codecs.configuration.CodecRegistry;
 
 import jakarta.validation.constraints.NotBlank;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Abstract Mongo configuration type.
@@ -47,6 +58,7 @@ public abstract class AbstractMongoConfiguration {
     private String uri;
 
     private final ApplicationConfiguration applicationConfiguration;
+    private final List<MongoClientMonitor> monitors = new CopyOnWriteArrayList<>();
     private List<Codec<?>> codecList = Collections.emptyList();
     private List<CodecRegistry> codecRegistries = Collections.emptyList();
     private List<CommandListener> commandListeners = Collections.emptyList();
@@ -55,6 +67,10 @@ public abstract class AbstractMongoConfiguration {
     private boolean automaticClassModels = true;
     private CodecRegistryBuilder codecRegistryBuilder;
     private boolean useSerde;
+    private boolean monitoringEnabled;
+    private String eventLoopGroup;
+    private boolean deploymentReplaced;
+    private LoadAwareServerSelector serverSelector;
 
     /**
      * Constructor.
@@ -178,6 +194,20 @@ public abstract class AbstractMongoConfiguration {
         }
     }
 
+    /**
+     * Points the configuration at another deployment. Unlike {@link #setUri(String)} the settings that belong to the
+     * previously configured deployment are dropped even if the new URI does not replace them: credentials, TLS, auto
+     * encryption, compressors, the server API and the replica set and SRV settings. The read preference, read and
+     * write concerns, retry settings and UUID representation are kept.
+     *
+     * @param uri The MongoDB URI of the deployment
+     */
+    public void replaceDeployment(String uri) {
+        setUri(uri);
+        getSslSettings().applySettings(SslSettings.builder().build());
+        deploymentReplaced = true;
+    }
+
     /**
      * The package names to allow for POJOs.
      *
@@ -250,6 +280,39 @@ public abstract class AbstractMongoConfiguration {
     public abstract SslSettings.Builder getSslSettings();
 
     /**
+     * Returns the default settings, which do not limit the operations. Configurations that bind the bulkhead
+     * settings override this method.
+     *
+     * @return The {@link BulkheadSettings#builder()}
+     */
+    public BulkheadSettings.Builder getBulkheadSettings() {
+        return BulkheadSettings.builder();
+    }
+
+    /**
+     * Returns the default settings, which keep the server selection of the driver. Configurations that bind the
+     * server selection settings override this method.
+     *
+     * @return The {@link ServerSelectionSettings#builder()}
+     */
+    public ServerSelectionSettings.Builder getServerSelectionSettings() {
+        return ServerSelectionSettings.builder();
+    }
+
+    /**
+     * Returns the default settings, which do not intern strings. Configurations that bind the string intern settings
+     * override this method.
+     *
+     * @return The {@link StringInternSettings#builder()}
+     */
+    public StringInternSettings.Builder getStringInternSettings() {
+        return StringInternSettings.builder();
+    }
+
+    /**
+     * Builds the settings of a client. If {@link #isMonitoringEnabled()} the settings carry a new
+     * {@link MongoClientMonitor}, so they are meant for a single client.
+     *
      * @return Builds the {@link MongoClientSettings}
      */
     public MongoClientSettings buildSettings() {
@@ -259,19 +322,67 @@ public abstract class AbstractMongoConfiguration {
         SocketSettings.Builder socketSettings = getSocketSettings();
         ServerSettings.Builder serverSettings = getServerSettings();
 
-        MongoClientSettings.Builder clientSettings = getClientSettings();
+        LoadAwareServerSelector loadAwareSelector = getServerSelector();
+
+        MongoClientMonitor monitor = monitoringEnabled ? new MongoClientMonitor(monitors) : null;
+        MongoClientSettings.Builder clientSettings = deploymentReplaced ? withoutDeployment(getClientSettings()) : getClientSettings();
         clientSettings.applicationName(getApplicationName());
-        clientSettings.applyToClusterSettings(builder -> builder.applySettings(clusterSettings.build()));
+        clientSettings.applyToClusterSettings(builder -> {
+            ClusterSettings cluster = clusterSettings.build();
+            builder.applySettings(cluster);
+            if (loadAwareSelector != null) {
+                ServerSelector configured = cluster.getServerSelector();
+                builder.serverSelector(configured == null ? loadAwareSelector : new CompositeServerSelector(List.of(configured, loadAwareSelector)));
+            }
+            if (monitor != null) {
+                builder.addClusterListener(monitor);
+            }
+        });
         clientSettings.applyToServerSettings(builder -> builder.applySettings(serverSettings.build()));
         clientSettings.applyToConnectionPoolSettings(builder -> {
             builder.applySettings(poolSettings.build());
             connectionPoolListeners.forEach(builder::addConnectionPoolListener);
+            if (loadAwareSelector != null) {
+                builder.addConnectionPoolListener(loadAwareSelector);
+            }
+            if (monitor != null) {
+                builder.addConnectionPoolListener(monitor);
+            }
         });
         clientSettings.applyToSocketSettings(builder -> builder.applySettings(socketSettings.build()));
         clientSettings.applyToSslSettings(builder -> builder.applySettings(sslSettings.build()));
-        clientSettings.codecRegistry(codecRegistryBuilder.build(this));
-        clientSettings.commandListenerList(commandListeners);
-        return clientSettings.build();
+        CodecRegistry codecRegistry = codecRegistryBuilder.build(this);
+        StringInternSettings stringInternSettings = getStringInternSettings().build();
+        if (stringInternSettings.isEnabled()) {
+            codecRegistry = InterningCodecRegistry.of(codecRegistry, stringInternSettings);
+        }
+        clientSettings.codecRegistry(codecRegistry);
+        if (monitor != null) {
+            List<CommandListener> listeners = new ArrayList<>(commandListeners.size() + 1);
+            listeners.addAll(commandListeners);
+            listeners.add(monitor);
+            clientSettings.commandListenerList(listeners);
+        } else {
+            clientSettings.commandListenerList(commandListeners);
+        }
+        MongoClientSettings settings = clientSettings.build();
+        if (monitor != null) {
+            monitor.setSettings(settings);
+        }
+        return settings;
+    }
+
+    private MongoClientSettings.Builder withoutDeployment(MongoClientSettings.Builder configured) {
+        MongoClientSettings settings = configured.build();
+        MongoClientSettings.Builder builder = MongoClientSettings.builder()
+            .readPreference(settings.getReadPreference())
+            .readConcern(settings.getReadConcern())
+            .writeConcern(settings.getWriteConcern())
+            .retryReads(settings.getRetryReads())
+            .retryWrites(settings.getRetryWrites())
+            .uuidRepresentation(settings.getUuidRepresentation());
+        getConnectionString().ifPresent(builder::applyConnectionString);
+        return builder;
     }
 
     /**
@@ -297,6 +408,72 @@ public abstract class AbstractMongoConfiguration {
         return applicationConfiguration.getName().orElse(Environment.DEFAULT_NAME);
     }
 
+    /**
+     * @return The name of the server the configuration belongs to
+     */
+    public String getServerName() {
+        return MongoSettings.DEFAULT_SERVER_NAME;
+    }
+
+    /**
+     * @return The monitors of the open clients created from this configuration, one per client, empty unless
+     * {@link #isMonitoringEnabled()}
+     */
+    public List<MongoClientMonitor> getMonitors() {
+        return Collections.unmodifiableList(monitors);
+    }
+
+    /**
+     * @return The selector that picks servers by their load, or null if the clients use the selection of the driver
+     */
+    @Nullable
+    public synchronized LoadAwareServerSelector getServerSelector() {
+        ServerSelectionSettings settings = getServerSelectionSettings().build();
+        if (!settings.isEnabled()) {
+            return null;
+        }
+        if (serverSelector == null || serverSelector.getMode() != settings.getMode()) {
+            serverSelector = new LoadAwareServerSelector(settings.getMode());
+        }
+        return serverSelector;
+    }
+
+    /**
+     * @return Whether the clients are monitored (defaults to false)
+     */
+    public boolean isMonitoringEnabled() {
+        return monitoringEnabled;
+    }
+
+    /**
+     * Whether to register the {@link MongoClientMonitor} that backs the <code>mongodb</code> management endpoint.
+     *
+     * @param monitoringEnabled True if the clients should be monitored
+     */
+    public void setMonitoringEnabled(boolean monitoringEnabled) {
+        this.monitoringEnabled = monitoringEnabled;
+    }
+
+    /**
+     * @return The name of the Micronaut Netty event loop group the Reactive Streams driver runs its connections on, or
+     * null to use the default asynchronous transport of the driver
+     */
+    @Nullable
+    public String getEventLoopGroup() {
+        return eventLoopGroup;
+    }
+
+    /**
+     * Sets the name of the Micronaut Netty event loop group, for example <code>default</code>, that the Reactive
+     * Streams driver runs its connections on instead of its own threads. The native transport is used if the event loop
+     * group prefers it and it is available. The synchronous driver is not affected.
+     *
+     * @param eventLoopGroup The name of the event loop group
+     */
+    public void setEventLoopGroup(@Nullable String eventLoopGroup) {
+        this.eventLoopGroup = eventLoopGroup;
+    }
+
     /**
      * @return useSerde
      */
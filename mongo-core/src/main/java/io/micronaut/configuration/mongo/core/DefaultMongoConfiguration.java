@@ -24,6 +24,9 @@ import com.mongodb.connection.SocketSettings;
 import com.mongodb.connection.SslSettings;
 import com.mongodb.event.CommandListener;
 import com.mongodb.event.ConnectionPoolListener;
+import io.micronaut.configuration.mongo.core.bulkhead.BulkheadSettings;
+import io.micronaut.configuration.mongo.core.intern.StringInternSettings;
+import io.micronaut.configuration.mongo.core.select.ServerSelectionSettings;
 import io.micronaut.context.annotation.ConfigurationBuilder;
 import io.micronaut.context.annotation.ConfigurationProperties;
 import io.micronaut.context.annotation.Requires;
@@ -65,6 +68,15 @@ public class DefaultMongoConfiguration extends AbstractMongoConfiguration {
     @ConfigurationBuilder(prefixes = "", configurationPrefix = "ssl")
     protected SslSettings.Builder sslSettings = SslSettings.builder();
 
+    @ConfigurationBuilder(prefixes = "", configurationPrefix = "bulkhead")
+    protected BulkheadSettings.Builder bulkheadSettings = BulkheadSettings.builder();
+
+    @ConfigurationBuilder(prefixes = "", configurationPrefix = "server-selection")
+    protected ServerSelectionSettings.Builder serverSelectionSettings = ServerSelectionSettings.builder();
+
+    @ConfigurationBuilder(prefixes = "", configurationPrefix = "string-intern")
+    protected StringInternSettings.Builder stringInternSettings = StringInternSettings.builder();
+
     /**
      * Constructor.
      * @param applicationConfiguration applicationConfiguration
@@ -183,6 +195,21 @@ public class DefaultMongoConfiguration extends AbstractMongoConfiguration {
         return sslSettings;
     }
 
+    @Override
+    public BulkheadSettings.Builder getBulkheadSettings() {
+        return bulkheadSettings;
+    }
+
+    @Override
+    public ServerSelectionSettings.Builder getServerSelectionSettings() {
+        return serverSelectionSettings;
+    }
+
+    @Override
+    public StringInternSettings.Builder getStringInternSettings() {
+        return stringInternSettings;
+    }
+
     @Override
     public String toString() {
         return "DefaultMongoConfiguration{" +
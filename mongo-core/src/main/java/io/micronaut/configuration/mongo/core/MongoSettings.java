@@ -32,10 +32,15 @@ public interface MongoSettings {
     String MONGODB_URI = PREFIX + ".uri";
 
     /**
-     * The MongoDB URI setting.
+     * Whether the in-process embedded MongoDB server is enabled.
      */
     String EMBEDDED = PREFIX + ".embedded.enabled";
 
+    /**
+     * Whether the synchronous and the Reactive Streams client of a server share one connection pool.
+     */
+    String BRIDGED = PREFIX + ".bridged.enabled";
+
     /**
      * The MongoDB host setting.
      */
@@ -44,6 +49,10 @@ public interface MongoSettings {
      * The MongoDB servers settings.
      */
     String MONGODB_SERVERS = PREFIX + ".servers";
+    /**
+     * The name of the default server.
+     */
+    String DEFAULT_SERVER_NAME = "default";
     /**
      * The default URI.
      */
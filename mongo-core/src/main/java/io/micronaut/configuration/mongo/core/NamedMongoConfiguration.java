@@ -23,6 +23,9 @@ import com.mongodb.connection.SocketSettings;
 import com.mongodb.connection.SslSettings;
 import com.mongodb.event.CommandListener;
 import com.mongodb.event.ConnectionPoolListener;
+import io.micronaut.configuration.mongo.core.bulkhead.BulkheadSettings;
+import io.micronaut.configuration.mongo.core.intern.StringInternSettings;
+import io.micronaut.configuration.mongo.core.select.ServerSelectionSettings;
 import io.micronaut.context.annotation.ConfigurationBuilder;
 import io.micronaut.context.annotation.EachProperty;
 import io.micronaut.context.annotation.Parameter;
@@ -61,6 +64,15 @@ public class NamedMongoConfiguration extends AbstractMongoConfiguration {
     @ConfigurationBuilder(prefixes = "", configurationPrefix = "ssl")
     protected SslSettings.Builder sslSettings = SslSettings.builder();
 
+    @ConfigurationBuilder(prefixes = "", configurationPrefix = "bulkhead")
+    protected BulkheadSettings.Builder bulkheadSettings = BulkheadSettings.builder();
+
+    @ConfigurationBuilder(prefixes = "", configurationPrefix = "server-selection")
+    protected ServerSelectionSettings.Builder serverSelectionSettings = ServerSelectionSettings.builder();
+
+    @ConfigurationBuilder(prefixes = "", configurationPrefix = "string-intern")
+    protected StringInternSettings.Builder stringInternSettings = StringInternSettings.builder();
+
     private final String serverName;
 
     /**
@@ -121,6 +133,7 @@ public class NamedMongoConfiguration extends AbstractMongoConfiguration {
     /**
      * @return The name of the server
      */
+    @Override
     public String getServerName() {
         return serverName;
     }
@@ -155,6 +168,21 @@ public class NamedMongoConfiguration extends AbstractMongoConfiguration {
         return sslSettings;
     }
 
+    @Override
+    public BulkheadSettings.Builder getBulkheadSettings() {
+        return bulkheadSettings;
+    }
+
+    @Override
+    public ServerSelectionSettings.Builder getServerSelectionSettings() {
+        return serverSelectionSettings;
+    }
+
+    @Override
+    public StringInternSettings.Builder getStringInternSettings() {
+        return stringInternSettings;
+    }
+
     @Override
     protected String getApplicationName() {
         String applicationName = super.getApplicationName();
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.batch;
+
+import com.mongodb.MongoClientSettings;
+import io.micronaut.configuration.mongo.core.intercept.MongoOperation;
+import io.micronaut.configuration.mongo.core.intercept.MongoOperationInterceptor;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.order.Ordered;
+import org.bson.BsonDocument;
+import org.bson.codecs.configuration.CodecConfigurationException;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base class of the interceptors applying the batch size picked by the {@link MongoBatchSizeAdvisor} to
+ * <code>find</code> and <code>aggregate</code> operations without a <code>batchSize</code> set by the caller.
+ *
+ * <p>The shape is derived from the filter or pipeline passed to the operation. Filters that cannot be encoded with
+ * the default codecs, for example ones holding entities, use the estimate of their collection.</p>
+ *
+ * @since 5.6.0
+ */
+public abstract class AbstractBatchSizeInterceptor implements MongoOperationInterceptor {
+
+    private static final CodecRegistry CODECS = MongoClientSettings.getDefaultCodecRegistry();
+
+    private final MongoBatchSizeAdvisor advisor;
+
+    /**
+     * @param advisor The advisor
+     */
+    protected AbstractBatchSizeInterceptor(MongoBatchSizeAdvisor advisor) {
+        this.advisor = advisor;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public void prepare(MongoOperation operation) {
+        if (operation.getCollectionName() == null || operation.getBatchSize() != 0 || !operation.supportsBatchSize()) {
+            return;
+        }
+        QueryShape shape = shape(operation);
+        if (shape != null) {
+            advisor.advise(shape).ifPresent(operation::batchSize);
+        }
+    }
+
+    @Nullable
+    private static QueryShape shape(MongoOperation operation) {
+        String namespace = operation.getDatabaseName() + "." + operation.getCollectionName();
+        String command = operation.getName();
+        try {
+            if (QueryShape.FIND.equals(command)) {
+                for (Object argument : operation.getArguments()) {
+                    if (argument instanceof Bson filter) {
+                        return QueryShape.find(namespace, filter.toBsonDocument(BsonDocument.class, CODECS));
+                    }
+                }
+                return QueryShape.find(namespace, null);
+            }
+            if (QueryShape.AGGREGATE.equals(command)) {
+                for (Object argument : operation.getArguments()) {
+                    if (argument instanceof List<?> pipeline) {
+                        List<BsonDocument> stages = new ArrayList<>(pipeline.size());
+                        for (Object stage : pipeline) {
+                            stages.add(((Bson) stage).toBsonDocument(BsonDocument.class, CODECS));
+                        }
+                        return QueryShape.aggregate(namespace, stages);
+                    }
+                }
+            }
+        } catch (CodecConfigurationException e) {
+            return QueryShape.of(namespace, command);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.batch;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The observed document size of a {@link QueryShape}. The average is exponentially weighted per batch so that it
+ * follows documents growing over time.
+ *
+ * @since 5.6.0
+ */
+public final class DocumentSizeEstimate {
+
+    private static final double WEIGHT = 0.2;
+    private static final long UNKNOWN = Double.doubleToRawLongBits(-1);
+
+    private final QueryShape shape;
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder documents = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final AtomicLong average = new AtomicLong(UNKNOWN);
+
+    DocumentSizeEstimate(QueryShape shape) {
+        this.shape = shape;
+    }
+
+    /**
+     * @return The query shape
+     */
+    public QueryShape getShape() {
+        return shape;
+    }
+
+    /**
+     * @return The number of batches observed
+     */
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    /**
+     * @return The number of documents observed
+     */
+    public long getDocuments() {
+        return documents.sum();
+    }
+
+    /**
+     * @return The total size of the documents observed in bytes
+     */
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    /**
+     * @return The weighted average document size in bytes or zero if no document was observed
+     */
+    public double getAverageSize() {
+        return Math.max(0, Double.longBitsToDouble(average.get()));
+    }
+
+    /**
+     * @param batchBytes     The size of the documents of a batch
+     * @param batchDocuments The number of documents of the batch, at least one
+     */
+    void record(long batchBytes, int batchDocuments) {
+        batches.increment();
+        documents.add(batchDocuments);
+        bytes.add(batchBytes);
+        double batchAverage = (double) batchBytes / batchDocuments;
+        average.getAndUpdate(bits -> {
+            double current = Double.longBitsToDouble(bits);
+            double updated = current < 0 ? batchAverage : current + WEIGHT * (batchAverage - current);
+            return Double.doubleToRawLongBits(updated);
+        });
+    }
+}
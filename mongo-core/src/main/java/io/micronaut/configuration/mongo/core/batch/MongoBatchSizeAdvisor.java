@@ -0,0 +1,266 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.batch;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.StringUtils;
+import jakarta.inject.Singleton;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Learns the average document size per {@link QueryShape} from the replies of the <code>find</code>,
+ * <code>aggregate</code> and <code>getMore</code> commands and picks the batch size that fills the target bytes per
+ * batch. As a {@link CommandListener} bean it is registered with every client.
+ *
+ * <p>Shapes with too few observed documents fall back to the estimate of all queries of the same command on the
+ * collection. Without either no batch size is picked and the server default applies.</p>
+ *
+ * @since 5.6.0
+ */
+@Singleton
+@Requires(property = MongoBatchSizeConfiguration.PREFIX + ".enabled", value = StringUtils.TRUE)
+public class MongoBatchSizeAdvisor implements CommandListener {
+
+    /**
+     * The largest reply the server sends, which bounds the bytes of a batch.
+     */
+    public static final long MAX_BATCH_BYTES = 16 * 1024 * 1024;
+
+    private static final String GET_MORE = "getMore";
+    private static final String KILL_CURSORS = "killCursors";
+    private static final int MAX_TRACKED_CURSORS = 10_000;
+    private static final BsonDocumentCodec CODEC = new BsonDocumentCodec();
+
+    private final MongoBatchSizeConfiguration configuration;
+    private final long targetBytes;
+    private final Map<QueryShape, DocumentSizeEstimate> shapes = new ConcurrentHashMap<>();
+    private final Map<QueryShape, DocumentSizeEstimate> collections = new ConcurrentHashMap<>();
+    private final Map<Integer, Pending> pending = new ConcurrentHashMap<>();
+    private final Map<Long, QueryShape> cursors = new ConcurrentHashMap<>();
+
+    /**
+     * @param configuration The configuration
+     */
+    public MongoBatchSizeAdvisor(MongoBatchSizeConfiguration configuration) {
+        this.configuration = configuration;
+        long heapBytes = (long) (Runtime.getRuntime().maxMemory() * configuration.getMaxHeapRatio());
+        this.targetBytes = Math.max(1, Math.min(configuration.getTargetBytes(), Math.min(heapBytes, MAX_BATCH_BYTES)));
+    }
+
+    /**
+     * @return The bytes per batch aimed for, that is the configured target bounded by the heap and reply size limits
+     */
+    public long getTargetBytes() {
+        return targetBytes;
+    }
+
+    /**
+     * @param shape The query shape
+     * @return The batch size for queries of the shape, empty if not enough documents were observed
+     */
+    public OptionalInt advise(QueryShape shape) {
+        DocumentSizeEstimate estimate = getEstimate(shape);
+        if (estimate == null) {
+            return OptionalInt.empty();
+        }
+        long batchSize = (long) (targetBytes / Math.max(1, estimate.getAverageSize()));
+        return OptionalInt.of((int) Math.max(configuration.getMinBatchSize(), Math.min(configuration.getMaxBatchSize(), batchSize)));
+    }
+
+    /**
+     * @param shape The query shape
+     * @return The estimate used for the shape, which is the one of its collection for rarely seen shapes, or null
+     */
+    @Nullable
+    public DocumentSizeEstimate getEstimate(QueryShape shape) {
+        DocumentSizeEstimate estimate = shapes.get(shape);
+        if (estimate != null && estimate.getDocuments() >= configuration.getMinDocuments()) {
+            return estimate;
+        }
+        estimate = collections.get(shape.getCollectionShape());
+        return estimate != null && estimate.getDocuments() >= configuration.getMinDocuments() ? estimate : null;
+    }
+
+    /**
+     * @return The estimates of all tracked query shapes
+     */
+    public Collection<DocumentSizeEstimate> getEstimates() {
+        List<DocumentSizeEstimate> estimates = new ArrayList<>(shapes.values());
+        estimates.addAll(collections.values());
+        return Collections.unmodifiableList(estimates);
+    }
+
+    /**
+     * Forgets all observed document sizes.
+     */
+    public void reset() {
+        shapes.clear();
+        collections.clear();
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String commandName = event.getCommandName();
+        BsonDocument command = event.getCommand();
+        long getMoreCursorId = 0;
+        QueryShape shape = switch (commandName) {
+            case QueryShape.FIND -> {
+                String namespace = namespace(event.getDatabaseName(), command.get(commandName));
+                yield namespace == null ? null : QueryShape.find(namespace, command.getDocument("filter", null));
+            }
+            case QueryShape.AGGREGATE -> {
+                String namespace = namespace(event.getDatabaseName(), command.get(commandName));
+                yield namespace == null ? null : QueryShape.aggregate(namespace, stages(command.getArray("pipeline", new BsonArray())));
+            }
+            case GET_MORE -> {
+                BsonValue cursorId = command.get(commandName);
+                if (cursorId == null || !cursorId.isNumber()) {
+                    yield null;
+                }
+                getMoreCursorId = cursorId.asNumber().longValue();
+                yield cursors.get(getMoreCursorId);
+            }
+            case KILL_CURSORS -> {
+                for (BsonValue cursorId : command.getArray("cursors", new BsonArray())) {
+                    if (cursorId.isNumber()) {
+                        cursors.remove(cursorId.asNumber().longValue());
+                    }
+                }
+                yield null;
+            }
+            default -> null;
+        };
+        if (shape != null) {
+            pending.put(event.getRequestId(), new Pending(shape, getMoreCursorId));
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        Pending command = pending.remove(event.getRequestId());
+        if (command == null) {
+            return;
+        }
+        QueryShape shape = command.shape;
+        BsonDocument cursor = event.getResponse().getDocument("cursor", null);
+        if (cursor == null) {
+            return;
+        }
+        boolean getMore = command.cursorId != 0;
+        BsonArray batch = cursor.getArray(getMore ? "nextBatch" : "firstBatch", new BsonArray());
+        if (!batch.isEmpty()) {
+            long bytes = 0;
+            for (BsonValue document : batch) {
+                bytes += sizeOf(document);
+            }
+            record(shape, bytes, batch.size());
+        }
+        long cursorId = cursor.getNumber("id").longValue();
+        if (cursorId == 0) {
+            if (getMore) {
+                cursors.remove(command.cursorId);
+            }
+        } else if (!getMore && cursors.size() < MAX_TRACKED_CURSORS) {
+            cursors.put(cursorId, shape);
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        Pending command = pending.remove(event.getRequestId());
+        if (command != null && command.cursorId != 0) {
+            cursors.remove(command.cursorId);
+        }
+    }
+
+    private void record(QueryShape shape, long bytes, int documents) {
+        QueryShape collectionShape = shape.getCollectionShape();
+        estimate(collections, collectionShape).record(bytes, documents);
+        if (collectionShape != shape) {
+            estimate(shapes, shape).record(bytes, documents);
+        }
+    }
+
+    private DocumentSizeEstimate estimate(Map<QueryShape, DocumentSizeEstimate> estimates, QueryShape shape) {
+        DocumentSizeEstimate estimate = estimates.get(shape);
+        if (estimate != null) {
+            return estimate;
+        }
+        if (estimates.size() >= configuration.getMaxShapes()) {
+            // too many shapes, the observation is not kept
+            return new DocumentSizeEstimate(shape);
+        }
+        return estimates.computeIfAbsent(shape, DocumentSizeEstimate::new);
+    }
+
+    @Nullable
+    private static String namespace(String databaseName, @Nullable BsonValue collection) {
+        // an aggregate of 1 runs against the database
+        return collection != null && collection.isString() ? databaseName + "." + collection.asString().getValue() : null;
+    }
+
+    private static List<BsonDocument> stages(BsonArray pipeline) {
+        List<BsonDocument> stages = new ArrayList<>(pipeline.size());
+        for (BsonValue stage : pipeline) {
+            if (stage.isDocument()) {
+                stages.add(stage.asDocument());
+            }
+        }
+        return stages;
+    }
+
+    private static long sizeOf(BsonValue document) {
+        if (document instanceof RawBsonDocument raw) {
+            return raw.getByteBuffer().remaining();
+        }
+        return document.isDocument() ? new RawBsonDocument(document.asDocument(), CODEC).getByteBuffer().remaining() : 0;
+    }
+
+    /**
+     * A command waiting for its reply.
+     */
+    private static final class Pending {
+
+        private final QueryShape shape;
+        private final long cursorId;
+
+        /**
+         * @param shape    The query shape
+         * @param cursorId The cursor of a <code>getMore</code> or zero
+         */
+        Pending(QueryShape shape, long cursorId) {
+            this.shape = shape;
+            this.cursorId = cursorId;
+        }
+    }
+}
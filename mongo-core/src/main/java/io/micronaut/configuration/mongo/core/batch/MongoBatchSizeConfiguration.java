@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.batch;
+
+import io.micronaut.configuration.mongo.core.MongoSettings;
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.convert.format.ReadableBytes;
+
+/**
+ * Configuration of the batch sizes picked from the observed document sizes. Cursors opened without an explicit
+ * <code>batchSize</code> receive one that fills about {@link #getTargetBytes()} per batch.
+ *
+ * @since 5.6.0
+ */
+@ConfigurationProperties(MongoBatchSizeConfiguration.PREFIX)
+public class MongoBatchSizeConfiguration {
+
+    /**
+     * The prefix of the batch size settings.
+     */
+    public static final String PREFIX = MongoSettings.PREFIX + ".batch-size";
+
+    /**
+     * The default number of bytes per batch.
+     */
+    public static final long DEFAULT_TARGET_BYTES = 1024 * 1024;
+
+    /**
+     * The default share of the maximum heap a single batch may use.
+     */
+    public static final double DEFAULT_MAX_HEAP_RATIO = 0.01;
+
+    /**
+     * The default smallest batch size picked.
+     */
+    public static final int DEFAULT_MIN_BATCH_SIZE = 10;
+
+    /**
+     * The default largest batch size picked.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 10_000;
+
+    /**
+     * The default number of documents observed before a batch size is picked.
+     */
+    public static final int DEFAULT_MIN_DOCUMENTS = 100;
+
+    /**
+     * The default number of query shapes tracked.
+     */
+    public static final int DEFAULT_MAX_SHAPES = 1000;
+
+    private boolean enabled;
+    private long targetBytes = DEFAULT_TARGET_BYTES;
+    private double maxHeapRatio = DEFAULT_MAX_HEAP_RATIO;
+    private int minBatchSize = DEFAULT_MIN_BATCH_SIZE;
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    private int minDocuments = DEFAULT_MIN_DOCUMENTS;
+    private int maxShapes = DEFAULT_MAX_SHAPES;
+
+    /**
+     * @return Whether batch sizes are picked from the observed document sizes (defaults to false)
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param enabled Whether batch sizes are picked from the observed document sizes
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return The number of bytes a batch should hold (defaults to 1MB)
+     */
+    public long getTargetBytes() {
+        return targetBytes;
+    }
+
+    /**
+     * @param targetBytes The number of bytes a batch should hold, for example <code>2MB</code>
+     */
+    public void setTargetBytes(@ReadableBytes long targetBytes) {
+        this.targetBytes = targetBytes;
+    }
+
+    /**
+     * @return The share of the maximum heap a single batch may use, which caps the target bytes on small heaps (defaults to 0.01)
+     */
+    public double getMaxHeapRatio() {
+        return maxHeapRatio;
+    }
+
+    /**
+     * @param maxHeapRatio The share of the maximum heap a single batch may use
+     */
+    public void setMaxHeapRatio(double maxHeapRatio) {
+        this.maxHeapRatio = maxHeapRatio;
+    }
+
+    /**
+     * @return The smallest batch size picked (defaults to 10)
+     */
+    public int getMinBatchSize() {
+        return minBatchSize;
+    }
+
+    /**
+     * @param minBatchSize The smallest batch size picked
+     */
+    public void setMinBatchSize(int minBatchSize) {
+        this.minBatchSize = minBatchSize;
+    }
+
+    /**
+     * @return The largest batch size picked (defaults to 10000)
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * @param maxBatchSize The largest batch size picked
+     */
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * @return The number of documents of a query shape observed before a batch size is picked for it (defaults to 100)
+     */
+    public int getMinDocuments() {
+        return minDocuments;
+    }
+
+    /**
+     * @param minDocuments The number of documents of a query shape observed before a batch size is picked for it
+     */
+    public void setMinDocuments(int minDocuments) {
+        this.minDocuments = minDocuments;
+    }
+
+    /**
+     * @return The number of query shapes tracked, further shapes fall back to the estimate of their collection (defaults to 1000)
+     */
+    public int getMaxShapes() {
+        return maxShapes;
+    }
+
+    /**
+     * @param maxShapes The number of query shapes tracked
+     */
+    public void setMaxShapes(int maxShapes) {
+        this.maxShapes = maxShapes;
+    }
+}
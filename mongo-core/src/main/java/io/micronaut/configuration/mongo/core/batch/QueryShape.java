@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.batch;
+
+import io.micronaut.core.annotation.Nullable;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+
+/**
+ * The shape of a query, that is its namespace, its command and the fields it filters on or the stages of its
+ * pipeline, without any values. Queries of the same shape usually return documents of a similar size.
+ *
+ * @since 5.6.0
+ */
+public final class QueryShape {
+
+    /**
+     * The command of queries.
+     */
+    public static final String FIND = "find";
+
+    /**
+     * The command of aggregations.
+     */
+    public static final String AGGREGATE = "aggregate";
+
+    private final String namespace;
+    private final String command;
+    private final String fields;
+
+    private QueryShape(String namespace, String command, String fields) {
+        this.namespace = namespace;
+        this.command = command;
+        this.fields = fields;
+    }
+
+    /**
+     * @param namespace The namespace, that is the database and collection name separated by a dot
+     * @param command   The command, {@link #FIND} or {@link #AGGREGATE}
+     * @return The shape covering all queries of the command on the namespace
+     */
+    public static QueryShape of(String namespace, String command) {
+        return new QueryShape(namespace, command, "");
+    }
+
+    /**
+     * @param namespace The namespace
+     * @param filter    The filter of the query or null
+     * @return The shape of the query
+     */
+    public static QueryShape find(String namespace, @Nullable BsonDocument filter) {
+        Set<String> fields = new TreeSet<>();
+        if (filter != null) {
+            collectFields(filter, fields);
+        }
+        return new QueryShape(namespace, FIND, String.join(",", fields));
+    }
+
+    /**
+     * @param namespace The namespace
+     * @param pipeline  The stages of the aggregation
+     * @return The shape of the aggregation
+     */
+    public static QueryShape aggregate(String namespace, List<BsonDocument> pipeline) {
+        StringJoiner stages = new StringJoiner(",");
+        for (BsonDocument stage : pipeline) {
+            if (stage.isEmpty()) {
+                continue;
+            }
+            String name = stage.getFirstKey();
+            BsonValue body = stage.get(name);
+            if ("$match".equals(name) && body.isDocument()) {
+                Set<String> fields = new TreeSet<>();
+                collectFields(body.asDocument(), fields);
+                stages.add(name + "(" + String.join(",", fields) + ")");
+            } else {
+                stages.add(name);
+            }
+        }
+        return new QueryShape(namespace, AGGREGATE, stages.toString());
+    }
+
+    /**
+     * @return The namespace, that is the database and collection name separated by a dot
+     */
+    public String getNamespace() {
+        return namespace;
+    }
+
+    /**
+     * @return The command, {@link #FIND} or {@link #AGGREGATE}
+     */
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * @return The fields filtered on or the stages of the pipeline, empty for the shape of a whole collection
+     */
+    public String getFields() {
+        return fields;
+    }
+
+    /**
+     * @return The shape covering all queries of the command on the namespace
+     */
+    public QueryShape getCollectionShape() {
+        return fields.isEmpty() ? this : of(namespace, command);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof QueryShape other)) {
+            return false;
+        }
+        return namespace.equals(other.namespace) && command.equals(other.command) && fields.equals(other.fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(namespace, command, fields);
+    }
+
+    @Override
+    public String toString() {
+        return namespace + "." + command + "[" + fields + "]";
+    }
+
+    private static void collectFields(BsonDocument filter, Set<String> fields) {
+        for (Map.Entry<String, BsonValue> entry : filter.entrySet()) {
+            String key = entry.getKey();
+            BsonValue value = entry.getValue();
+            if (!key.startsWith("$")) {
+                fields.add(key);
+            } else if (value.isArray()) {
+                // $and, $or and $nor combine filters
+                for (BsonValue element : (BsonArray) value) {
+                    if (element.isDocument()) {
+                        collectFields(element.asDocument(), fields);
+                    }
+                }
+            }
+        }
+    }
+}
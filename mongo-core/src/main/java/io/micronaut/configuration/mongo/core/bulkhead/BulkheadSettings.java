@@ -0,0 +1,131 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.bulkhead;
+
+import java.time.Duration;
+
+/**
+ * The bulkhead settings of a client, configured under <code>mongodb.bulkhead</code> or
+ * <code>mongodb.servers.[name].bulkhead</code>.
+ *
+ * @since 5.6.0
+ */
+public final class BulkheadSettings {
+
+    /**
+     * The default maximum number of operations waiting for a permit.
+     */
+    public static final int DEFAULT_MAX_WAITING = 500;
+
+    /**
+     * The default maximum time an operation waits for a permit.
+     */
+    public static final Duration DEFAULT_MAX_WAIT_TIME = Duration.ofSeconds(1);
+
+    private final int maxConcurrent;
+    private final int maxWaiting;
+    private final Duration maxWaitTime;
+
+    private BulkheadSettings(Builder builder) {
+        this.maxConcurrent = builder.maxConcurrent;
+        this.maxWaiting = builder.maxWaiting;
+        this.maxWaitTime = builder.maxWaitTime;
+    }
+
+    /**
+     * @return A new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return Whether the bulkhead is enabled, which is the case when the maximum number of concurrent operations is positive
+     */
+    public boolean isEnabled() {
+        return maxConcurrent > 0;
+    }
+
+    /**
+     * @return The maximum number of concurrent operations
+     */
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    /**
+     * @return The maximum number of operations waiting for a permit
+     */
+    public int getMaxWaiting() {
+        return maxWaiting;
+    }
+
+    /**
+     * @return The maximum time an operation waits for a permit
+     */
+    public Duration getMaxWaitTime() {
+        return maxWaitTime;
+    }
+
+    /**
+     * Builder of {@link BulkheadSettings}.
+     */
+    public static final class Builder {
+
+        private int maxConcurrent;
+        private int maxWaiting = DEFAULT_MAX_WAITING;
+        private Duration maxWaitTime = DEFAULT_MAX_WAIT_TIME;
+
+        private Builder() {
+        }
+
+        /**
+         * @param maxConcurrent The maximum number of concurrent operations, zero disables the bulkhead
+         * @return This builder
+         */
+        public Builder maxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = Math.max(0, maxConcurrent);
+            return this;
+        }
+
+        /**
+         * @param maxWaiting The maximum number of operations waiting for a permit
+         * @return This builder
+         */
+        public Builder maxWaiting(int maxWaiting) {
+            this.maxWaiting = Math.max(0, maxWaiting);
+            return this;
+        }
+
+        /**
+         * @param maxWaitTime The maximum time an operation waits for a permit
+         * @return This builder
+         */
+        public Builder maxWaitTime(Duration maxWaitTime) {
+            if (maxWaitTime != null) {
+                this.maxWaitTime = maxWaitTime;
+            }
+            return this;
+        }
+
+        /**
+         * @return The settings
+         */
+        public BulkheadSettings build() {
+            return new BulkheadSettings(this);
+        }
+    }
+}
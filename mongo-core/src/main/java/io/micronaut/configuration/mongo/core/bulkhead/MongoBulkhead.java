@@ -0,0 +1,190 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.bulkhead;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the number of concurrent operations of a client. Permits are handed out as futures so that waiting does not
+ * block a thread: the future of a waiting operation completes once another operation releases its permit. The state is
+ * guarded by a {@link ReentrantLock} rather than a monitor so that contended virtual threads do not pin their carrier.
+ *
+ * @since 5.6.0
+ */
+public final class MongoBulkhead {
+
+    private static final CompletableFuture<Void> PERMIT = CompletableFuture.completedFuture(null);
+
+    private final String serverName;
+    private final BulkheadSettings settings;
+    private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final ReentrantLock lock = new ReentrantLock();
+    private int active;
+
+    /**
+     * @param serverName The name of the server the client belongs to
+     * @param settings   The bulkhead settings
+     */
+    public MongoBulkhead(String serverName, BulkheadSettings settings) {
+        this.serverName = serverName;
+        this.settings = settings;
+    }
+
+    /**
+     * @return The name of the server the client belongs to
+     */
+    public String getServerName() {
+        return serverName;
+    }
+
+    /**
+     * @return The bulkhead settings
+     */
+    public BulkheadSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * @return The number of operations holding a permit
+     */
+    public int getActive() {
+        lock.lock();
+        try {
+            return active;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of operations waiting for a permit
+     */
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of permits handed out
+     */
+    public long getAcquired() {
+        return acquired.sum();
+    }
+
+    /**
+     * @return The number of operations that had to wait for a permit
+     */
+    public long getQueued() {
+        return queued.sum();
+    }
+
+    /**
+     * @return The number of operations rejected because too many operations were waiting or the wait timed out
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Acquires a permit. The returned future is complete if a permit is available, fails with a
+     * {@link MongoOperationRejectedException} if too many operations are waiting or completes once a permit is released.
+     * A permit must either be released with {@link #release()} or, if the caller stops waiting, abandoned with
+     * {@link #abandon(CompletableFuture)}.
+     *
+     * @return The future permit
+     */
+    public CompletableFuture<Void> acquire() {
+        lock.lock();
+        try {
+            if (active < settings.getMaxConcurrent()) {
+                active++;
+                acquired.increment();
+                return PERMIT;
+            }
+            if (waiters.size() < settings.getMaxWaiting()) {
+                CompletableFuture<Void> waiter = new CompletableFuture<>();
+                waiters.add(waiter);
+                queued.increment();
+                return waiter;
+            }
+        } finally {
+            lock.unlock();
+        }
+        rejected.increment();
+        return CompletableFuture.failedFuture(new MongoOperationRejectedException("Too many operations waiting for the bulkhead of MongoDB server [" + serverName + "]"));
+    }
+
+    /**
+     * Releases a permit, handing it to the longest waiting operation if any.
+     */
+    public void release() {
+        while (true) {
+            CompletableFuture<Void> next;
+            lock.lock();
+            try {
+                next = waiters.poll();
+                if (next == null) {
+                    active--;
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            // completing outside the lock as it runs the continuation of the waiting operation
+            if (next.complete(null)) {
+                acquired.increment();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stops waiting for a permit, releasing it if it was handed out in the meantime.
+     *
+     * @param permit The future permit returned by {@link #acquire()}
+     */
+    public void abandon(CompletableFuture<Void> permit) {
+        if (permit.cancel(false)) {
+            lock.lock();
+            try {
+                waiters.remove(permit);
+            } finally {
+                lock.unlock();
+            }
+            rejected.increment();
+        } else if (!permit.isCompletedExceptionally()) {
+            release();
+        }
+    }
+
+    /**
+     * @return The exception signalled when the wait for a permit times out
+     */
+    public MongoOperationRejectedException timeout() {
+        return new MongoOperationRejectedException("Timed out after " + settings.getMaxWaitTime().toMillis() + "ms waiting for the bulkhead of MongoDB server [" + serverName + "]");
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.bulkhead;
+
+import io.micronaut.configuration.mongo.core.MongoSettings;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.condition.Condition;
+import io.micronaut.context.condition.ConditionContext;
+import io.micronaut.context.env.Environment;
+
+/**
+ * Matches when a bulkhead is configured for any client or a rate limit exists, so that clients are only intercepted
+ * when needed.
+ *
+ * @since 5.6.0
+ */
+public final class MongoBulkheadCondition implements Condition {
+
+    private static final String BULKHEAD = "bulkhead";
+
+    @Override
+    public boolean matches(ConditionContext context) {
+        if (!(context.getBeanContext() instanceof ApplicationContext applicationContext)) {
+            return false;
+        }
+        Environment environment = applicationContext.getEnvironment();
+        if (environment.containsProperties(MongoSettings.PREFIX + "." + BULKHEAD) || environment.containsProperties(RateLimitConfiguration.PREFIX)) {
+            return true;
+        }
+        for (String server : environment.getPropertyEntries(MongoSettings.MONGODB_SERVERS)) {
+            if (environment.containsProperties(MongoSettings.MONGODB_SERVERS + "." + server + "." + BULKHEAD)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
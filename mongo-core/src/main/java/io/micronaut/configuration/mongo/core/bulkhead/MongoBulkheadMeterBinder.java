@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.bulkhead;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+/**
+ * Exports the statistics of the bulkheads and rate limits to Micrometer.
+ *
+ * @since 5.6.0
+ */
+@Singleton
+@Requires(classes = MeterBinder.class)
+@Requires(beans = MongoBulkheadRegistry.class)
+public class MongoBulkheadMeterBinder implements MeterBinder {
+
+    private static final String BULKHEAD = "mongodb.bulkhead";
+    private static final String RATE_LIMIT = "mongodb.rate-limit";
+
+    private final MongoBulkheadRegistry registry;
+
+    /**
+     * @param registry The bulkhead registry
+     */
+    public MongoBulkheadMeterBinder(MongoBulkheadRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        for (MongoBulkhead bulkhead : registry.getBulkheads()) {
+            String server = bulkhead.getServerName();
+            Gauge.builder(BULKHEAD + ".active", bulkhead, MongoBulkhead::getActive)
+                .description("The number of operations holding a permit")
+                .tag("server", server)
+                .register(meterRegistry);
+            Gauge.builder(BULKHEAD + ".waiting", bulkhead, MongoBulkhead::getWaiting)
+                .description("The number of operations waiting for a permit")
+                .tag("server", server)
+                .register(meterRegistry);
+            FunctionCounter.builder(BULKHEAD + ".acquired", bulkhead, MongoBulkhead::getAcquired)
+                .description("The number of permits handed out")
+                .tag("server", server)
+                .register(meterRegistry);
+            FunctionCounter.builder(BULKHEAD + ".queued", bulkhead, MongoBulkhead::getQueued)
+                .description("The number of operations that had to wait for a permit")
+                .tag("server", server)
+                .register(meterRegistry);
+            FunctionCounter.builder(BULKHEAD + ".rejected", bulkhead, MongoBulkhead::getRejected)
+                .description("The number of operations rejected by the bulkhead")
+                .tag("server", server)
+                .register(meterRegistry);
+        }
+        for (MongoRateLimiter limiter : registry.getRateLimiters()) {
+            String name = limiter.getName();
+            FunctionCounter.builder(RATE_LIMIT + ".permitted", limiter, MongoRateLimiter::getPermitted)
+                .description("The number of operations executed without delay")
+                .tag("name", name)
+                .register(meterRegistry);
+            FunctionCounter.builder(RATE_LIMIT + ".delayed", limiter, MongoRateLimiter::getDelayed)
+                .description("The number of operations delayed by the rate limit")
+                .tag("name", name)
+                .register(meterRegistry);
+            FunctionCounter.builder(RATE_LIMIT + ".rejected", limiter, MongoRateLimiter::getRejected)
+                .description("The number of operations rejected by the rate limit")
+                .tag("name", name)
+                .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.bulkhead;
+
+import io.micronaut.configuration.mongo.core.AbstractMongoConfiguration;
+import io.micronaut.configuration.mongo.core.deadline.AbstractDeadlineInterceptor;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the bulkheads of all clients and the configured rate limits.
+ *
+ * @since 5.6.0
+ */
+@Singleton
+@Requires(condition = MongoBulkheadCondition.class)
+public class MongoBulkheadRegistry {
+
+    /**
+     * The order of the bulkhead interceptors, which run after the deadline interceptors.
+     */
+    public static final int INTERCEPTOR_ORDER = AbstractDeadlineInterceptor.ORDER + 100;
+
+    private static final Logger LOG = LoggerFactory.getLogger(MongoBulkheadRegistry.class);
+
+    private final Map<String, MongoBulkhead> bulkheads = new HashMap<>();
+    private final List<MongoRateLimiter> rateLimiters = new ArrayList<>();
+
+    /**
+     * @param configurations The client configurations
+     * @param rateLimits     The rate limit configurations
+     */
+    public MongoBulkheadRegistry(List<AbstractMongoConfiguration> configurations, List<RateLimitConfiguration> rateLimits) {
+        for (AbstractMongoConfiguration configuration : configurations) {
+            BulkheadSettings settings = configuration.getBulkheadSettings().build();
+            if (settings.isEnabled()) {
+                bulkheads.put(configuration.getServerName(), new MongoBulkhead(configuration.getServerName(), settings));
+            }
+        }
+        for (RateLimitConfiguration rateLimit : rateLimits) {
+            if (rateLimit.getRate() > 0) {
+                rateLimiters.add(new MongoRateLimiter(rateLimit));
+            } else if (LOG.isWarnEnabled()) {
+                LOG.warn("Ignoring MongoDB rate limit [{}] without a positive rate", rateLimit.getName());
+            }
+        }
+    }
+
+    /**
+     * @param serverName The server name
+     * @return The bulkhead of the client or null if the client has none
+     */
+    @Nullable
+    public MongoBulkhead getBulkhead(String serverName) {
+        return bulkheads.get(serverName);
+    }
+
+    /**
+     * @return The bulkheads of all clients
+     */
+    public Collection<MongoBulkhead> getBulkheads() {
+        return Collections.unmodifiableCollection(bulkheads.values());
+    }
+
+    /**
+     * @return The rate limiters
+     */
+    public List<MongoRateLimiter> getRateLimiters() {
+        return Collections.unmodifiableList(rateLimiters);
+    }
+}
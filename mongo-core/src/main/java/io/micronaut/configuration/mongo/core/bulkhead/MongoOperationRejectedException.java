@@ -0,0 +1,33 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.bulkhead;
+
+import com.mongodb.MongoClientException;
+
+/**
+ * Signals an operation rejected by a bulkhead or rate limit.
+ *
+ * @since 5.6.0
+ */
+public class MongoOperationRejectedException extends MongoClientException {
+
+    /**
+     * @param message The message
+     */
+    public MongoOperationRejectedException(String message) {
+        super(message);
+    }
+}
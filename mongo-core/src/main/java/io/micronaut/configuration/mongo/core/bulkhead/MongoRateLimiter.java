@@ -0,0 +1,150 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.bulkhead;
+
+import io.micronaut.configuration.mongo.core.intercept.MongoOperation;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A token bucket limiting the rate of the operations matching a {@link RateLimitConfiguration}. Tokens are reserved
+ * rather than waited for, so that callers decide how to delay the operation.
+ *
+ * @since 5.6.0
+ */
+public final class MongoRateLimiter {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimitConfiguration configuration;
+    private final double tokensPerNano;
+    private final int burst;
+    private final long maxWaitNanos;
+    private final LongAdder permitted = new LongAdder();
+    private final LongAdder delayed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final ReentrantLock lock = new ReentrantLock();
+    private double tokens;
+    private long refilled = System.nanoTime();
+
+    /**
+     * @param configuration The rate limit configuration
+     */
+    public MongoRateLimiter(RateLimitConfiguration configuration) {
+        this.configuration = configuration;
+        this.tokensPerNano = configuration.getRate() / NANOS_PER_SECOND;
+        this.burst = configuration.getBurst();
+        this.maxWaitNanos = configuration.getMaxWaitTime().toNanos();
+        this.tokens = burst;
+    }
+
+    /**
+     * @return The name of the rate limit
+     */
+    public String getName() {
+        return configuration.getName();
+    }
+
+    /**
+     * @return The number of operations executed without delay
+     */
+    public long getPermitted() {
+        return permitted.sum();
+    }
+
+    /**
+     * @return The number of delayed operations
+     */
+    public long getDelayed() {
+        return delayed.sum();
+    }
+
+    /**
+     * @return The number of rejected operations
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * @param operation The operation
+     * @return Whether the limit applies to the operation
+     */
+    public boolean matches(MongoOperation operation) {
+        String server = configuration.getServer();
+        if (server != null && !server.equals(operation.getServerName())) {
+            return false;
+        }
+        String collection = configuration.getCollection();
+        if (collection != null) {
+            String collectionName = operation.getCollectionName();
+            if (collectionName == null) {
+                return false;
+            }
+            if (!collection.equals(collectionName) && !collection.equals(operation.getDatabaseName() + "." + collectionName)) {
+                return false;
+            }
+        }
+        String tag = configuration.getTag();
+        return tag == null || tag.equals(operation.getTag().orElse(null));
+    }
+
+    /**
+     * Reserves a token.
+     *
+     * @return The nanoseconds to delay the operation by, zero if a token was available or -1 if the operation is rejected
+     */
+    public long reserve() {
+        long wait;
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - refilled) * tokensPerNano);
+            refilled = now;
+            if (tokens >= 1) {
+                tokens--;
+                wait = 0;
+            } else {
+                wait = (long) Math.ceil((1 - tokens) / tokensPerNano);
+                if (wait <= maxWaitNanos) {
+                    // reserving leaves a debt that delays subsequent operations further
+                    tokens--;
+                } else {
+                    wait = -1;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (wait == 0) {
+            permitted.increment();
+        } else if (wait > 0) {
+            delayed.increment();
+        } else {
+            rejected.increment();
+        }
+        return wait;
+    }
+
+    /**
+     * @return The exception signalled for rejected operations
+     */
+    public MongoOperationRejectedException rejected() {
+        return new MongoOperationRejectedException("Rate limit [" + getName() + "] of " + configuration.getRate() + " operations per second exceeded");
+    }
+}
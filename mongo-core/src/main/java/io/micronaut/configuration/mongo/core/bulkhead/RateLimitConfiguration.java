@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.bulkhead;
+
+import io.micronaut.configuration.mongo.core.MongoSettings;
+import io.micronaut.context.annotation.EachProperty;
+import io.micronaut.context.annotation.Parameter;
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.Duration;
+
+/**
+ * A token bucket rate limit configured under <code>mongodb.rate-limits.[name]</code>. The limit applies to the
+ * operations matching all of the configured server, collection and tag.
+ *
+ * @since 5.6.0
+ */
+@EachProperty(RateLimitConfiguration.PREFIX)
+public class RateLimitConfiguration {
+
+    /**
+     * The prefix of the rate limit settings.
+     */
+    public static final String PREFIX = MongoSettings.PREFIX + ".rate-limits";
+
+    private final String name;
+    private String server;
+    private String collection;
+    private String tag;
+    private double rate;
+    private int burst;
+    private Duration maxWaitTime = BulkheadSettings.DEFAULT_MAX_WAIT_TIME;
+
+    /**
+     * @param name The name of the rate limit
+     */
+    public RateLimitConfiguration(@Parameter String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return The name of the rate limit
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The server name the limit applies to or null for all servers
+     */
+    @Nullable
+    public String getServer() {
+        return server;
+    }
+
+    /**
+     * @param server The server name the limit applies to
+     */
+    public void setServer(@Nullable String server) {
+        this.server = server;
+    }
+
+    /**
+     * @return The collection the limit applies to, either a name or a <code>database.collection</code> namespace, or null for all collections
+     */
+    @Nullable
+    public String getCollection() {
+        return collection;
+    }
+
+    /**
+     * @param collection The collection the limit applies to
+     */
+    public void setCollection(@Nullable String collection) {
+        this.collection = collection;
+    }
+
+    /**
+     * @return The {@link io.micronaut.configuration.mongo.core.intercept.MongoOperationTag} the limit applies to or null for all operations
+     */
+    @Nullable
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * @param tag The operation tag the limit applies to
+     */
+    public void setTag(@Nullable String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * @return The number of operations per second
+     */
+    public double getRate() {
+        return rate;
+    }
+
+    /**
+     * @param rate The number of operations per second
+     */
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+
+    /**
+     * @return The number of operations that may be executed at once after a quiet period (defaults to the rate)
+     */
+    public int getBurst() {
+        return burst > 0 ? burst : (int) Math.max(1, Math.ceil(rate));
+    }
+
+    /**
+     * @param burst The number of operations that may be executed at once after a quiet period
+     */
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    /**
+     * @return The maximum time an operation is delayed before it is rejected (defaults to 1s)
+     */
+    public Duration getMaxWaitTime() {
+        return maxWaitTime;
+    }
+
+    /**
+     * @param maxWaitTime The maximum time an operation is delayed before it is rejected
+     */
+    public void setMaxWaitTime(Duration maxWaitTime) {
+        if (maxWaitTime != null) {
+            this.maxWaitTime = maxWaitTime;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.crac;
+
+import io.micronaut.configuration.mongo.core.MongoSettings;
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the CRaC support.
+ *
+ * @since 5.6.0
+ */
+@ConfigurationProperties(MongoCracConfiguration.PREFIX)
+public class MongoCracConfiguration {
+
+    /**
+     * The prefix of the CRaC settings.
+     */
+    public static final String PREFIX = MongoSettings.PREFIX + ".crac";
+
+    /**
+     * The default time the warm up after a restore waits for.
+     */
+    public static final Duration DEFAULT_WARM_UP_TIMEOUT = Duration.ofSeconds(10);
+
+    private boolean enabled = true;
+    private boolean warmUp = true;
+    private Duration warmUpTimeout = DEFAULT_WARM_UP_TIMEOUT;
+
+    /**
+     * @return Whether the clients are closed before a checkpoint and recreated after a restore (defaults to true)
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param enabled Whether the clients are closed before a checkpoint and recreated after a restore
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return Whether the recreated clients connect to the cluster right after a restore instead of on first use (defaults to true)
+     */
+    public boolean isWarmUp() {
+        return warmUp;
+    }
+
+    /**
+     * @param warmUp Whether the recreated clients connect to the cluster right after a restore
+     */
+    public void setWarmUp(boolean warmUp) {
+        this.warmUp = warmUp;
+    }
+
+    /**
+     * @return The time the restore waits for the warm up, which continues in the background afterwards (defaults to 10 seconds)
+     */
+    public Duration getWarmUpTimeout() {
+        return warmUpTimeout;
+    }
+
+    /**
+     * @param warmUpTimeout The time the restore waits for the warm up
+     */
+    public void setWarmUpTimeout(Duration warmUpTimeout) {
+        this.warmUpTimeout = warmUpTimeout;
+    }
+}
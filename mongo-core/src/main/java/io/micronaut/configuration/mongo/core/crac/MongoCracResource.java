@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.crac;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.crac.OrderedResource;
+import jakarta.inject.Singleton;
+import org.crac.Context;
+import org.crac.Resource;
+
+/**
+ * Closes the connection pools and server monitors of the MongoDB clients before a checkpoint and recreates the
+ * clients after a restore.
+ *
+ * @since 5.6.0
+ */
+@Singleton
+@Requires(classes = OrderedResource.class)
+@Requires(beans = RestorableClientRegistry.class)
+@Requires(property = MongoCracConfiguration.PREFIX + ".enabled", value = StringUtils.TRUE, defaultValue = StringUtils.TRUE)
+public class MongoCracResource implements OrderedResource {
+
+    private final RestorableClientRegistry registry;
+
+    /**
+     * @param registry The clients
+     */
+    public MongoCracResource(RestorableClientRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        registry.checkpoint();
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        registry.restore();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.crac;
+
+import com.mongodb.MongoClientSettings;
+import io.micronaut.core.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A client that is closed before a checkpoint and recreated from the same {@link MongoClientSettings} after a
+ * restore. Recreating the client resolves the hosts, including SRV records, again while the settings and thereby
+ * the codec registry with its cached codecs are kept in the snapshot.
+ *
+ * @param <C> The client type
+ * @since 5.6.0
+ */
+public final class RestorableClient<C extends Closeable> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RestorableClient.class);
+
+    private final String serverName;
+    private final MongoClientSettings settings;
+    private final Function<MongoClientSettings, C> factory;
+    private final Consumer<C> warmUp;
+    private final Consumer<RestorableClient<C>> onClose;
+    private volatile C client;
+    private volatile int generation;
+    private volatile boolean checkpointed;
+    private volatile boolean closed;
+
+    /**
+     * @param serverName The name of the server the client belongs to
+     * @param settings   The settings
+     * @param factory    Creates a client from the settings
+     * @param warmUp     Connects a new client to the cluster
+     * @param onClose    Invoked once the client is closed for good
+     */
+    RestorableClient(String serverName,
+                     MongoClientSettings settings,
+                     Function<MongoClientSettings, C> factory,
+                     Consumer<C> warmUp,
+                     Consumer<RestorableClient<C>> onClose) {
+        this.serverName = serverName;
+        this.settings = settings;
+        this.factory = factory;
+        this.warmUp = warmUp;
+        this.onClose = onClose;
+        this.client = factory.apply(settings);
+    }
+
+    /**
+     * @return The name of the server the client belongs to
+     */
+    public String getServerName() {
+        return serverName;
+    }
+
+    /**
+     * @return The settings every client is created with
+     */
+    public MongoClientSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * @return The current client, which is closed between a checkpoint and the following restore
+     */
+    public C get() {
+        return client;
+    }
+
+    /**
+     * @return The number of times the client was recreated
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * @return Whether the client is closed for a checkpoint
+     */
+    public boolean isCheckpointed() {
+        return checkpointed;
+    }
+
+    /**
+     * Closes the current client, which closes its connection pools and stops its server monitors.
+     */
+    synchronized void checkpoint() {
+        if (closed || checkpointed) {
+            return;
+        }
+        checkpointed = true;
+        closeQuietly(client);
+    }
+
+    /**
+     * Replaces the closed client with a new one.
+     *
+     * @return The new client or null if the client was not closed for a checkpoint
+     */
+    @Nullable
+    synchronized C restore() {
+        if (closed || !checkpointed) {
+            return null;
+        }
+        C restored = factory.apply(settings);
+        client = restored;
+        generation++;
+        checkpointed = false;
+        return restored;
+    }
+
+    /**
+     * @param restored The client returned by {@link #restore()}
+     */
+    void warmUp(C restored) {
+        warmUp.accept(restored);
+    }
+
+    /**
+     * Closes the client for good.
+     */
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        onClose.accept(this);
+        if (!checkpointed) {
+            closeQuietly(client);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RestorableClient[" + serverName + "]";
+    }
+
+    private void closeQuietly(C closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            LOG.warn("Error closing MongoDB client of server [{}]: {}", serverName, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.crac;
+
+import com.mongodb.MongoClientSettings;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.crac.OrderedResource;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The clients that are closed before a checkpoint and recreated after a restore by the {@link MongoCracResource}.
+ * Since a closed client cannot be reopened, the client factories register them as {@link RestorableClient} and hand
+ * out proxies that delegate to the current client.
+ *
+ * @since 5.6.0
+ */
+@Singleton
+@Requires(classes = OrderedResource.class)
+@Requires(property = MongoCracConfiguration.PREFIX + ".enabled", value = StringUtils.TRUE, defaultValue = StringUtils.TRUE)
+public class RestorableClientRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RestorableClientRegistry.class);
+
+    private final MongoCracConfiguration configuration;
+    private final Set<RestorableClient<?>> clients = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param configuration The configuration
+     */
+    public RestorableClientRegistry(MongoCracConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Creates a client that is closed before a checkpoint and recreated after a restore.
+     *
+     * @param serverName The name of the server the client belongs to
+     * @param settings   The settings
+     * @param factory    Creates a client from the settings
+     * @param warmUp     Connects a new client to the cluster, for example by sending a <code>ping</code>
+     * @param <C>        The client type
+     * @return The client
+     */
+    public <C extends Closeable> RestorableClient<C> register(String serverName,
+                                                             MongoClientSettings settings,
+                                                             Function<MongoClientSettings, C> factory,
+                                                             Consumer<C> warmUp) {
+        RestorableClient<C> client = new RestorableClient<>(serverName, settings, factory, warmUp, clients::remove);
+        clients.add(client);
+        return client;
+    }
+
+    /**
+     * @return The registered clients
+     */
+    public List<RestorableClient<?>> getClients() {
+        return new ArrayList<>(clients);
+    }
+
+    /**
+     * Closes the connection pools and server monitors of all clients.
+     */
+    public void checkpoint() {
+        for (RestorableClient<?> client : clients) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Closing MongoDB client of server [{}] before checkpoint", client.getServerName());
+            }
+            client.checkpoint();
+        }
+    }
+
+    /**
+     * Recreates all clients, resolving the hosts again, and waits for them to connect if warm up is enabled.
+     */
+    public void restore() {
+        List<CompletableFuture<Void>> warmUps = new ArrayList<>();
+        for (RestorableClient<?> client : clients) {
+            CompletableFuture<Void> warmUp = restore(client);
+            if (warmUp != null) {
+                warmUps.add(warmUp);
+            }
+        }
+        if (warmUps.isEmpty()) {
+            return;
+        }
+        long timeout = configuration.getWarmUpTimeout().toMillis();
+        try {
+            CompletableFuture.allOf(warmUps.toArray(new CompletableFuture[0])).get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            LOG.warn("MongoDB clients did not connect within {}ms after restore, connecting continues in the background", timeout);
+        } catch (ExecutionException e) {
+            LOG.warn("MongoDB client failed to connect after restore: {}", e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <C extends Closeable> CompletableFuture<Void> restore(RestorableClient<C> client) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Recreating MongoDB client of server [{}] after restore", client.getServerName());
+        }
+        C restored = client.restore();
+        if (restored == null || !configuration.isWarmUp()) {
+            return null;
+        }
+        return CompletableFuture.runAsync(() -> client.warmUp(restored));
+    }
+}
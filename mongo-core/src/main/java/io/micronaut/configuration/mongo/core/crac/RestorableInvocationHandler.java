@@ -0,0 +1,189 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.crac;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+
+import java.io.Closeable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Proxies a {@link RestorableClient} and the databases and collections obtained from it, so that references held by
+ * beans stay valid when the client is recreated after a restore.
+ *
+ * <p>A database or collection remembers the call that created it and replays that call on the current client once
+ * the client was recreated. All other methods are delegated to the resource of the current client.</p>
+ *
+ * <p>The proxies of databases and collections are cached per method and arguments, so repeated calls to
+ * <code>getDatabase</code> or <code>getCollection</code> return the same proxy.</p>
+ *
+ * @since 5.6.0
+ */
+@Internal
+public final class RestorableInvocationHandler implements InvocationHandler {
+
+    private static final int MAX_CHILDREN = 256;
+
+    private final RestorableClient<?> client;
+    private final Function<Object, Object> root;
+    private final Class<?> type;
+    private final Predicate<Class<?>> resources;
+    private final RestorableInvocationHandler parent;
+    private final Method method;
+    private final Object[] args;
+    private final Map<List<Object>, Object> children = new ConcurrentHashMap<>();
+    private volatile Resolved resolved;
+
+    private RestorableInvocationHandler(RestorableClient<?> client,
+                                        Function<Object, Object> root,
+                                        Class<?> type,
+                                        Predicate<Class<?>> resources,
+                                        @Nullable RestorableInvocationHandler parent,
+                                        @Nullable Method method,
+                                        @Nullable Object[] args) {
+        this.client = client;
+        this.root = root;
+        this.type = type;
+        this.resources = resources;
+        this.parent = parent;
+        this.method = method;
+        this.args = args;
+    }
+
+    /**
+     * @param client    The client
+     * @param type      The client interface
+     * @param resources Whether a type returned by a method is a database or collection
+     * @param <C>       The client type
+     * @return A proxy that delegates to the current client
+     */
+    public static <C> C proxy(RestorableClient<?> client, Class<C> type, Predicate<Class<?>> resources) {
+        return type.cast(new RestorableInvocationHandler(client, Function.identity(), type, resources, null, null, null).proxy());
+    }
+
+    /**
+     * @param client    The client
+     * @param root      Returns the proxied object of the current client
+     * @param type      The interface of the proxied object
+     * @param resources Whether a type returned by a method is a database or collection
+     * @param <C>       The client type
+     * @param <T>       The proxied type
+     * @return A proxy that delegates to the object returned by the root function for the current client
+     */
+    @SuppressWarnings("unchecked")
+    public static <C extends Closeable, T> T proxy(RestorableClient<C> client,
+                                                   Function<? super C, ? extends T> root,
+                                                   Class<T> type,
+                                                   Predicate<Class<?>> resources) {
+        Function<Object, Object> accessor = target -> root.apply((C) target);
+        return type.cast(new RestorableInvocationHandler(client, accessor, type, resources, null, null, null).proxy());
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method invoked, Object[] arguments) throws Throwable {
+        if (invoked.getDeclaringClass() == Object.class) {
+            return switch (invoked.getName()) {
+                case "equals" -> proxy == arguments[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> invoked.invoke(target(), arguments);
+            };
+        }
+        if (parent == null && "close".equals(invoked.getName()) && invoked.getParameterCount() == 0) {
+            client.close();
+            return null;
+        }
+        Class<?> returnType = invoked.getReturnType();
+        if (returnType.isInterface() && resources.test(returnType)) {
+            return child(returnType, invoked, arguments);
+        }
+        return call(target(), invoked, arguments);
+    }
+
+    private Object child(Class<?> returnType, Method invoked, Object[] arguments) throws Throwable {
+        List<Object> key = key(invoked, arguments);
+        Object cached = children.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        RestorableInvocationHandler handler = new RestorableInvocationHandler(client, root, returnType, resources, this, invoked, arguments);
+        if (handler.target() == null) {
+            return null;
+        }
+        Object child = handler.proxy();
+        if (children.size() >= MAX_CHILDREN) {
+            return child;
+        }
+        Object existing = children.putIfAbsent(key, child);
+        return existing == null ? child : existing;
+    }
+
+    private static List<Object> key(Method method, Object[] args) {
+        List<Object> key = new ArrayList<>(args == null ? 1 : args.length + 1);
+        key.add(method);
+        if (args != null) {
+            key.addAll(Arrays.asList(args));
+        }
+        return key;
+    }
+
+    private Object proxy() {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, this);
+    }
+
+    private Object target() throws Throwable {
+        int generation = client.getGeneration();
+        Resolved current = resolved;
+        if (current == null || current.generation != generation) {
+            Object target = parent == null ? root.apply(client.get()) : call(parent.target(), method, args);
+            current = new Resolved(generation, target);
+            resolved = current;
+        }
+        return current.target;
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * The target of a generation of the client.
+     */
+    private static final class Resolved {
+
+        private final int generation;
+        private final Object target;
+
+        Resolved(int generation, Object target) {
+            this.generation = generation;
+            this.target = target;
+        }
+    }
+}
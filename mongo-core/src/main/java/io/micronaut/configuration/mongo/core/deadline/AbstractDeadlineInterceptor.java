@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.deadline;
+
+import io.micronaut.configuration.mongo.core.intercept.MongoOperation;
+import io.micronaut.configuration.mongo.core.intercept.MongoOperationInterceptor;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.order.Ordered;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base class of the interceptors applying the {@link MongoDeadline} of the context an operation is executed in, or
+ * else the one of the context it was created in.
+ * Operations supporting <code>maxTime</code>, iterables as well as <code>countDocuments</code> and the
+ * <code>findOneAnd*</code> operations, receive the remaining time, bounded by a <code>maxTime</code> set by the caller.
+ * Acknowledged writes receive it as the <code>wtimeout</code> of their write concern, bounded by the one of the
+ * collection. The options are set on a copy made for the execution, so the objects of the caller are never changed.
+ *
+ * @since 5.6.0
+ */
+public abstract class AbstractDeadlineInterceptor implements MongoOperationInterceptor {
+
+    /**
+     * The order of the deadline interceptors, which run before all other interceptors so that waiting for example for
+     * a bulkhead counts against the deadline.
+     */
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 100;
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public void prepare(MongoOperation operation) {
+        MongoDeadline deadline = deadline(operation);
+        if (deadline == null || deadline.isExpired()) {
+            return;
+        }
+        long remaining = deadline.remaining(TimeUnit.NANOSECONDS);
+        if (operation.supportsMaxTime()) {
+            operation.maxTime(bounded(remaining, operation.getMaxTime(TimeUnit.NANOSECONDS)), TimeUnit.MILLISECONDS);
+        }
+        if (operation.supportsWriteTimeout()) {
+            operation.writeTimeout(bounded(remaining, operation.getWriteTimeout(TimeUnit.NANOSECONDS)), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static long bounded(long remaining, long requested) {
+        long nanos = requested > 0 ? Math.min(remaining, requested) : remaining;
+        // a maxTimeMS or wtimeout of zero means no limit
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
+    /**
+     * @param operation The operation
+     * @return The deadline of the context the operation is executed in, otherwise of the context it was created in
+     */
+    @Nullable
+    protected static MongoDeadline deadline(MongoOperation operation) {
+        return MongoDeadline.current()
+            .or(() -> operation.getContext().find(MongoDeadline.class))
+            .orElse(null);
+    }
+}
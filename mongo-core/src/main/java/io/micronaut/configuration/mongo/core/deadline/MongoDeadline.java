@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.deadline;
+
+import com.mongodb.MongoExecutionTimeoutException;
+import io.micronaut.core.propagation.PropagatedContext;
+import io.micronaut.core.propagation.PropagatedContextElement;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A point in time after which MongoDB operations of the current request are no longer worth executing. The deadline
+ * is carried by the {@link PropagatedContext}, for example:
+ *
+ * <pre>
+ * try (PropagatedContext.Scope ignore = PropagatedContext.getOrEmpty().plus(MongoDeadline.after(Duration.ofSeconds(1))).propagate()) {
+ *     collection.find().into(new ArrayList&lt;&gt;());
+ * }
+ * </pre>
+ *
+ * @since 5.6.0
+ */
+public final class MongoDeadline implements PropagatedContextElement {
+
+    /**
+     * The error code of the server when <code>maxTimeMS</code> expires.
+     */
+    private static final int MAX_TIME_EXPIRED = 50;
+
+    private final long deadlineNanos;
+
+    private MongoDeadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * @param timeout The time from now until the deadline
+     * @return The deadline
+     */
+    public static MongoDeadline after(Duration timeout) {
+        return new MongoDeadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * @return The deadline of the current context, if any
+     */
+    public static Optional<MongoDeadline> current() {
+        return PropagatedContext.getOrEmpty().find(MongoDeadline.class);
+    }
+
+    /**
+     * @return The remaining time, never negative
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(remaining(TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * @param unit The time unit
+     * @return The remaining time in the given unit, never negative
+     */
+    public long remaining(TimeUnit unit) {
+        return unit.convert(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return Whether the deadline has passed
+     */
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * @return The exception signalled for operations started or still running after the deadline
+     */
+    public MongoExecutionTimeoutException exceeded() {
+        return new MongoExecutionTimeoutException(MAX_TIME_EXPIRED, "The deadline of the current request has been exceeded");
+    }
+
+    /**
+     * @param other Another deadline
+     * @return The earlier of both deadlines
+     */
+    public MongoDeadline min(MongoDeadline other) {
+        return deadlineNanos - other.deadlineNanos <= 0 ? this : other;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.deadline;
+
+import io.micronaut.configuration.mongo.core.MongoSettings;
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.Duration;
+
+/**
+ * Configuration of request scoped deadlines.
+ *
+ * @since 5.6.0
+ */
+@ConfigurationProperties(MongoDeadlineConfiguration.PREFIX)
+public class MongoDeadlineConfiguration {
+
+    /**
+     * The prefix of the deadline settings.
+     */
+    public static final String PREFIX = MongoSettings.PREFIX + ".deadline";
+
+    /**
+     * The default header carrying the remaining time of the caller.
+     */
+    public static final String DEFAULT_HEADER = "X-Request-Timeout";
+
+    private boolean enabled;
+    private String header = DEFAULT_HEADER;
+    private Duration budget;
+
+    /**
+     * @return Whether deadlines are applied to MongoDB operations (defaults to false)
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param enabled Whether deadlines are applied to MongoDB operations
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return The HTTP header carrying the remaining time of the caller, either in milliseconds or as a duration such as <code>500ms</code>
+     */
+    @Nullable
+    public String getHeader() {
+        return header;
+    }
+
+    /**
+     * @param header The HTTP header carrying the remaining time of the caller
+     */
+    public void setHeader(@Nullable String header) {
+        this.header = header;
+    }
+
+    /**
+     * @return The time budget of every HTTP request, if any. When the header is present too the earlier deadline applies.
+     */
+    @Nullable
+    public Duration getBudget() {
+        return budget;
+    }
+
+    /**
+     * @param budget The time budget of every HTTP request
+     */
+    public void setBudget(@Nullable Duration budget) {
+        this.budget = budget;
+    }
+}
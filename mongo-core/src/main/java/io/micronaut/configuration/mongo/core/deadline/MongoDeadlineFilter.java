@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.deadline;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.propagation.PropagatedContext;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import io.micronaut.http.filter.ServerFilterPhase;
+import org.reactivestreams.Publisher;
+
+import java.time.Duration;
+
+/**
+ * Derives a {@link MongoDeadline} for every HTTP request from the configured header or budget and propagates it to
+ * the MongoDB operations executed on behalf of the request.
+ *
+ * @since 5.6.0
+ */
+@Filter(Filter.MATCH_ALL_PATTERN)
+@Requires(classes = HttpServerFilter.class)
+@Requires(property = MongoDeadlineConfiguration.PREFIX + ".enabled", value = StringUtils.TRUE)
+public class MongoDeadlineFilter implements HttpServerFilter {
+
+    private final MongoDeadlineConfiguration configuration;
+    private final ConversionService conversionService;
+
+    /**
+     * @param configuration     The deadline configuration
+     * @param conversionService The conversion service
+     */
+    public MongoDeadlineFilter(MongoDeadlineConfiguration configuration, ConversionService conversionService) {
+        this.configuration = configuration;
+        this.conversionService = conversionService;
+    }
+
+    @Override
+    public int getOrder() {
+        return ServerFilterPhase.TRACING.after();
+    }
+
+    @Override
+    public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        MongoDeadline deadline = resolve(request);
+        if (deadline == null) {
+            return chain.proceed(request);
+        }
+        try (PropagatedContext.Scope ignore = PropagatedContext.getOrEmpty().plus(deadline).propagate()) {
+            return chain.proceed(request);
+        }
+    }
+
+    private MongoDeadline resolve(HttpRequest<?> request) {
+        MongoDeadline deadline = null;
+        Duration budget = configuration.getBudget();
+        if (budget != null) {
+            deadline = MongoDeadline.after(budget);
+        }
+        String header = configuration.getHeader();
+        if (StringUtils.isNotEmpty(header)) {
+            Duration timeout = request.getHeaders().get(header, String.class)
+                .flatMap(value -> conversionService.convert(value.trim(), Duration.class))
+                .orElse(null);
+            if (timeout != null) {
+                MongoDeadline requested = MongoDeadline.after(timeout);
+                deadline = deadline == null ? requested : deadline.min(requested);
+            }
+        }
+        return deadline;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.gridfs;
+
+import com.mongodb.MongoGridFSException;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Reads the data of the chunks of a GridFS file in order. The data is returned as a view of the chunk document as
+ * received from the server, without decoding it into a {@link org.bson.types.Binary}, and checked against the length
+ * and chunk size of the file.
+ *
+ * <p>A reader belongs to a single download and is not thread safe.</p>
+ *
+ * @since 5.6.0
+ */
+public final class GridFsChunkReader {
+
+    /**
+     * The chunks fetched per batch are limited to about this many bytes.
+     */
+    private static final int BATCH_BYTES = 4 * 1024 * 1024;
+    private static final byte TYPE_DOUBLE = 0x01;
+    private static final byte TYPE_BINARY = 0x05;
+    private static final byte TYPE_INT32 = 0x10;
+    private static final byte TYPE_INT64 = 0x12;
+    private static final byte SUBTYPE_OLD_BINARY = 0x02;
+
+    private final BsonValue filesId;
+    private final long length;
+    private final int chunkSize;
+    private final long chunks;
+    private long expected;
+
+    private GridFsChunkReader(BsonValue filesId, long length, int chunkSize) {
+        this.filesId = filesId;
+        this.length = length;
+        this.chunkSize = chunkSize;
+        this.chunks = length == 0 ? 0 : (length - 1) / chunkSize + 1;
+    }
+
+    /**
+     * @param filesDocument The document of the file in the files collection
+     * @return The reader
+     */
+    public static GridFsChunkReader of(BsonDocument filesDocument) {
+        return new GridFsChunkReader(
+            filesDocument.get("_id"),
+            filesDocument.getNumber("length").longValue(),
+            filesDocument.getNumber("chunkSize").intValue()
+        );
+    }
+
+    /**
+     * @param filesId The id of the file
+     * @return The filter of the file in the files collection
+     */
+    public static Bson fileFilter(BsonValue filesId) {
+        return Filters.eq("_id", filesId);
+    }
+
+    /**
+     * @return The filter of the chunks of the file
+     */
+    public Bson filter() {
+        return Filters.eq("files_id", filesId);
+    }
+
+    /**
+     * @return The projection to the fields the reader expects
+     */
+    public Bson projection() {
+        return Projections.fields(Projections.excludeId(), Projections.include("n", "data"));
+    }
+
+    /**
+     * @return The sort of the chunks
+     */
+    public Bson sort() {
+        return Sorts.ascending("n");
+    }
+
+    /**
+     * @return The number of chunks fetched per batch
+     */
+    public int getBatchSize() {
+        return Math.max(1, BATCH_BYTES / chunkSize);
+    }
+
+    /**
+     * @return The id of the file
+     */
+    public BsonValue getFilesId() {
+        return filesId;
+    }
+
+    /**
+     * @return The length of the file in bytes
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * @return The chunk size in bytes
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @param chunk The next chunk, fetched with the {@link #projection()}
+     * @return The data of the chunk, a heap buffer sharing the bytes of the chunk document
+     * @throws MongoGridFSException If the chunk is not the expected one or its data has an unexpected length
+     */
+    public ByteBuffer next(RawBsonDocument chunk) {
+        ByteBuffer buffer = chunk.getByteBuffer().asNIO().duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int end = buffer.position() + buffer.getInt();
+        long n = -1;
+        ByteBuffer data = null;
+        byte type;
+        while (buffer.position() < end && (type = buffer.get()) != 0) {
+            String name = readName(buffer);
+            switch (type) {
+                case TYPE_INT32 -> n = buffer.getInt();
+                case TYPE_INT64 -> n = buffer.getLong();
+                case TYPE_DOUBLE -> n = (long) buffer.getDouble();
+                case TYPE_BINARY -> {
+                    int size = buffer.getInt();
+                    if (buffer.get() == SUBTYPE_OLD_BINARY) {
+                        size = buffer.getInt();
+                    }
+                    data = buffer.slice(buffer.position(), size);
+                    buffer.position(buffer.position() + size);
+                }
+                default -> throw new MongoGridFSException("Unexpected field " + name + " in chunk of file_id: " + filesId);
+            }
+        }
+        if (n != expected || data == null) {
+            throw new MongoGridFSException("Could not find file chunk for file_id: " + filesId + " at chunk index " + expected + ".");
+        }
+        long expectedSize = n == chunks - 1 ? length - n * chunkSize : chunkSize;
+        if (n >= chunks || data.remaining() != expectedSize) {
+            throw new MongoGridFSException("Chunk size data length is not the expected size. The size was " + data.remaining()
+                + " for file_id: " + filesId + " chunk index " + n + " it should be " + expectedSize + " bytes.");
+        }
+        expected++;
+        return data;
+    }
+
+    /**
+     * @throws MongoGridFSException If not all chunks of the file were read
+     */
+    public void complete() {
+        if (expected != chunks) {
+            throw new MongoGridFSException("Could not find file chunk for file_id: " + filesId + " at chunk index " + expected + ".");
+        }
+    }
+
+    private static String readName(ByteBuffer buffer) {
+        StringBuilder name = new StringBuilder();
+        byte b;
+        while ((b = buffer.get()) != 0) {
+            name.append((char) b);
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.gridfs;
+
+import io.micronaut.core.annotation.Nullable;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.bson.types.ObjectId;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Writes the content of a GridFS file as chunk documents in the layout of the GridFS specification. The data of a
+ * chunk is copied once, from the source straight into the encoded chunk document, which the driver then sends as
+ * is. Channels are read through a direct buffer of the chunk size, so the JDK does not copy the data into a
+ * temporary direct buffer of its own.
+ *
+ * <p>A writer belongs to a single upload and is not thread safe.</p>
+ *
+ * @since 5.6.0
+ */
+public final class GridFsChunkWriter {
+
+    /**
+     * The default chunk size of 255 KiB, the same as the one of the driver.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 255 * 1024;
+
+    private static final byte[] ID_PREFIX = {0x07, '_', 'i', 'd', 0};
+    private static final byte[] N_PREFIX = {0x10, 'n', 0};
+    private static final byte[] DATA_PREFIX = {0x05, 'd', 'a', 't', 'a', 0};
+    private static final int OBJECT_ID_SIZE = 12;
+
+    private final BsonValue filesId;
+    private final int chunkSize;
+    private final byte[] filesIdElement;
+    private final int headerSize;
+    private ByteBuffer direct;
+    private byte[] current;
+    private int filled;
+    private int chunks;
+    private long length;
+
+    private GridFsChunkWriter(BsonValue filesId, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.filesId = filesId;
+        this.chunkSize = chunkSize;
+        this.filesIdElement = element(filesId);
+        this.headerSize = 4 + ID_PREFIX.length + OBJECT_ID_SIZE + filesIdElement.length + N_PREFIX.length + 4 + DATA_PREFIX.length + 5;
+    }
+
+    /**
+     * @param filesId   The id of the file
+     * @param chunkSize The chunk size in bytes
+     * @return The writer
+     */
+    public static GridFsChunkWriter of(BsonValue filesId, int chunkSize) {
+        return new GridFsChunkWriter(filesId, chunkSize);
+    }
+
+    /**
+     * @return The id of the file
+     */
+    public BsonValue getFilesId() {
+        return filesId;
+    }
+
+    /**
+     * @return The chunk size in bytes
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @return The number of bytes in the completed chunks
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * @return The number of completed chunks
+     */
+    public int getChunks() {
+        return chunks;
+    }
+
+    /**
+     * Reads the next chunk from a blocking channel. A chunk is only shorter than the chunk size if the channel has
+     * reached its end.
+     *
+     * @param source The channel
+     * @return The chunk or null if the channel has reached its end
+     * @throws IOException If the channel cannot be read
+     */
+    @Nullable
+    public RawBsonDocument read(ReadableByteChannel source) throws IOException {
+        if (direct == null) {
+            direct = ByteBuffer.allocateDirect(chunkSize);
+        }
+        direct.clear();
+        while (direct.hasRemaining() && source.read(direct) >= 0) {
+            // fill the chunk
+        }
+        direct.flip();
+        append(direct);
+        return flush();
+    }
+
+    /**
+     * Copies the remaining bytes of a buffer into the current chunk, passing each chunk that becomes full to the
+     * consumer. The buffer can be reused once the method returns.
+     *
+     * @param source    The buffer
+     * @param completed The consumer of the full chunks
+     */
+    public void write(ByteBuffer source, Consumer<RawBsonDocument> completed) {
+        while (source.hasRemaining()) {
+            append(source);
+            if (filled == chunkSize) {
+                completed.accept(complete());
+            }
+        }
+    }
+
+    /**
+     * @return The last chunk, shorter than the chunk size, or null if there are no bytes left
+     */
+    @Nullable
+    public RawBsonDocument flush() {
+        return filled == 0 ? null : complete();
+    }
+
+    /**
+     * @param filename The file name
+     * @param metadata The metadata or null
+     * @return The files collection document describing the written chunks
+     */
+    public BsonDocument toFilesDocument(String filename, @Nullable BsonDocument metadata) {
+        BsonDocument document = new BsonDocument("_id", filesId)
+            .append("length", new BsonInt64(length))
+            .append("chunkSize", new BsonInt32(chunkSize))
+            .append("uploadDate", new BsonDateTime(System.currentTimeMillis()))
+            .append("filename", new BsonString(filename));
+        if (metadata != null) {
+            document.append("metadata", metadata);
+        }
+        return document;
+    }
+
+    private void append(ByteBuffer source) {
+        if (current == null) {
+            current = new byte[headerSize + chunkSize + 1];
+            int position = put(current, 4, ID_PREFIX) + OBJECT_ID_SIZE;
+            position = put(current, position, filesIdElement);
+            position = put(current, position, N_PREFIX) + 4;
+            put(current, position, DATA_PREFIX);
+            filled = 0;
+        }
+        int count = Math.min(source.remaining(), chunkSize - filled);
+        source.get(current, headerSize + filled, count);
+        filled += count;
+    }
+
+    private RawBsonDocument complete() {
+        byte[] bytes = current;
+        int size = headerSize + filled + 1;
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0, size);
+        new ObjectId().putToByteBuffer(buffer.position(4 + ID_PREFIX.length));
+        buffer.putInt(headerSize - DATA_PREFIX.length - 9, chunks);
+        buffer.putInt(headerSize - 5, filled);
+        bytes[headerSize - 1] = 0;
+        bytes[size - 1] = 0;
+        chunks++;
+        length += filled;
+        current = null;
+        filled = 0;
+        return new RawBsonDocument(bytes, 0, size);
+    }
+
+    private static int put(byte[] target, int position, byte[] source) {
+        System.arraycopy(source, 0, target, position, source.length);
+        return position + source.length;
+    }
+
+    private static byte[] element(BsonValue filesId) {
+        BasicOutputBuffer output = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(output)) {
+            new BsonDocumentCodec().encode(writer, new BsonDocument("files_id", filesId), EncoderContext.builder().build());
+        }
+        byte[] document = output.toByteArray();
+        return Arrays.copyOfRange(document, 4, document.length - 1);
+    }
+}
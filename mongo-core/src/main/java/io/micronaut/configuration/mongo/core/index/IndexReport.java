@@ -0,0 +1,221 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.index;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.model.Collation;
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.IndexOptions;
+import io.micronaut.core.annotation.Nullable;
+import org.bson.BsonBoolean;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.conversions.Bson;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The result of comparing the declared indexes of a collection with the existing indexes.
+ *
+ * @since 5.6.0
+ */
+public final class IndexReport {
+
+    private static final String ID_INDEX = "_id_";
+
+    private final MongoNamespace namespace;
+    private final List<IndexModel> missing;
+    private final List<String> drifted;
+    private final List<String> undeclared;
+
+    private IndexReport(MongoNamespace namespace, List<IndexModel> missing, List<String> drifted, List<String> undeclared) {
+        this.namespace = namespace;
+        this.missing = Collections.unmodifiableList(missing);
+        this.drifted = Collections.unmodifiableList(drifted);
+        this.undeclared = Collections.unmodifiableList(undeclared);
+    }
+
+    /**
+     * @return The collection
+     */
+    public MongoNamespace getNamespace() {
+        return namespace;
+    }
+
+    /**
+     * @return The declared indexes that do not exist
+     */
+    public List<IndexModel> getMissing() {
+        return missing;
+    }
+
+    /**
+     * @return The descriptions of the existing indexes whose options differ from the declaration
+     */
+    public List<String> getDrifted() {
+        return drifted;
+    }
+
+    /**
+     * @return The names of the existing indexes that are not declared
+     */
+    public List<String> getUndeclared() {
+        return undeclared;
+    }
+
+    /**
+     * @return Whether a declared index is missing or differs from the existing index
+     */
+    public boolean hasDrift() {
+        return !missing.isEmpty() || !drifted.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "IndexReport{" +
+            "namespace=" + namespace +
+            ", missing=" + missing.size() +
+            ", drifted=" + drifted +
+            ", undeclared=" + undeclared +
+            '}';
+    }
+
+    /**
+     * Compares the declared indexes with the existing indexes as returned by <code>listIndexes</code>.
+     *
+     * @param namespace The collection
+     * @param declared  The declared indexes
+     * @param existing  The existing index specifications
+     * @return The report
+     */
+    public static IndexReport compare(MongoNamespace namespace, List<IndexModel> declared, List<BsonDocument> existing) {
+        List<IndexModel> missing = new ArrayList<>();
+        List<String> drifted = new ArrayList<>();
+        Set<String> matched = new HashSet<>();
+        for (IndexModel model : declared) {
+            BsonDocument keys = toDocument(model.getKeys());
+            BsonDocument match = null;
+            for (BsonDocument candidate : existing) {
+                if (sameKeys(keys, candidate.getDocument("key", new BsonDocument()))) {
+                    match = candidate;
+                    break;
+                }
+            }
+            if (match == null) {
+                missing.add(model);
+                continue;
+            }
+            String name = match.getString("name").getValue();
+            matched.add(name);
+            List<String> differences = differences(model.getOptions(), match);
+            if (!differences.isEmpty()) {
+                drifted.add(name + " " + differences);
+            }
+        }
+        List<String> undeclared = new ArrayList<>();
+        for (BsonDocument candidate : existing) {
+            String name = candidate.getString("name").getValue();
+            if (!ID_INDEX.equals(name) && !matched.contains(name)) {
+                undeclared.add(name);
+            }
+        }
+        return new IndexReport(namespace, missing, drifted, undeclared);
+    }
+
+    /**
+     * @param first  The first index
+     * @param second The second index
+     * @return Whether both indexes have the same keys and name
+     */
+    static boolean isSameIndex(IndexModel first, IndexModel second) {
+        return sameKeys(toDocument(first.getKeys()), toDocument(second.getKeys()))
+            && Objects.equals(first.getOptions().getName(), second.getOptions().getName());
+    }
+
+    private static List<String> differences(IndexOptions options, BsonDocument existing) {
+        List<String> differences = new ArrayList<>();
+        if (options.getName() != null && !options.getName().equals(existing.getString("name").getValue())) {
+            differences.add("name=" + existing.getString("name").getValue());
+        }
+        if (options.isUnique() != existing.getBoolean("unique", BsonBoolean.FALSE).getValue()) {
+            differences.add("unique=" + !options.isUnique());
+        }
+        if (options.isSparse() != existing.getBoolean("sparse", BsonBoolean.FALSE).getValue()) {
+            differences.add("sparse=" + !options.isSparse());
+        }
+        Long expireAfter = options.getExpireAfter(TimeUnit.SECONDS);
+        BsonValue existingExpireAfter = existing.get("expireAfterSeconds");
+        Long existingSeconds = existingExpireAfter != null && existingExpireAfter.isNumber() ? existingExpireAfter.asNumber().longValue() : null;
+        if (!Objects.equals(expireAfter, existingSeconds)) {
+            differences.add("expireAfterSeconds=" + existingSeconds);
+        }
+        BsonDocument partialFilter = options.getPartialFilterExpression() == null ? null : toDocument(options.getPartialFilterExpression());
+        BsonValue existingPartialFilter = existing.get("partialFilterExpression");
+        if (!Objects.equals(partialFilter, existingPartialFilter)) {
+            differences.add("partialFilterExpression=" + existingPartialFilter);
+        }
+        Collation collation = options.getCollation();
+        if (collation != null) {
+            BsonDocument existingCollation = existing.getDocument("collation", new BsonDocument());
+            String locale = existingCollation.containsKey("locale") ? existingCollation.getString("locale").getValue() : null;
+            if (!Objects.equals(collation.getLocale(), locale)) {
+                differences.add("collation.locale=" + locale);
+            }
+            if (collation.getStrength() != null) {
+                BsonValue strength = existingCollation.get("strength");
+                if (strength == null || !strength.isNumber() || strength.asNumber().intValue() != collation.getStrength().getIntRepresentation()) {
+                    differences.add("collation.strength=" + strength);
+                }
+            }
+        }
+        return differences;
+    }
+
+    private static boolean sameKeys(BsonDocument declared, BsonDocument existing) {
+        if (declared.size() != existing.size()) {
+            return false;
+        }
+        Iterator<Map.Entry<String, BsonValue>> existingKeys = existing.entrySet().iterator();
+        for (Map.Entry<String, BsonValue> key : declared.entrySet()) {
+            Map.Entry<String, BsonValue> existingKey = existingKeys.next();
+            if (!key.getKey().equals(existingKey.getKey()) || !sameKeyType(key.getValue(), existingKey.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameKeyType(BsonValue declared, BsonValue existing) {
+        if (declared.isNumber() && existing.isNumber()) {
+            return Double.compare(declared.asNumber().doubleValue(), existing.asNumber().doubleValue()) == 0;
+        }
+        return declared.equals(existing);
+    }
+
+    @Nullable
+    private static BsonDocument toDocument(@Nullable Bson bson) {
+        return bson == null ? null : bson.toBsonDocument(BsonDocument.class, MongoClientSettings.getDefaultCodecRegistry());
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.index;
+
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+
+/**
+ * The type of a single key within an index.
+ *
+ * @since 5.6.0
+ */
+public enum IndexType {
+    ASCENDING(new BsonInt32(1)),
+    DESCENDING(new BsonInt32(-1)),
+    TEXT(new BsonString("text")),
+    HASHED(new BsonString("hashed")),
+    GEO_2D(new BsonString("2d")),
+    GEO_2DSPHERE(new BsonString("2dsphere"));
+
+    private final BsonValue value;
+
+    IndexType(BsonValue value) {
+        this.value = value;
+    }
+
+    /**
+     * @return The value used for the key within the index specification
+     */
+    public BsonValue getValue() {
+        return value;
+    }
+}
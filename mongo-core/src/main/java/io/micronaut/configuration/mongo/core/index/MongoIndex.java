@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.index;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares an index for the collection an entity is stored in. The indexes are created or
+ * verified at startup, see {@link MongoIndexConfiguration}.
+ *
+ * <pre class="code">
+ * &#064;MongoIndex(collection = "books", fields = &#064;IndexField("title"), unique = true)
+ * &#064;MongoIndex(collection = "books", fields = {
+ *     &#064;IndexField("author"),
+ *     &#064;IndexField(value = "published", type = IndexType.DESCENDING)
+ * })
+ * public class Book { ... }
+ * </pre>
+ *
+ * @since 5.6.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Repeatable(MongoIndexes.class)
+public @interface MongoIndex {
+
+    /**
+     * @return The keys of the index, more than one key declares a compound index
+     */
+    IndexField[] fields();
+
+    /**
+     * @return The collection name, defaults to the decapitalized simple name of the entity
+     */
+    String collection() default "";
+
+    /**
+     * @return The database name, defaults to {@link MongoIndexConfiguration#getDatabase()}
+     */
+    String database() default "";
+
+    /**
+     * @return The index name, defaults to the name generated by the server
+     */
+    String name() default "";
+
+    /**
+     * @return Whether the index enforces uniqueness
+     */
+    boolean unique() default false;
+
+    /**
+     * @return Whether the index only references documents with the indexed fields
+     */
+    boolean sparse() default false;
+
+    /**
+     * @return The number of seconds after which documents expire, a negative value disables TTL
+     */
+    long expireAfterSeconds() default -1;
+
+    /**
+     * @return The partial filter expression as extended JSON, for example <code>{"status": "ACTIVE"}</code>
+     */
+    String partialFilter() default "";
+
+    /**
+     * @return The collation locale, for example <code>en</code>
+     */
+    String collationLocale() default "";
+
+    /**
+     * @return The collation strength between 1 and 5, 0 uses the server default
+     */
+    int collationStrength() default 0;
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.index;
+
+import io.micronaut.configuration.mongo.core.MongoSettings;
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the startup creation and verification of {@link MongoIndex} declarations.
+ *
+ * @since 5.6.0
+ */
+@ConfigurationProperties(MongoIndexConfiguration.PREFIX)
+public class MongoIndexConfiguration {
+
+    /**
+     * The prefix of the index settings.
+     */
+    public static final String PREFIX = MongoSettings.PREFIX + ".indexes";
+
+    /**
+     * The default parallelism.
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    /**
+     * The default startup timeout.
+     */
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofMinutes(1);
+
+    private boolean enabled = true;
+    private boolean create = true;
+    private boolean failOnDrift;
+    private String database;
+    private int parallelism = DEFAULT_PARALLELISM;
+    private Duration timeout = DEFAULT_TIMEOUT;
+
+    /**
+     * @return Whether declared indexes are processed at startup (defaults to true)
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param enabled Whether declared indexes are processed at startup
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return Whether missing indexes are created (defaults to true). If false the indexes are only verified.
+     */
+    public boolean isCreate() {
+        return create;
+    }
+
+    /**
+     * @param create Whether missing indexes are created
+     */
+    public void setCreate(boolean create) {
+        this.create = create;
+    }
+
+    /**
+     * @return Whether startup fails if a declared index is missing or differs from the existing index (defaults to false)
+     */
+    public boolean isFailOnDrift() {
+        return failOnDrift;
+    }
+
+    /**
+     * @param failOnDrift Whether startup fails on drift
+     */
+    public void setFailOnDrift(boolean failOnDrift) {
+        this.failOnDrift = failOnDrift;
+    }
+
+    /**
+     * @return The database used for declarations without an explicit database, defaults to the database of the connection string of the client
+     */
+    @Nullable
+    public String getDatabase() {
+        return database;
+    }
+
+    /**
+     * @param database The default database
+     */
+    public void setDatabase(@Nullable String database) {
+        this.database = database;
+    }
+
+    /**
+     * @return The number of collections processed concurrently (defaults to {@value #DEFAULT_PARALLELISM})
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @param parallelism The number of collections processed concurrently
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * @return The maximum time startup waits for the indexes (defaults to one minute)
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * @param timeout The maximum time startup waits for the indexes
+     */
+    public void setTimeout(Duration timeout) {
+        if (timeout != null) {
+            this.timeout = timeout;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.index;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.model.Collation;
+import com.mongodb.client.model.CollationStrength;
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.IndexOptions;
+import io.micronaut.configuration.mongo.core.AbstractMongoConfiguration;
+import io.micronaut.configuration.mongo.core.MongoSettings;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.env.Environment;
+import io.micronaut.context.exceptions.ConfigurationException;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.naming.NameUtils;
+import io.micronaut.core.util.CollectionUtils;
+import io.micronaut.core.util.StringUtils;
+import jakarta.inject.Singleton;
+import org.bson.BsonDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Holds the {@link MongoIndex} declarations of the entities of every client, default and named, grouped by
+ * server name and collection. The entities of a client are those of the packages its codec registry is built
+ * from, see {@link AbstractMongoConfiguration#getPackageNames()}.
+ *
+ * @since 5.6.0
+ */
+@Singleton
+@Requires(property = MongoSettings.PREFIX)
+public class MongoIndexRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MongoIndexRegistry.class);
+
+    private final MongoIndexConfiguration configuration;
+    private final Map<String, Map<MongoNamespace, List<IndexModel>>> indexes;
+    private final AtomicBoolean claimed = new AtomicBoolean();
+    private volatile Map<String, List<IndexReport>> reports = Collections.emptyMap();
+
+    /**
+     * @param environment    The environment
+     * @param configuration  The index configuration
+     * @param configurations The configurations of the clients
+     */
+    public MongoIndexRegistry(Environment environment, MongoIndexConfiguration configuration,
+                              List<AbstractMongoConfiguration> configurations) {
+        this.configuration = configuration;
+        if (!configuration.isEnabled()) {
+            this.indexes = Collections.emptyMap();
+        } else {
+            Map<String, Map<MongoNamespace, List<IndexModel>>> byServer = new LinkedHashMap<>();
+            Map<Set<String>, Set<Class<?>>> scanned = new HashMap<>();
+            for (AbstractMongoConfiguration client : configurations) {
+                Collection<String> packages = client.getPackageNames();
+                if (CollectionUtils.isEmpty(packages) || byServer.containsKey(client.getServerName())) {
+                    continue;
+                }
+                Set<Class<?>> entities = scanned.computeIfAbsent(new LinkedHashSet<>(packages), packageNames -> scan(environment, packageNames));
+                Map<MongoNamespace, List<IndexModel>> declared = resolve(entities, defaultDatabase(configuration, client));
+                if (!declared.isEmpty()) {
+                    byServer.put(client.getServerName(), declared);
+                }
+            }
+            this.indexes = Collections.unmodifiableMap(byServer);
+        }
+    }
+
+    /**
+     * @return The declared indexes grouped by server name and collection
+     */
+    public Map<String, Map<MongoNamespace, List<IndexModel>>> getIndexes() {
+        return indexes;
+    }
+
+    /**
+     * Claims the processing of the declared indexes. When both the blocking and the reactive
+     * module are present only the first caller processes the indexes.
+     *
+     * @return True if the caller should process the indexes
+     */
+    public boolean claim() {
+        return !indexes.isEmpty() && claimed.compareAndSet(false, true);
+    }
+
+    /**
+     * @return The index configuration
+     */
+    public MongoIndexConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * @return The reports of the last verification grouped by server name
+     */
+    public Map<String, List<IndexReport>> getReports() {
+        return reports;
+    }
+
+    /**
+     * Logs the result of the verification of the declared indexes.
+     *
+     * @param reports The reports, one per collection, grouped by server name
+     * @throws ConfigurationException if {@link MongoIndexConfiguration#isFailOnDrift()} is set and indexes drifted
+     */
+    public void report(Map<String, List<IndexReport>> reports) {
+        this.reports = Collections.unmodifiableMap(reports);
+        boolean drift = false;
+        for (Map.Entry<String, List<IndexReport>> entry : reports.entrySet()) {
+            String server = entry.getKey();
+            for (IndexReport report : entry.getValue()) {
+                if (!report.getMissing().isEmpty()) {
+                    if (configuration.isCreate()) {
+                        if (LOG.isInfoEnabled()) {
+                            LOG.info("Created {} index(es) on {} of server [{}]", report.getMissing().size(), report.getNamespace(), server);
+                        }
+                    } else {
+                        drift = true;
+                        LOG.warn("Missing {} declared index(es) on {} of server [{}]: {}", report.getMissing().size(), report.getNamespace(), server, report.getMissing());
+                    }
+                }
+                if (!report.getDrifted().isEmpty()) {
+                    drift = true;
+                    LOG.warn("Indexes on {} of server [{}] differ from their declaration: {}", report.getNamespace(), server, report.getDrifted());
+                }
+                if (!report.getUndeclared().isEmpty() && LOG.isDebugEnabled()) {
+                    LOG.debug("Undeclared indexes on {} of server [{}]: {}", report.getNamespace(), server, report.getUndeclared());
+                }
+            }
+        }
+        if (drift && configuration.isFailOnDrift()) {
+            throw new ConfigurationException("MongoDB indexes differ from their declarations: " + reports);
+        }
+    }
+
+    /**
+     * Resolves the {@link MongoIndex} declarations of the given entities.
+     *
+     * @param entities        The entities
+     * @param defaultDatabase The database for declarations without a database
+     * @return The indexes grouped by collection
+     */
+    public static Map<MongoNamespace, List<IndexModel>> resolve(Collection<Class<?>> entities, @Nullable String defaultDatabase) {
+        Map<MongoNamespace, List<IndexModel>> result = new LinkedHashMap<>();
+        for (Class<?> entity : entities) {
+            for (MongoIndex index : entity.getAnnotationsByType(MongoIndex.class)) {
+                String database = StringUtils.isNotEmpty(index.database()) ? index.database() : defaultDatabase;
+                if (StringUtils.isEmpty(database)) {
+                    throw new ConfigurationException("No database configured for the indexes of " + entity.getName()
+                        + ". Set the database of @MongoIndex, " + MongoIndexConfiguration.PREFIX + ".database or the database of the connection string.");
+                }
+                String collection = StringUtils.isNotEmpty(index.collection()) ? index.collection() : NameUtils.decapitalize(entity.getSimpleName());
+                IndexModel model = indexModel(entity, index);
+                List<IndexModel> models = result.computeIfAbsent(new MongoNamespace(database, collection), ns -> new ArrayList<>());
+                if (models.stream().noneMatch(existing -> IndexReport.isSameIndex(existing, model))) {
+                    models.add(model);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static IndexModel indexModel(Class<?> entity, MongoIndex index) {
+        if (index.fields().length == 0) {
+            throw new ConfigurationException("@MongoIndex on " + entity.getName() + " declares no fields");
+        }
+        BsonDocument keys = new BsonDocument();
+        for (IndexField field : index.fields()) {
+            keys.append(field.value(), field.type().getValue());
+        }
+        IndexOptions options = new IndexOptions()
+            .unique(index.unique())
+            .sparse(index.sparse());
+        if (StringUtils.isNotEmpty(index.name())) {
+            options.name(index.name());
+        }
+        if (index.expireAfterSeconds() >= 0) {
+            if (index.fields().length > 1) {
+                throw new ConfigurationException("@MongoIndex on " + entity.getName() + " declares a TTL on a compound index");
+            }
+            options.expireAfter(index.expireAfterSeconds(), TimeUnit.SECONDS);
+        }
+        if (StringUtils.isNotEmpty(index.partialFilter())) {
+            options.partialFilterExpression(BsonDocument.parse(index.partialFilter()));
+        }
+        if (StringUtils.isNotEmpty(index.collationLocale())) {
+            Collation.Builder collation = Collation.builder().locale(index.collationLocale());
+            if (index.collationStrength() > 0) {
+                collation.collationStrength(CollationStrength.fromInt(index.collationStrength()));
+            }
+            options.collation(collation.build());
+        }
+        return new IndexModel(keys, options);
+    }
+
+    private static Set<Class<?>> scan(Environment environment, Set<String> packages) {
+        String[] packageNames = packages.toArray(new String[0]);
+        return Stream.concat(
+            environment.scan(MongoIndex.class, packageNames),
+            environment.scan(MongoIndexes.class, packageNames)
+        ).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    @Nullable
+    private static String defaultDatabase(MongoIndexConfiguration configuration, AbstractMongoConfiguration client) {
+        if (StringUtils.isNotEmpty(configuration.getDatabase())) {
+            return configuration.getDatabase();
+        }
+        return client.getConnectionString()
+            .map(ConnectionString::getDatabase)
+            .orElse(null);
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.intercept;
+
+import com.mongodb.client.model.CountOptions;
+import com.mongodb.client.model.EstimatedDocumentCountOptions;
+import com.mongodb.client.model.FindOneAndDeleteOptions;
+import com.mongodb.client.model.FindOneAndReplaceOptions;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import io.micronaut.core.annotation.Nullable;
+import org.bson.BsonDocument;
+import org.bson.conversions.Bson;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * The options of the operations of a collection that are executed when invoked, such as <code>countDocuments</code>.
+ * Their options are model objects shared by both drivers, so that they are copied here instead of being set on a
+ * driver object.
+ *
+ * @since 5.6.0
+ */
+final class ImmediateOperationOptions {
+
+    private static final Map<String, Class<?>> MAX_TIME_OPTIONS = Map.of(
+        "countDocuments", CountOptions.class,
+        "estimatedDocumentCount", EstimatedDocumentCountOptions.class,
+        "findOneAndDelete", FindOneAndDeleteOptions.class,
+        "findOneAndReplace", FindOneAndReplaceOptions.class,
+        "findOneAndUpdate", FindOneAndUpdateOptions.class
+    );
+
+    private static final Set<String> WRITES = Set.of(
+        "insertOne", "insertMany", "updateOne", "updateMany", "replaceOne", "deleteOne", "deleteMany", "bulkWrite"
+    );
+
+    private static final Map<Method, Invocation> WITH_OPTIONS = new ConcurrentHashMap<>();
+
+    private ImmediateOperationOptions() {
+    }
+
+    /**
+     * @param method The method starting the operation
+     * @return Whether the operation accepts a <code>maxTime</code> in its options
+     */
+    static boolean supportsMaxTime(Method method) {
+        return MAX_TIME_OPTIONS.containsKey(method.getName());
+    }
+
+    /**
+     * @param method The method starting the operation
+     * @return Whether the operation waits for the write concern of the collection
+     */
+    static boolean supportsWriteTimeout(Method method) {
+        return WRITES.contains(method.getName());
+    }
+
+    /**
+     * @param arguments The arguments of the operation
+     * @return The <code>maxTime</code> in nanoseconds set by the caller in the options or zero if none was set
+     */
+    static long getMaxTime(@Nullable Object[] arguments) {
+        if (arguments != null) {
+            for (Object argument : arguments) {
+                if (argument != null && MAX_TIME_OPTIONS.containsValue(argument.getClass())) {
+                    return maxTime(argument);
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Finds the overload of the method that takes options, so that a caller that passed none can be given some.
+     *
+     * @param type   The interface declaring the method
+     * @param method The method starting the operation
+     * @return The method taking options, the number of arguments to pass to it and whether a filter must be added
+     * before the options, or null if the method has no overload taking options
+     */
+    @Nullable
+    static Invocation withOptions(Class<?> type, Method method) {
+        Class<?> options = MAX_TIME_OPTIONS.get(method.getName());
+        if (options == null) {
+            return null;
+        }
+        Invocation invocation = WITH_OPTIONS.computeIfAbsent(method, m -> resolve(type, m, options));
+        return invocation == Invocation.NONE ? null : invocation;
+    }
+
+    /**
+     * @param options The options of the caller or null
+     * @param type    The options type
+     * @param maxTime The maximum time
+     * @param unit    The time unit
+     * @return A copy of the options with the given <code>maxTime</code>
+     */
+    static Object withMaxTime(@Nullable Object options, Class<?> type, long maxTime, TimeUnit unit) {
+        if (type == CountOptions.class) {
+            CountOptions count = new CountOptions();
+            if (options instanceof CountOptions caller) {
+                count.hint(caller.getHint())
+                    .hintString(caller.getHintString())
+                    .limit(caller.getLimit())
+                    .skip(caller.getSkip())
+                    .collation(caller.getCollation())
+                    .comment(caller.getComment());
+            }
+            return count.maxTime(maxTime, unit);
+        }
+        if (type == EstimatedDocumentCountOptions.class) {
+            EstimatedDocumentCountOptions count = new EstimatedDocumentCountOptions();
+            if (options instanceof EstimatedDocumentCountOptions caller) {
+                count.comment(caller.getComment());
+            }
+            return count.maxTime(maxTime, unit);
+        }
+        if (type == FindOneAndDeleteOptions.class) {
+            FindOneAndDeleteOptions delete = new FindOneAndDeleteOptions();
+            if (options instanceof FindOneAndDeleteOptions caller) {
+                delete.projection(caller.getProjection())
+                    .sort(caller.getSort())
+                    .collation(caller.getCollation())
+                    .hint(caller.getHint())
+                    .hintString(caller.getHintString())
+                    .comment(caller.getComment())
+                    .let(caller.getLet());
+            }
+            return delete.maxTime(maxTime, unit);
+        }
+        if (type == FindOneAndReplaceOptions.class) {
+            FindOneAndReplaceOptions replace = new FindOneAndReplaceOptions();
+            if (options instanceof FindOneAndReplaceOptions caller) {
+                replace.projection(caller.getProjection())
+                    .sort(caller.getSort())
+                    .upsert(caller.isUpsert())
+                    .returnDocument(caller.getReturnDocument())
+                    .bypassDocumentValidation(caller.getBypassDocumentValidation())
+                    .collation(caller.getCollation())
+                    .hint(caller.getHint())
+                    .hintString(caller.getHintString())
+                    .comment(caller.getComment())
+                    .let(caller.getLet());
+            }
+            return replace.maxTime(maxTime, unit);
+        }
+        FindOneAndUpdateOptions update = new FindOneAndUpdateOptions();
+        if (options instanceof FindOneAndUpdateOptions caller) {
+            update.projection(caller.getProjection())
+                .sort(caller.getSort())
+                .upsert(caller.isUpsert())
+                .returnDocument(caller.getReturnDocument())
+                .bypassDocumentValidation(caller.getBypassDocumentValidation())
+                .collation(caller.getCollation())
+                .arrayFilters(caller.getArrayFilters())
+                .hint(caller.getHint())
+                .hintString(caller.getHintString())
+                .comment(caller.getComment())
+                .let(caller.getLet());
+        }
+        return update.maxTime(maxTime, unit);
+    }
+
+    private static long maxTime(Object options) {
+        if (options instanceof CountOptions count) {
+            return count.getMaxTime(TimeUnit.NANOSECONDS);
+        }
+        if (options instanceof EstimatedDocumentCountOptions count) {
+            return count.getMaxTime(TimeUnit.NANOSECONDS);
+        }
+        if (options instanceof FindOneAndDeleteOptions delete) {
+            return delete.getMaxTime(TimeUnit.NANOSECONDS);
+        }
+        if (options instanceof FindOneAndReplaceOptions replace) {
+            return replace.getMaxTime(TimeUnit.NANOSECONDS);
+        }
+        return ((FindOneAndUpdateOptions) options).getMaxTime(TimeUnit.NANOSECONDS);
+    }
+
+    private static Invocation resolve(Class<?> type, Method method, Class<?> options) {
+        Class<?>[] parameters = method.getParameterTypes();
+        if (parameters.length > 0 && parameters[parameters.length - 1] == options) {
+            return new Invocation(method, parameters.length, false);
+        }
+        Method withOptions = find(type, method.getName(), append(parameters, options));
+        if (withOptions != null) {
+            return new Invocation(withOptions, parameters.length + 1, false);
+        }
+        // countDocuments() only has an overload taking options after a filter
+        withOptions = find(type, method.getName(), append(append(parameters, Bson.class), options));
+        return withOptions == null ? Invocation.NONE : new Invocation(withOptions, parameters.length + 2, true);
+    }
+
+    @Nullable
+    private static Method find(Class<?> type, String name, Class<?>[] parameters) {
+        try {
+            return type.getMethod(name, parameters);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Class<?>[] append(Class<?>[] parameters, Class<?> parameter) {
+        Class<?>[] appended = Arrays.copyOf(parameters, parameters.length + 1);
+        appended[parameters.length] = parameter;
+        return appended;
+    }
+
+    /**
+     * The overload of a method that takes options.
+     */
+    static final class Invocation {
+
+        private static final Invocation NONE = new Invocation(null, 0, false);
+
+        private final Method method;
+        private final int length;
+        private final boolean filter;
+
+        private Invocation(Method method, int length, boolean filter) {
+            this.method = method;
+            this.length = length;
+            this.filter = filter;
+        }
+
+        /**
+         * @return The method taking options
+         */
+        Method getMethod() {
+            return method;
+        }
+
+        /**
+         * @param arguments The arguments passed by the caller
+         * @param options   Creates the options from the options passed by the caller, which are null if none were passed
+         * @return The arguments to pass to the method taking options
+         */
+        Object[] arguments(@Nullable Object[] arguments, UnaryOperator<Object> options) {
+            int passed = arguments == null ? 0 : arguments.length;
+            Object[] copy = arguments == null ? new Object[length] : Arrays.copyOf(arguments, length);
+            if (filter) {
+                copy[passed] = new BsonDocument();
+            }
+            copy[length - 1] = options.apply(passed == length ? arguments[length - 1] : null);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,387 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.intercept;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.propagation.PropagatedContext;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Base class of the proxies that route the operations of a client through the {@link MongoOperationInterceptor} beans.
+ *
+ * <p>Resources, that is the client, its databases and collections, are proxied so that every operation they start
+ * is intercepted. Operations with deferred execution such as <code>find</code> are proxied as well: they capture the
+ * {@link PropagatedContext} when created and are intercepted when executed. The calls that created and configured
+ * them are recorded, so that options set for a single execution are applied to a copy created by replaying them.</p>
+ *
+ * <p>The proxies of databases and collections are cached per method and arguments.</p>
+ *
+ * @param <I> The interceptor type
+ * @since 5.6.0
+ */
+@Internal
+public abstract class MongoInvocationHandler<I extends MongoOperationInterceptor> implements InvocationHandler {
+
+    private static final int MAX_RESOURCES = 256;
+
+    private final Object target;
+    private final Class<?> type;
+    private final String serverName;
+    private final String databaseName;
+    private final String collectionName;
+    private final MongoOperation operation;
+    private final List<I> interceptors;
+    private final Map<List<Object>, Object> resources;
+    private Step step;
+
+    /**
+     * @param target         The proxied object
+     * @param type           The proxied interface
+     * @param serverName     The name of the server the client belongs to
+     * @param databaseName   The database name or null
+     * @param collectionName The collection name or null
+     * @param operation      The operation executed by the target or null for resources
+     * @param interceptors   The ordered interceptors
+     */
+    protected MongoInvocationHandler(Object target,
+                                     Class<?> type,
+                                     String serverName,
+                                     @Nullable String databaseName,
+                                     @Nullable String collectionName,
+                                     @Nullable MongoOperation operation,
+                                     List<I> interceptors) {
+        this.target = target;
+        this.type = type;
+        this.serverName = serverName;
+        this.databaseName = databaseName;
+        this.collectionName = collectionName;
+        this.operation = operation;
+        this.interceptors = interceptors;
+        this.resources = operation == null ? new ConcurrentHashMap<>() : Map.of();
+    }
+
+    /**
+     * @return A proxy of the target
+     */
+    public final Object proxy() {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, this);
+    }
+
+    @Override
+    public final Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> invokeTarget(method, args);
+            };
+        }
+        Class<?> returnType = method.getReturnType();
+        if (operation == null) {
+            if (isResource(returnType)) {
+                return resource(method, args, returnType);
+            }
+            if (isAccessor(method)) {
+                return invokeTarget(method, args);
+            }
+            if (isOperation(returnType)) {
+                Object result = invokeTarget(method, args);
+                if (result == null) {
+                    return null;
+                }
+                MongoOperation created = new MongoOperation(serverName, databaseName, collectionName, method.getName(), result, returnType, PropagatedContext.getOrEmpty(), args, options());
+                return create(result, returnType, databaseName, collectionName, created, new Step(target, null, method, args)).proxy();
+            }
+            MongoOperation immediate = new MongoOperation(serverName, databaseName, collectionName, method.getName(), target, type, PropagatedContext.getOrEmpty(), args, options(), method);
+            return execute(immediate, method, args);
+        }
+        if (returnType != Object.class && returnType.isAssignableFrom(type)) {
+            operation.requested(method, args);
+            Object result = invokeTarget(method, args);
+            if (result == target) {
+                step.changed(method, args);
+                return proxy;
+            }
+            // a derived operation such as a mapped iterable executes the same operation later
+            return result == null || !returnType.isInterface() ? result : create(result, returnType, databaseName, collectionName, operation, new Step(null, step, method, args)).proxy();
+        }
+        return execute(operation, method, args);
+    }
+
+    /**
+     * @return The proxied object
+     */
+    protected final Object getTarget() {
+        return target;
+    }
+
+    /**
+     * @return The name of the server the client belongs to
+     */
+    protected final String getServerName() {
+        return serverName;
+    }
+
+    /**
+     * @return The ordered interceptors
+     */
+    protected final List<I> getInterceptors() {
+        return interceptors;
+    }
+
+    /**
+     * Creates an execution of an operation, whose options are applied to a copy of the target. Operations executed
+     * when invoked are created per invocation, but an execution of their own keeps a publisher subscribed more than
+     * once from sharing the options of another subscription.
+     *
+     * @param operation The operation
+     * @return A new execution
+     */
+    protected final MongoOperation execution(MongoOperation operation) {
+        Step replayed = step;
+        return operation.execution(replayed == null ? null : replayed::copy);
+    }
+
+    /**
+     * @param execution An execution created by {@link #execution(MongoOperation)}
+     * @return The driver object executing the operation, a copy of the target if options were set for the execution
+     */
+    protected final Object executionTarget(MongoOperation execution) {
+        return execution.getExecutionTarget();
+    }
+
+    /**
+     * Invokes a method executing an operation on the driver object of the execution, passing the options set for it.
+     *
+     * @param execution An execution created by {@link #execution(MongoOperation)}
+     * @param method    The method
+     * @param args      The arguments
+     * @return The result
+     * @throws Throwable If the method failed
+     */
+    protected final Object invoke(MongoOperation execution, Method method, Object[] args) throws Throwable {
+        Method executionMethod = execution.getExecutionMethod();
+        try {
+            if (executionMethod == null) {
+                return method.invoke(execution.getExecutionTarget(), args);
+            }
+            return executionMethod.invoke(execution.getExecutionTarget(), execution.getExecutionArguments());
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Prepares the operation right before it is sent.
+     *
+     * @param operation The operation
+     */
+    protected final void prepare(MongoOperation operation) {
+        for (I interceptor : interceptors) {
+            interceptor.prepare(operation);
+        }
+    }
+
+    /**
+     * Creates the handler of a resource or operation returned by the target.
+     *
+     * @param target         The returned object
+     * @param type           The returned interface
+     * @param databaseName   The database name or null
+     * @param collectionName The collection name or null
+     * @param operation      The operation executed by the target or null for resources
+     * @return The handler
+     */
+    protected abstract MongoInvocationHandler<I> create(Object target,
+                                                       Class<?> type,
+                                                       @Nullable String databaseName,
+                                                       @Nullable String collectionName,
+                                                       @Nullable MongoOperation operation);
+
+    /**
+     * @return Sets the options of the operations
+     */
+    protected abstract MongoOperationOptions options();
+
+    /**
+     * @param type The type returned by a method
+     * @return Whether the type is a client, database or collection
+     */
+    protected abstract boolean isResource(Class<?> type);
+
+    /**
+     * @param type The type returned by a method
+     * @return Whether the type is an operation with deferred execution
+     */
+    protected abstract boolean isOperation(Class<?> type);
+
+    /**
+     * @param resource The resource
+     * @return The database name of the resource or null
+     */
+    @Nullable
+    protected abstract String databaseName(Object resource);
+
+    /**
+     * @param resource The resource
+     * @return The collection name of the resource or null
+     */
+    @Nullable
+    protected abstract String collectionName(Object resource);
+
+    /**
+     * Executes a method of the target that starts the given operation.
+     *
+     * @param operation The operation
+     * @param method    The method
+     * @param args      The arguments
+     * @return The result
+     * @throws Throwable If the execution failed
+     */
+    protected abstract Object execute(MongoOperation operation, Method method, Object[] args) throws Throwable;
+
+    /**
+     * @param method The method
+     * @param args   The arguments
+     * @return The result of invoking the method on the target
+     * @throws Throwable If the method failed
+     */
+    protected final Object invokeTarget(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private MongoInvocationHandler<I> create(Object target,
+                                             Class<?> type,
+                                             @Nullable String databaseName,
+                                             @Nullable String collectionName,
+                                             MongoOperation operation,
+                                             Step step) {
+        MongoInvocationHandler<I> handler = create(target, type, databaseName, collectionName, operation);
+        handler.step = step;
+        return handler;
+    }
+
+    private Object resource(Method method, Object[] args, Class<?> resourceType) throws Throwable {
+        List<Object> key = new ArrayList<>(args == null ? 1 : args.length + 1);
+        key.add(method);
+        if (args != null) {
+            key.addAll(Arrays.asList(args));
+        }
+        Object cached = resources.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Object resource = invokeTarget(method, args);
+        if (resource == null) {
+            return null;
+        }
+        Object proxy = create(resource, resourceType, databaseName(resource), collectionName(resource), null).proxy();
+        if (resources.size() >= MAX_RESOURCES) {
+            return proxy;
+        }
+        Object existing = resources.putIfAbsent(key, proxy);
+        return existing == null ? proxy : existing;
+    }
+
+    private static boolean isAccessor(Method method) {
+        String name = method.getName();
+        return name.startsWith("get") || name.startsWith("with") || "close".equals(name);
+    }
+
+    /**
+     * A call that created the target of an operation with deferred execution, together with the calls that changed it.
+     */
+    private static final class Step {
+
+        private final Object resource;
+        private final Step parent;
+        private final Method method;
+        private final Object[] args;
+        private final Map<Method, Object[]> changes = new LinkedHashMap<>();
+
+        /**
+         * @param resource The resource the operation was created from, or null for a derived operation
+         * @param parent   The step of the operation a derived operation was created from, or null
+         * @param method   The method creating the operation
+         * @param args     The arguments
+         */
+        Step(@Nullable Object resource, @Nullable Step parent, Method method, @Nullable Object[] args) {
+            this.resource = resource;
+            this.parent = parent;
+            this.method = method;
+            this.args = args;
+        }
+
+        /**
+         * Records a call that changed the target. Only the last call of a method is kept, since the methods set options.
+         *
+         * @param changed The method
+         * @param changedArgs The arguments
+         */
+        synchronized void changed(Method changed, @Nullable Object[] changedArgs) {
+            changes.remove(changed);
+            changes.put(changed, changedArgs);
+        }
+
+        /**
+         * @return A copy of the target created by replaying the calls
+         */
+        Object copy() {
+            try {
+                return replay();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Failed to copy the operation", e);
+            }
+        }
+
+        private Object replay() throws Throwable {
+            Object created = invoke(parent == null ? resource : parent.replay(), method, args);
+            List<Map.Entry<Method, Object[]>> replayed;
+            synchronized (this) {
+                replayed = new ArrayList<>(changes.entrySet());
+            }
+            for (Map.Entry<Method, Object[]> change : replayed) {
+                invoke(created, change.getKey(), change.getValue());
+            }
+            return created;
+        }
+
+        private static Object invoke(Object target, Method method, @Nullable Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.intercept;
+
+import com.mongodb.WriteConcern;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.propagation.PropagatedContext;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A MongoDB operation intercepted by the {@link MongoOperationInterceptor} beans, for example a <code>find</code>
+ * or an <code>insertOne</code>.
+ *
+ * <p>Every execution of an operation is represented by an operation of its own. Options set for an execution are
+ * applied to a copy of the driver object created by the caller, or to a copy of the arguments of the caller, so that
+ * an iterable shared between threads or executed again is never changed.</p>
+ *
+ * @since 5.6.0
+ */
+public final class MongoOperation {
+
+    private final String serverName;
+    private final String databaseName;
+    private final String collectionName;
+    private final String name;
+    private final Object target;
+    private final Class<?> type;
+    private final PropagatedContext context;
+    private final List<Object> arguments;
+    private final MongoOperationOptions options;
+    @Nullable
+    private final Method method;
+    @Nullable
+    private final Supplier<Object> copy;
+    private volatile long maxTimeNanos;
+    private volatile int batchSize;
+    private Object executionTarget;
+    private Method executionMethod;
+    private Object[] executionArguments;
+
+    /**
+     * @param serverName     The name of the server the client belongs to
+     * @param databaseName   The database name or null for client level operations
+     * @param collectionName The collection name or null for database level operations
+     * @param name           The name of the method that created the operation
+     * @param target         The driver object executing the operation
+     * @param type           The interface of the target
+     * @param context        The context the operation was created in
+     * @param arguments      The arguments of the method that created the operation or null if there are none
+     * @param options        Sets the options of the target
+     */
+    @Internal
+    public MongoOperation(String serverName,
+                          @Nullable String databaseName,
+                          @Nullable String collectionName,
+                          String name,
+                          Object target,
+                          Class<?> type,
+                          PropagatedContext context,
+                          @Nullable Object[] arguments,
+                          MongoOperationOptions options) {
+        this(serverName, databaseName, collectionName, name, target, type, context, arguments, options, null);
+    }
+
+    /**
+     * @param method The method of the target that executes the operation when invoked, or null for operations with
+     *               deferred execution
+     */
+    MongoOperation(String serverName,
+                   @Nullable String databaseName,
+                   @Nullable String collectionName,
+                   String name,
+                   Object target,
+                   Class<?> type,
+                   PropagatedContext context,
+                   @Nullable Object[] arguments,
+                   MongoOperationOptions options,
+                   @Nullable Method method) {
+        this.serverName = serverName;
+        this.databaseName = databaseName;
+        this.collectionName = collectionName;
+        this.name = name;
+        this.target = target;
+        this.type = type;
+        this.context = context;
+        this.arguments = arguments == null ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(arguments));
+        this.options = options;
+        this.method = method;
+        this.copy = null;
+        this.maxTimeNanos = method != null ? ImmediateOperationOptions.getMaxTime(arguments) : 0;
+        this.executionTarget = target;
+        this.executionMethod = method;
+        this.executionArguments = arguments;
+    }
+
+    private MongoOperation(MongoOperation operation, @Nullable Supplier<Object> copy) {
+        this.serverName = operation.serverName;
+        this.databaseName = operation.databaseName;
+        this.collectionName = operation.collectionName;
+        this.name = operation.name;
+        this.target = operation.target;
+        this.type = operation.type;
+        this.context = operation.context;
+        this.arguments = operation.arguments;
+        this.options = operation.options;
+        this.method = operation.method;
+        this.copy = copy;
+        this.maxTimeNanos = operation.maxTimeNanos;
+        this.batchSize = operation.batchSize;
+        this.executionTarget = operation.target;
+        this.executionMethod = operation.method;
+        this.executionArguments = operation.arguments.toArray();
+    }
+
+    /**
+     * @return The name of the server the client belongs to, {@value io.micronaut.configuration.mongo.core.MongoSettings#DEFAULT_SERVER_NAME} for the default client
+     */
+    public String getServerName() {
+        return serverName;
+    }
+
+    /**
+     * @return The database name or null for client level operations
+     */
+    @Nullable
+    public String getDatabaseName() {
+        return databaseName;
+    }
+
+    /**
+     * @return The collection name or null for database and client level operations
+     */
+    @Nullable
+    public String getCollectionName() {
+        return collectionName;
+    }
+
+    /**
+     * @return The name of the method that created the operation, for example <code>find</code>
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The driver object executing the operation, for example a <code>FindIterable</code>
+     */
+    public Object getTarget() {
+        return target;
+    }
+
+    /**
+     * @return The driver interface of the target
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return The context the operation was created in
+     */
+    public PropagatedContext getContext() {
+        return context;
+    }
+
+    /**
+     * @return The arguments of the method that created the operation, for example the filter passed to <code>find</code>
+     */
+    public List<Object> getArguments() {
+        return arguments;
+    }
+
+    /**
+     * @return The tag of the context the operation was created in, if any
+     */
+    public Optional<String> getTag() {
+        return context.find(MongoOperationTag.class).map(MongoOperationTag::getName);
+    }
+
+    /**
+     * @param unit The time unit
+     * @return The <code>maxTime</code> set by the caller, on the target or in the options passed to it, or zero if
+     * none was set
+     */
+    public long getMaxTime(TimeUnit unit) {
+        return unit.convert(maxTimeNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return The <code>batchSize</code> set by the caller or zero if none was set
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @param unit The time unit
+     * @return The <code>wtimeout</code> of the write concern of the collection, or zero if none was set or the operation
+     * is not a write
+     */
+    public long getWriteTimeout(TimeUnit unit) {
+        WriteConcern writeConcern = supportsWriteTimeout() ? options.getWriteConcern(target) : null;
+        Integer timeout = writeConcern == null ? null : writeConcern.getWTimeout(TimeUnit.MILLISECONDS);
+        return timeout == null ? 0 : unit.convert(timeout, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return Whether the target supports <code>maxTime</code>, or the operation takes options with a <code>maxTime</code>
+     */
+    public boolean supportsMaxTime() {
+        return method != null ? ImmediateOperationOptions.supportsMaxTime(method) : options.supportsMaxTime(target);
+    }
+
+    /**
+     * @return Whether the operation is a write whose write concern supports a <code>wtimeout</code>
+     */
+    public boolean supportsWriteTimeout() {
+        if (method == null || !ImmediateOperationOptions.supportsWriteTimeout(method)) {
+            return false;
+        }
+        WriteConcern writeConcern = options.getWriteConcern(target);
+        return writeConcern != null && writeConcern.isAcknowledged();
+    }
+
+    /**
+     * @return Whether the target supports <code>batchSize</code>
+     */
+    public boolean supportsBatchSize() {
+        return options.supportsBatchSize(target);
+    }
+
+    /**
+     * Sets <code>maxTimeMS</code> of this execution without changing the value returned by {@link #getMaxTime(TimeUnit)}.
+     *
+     * @param maxTime The maximum time
+     * @param unit    The time unit
+     * @return Whether the operation supports <code>maxTime</code>
+     */
+    public synchronized boolean maxTime(long maxTime, TimeUnit unit) {
+        if (!supportsMaxTime()) {
+            return false;
+        }
+        if (method == null) {
+            return options.maxTime(executionCopy(), maxTime, unit);
+        }
+        ImmediateOperationOptions.Invocation invocation = ImmediateOperationOptions.withOptions(type, executionMethod);
+        if (invocation == null) {
+            return false;
+        }
+        Class<?> optionsType = invocation.getMethod().getParameterTypes()[invocation.getMethod().getParameterCount() - 1];
+        executionArguments = invocation.arguments(executionArguments, caller -> ImmediateOperationOptions.withMaxTime(caller, optionsType, maxTime, unit));
+        executionMethod = invocation.getMethod();
+        return true;
+    }
+
+    /**
+     * Sets the <code>wtimeout</code> of the write concern of this execution without changing the value returned by
+     * {@link #getWriteTimeout(TimeUnit)}.
+     *
+     * @param timeout The timeout
+     * @param unit    The time unit
+     * @return Whether the operation supports <code>wtimeout</code>
+     */
+    public synchronized boolean writeTimeout(long timeout, TimeUnit unit) {
+        if (!supportsWriteTimeout()) {
+            return false;
+        }
+        WriteConcern writeConcern = options.getWriteConcern(target);
+        executionTarget = options.withWriteConcern(target, writeConcern.withWTimeout(timeout, unit));
+        return true;
+    }
+
+    /**
+     * Sets the batch size of this execution without changing the value returned by {@link #getBatchSize()}.
+     *
+     * @param batchSize The batch size
+     * @return Whether the target supports <code>batchSize</code>
+     */
+    public synchronized boolean batchSize(int batchSize) {
+        return supportsBatchSize() && options.batchSize(executionCopy(), batchSize);
+    }
+
+    /**
+     * @param copy Creates a copy of the target, or null for operations executed when invoked
+     * @return A new execution of this operation
+     */
+    MongoOperation execution(@Nullable Supplier<Object> copy) {
+        return new MongoOperation(this, copy);
+    }
+
+    /**
+     * @return The driver object executing this execution, a copy of the target if options were set
+     */
+    synchronized Object getExecutionTarget() {
+        return executionTarget;
+    }
+
+    /**
+     * @return The method starting this execution of an operation executed when invoked, or null
+     */
+    @Nullable
+    synchronized Method getExecutionMethod() {
+        return executionMethod;
+    }
+
+    /**
+     * @return The arguments of this execution of an operation executed when invoked
+     */
+    synchronized Object[] getExecutionArguments() {
+        return executionArguments;
+    }
+
+    private Object executionCopy() {
+        if (executionTarget == target && copy != null) {
+            executionTarget = copy.get();
+        }
+        return executionTarget;
+    }
+
+    @Override
+    public String toString() {
+        String namespace = collectionName != null ? databaseName + "." + collectionName : databaseName;
+        return namespace != null ? serverName + ":" + namespace + "." + name : serverName + ":" + name;
+    }
+
+    /**
+     * Records an option set by the caller.
+     *
+     * @param method The method invoked on the target
+     * @param args   The arguments
+     */
+    void requested(Method method, Object[] args) {
+        String methodName = method.getName();
+        if ("maxTime".equals(methodName) && args.length == 2) {
+            maxTimeNanos = ((TimeUnit) args[1]).toNanos((Long) args[0]);
+        } else if ("batchSize".equals(methodName) && args.length == 1) {
+            batchSize = (Integer) args[0];
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.intercept;
+
+import io.micronaut.core.order.Ordered;
+
+/**
+ * Base interface of the interceptors of MongoDB operations. The synchronous and the Reactive Streams integration each
+ * define the actual interception of the execution.
+ *
+ * @since 5.6.0
+ */
+public interface MongoOperationInterceptor extends Ordered {
+
+    /**
+     * Invoked right before the operation is sent, allowing to adjust options such as <code>maxTimeMS</code>.
+     *
+     * @param operation The operation
+     */
+    default void prepare(MongoOperation operation) {
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.intercept;
+
+import com.mongodb.WriteConcern;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sets the options of the driver objects executing a {@link MongoOperation}. The synchronous and the Reactive Streams
+ * integration each know the operation interfaces of their driver, so the options are set without reflection.
+ *
+ * @since 5.6.0
+ */
+@Internal
+public interface MongoOperationOptions {
+
+    /**
+     * @param target The driver object executing the operation
+     * @return Whether the target supports <code>maxTime</code>
+     */
+    boolean supportsMaxTime(Object target);
+
+    /**
+     * @param target The driver object executing the operation
+     * @return Whether the target supports <code>batchSize</code>
+     */
+    boolean supportsBatchSize(Object target);
+
+    /**
+     * @param target  The driver object executing the operation
+     * @param maxTime The maximum time
+     * @param unit    The time unit
+     * @return Whether the target supports <code>maxTime</code>
+     */
+    boolean maxTime(Object target, long maxTime, TimeUnit unit);
+
+    /**
+     * @param target    The driver object executing the operation
+     * @param batchSize The batch size
+     * @return Whether the target supports <code>batchSize</code>
+     */
+    boolean batchSize(Object target, int batchSize);
+
+    /**
+     * @param target The driver object executing the operation
+     * @return The write concern of the target if it is a collection, otherwise null
+     */
+    @Nullable
+    WriteConcern getWriteConcern(Object target);
+
+    /**
+     * @param target       The collection executing the operation
+     * @param writeConcern The write concern
+     * @return The collection with the given write concern
+     */
+    Object withWriteConcern(Object target, WriteConcern writeConcern);
+}
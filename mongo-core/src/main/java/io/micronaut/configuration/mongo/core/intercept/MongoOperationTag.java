@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.intercept;
+
+import io.micronaut.core.propagation.PropagatedContext;
+import io.micronaut.core.propagation.PropagatedContextElement;
+
+import java.util.Optional;
+
+/**
+ * Tags the MongoDB operations executed within a {@link PropagatedContext}, for example to apply a rate limit to the
+ * operations of an endpoint:
+ *
+ * <pre>
+ * try (PropagatedContext.Scope ignore = PropagatedContext.getOrEmpty().plus(MongoOperationTag.of("reports")).propagate()) {
+ *     collection.find().into(new ArrayList&lt;&gt;());
+ * }
+ * </pre>
+ *
+ * @since 5.6.0
+ */
+public final class MongoOperationTag implements PropagatedContextElement {
+
+    private final String name;
+
+    private MongoOperationTag(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @param name The tag name
+     * @return The tag
+     */
+    public static MongoOperationTag of(String name) {
+        return new MongoOperationTag(name);
+    }
+
+    /**
+     * @return The tag of the current context, if any
+     */
+    public static Optional<MongoOperationTag> current() {
+        return PropagatedContext.getOrEmpty().find(MongoOperationTag.class);
+    }
+
+    /**
+     * @return The tag name
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.intercept;
+
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.propagation.PropagatedContext;
+
+/**
+ * Propagates the {@link MongoOperationTag} of methods annotated with {@link MongoTag}.
+ *
+ * @since 5.6.0
+ */
+@InterceptorBean(MongoTag.class)
+public class MongoTagInterceptor implements MethodInterceptor<Object, Object> {
+
+    @Nullable
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        String tag = context.stringValue(MongoTag.class).orElse(null);
+        if (tag == null) {
+            return context.proceed();
+        }
+        try (PropagatedContext.Scope ignore = PropagatedContext.getOrEmpty().plus(MongoOperationTag.of(tag)).propagate()) {
+            return context.proceed();
+        }
+    }
+}
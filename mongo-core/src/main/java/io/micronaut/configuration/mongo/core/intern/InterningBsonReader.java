@@ -0,0 +1,322 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.intern;
+
+import io.micronaut.core.annotation.Internal;
+import org.bson.BsonBinary;
+import org.bson.BsonDbPointer;
+import org.bson.BsonReader;
+import org.bson.BsonReaderMark;
+import org.bson.BsonRegularExpression;
+import org.bson.BsonTimestamp;
+import org.bson.BsonType;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+
+import java.util.Set;
+
+/**
+ * A reader that interns the field names and the string values of the configured fields read from another reader.
+ * Values of array elements are interned if the array is a value of a configured field.
+ *
+ * @since 5.6.0
+ */
+@Internal
+final class InterningBsonReader implements BsonReader {
+
+    private final BsonReader delegate;
+    private final StringInternTable table;
+    private final Set<String> valueFields;
+    private String currentName;
+
+    InterningBsonReader(BsonReader delegate, StringInternTable table, Set<String> valueFields) {
+        this.delegate = delegate;
+        this.table = table;
+        this.valueFields = valueFields;
+    }
+
+    @Override
+    public String getCurrentName() {
+        return table.intern(delegate.getCurrentName());
+    }
+
+    @Override
+    public String readName() {
+        currentName = table.intern(delegate.readName());
+        return currentName;
+    }
+
+    @Override
+    public void readName(String name) {
+        delegate.readName(name);
+        currentName = name;
+    }
+
+    @Override
+    public String readString() {
+        return internValue(delegate.readString());
+    }
+
+    @Override
+    public String readString(String name) {
+        currentName = name;
+        return internValue(delegate.readString(name));
+    }
+
+    @Override
+    public BsonType getCurrentBsonType() {
+        return delegate.getCurrentBsonType();
+    }
+
+    @Override
+    public BsonBinary readBinaryData() {
+        return delegate.readBinaryData();
+    }
+
+    @Override
+    public byte peekBinarySubType() {
+        return delegate.peekBinarySubType();
+    }
+
+    @Override
+    public int peekBinarySize() {
+        return delegate.peekBinarySize();
+    }
+
+    @Override
+    public BsonBinary readBinaryData(String name) {
+        return delegate.readBinaryData(name);
+    }
+
+    @Override
+    public boolean readBoolean() {
+        return delegate.readBoolean();
+    }
+
+    @Override
+    public boolean readBoolean(String name) {
+        return delegate.readBoolean(name);
+    }
+
+    @Override
+    public BsonType readBsonType() {
+        return delegate.readBsonType();
+    }
+
+    @Override
+    public long readDateTime() {
+        return delegate.readDateTime();
+    }
+
+    @Override
+    public long readDateTime(String name) {
+        return delegate.readDateTime(name);
+    }
+
+    @Override
+    public double readDouble() {
+        return delegate.readDouble();
+    }
+
+    @Override
+    public double readDouble(String name) {
+        return delegate.readDouble(name);
+    }
+
+    @Override
+    public void readEndArray() {
+        delegate.readEndArray();
+    }
+
+    @Override
+    public void readEndDocument() {
+        delegate.readEndDocument();
+    }
+
+    @Override
+    public int readInt32() {
+        return delegate.readInt32();
+    }
+
+    @Override
+    public int readInt32(String name) {
+        return delegate.readInt32(name);
+    }
+
+    @Override
+    public long readInt64() {
+        return delegate.readInt64();
+    }
+
+    @Override
+    public long readInt64(String name) {
+        return delegate.readInt64(name);
+    }
+
+    @Override
+    public Decimal128 readDecimal128() {
+        return delegate.readDecimal128();
+    }
+
+    @Override
+    public Decimal128 readDecimal128(String name) {
+        return delegate.readDecimal128(name);
+    }
+
+    @Override
+    public String readJavaScript() {
+        return delegate.readJavaScript();
+    }
+
+    @Override
+    public String readJavaScript(String name) {
+        return delegate.readJavaScript(name);
+    }
+
+    @Override
+    public String readJavaScriptWithScope() {
+        return delegate.readJavaScriptWithScope();
+    }
+
+    @Override
+    public String readJavaScriptWithScope(String name) {
+        return delegate.readJavaScriptWithScope(name);
+    }
+
+    @Override
+    public void readMaxKey() {
+        delegate.readMaxKey();
+    }
+
+    @Override
+    public void readMaxKey(String name) {
+        delegate.readMaxKey(name);
+    }
+
+    @Override
+    public void readMinKey() {
+        delegate.readMinKey();
+    }
+
+    @Override
+    public void readMinKey(String name) {
+        delegate.readMinKey(name);
+    }
+
+    @Override
+    public void readNull() {
+        delegate.readNull();
+    }
+
+    @Override
+    public void readNull(String name) {
+        delegate.readNull(name);
+    }
+
+    @Override
+    public ObjectId readObjectId() {
+        return delegate.readObjectId();
+    }
+
+    @Override
+    public ObjectId readObjectId(String name) {
+        return delegate.readObjectId(name);
+    }
+
+    @Override
+    public BsonRegularExpression readRegularExpression() {
+        return delegate.readRegularExpression();
+    }
+
+    @Override
+    public BsonRegularExpression readRegularExpression(String name) {
+        return delegate.readRegularExpression(name);
+    }
+
+    @Override
+    public BsonDbPointer readDBPointer() {
+        return delegate.readDBPointer();
+    }
+
+    @Override
+    public BsonDbPointer readDBPointer(String name) {
+        return delegate.readDBPointer(name);
+    }
+
+    @Override
+    public void readStartArray() {
+        delegate.readStartArray();
+    }
+
+    @Override
+    public void readStartDocument() {
+        delegate.readStartDocument();
+    }
+
+    @Override
+    public BsonTimestamp readTimestamp() {
+        return delegate.readTimestamp();
+    }
+
+    @Override
+    public BsonTimestamp readTimestamp(String name) {
+        return delegate.readTimestamp(name);
+    }
+
+    @Override
+    public void readUndefined() {
+        delegate.readUndefined();
+    }
+
+    @Override
+    public void readUndefined(String name) {
+        delegate.readUndefined(name);
+    }
+
+    @Override
+    public void skipName() {
+        delegate.skipName();
+    }
+
+    @Override
+    public void skipValue() {
+        delegate.skipValue();
+    }
+
+    @Override
+    public BsonReaderMark getMark() {
+        return delegate.getMark();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    @Override
+    public String readSymbol() {
+        return delegate.readSymbol();
+    }
+
+    @Override
+    public String readSymbol(String name) {
+        return delegate.readSymbol(name);
+    }
+
+    private String internValue(String value) {
+        return currentName != null && valueFields.contains(currentName) ? table.intern(value) : value;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.intern;
+
+import org.bson.BsonReader;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import java.util.Set;
+
+/**
+ * Decodes with another codec through an {@link InterningBsonReader} backed by the intern table of this codec. Nested
+ * values decoded with the same reader use the table of the outermost codec.
+ *
+ * @param <T> The type
+ * @since 5.6.0
+ */
+final class InterningCodec<T> implements Codec<T> {
+
+    private final Codec<T> delegate;
+    private final StringInternTable table;
+    private final Set<String> valueFields;
+
+    InterningCodec(Codec<T> delegate, StringInternTable table, Set<String> valueFields) {
+        this.delegate = delegate;
+        this.table = table;
+        this.valueFields = valueFields;
+    }
+
+    @Override
+    public T decode(BsonReader reader, DecoderContext decoderContext) {
+        if (reader instanceof InterningBsonReader) {
+            return delegate.decode(reader, decoderContext);
+        }
+        return delegate.decode(new InterningBsonReader(reader, table, valueFields), decoderContext);
+    }
+
+    @Override
+    public void encode(BsonWriter writer, T value, EncoderContext encoderContext) {
+        delegate.encode(writer, value, encoderContext);
+    }
+
+    @Override
+    public Class<T> getEncoderClass() {
+        return delegate.getEncoderClass();
+    }
+}
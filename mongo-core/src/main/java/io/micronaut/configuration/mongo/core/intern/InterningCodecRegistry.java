@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.intern;
+
+import org.bson.BsonValue;
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecRegistry;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A codec registry whose codecs intern the field names and the string values of the configured fields they decode.
+ * Every codec has an intern table of its own, bounded by the configured size. The codecs of the BSON types such as
+ * {@link org.bson.BsonDocument} and {@link org.bson.RawBsonDocument}, which the driver uses for commands and their
+ * replies, are returned as they are.
+ *
+ * @since 5.6.0
+ */
+public final class InterningCodecRegistry implements CodecRegistry {
+
+    private final CodecRegistry delegate;
+    private final StringInternSettings settings;
+    private final Map<Codec<?>, Codec<?>> codecs = new ConcurrentHashMap<>();
+
+    private InterningCodecRegistry(CodecRegistry delegate, StringInternSettings settings) {
+        this.delegate = delegate;
+        this.settings = settings;
+    }
+
+    /**
+     * @param delegate The registry to intern the decoded strings of
+     * @param settings The settings
+     * @return The registry
+     */
+    public static CodecRegistry of(CodecRegistry delegate, StringInternSettings settings) {
+        return delegate instanceof InterningCodecRegistry ? delegate : new InterningCodecRegistry(delegate, settings);
+    }
+
+    @Override
+    public <T> Codec<T> get(Class<T> clazz) {
+        return interning(clazz, delegate.get(clazz));
+    }
+
+    @Override
+    public <T> Codec<T> get(Class<T> clazz, List<Type> typeArguments) {
+        return interning(clazz, delegate.get(clazz, typeArguments));
+    }
+
+    @Override
+    public <T> Codec<T> get(Class<T> clazz, CodecRegistry registry) {
+        Codec<T> codec = delegate.get(clazz, registry);
+        return codec == null ? null : interning(clazz, codec);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Codec<T> interning(Class<T> clazz, Codec<T> codec) {
+        if (BsonValue.class.isAssignableFrom(clazz)) {
+            return codec;
+        }
+        return (Codec<T>) codecs.computeIfAbsent(codec, c -> new InterningCodec<>(codec, new StringInternTable(settings.getTableSize()), settings.getValueFields()));
+    }
+}
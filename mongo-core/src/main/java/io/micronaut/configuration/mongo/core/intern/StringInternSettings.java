@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.intern;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * The string interning settings of a client, configured under <code>mongodb.string-intern</code> or
+ * <code>mongodb.servers.[name].string-intern</code>.
+ *
+ * @since 5.6.0
+ */
+public final class StringInternSettings {
+
+    /**
+     * The default number of entries of the intern table of a codec.
+     */
+    public static final int DEFAULT_TABLE_SIZE = 4096;
+
+    private final boolean enabled;
+    private final int tableSize;
+    private final Set<String> valueFields;
+
+    private StringInternSettings(Builder builder) {
+        this.enabled = builder.enabled;
+        this.tableSize = builder.tableSize;
+        this.valueFields = builder.valueFields;
+    }
+
+    /**
+     * @return A new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return Whether decoded strings are interned
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return The number of entries of the intern table of a codec
+     */
+    public int getTableSize() {
+        return tableSize;
+    }
+
+    /**
+     * @return The names of the fields whose string values are interned in addition to the field names
+     */
+    public Set<String> getValueFields() {
+        return valueFields;
+    }
+
+    /**
+     * Builder of {@link StringInternSettings}.
+     */
+    public static final class Builder {
+
+        private boolean enabled;
+        private int tableSize = DEFAULT_TABLE_SIZE;
+        private Set<String> valueFields = Set.of();
+
+        private Builder() {
+        }
+
+        /**
+         * @param enabled Whether decoded strings are interned (defaults to false)
+         * @return This builder
+         */
+        public Builder enabled(boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        /**
+         * @param tableSize The number of entries of the intern table of a codec, rounded up to a power of two (defaults to 4096)
+         * @return This builder
+         */
+        public Builder tableSize(int tableSize) {
+            if (tableSize < 1) {
+                throw new IllegalArgumentException("Table size must be positive: " + tableSize);
+            }
+            this.tableSize = tableSize;
+            return this;
+        }
+
+        /**
+         * @param valueFields The names of the fields whose string values are interned in addition to the field names,
+         *                    for example fields with few distinct values such as status codes (defaults to none)
+         * @return This builder
+         */
+        public Builder valueFields(Collection<String> valueFields) {
+            this.valueFields = Set.copyOf(valueFields);
+            return this;
+        }
+
+        /**
+         * @return The settings
+         */
+        public StringInternSettings build() {
+            return new StringInternSettings(this);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.intern;
+
+import io.micronaut.core.annotation.Nullable;
+
+/**
+ * A bounded, lossy table of strings. A string replaces the entry of its slot unless the entry is equal to it, so the
+ * table keeps the recently seen strings of each slot and never grows. The table is safe to use from several threads
+ * without locking, since strings are immutable and losing an update only costs a duplicate.
+ *
+ * @since 5.6.0
+ */
+public final class StringInternTable {
+
+    private final String[] entries;
+    private final int mask;
+
+    /**
+     * @param size The number of entries, rounded up to a power of two
+     */
+    public StringInternTable(int size) {
+        int capacity = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+        this.entries = new String[Math.max(2, capacity)];
+        this.mask = entries.length - 1;
+    }
+
+    /**
+     * @param value The string
+     * @return An equal string seen before or the string itself
+     */
+    @Nullable
+    public String intern(@Nullable String value) {
+        if (value == null) {
+            return null;
+        }
+        int hash = value.hashCode();
+        int index = (hash ^ (hash >>> 16)) & mask;
+        String entry = entries[index];
+        if (entry != null && entry.equals(value)) {
+            return entry;
+        }
+        entries[index] = value;
+        return value;
+    }
+
+    /**
+     * @return The number of entries
+     */
+    public int size() {
+        return entries.length;
+    }
+}
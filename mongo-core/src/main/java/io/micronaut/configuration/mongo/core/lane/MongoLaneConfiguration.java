@@ -0,0 +1,220 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.lane;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ReadPreference;
+import io.micronaut.configuration.mongo.core.MongoSettings;
+import io.micronaut.configuration.mongo.core.monitor.MongoClientMonitor;
+import io.micronaut.context.annotation.EachProperty;
+import io.micronaut.context.annotation.Parameter;
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A connection lane configured under <code>mongodb.lanes.[name]</code>. The operations tagged with one of the tags
+ * of the lane, see {@link io.micronaut.configuration.mongo.core.intercept.MongoOperationTag}, are executed by a client
+ * of their own with a separate connection pool, so that they cannot starve the other operations of the server.
+ * Settings that are not configured are taken from the server.
+ *
+ * @since 5.6.0
+ */
+@EachProperty(MongoLaneConfiguration.PREFIX)
+public class MongoLaneConfiguration {
+
+    /**
+     * The prefix of the lane settings.
+     */
+    public static final String PREFIX = MongoSettings.PREFIX + ".lanes";
+
+    private final String name;
+    private String server = MongoSettings.DEFAULT_SERVER_NAME;
+    private List<String> tags;
+    private Integer maxPoolSize;
+    private Integer minPoolSize;
+    private Duration maxWaitTime;
+    private Duration readTimeout;
+    private Duration serverSelectionTimeout;
+    private ReadPreference readPreference;
+
+    /**
+     * @param name The name of the lane
+     */
+    public MongoLaneConfiguration(@Parameter String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return The name of the lane
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The name of the server the lane belongs to (defaults to the default server)
+     */
+    public String getServer() {
+        return server;
+    }
+
+    /**
+     * @param server The name of the server the lane belongs to
+     */
+    public void setServer(String server) {
+        this.server = server;
+    }
+
+    /**
+     * @return The operation tags routed to the lane (defaults to the name of the lane)
+     */
+    public List<String> getTags() {
+        return tags == null || tags.isEmpty() ? List.of(name) : tags;
+    }
+
+    /**
+     * @param tags The operation tags routed to the lane
+     */
+    public void setTags(@Nullable List<String> tags) {
+        this.tags = tags;
+    }
+
+    /**
+     * @return The maximum number of connections per server of the lane or null to use the one of the server
+     */
+    @Nullable
+    public Integer getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    /**
+     * @param maxPoolSize The maximum number of connections per server of the lane
+     */
+    public void setMaxPoolSize(@Nullable Integer maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    /**
+     * @return The minimum number of connections per server of the lane or null to use the one of the server
+     */
+    @Nullable
+    public Integer getMinPoolSize() {
+        return minPoolSize;
+    }
+
+    /**
+     * @param minPoolSize The minimum number of connections per server of the lane
+     */
+    public void setMinPoolSize(@Nullable Integer minPoolSize) {
+        this.minPoolSize = minPoolSize;
+    }
+
+    /**
+     * @return The maximum time an operation waits for a connection of the lane or null to use the one of the server
+     */
+    @Nullable
+    public Duration getMaxWaitTime() {
+        return maxWaitTime;
+    }
+
+    /**
+     * @param maxWaitTime The maximum time an operation waits for a connection of the lane
+     */
+    public void setMaxWaitTime(@Nullable Duration maxWaitTime) {
+        this.maxWaitTime = maxWaitTime;
+    }
+
+    /**
+     * @return The socket read timeout of the lane or null to use the one of the server
+     */
+    @Nullable
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    /**
+     * @param readTimeout The socket read timeout of the lane
+     */
+    public void setReadTimeout(@Nullable Duration readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * @return The time an operation of the lane waits for a suitable server or null to use the one of the server
+     */
+    @Nullable
+    public Duration getServerSelectionTimeout() {
+        return serverSelectionTimeout;
+    }
+
+    /**
+     * @param serverSelectionTimeout The time an operation of the lane waits for a suitable server
+     */
+    public void setServerSelectionTimeout(@Nullable Duration serverSelectionTimeout) {
+        this.serverSelectionTimeout = serverSelectionTimeout;
+    }
+
+    /**
+     * @return The read preference of the lane or null to use the one of the server
+     */
+    @Nullable
+    public ReadPreference getReadPreference() {
+        return readPreference;
+    }
+
+    /**
+     * @param readPreference The read preference of the lane, for example <code>secondaryPreferred</code>
+     */
+    public void setReadPreference(@Nullable ReadPreference readPreference) {
+        this.readPreference = readPreference;
+    }
+
+    /**
+     * @param settings The settings of the server
+     * @return The settings of the lane, with a monitor of its own if the server is monitored
+     */
+    public MongoClientSettings apply(MongoClientSettings settings) {
+        MongoClientSettings.Builder builder = MongoClientSettings.builder(settings)
+            .applyToConnectionPoolSettings(pool -> {
+                if (maxPoolSize != null) {
+                    pool.maxSize(maxPoolSize);
+                }
+                if (minPoolSize != null) {
+                    pool.minSize(minPoolSize);
+                }
+                if (maxWaitTime != null) {
+                    pool.maxWaitTime(maxWaitTime.toMillis(), TimeUnit.MILLISECONDS);
+                }
+            })
+            .applyToSocketSettings(socket -> {
+                if (readTimeout != null) {
+                    socket.readTimeout((int) readTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                }
+            })
+            .applyToClusterSettings(cluster -> {
+                if (serverSelectionTimeout != null) {
+                    cluster.serverSelectionTimeout(serverSelectionTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                }
+            });
+        if (readPreference != null) {
+            builder.readPreference(readPreference);
+        }
+        return MongoClientMonitor.forLane(builder.build(), name);
+    }
+}
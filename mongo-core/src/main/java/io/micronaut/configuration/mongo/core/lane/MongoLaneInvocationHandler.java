@@ -0,0 +1,174 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.lane;
+
+import io.micronaut.configuration.mongo.core.intercept.MongoOperationTag;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.Nullable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Proxies the clients of {@link MongoLanes} and the databases and collections obtained from them, delegating every
+ * call to the client of the lane the {@link MongoOperationTag} of the current context is routed to.
+ *
+ * <p>A database or collection remembers the call that created it and replays that call on the client of the lane
+ * once. Operations with deferred execution such as <code>find</code> stay on the lane they were created in.</p>
+ *
+ * <p>The proxies of databases and collections are cached per method and arguments, so repeated calls to
+ * <code>getDatabase</code> or <code>getCollection</code> return the same proxy and resolve on every lane only once.</p>
+ *
+ * @since 5.6.0
+ */
+@Internal
+public final class MongoLaneInvocationHandler implements InvocationHandler {
+
+    private static final int MAX_CHILDREN = 256;
+
+    private final MongoLanes<?> lanes;
+    private final Function<Object, Object> root;
+    private final Class<?> type;
+    private final Predicate<Class<?>> resources;
+    private final Runnable closer;
+    private final MongoLaneInvocationHandler parent;
+    private final Method method;
+    private final Object[] args;
+    private final Map<Object, Object> targets = new ConcurrentHashMap<>();
+    private final Map<List<Object>, Object> children = new ConcurrentHashMap<>();
+
+    private MongoLaneInvocationHandler(MongoLanes<?> lanes,
+                                       Function<Object, Object> root,
+                                       Class<?> type,
+                                       Predicate<Class<?>> resources,
+                                       Runnable closer,
+                                       @Nullable MongoLaneInvocationHandler parent,
+                                       @Nullable Method method,
+                                       @Nullable Object[] args) {
+        this.lanes = lanes;
+        this.root = root;
+        this.type = type;
+        this.resources = resources;
+        this.closer = closer;
+        this.parent = parent;
+        this.method = method;
+        this.args = args;
+    }
+
+    /**
+     * @param lanes     The clients of the lanes
+     * @param root      Returns the proxied object of a client
+     * @param type      The interface of the proxied object
+     * @param resources Whether a type returned by a method is a database or collection
+     * @param closer    Closes all clients when the proxy is closed
+     * @param <C>       The client type
+     * @param <T>       The proxied type
+     * @return A proxy that delegates to the client of the lane of the current context
+     */
+    @SuppressWarnings("unchecked")
+    public static <C, T> T proxy(MongoLanes<C> lanes,
+                                 Function<? super C, ? extends T> root,
+                                 Class<T> type,
+                                 Predicate<Class<?>> resources,
+                                 Runnable closer) {
+        Function<Object, Object> accessor = client -> root.apply((C) client);
+        return type.cast(new MongoLaneInvocationHandler(lanes, accessor, type, resources, closer, null, null, null).proxy());
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method invoked, Object[] arguments) throws Throwable {
+        if (invoked.getDeclaringClass() == Object.class) {
+            return switch (invoked.getName()) {
+                case "equals" -> proxy == arguments[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> invoked.invoke(target(lanes.getDefault()), arguments);
+            };
+        }
+        if (parent == null && "close".equals(invoked.getName()) && invoked.getParameterCount() == 0) {
+            closer.run();
+            return null;
+        }
+        Object client = lanes.get(MongoOperationTag.current().map(MongoOperationTag::getName).orElse(null));
+        Class<?> returnType = invoked.getReturnType();
+        if (returnType.isInterface() && resources.test(returnType)) {
+            return child(client, returnType, invoked, arguments);
+        }
+        return call(target(client), invoked, arguments);
+    }
+
+    private Object child(Object client, Class<?> returnType, Method invoked, Object[] arguments) throws Throwable {
+        List<Object> key = key(invoked, arguments);
+        Object cached = children.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        MongoLaneInvocationHandler handler = new MongoLaneInvocationHandler(lanes, root, returnType, resources, closer, this, invoked, arguments);
+        if (handler.target(client) == null) {
+            return null;
+        }
+        Object child = handler.proxy();
+        if (children.size() >= MAX_CHILDREN) {
+            return child;
+        }
+        Object existing = children.putIfAbsent(key, child);
+        return existing == null ? child : existing;
+    }
+
+    private static List<Object> key(Method method, Object[] args) {
+        List<Object> key = new ArrayList<>(args == null ? 1 : args.length + 1);
+        key.add(method);
+        if (args != null) {
+            key.addAll(Arrays.asList(args));
+        }
+        return key;
+    }
+
+    private Object proxy() {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, this);
+    }
+
+    private Object target(Object client) throws Throwable {
+        Object target = targets.get(client);
+        if (target == null) {
+            target = parent == null ? root.apply(client) : call(parent.target(client), method, args);
+            if (target == null) {
+                return null;
+            }
+            Object existing = targets.putIfAbsent(client, target);
+            if (existing != null) {
+                target = existing;
+            }
+        }
+        return target;
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
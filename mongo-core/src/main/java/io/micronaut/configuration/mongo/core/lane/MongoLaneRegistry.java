@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.lane;
+
+import com.mongodb.MongoClientSettings;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Holds the configured lanes of all servers and creates their clients.
+ *
+ * @since 5.6.0
+ */
+@Singleton
+@Requires(beans = MongoLaneConfiguration.class)
+public class MongoLaneRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MongoLaneRegistry.class);
+
+    private final Map<String, List<MongoLaneConfiguration>> lanes = new HashMap<>();
+
+    /**
+     * @param configurations The lane configurations
+     */
+    public MongoLaneRegistry(List<MongoLaneConfiguration> configurations) {
+        for (MongoLaneConfiguration configuration : configurations) {
+            lanes.computeIfAbsent(configuration.getServer(), k -> new ArrayList<>()).add(configuration);
+        }
+    }
+
+    /**
+     * @param serverName The server name
+     * @return The lanes of the server
+     */
+    public List<MongoLaneConfiguration> getLanes(String serverName) {
+        return Collections.unmodifiableList(lanes.getOrDefault(serverName, Collections.emptyList()));
+    }
+
+    /**
+     * Creates the default client of a server and one client per lane of the server.
+     *
+     * @param serverName The server name
+     * @param settings   The settings of the server
+     * @param factory    Creates a client from the settings
+     * @param <C>        The client type
+     * @return The clients
+     */
+    public <C> MongoLanes<C> create(String serverName, MongoClientSettings settings, Function<MongoClientSettings, C> factory) {
+        C defaultClient = factory.apply(settings);
+        Map<String, C> clientsByTag = new HashMap<>();
+        for (MongoLaneConfiguration lane : getLanes(serverName)) {
+            C client = factory.apply(lane.apply(settings));
+            for (String tag : lane.getTags()) {
+                if (clientsByTag.putIfAbsent(tag, client) != null && LOG.isWarnEnabled()) {
+                    LOG.warn("MongoDB lane [{}] of server [{}] ignores tag [{}] which is routed to another lane", lane.getName(), serverName, tag);
+                }
+            }
+        }
+        return new MongoLanes<>(defaultClient, clientsByTag);
+    }
+}
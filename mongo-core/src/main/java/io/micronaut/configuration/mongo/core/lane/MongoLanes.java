@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.lane;
+
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The clients of a server, one for the operations without a lane and one per configured lane.
+ *
+ * @param <C> The client type
+ * @since 5.6.0
+ */
+public final class MongoLanes<C> {
+
+    private final C defaultClient;
+    private final Map<String, C> clientsByTag;
+
+    /**
+     * @param defaultClient The client of the operations without a lane
+     * @param clientsByTag  The clients of the lanes by operation tag
+     */
+    MongoLanes(C defaultClient, Map<String, C> clientsByTag) {
+        this.defaultClient = defaultClient;
+        this.clientsByTag = clientsByTag;
+    }
+
+    /**
+     * @return The client of the operations without a lane
+     */
+    public C getDefault() {
+        return defaultClient;
+    }
+
+    /**
+     * @param tag The operation tag or null
+     * @return The client of the lane the tag is routed to or the default client
+     */
+    public C get(@Nullable String tag) {
+        if (tag == null) {
+            return defaultClient;
+        }
+        return clientsByTag.getOrDefault(tag, defaultClient);
+    }
+
+    /**
+     * @return All clients, the default client first
+     */
+    public List<C> getClients() {
+        Set<C> clients = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<C> result = new ArrayList<>();
+        clients.add(defaultClient);
+        result.add(defaultClient);
+        for (C client : clientsByTag.values()) {
+            if (clients.add(client)) {
+                result.add(client);
+            }
+        }
+        return result;
+    }
+}
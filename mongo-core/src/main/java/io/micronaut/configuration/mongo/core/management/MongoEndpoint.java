@@ -0,0 +1,224 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.management;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCredential;
+import com.mongodb.connection.ClusterDescription;
+import com.mongodb.connection.ClusterSettings;
+import com.mongodb.connection.ConnectionPoolSettings;
+import com.mongodb.connection.ServerDescription;
+import io.micronaut.configuration.mongo.core.AbstractMongoConfiguration;
+import io.micronaut.configuration.mongo.core.monitor.CommandStatistics;
+import io.micronaut.configuration.mongo.core.monitor.MongoClientMonitor;
+import io.micronaut.configuration.mongo.core.monitor.ServerStatistics;
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+import io.micronaut.management.endpoint.annotation.Selector;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exposes the cluster description, connection pool and command statistics and the effective settings of every
+ * open MongoDB client, default and named, whose configuration enables monitoring. A server has one entry per client,
+ * for example when both a blocking and a Reactive Streams client are created for it. Secrets of the settings are
+ * redacted.
+ *
+ * @since 5.6.0
+ */
+@Endpoint(id = MongoEndpoint.NAME, defaultSensitive = true)
+@Requires(classes = Endpoint.class)
+public class MongoEndpoint {
+
+    /**
+     * The endpoint id.
+     */
+    public static final String NAME = "mongodb";
+
+    private static final String REDACTED = "*****";
+
+    private final BeanContext beanContext;
+
+    /**
+     * @param beanContext The bean context
+     */
+    public MongoEndpoint(BeanContext beanContext) {
+        this.beanContext = beanContext;
+    }
+
+    /**
+     * @return The details of the clients keyed by server name
+     */
+    @Read
+    public Map<String, List<Map<String, Object>>> getClients() {
+        Map<String, List<Map<String, Object>>> clients = new LinkedHashMap<>();
+        for (AbstractMongoConfiguration configuration : beanContext.getBeansOfType(AbstractMongoConfiguration.class)) {
+            clients.put(configuration.getServerName(), describe(configuration.getMonitors()));
+        }
+        return clients;
+    }
+
+    /**
+     * @param name The server name
+     * @return The details of the clients of the server or null if no such server exists
+     */
+    @Read
+    @Nullable
+    public List<Map<String, Object>> getClient(@Selector String name) {
+        for (AbstractMongoConfiguration configuration : beanContext.getBeansOfType(AbstractMongoConfiguration.class)) {
+            if (configuration.getServerName().equals(name)) {
+                return describe(configuration.getMonitors());
+            }
+        }
+        return null;
+    }
+
+    private List<Map<String, Object>> describe(List<MongoClientMonitor> monitors) {
+        List<Map<String, Object>> clients = new ArrayList<>(monitors.size());
+        for (MongoClientMonitor monitor : monitors) {
+            clients.add(describe(monitor));
+        }
+        return clients;
+    }
+
+    private Map<String, Object> describe(MongoClientMonitor monitor) {
+        Map<String, Object> client = new LinkedHashMap<>();
+        if (monitor.getLane() != null) {
+            client.put("lane", monitor.getLane());
+        }
+        client.put("cluster", describeCluster(monitor));
+        Map<String, Object> operations = new LinkedHashMap<>();
+        operations.put("inFlight", monitor.getInFlight());
+        operations.put("started", monitor.getStarted());
+        operations.put("succeeded", monitor.getSucceeded());
+        operations.put("failed", monitor.getFailed());
+        operations.put("errorRate", monitor.getErrorRate());
+        Map<String, Object> commands = new LinkedHashMap<>();
+        for (CommandStatistics command : monitor.getCommands()) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("count", command.getCount());
+            details.put("failures", command.getFailures());
+            details.put("errorRate", command.getErrorRate());
+            details.put("averageTimeMs", nanosToMillis(command.getAverageNanos()));
+            commands.put(command.getCommandName(), details);
+        }
+        operations.put("commands", commands);
+        client.put("operations", operations);
+        MongoClientSettings settings = monitor.getSettings();
+        if (settings != null) {
+            client.put("settings", describeSettings(settings));
+        }
+        return client;
+    }
+
+    private Map<String, Object> describeCluster(MongoClientMonitor monitor) {
+        Map<String, Object> cluster = new LinkedHashMap<>();
+        ClusterDescription description = monitor.getClusterDescription();
+        List<Map<String, Object>> servers = new ArrayList<>();
+        if (description != null) {
+            cluster.put("type", description.getType().name());
+            cluster.put("connectionMode", description.getConnectionMode().name());
+            for (ServerDescription server : description.getServerDescriptions()) {
+                Map<String, Object> details = new LinkedHashMap<>();
+                details.put("address", server.getAddress().toString());
+                details.put("type", server.getType().name());
+                details.put("state", server.getState().name());
+                details.put("roundTripTimeMs", nanosToMillis(server.getRoundTripTimeNanos()));
+                ServerStatistics statistics = monitor.getServer(server.getAddress());
+                if (statistics != null) {
+                    details.put("pool", describePool(statistics));
+                }
+                servers.add(details);
+            }
+        }
+        cluster.put("servers", servers);
+        return cluster;
+    }
+
+    private Map<String, Object> describePool(ServerStatistics statistics) {
+        Map<String, Object> pool = new LinkedHashMap<>();
+        pool.put("connections", statistics.getConnections());
+        pool.put("checkedOut", statistics.getCheckedOut());
+        pool.put("waiting", statistics.getWaiting());
+        pool.put("inFlight", statistics.getInFlight());
+        pool.put("checkOuts", statistics.getCheckOuts());
+        pool.put("checkOutFailures", statistics.getCheckOutFailures());
+        pool.put("averageCheckOutWaitMs", nanosToMillis(statistics.getAverageCheckOutWaitNanos()));
+        return pool;
+    }
+
+    private Map<String, Object> describeSettings(MongoClientSettings settings) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("applicationName", settings.getApplicationName());
+        result.put("readPreference", String.valueOf(settings.getReadPreference()));
+        result.put("readConcern", String.valueOf(settings.getReadConcern().getLevel()));
+        result.put("writeConcern", String.valueOf(settings.getWriteConcern()));
+        result.put("retryWrites", settings.getRetryWrites());
+        result.put("retryReads", settings.getRetryReads());
+        result.put("compressors", String.valueOf(settings.getCompressorList()));
+        MongoCredential credential = settings.getCredential();
+        if (credential != null) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("mechanism", credential.getMechanism());
+            details.put("userName", credential.getUserName());
+            details.put("source", credential.getSource());
+            details.put("password", credential.getPassword() == null ? null : REDACTED);
+            result.put("credential", details);
+        }
+        ClusterSettings cluster = settings.getClusterSettings();
+        Map<String, Object> clusterDetails = new LinkedHashMap<>();
+        clusterDetails.put("hosts", String.valueOf(cluster.getHosts()));
+        clusterDetails.put("srvHost", cluster.getSrvHost());
+        clusterDetails.put("mode", cluster.getMode().name());
+        clusterDetails.put("requiredReplicaSetName", cluster.getRequiredReplicaSetName());
+        clusterDetails.put("serverSelectionTimeoutMs", cluster.getServerSelectionTimeout(TimeUnit.MILLISECONDS));
+        clusterDetails.put("localThresholdMs", cluster.getLocalThreshold(TimeUnit.MILLISECONDS));
+        result.put("cluster", clusterDetails);
+        ConnectionPoolSettings pool = settings.getConnectionPoolSettings();
+        Map<String, Object> poolDetails = new LinkedHashMap<>();
+        poolDetails.put("maxSize", pool.getMaxSize());
+        poolDetails.put("minSize", pool.getMinSize());
+        poolDetails.put("maxConnecting", pool.getMaxConnecting());
+        poolDetails.put("maxWaitTimeMs", pool.getMaxWaitTime(TimeUnit.MILLISECONDS));
+        poolDetails.put("maxConnectionIdleTimeMs", pool.getMaxConnectionIdleTime(TimeUnit.MILLISECONDS));
+        poolDetails.put("maxConnectionLifeTimeMs", pool.getMaxConnectionLifeTime(TimeUnit.MILLISECONDS));
+        result.put("connectionPool", poolDetails);
+        Map<String, Object> socketDetails = new LinkedHashMap<>();
+        socketDetails.put("connectTimeoutMs", settings.getSocketSettings().getConnectTimeout(TimeUnit.MILLISECONDS));
+        socketDetails.put("readTimeoutMs", settings.getSocketSettings().getReadTimeout(TimeUnit.MILLISECONDS));
+        result.put("socket", socketDetails);
+        Map<String, Object> serverDetails = new LinkedHashMap<>();
+        serverDetails.put("heartbeatFrequencyMs", settings.getServerSettings().getHeartbeatFrequency(TimeUnit.MILLISECONDS));
+        serverDetails.put("minHeartbeatFrequencyMs", settings.getServerSettings().getMinHeartbeatFrequency(TimeUnit.MILLISECONDS));
+        result.put("server", serverDetails);
+        Map<String, Object> sslDetails = new LinkedHashMap<>();
+        sslDetails.put("enabled", settings.getSslSettings().isEnabled());
+        sslDetails.put("invalidHostNameAllowed", settings.getSslSettings().isInvalidHostNameAllowed());
+        result.put("ssl", sslDetails);
+        return result;
+    }
+
+    private static double nanosToMillis(long nanos) {
+        return nanos / 1_000_000d;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.monitor;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cumulative statistics of a single command, for example <code>find</code>.
+ *
+ * @since 5.6.0
+ */
+public final class CommandStatistics {
+
+    private final String commandName;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder elapsedNanos = new LongAdder();
+
+    CommandStatistics(String commandName) {
+        this.commandName = commandName;
+    }
+
+    /**
+     * @return The command name
+     */
+    public String getCommandName() {
+        return commandName;
+    }
+
+    /**
+     * @return The number of completed commands
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return The number of failed commands
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * @return The ratio of failed commands
+     */
+    public double getErrorRate() {
+        long total = count.sum();
+        return total == 0 ? 0 : (double) failures.sum() / total;
+    }
+
+    /**
+     * @return The average elapsed time in nanoseconds
+     */
+    public long getAverageNanos() {
+        long total = count.sum();
+        return total == 0 ? 0 : elapsedNanos.sum() / total;
+    }
+
+    void record(long nanos, boolean failed) {
+        count.increment();
+        elapsedNanos.add(nanos);
+        if (failed) {
+            failures.increment();
+        }
+    }
+}
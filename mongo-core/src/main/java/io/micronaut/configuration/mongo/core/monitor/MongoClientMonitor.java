@@ -0,0 +1,286 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.monitor;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterDescription;
+import com.mongodb.event.ClusterClosedEvent;
+import com.mongodb.event.ClusterDescriptionChangedEvent;
+import com.mongodb.event.ClusterListener;
+import com.mongodb.event.ClusterOpeningEvent;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Listens to the command, connection pool and cluster events of a single client and keeps cumulative statistics.
+ * While the cluster of the client is open the monitor is part of the given collection of open monitors. The client
+ * of a lane has a monitor of its own, labelled with the name of the lane.
+ *
+ * @since 5.6.0
+ */
+public final class MongoClientMonitor implements CommandListener, ConnectionPoolListener, ClusterListener {
+
+    private final LongAdder started = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final Map<String, CommandStatistics> commands = new ConcurrentHashMap<>();
+    private final Map<ServerAddress, ServerStatistics> servers = new ConcurrentHashMap<>();
+    private volatile ClusterDescription clusterDescription;
+    private final Collection<MongoClientMonitor> open;
+    @Nullable
+    private final String lane;
+    private volatile MongoClientSettings settings;
+
+    /**
+     * @param open The monitors of the open clients, the monitor adds itself when its cluster opens and removes
+     *             itself when it closes
+     */
+    public MongoClientMonitor(Collection<MongoClientMonitor> open) {
+        this(open, null);
+    }
+
+    private MongoClientMonitor(Collection<MongoClientMonitor> open, @Nullable String lane) {
+        this.open = open;
+        this.lane = lane;
+    }
+
+    /**
+     * Replaces the monitors of the settings of a server with new monitors of a lane, which keep their own statistics
+     * and join the same collection of open monitors.
+     *
+     * @param settings The settings of the server
+     * @param lane     The name of the lane
+     * @return The settings with the monitors of the lane, the given settings if they carry no monitor
+     */
+    public static MongoClientSettings forLane(MongoClientSettings settings, String lane) {
+        MongoClientMonitor serverMonitor = null;
+        for (CommandListener listener : settings.getCommandListeners()) {
+            if (listener instanceof MongoClientMonitor monitor) {
+                serverMonitor = monitor;
+            }
+        }
+        if (serverMonitor == null) {
+            return settings;
+        }
+        MongoClientMonitor laneMonitor = new MongoClientMonitor(serverMonitor.open, lane);
+        MongoClientSettings laneSettings = MongoClientSettings.builder(settings)
+            .commandListenerList(replace(settings.getCommandListeners(), laneMonitor))
+            .applyToClusterSettings(cluster -> cluster.clusterListenerList(replace(settings.getClusterSettings().getClusterListeners(), laneMonitor)))
+            .applyToConnectionPoolSettings(pool -> pool.connectionPoolListenerList(replace(settings.getConnectionPoolSettings().getConnectionPoolListeners(), laneMonitor)))
+            .build();
+        laneMonitor.setSettings(laneSettings);
+        return laneSettings;
+    }
+
+    /**
+     * @return The name of the lane of the client or null for the default client of a server
+     */
+    @Nullable
+    public String getLane() {
+        return lane;
+    }
+
+    /**
+     * @return The last known cluster description or null if no client is connected
+     */
+    @Nullable
+    public ClusterDescription getClusterDescription() {
+        return clusterDescription;
+    }
+
+    /**
+     * @return The settings the client was created with or null if they were not set yet
+     */
+    @Nullable
+    public MongoClientSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * @param settings The settings the client is created with
+     */
+    public void setSettings(MongoClientSettings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * @return The number of started commands
+     */
+    public long getStarted() {
+        return started.sum();
+    }
+
+    /**
+     * @return The number of succeeded commands
+     */
+    public long getSucceeded() {
+        return succeeded.sum();
+    }
+
+    /**
+     * @return The number of failed commands
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * @return The number of commands without a reply yet
+     */
+    public long getInFlight() {
+        return Math.max(0, started.sum() - succeeded.sum() - failed.sum());
+    }
+
+    /**
+     * @return The ratio of failed commands
+     */
+    public double getErrorRate() {
+        long failures = failed.sum();
+        long total = succeeded.sum() + failures;
+        return total == 0 ? 0 : (double) failures / total;
+    }
+
+    /**
+     * @return The statistics per command name
+     */
+    public Collection<CommandStatistics> getCommands() {
+        return Collections.unmodifiableCollection(commands.values());
+    }
+
+    /**
+     * @return The statistics per server
+     */
+    public Collection<ServerStatistics> getServers() {
+        return Collections.unmodifiableCollection(servers.values());
+    }
+
+    /**
+     * @param address The server address
+     * @return The statistics of the server or null if no connection was made to the server
+     */
+    @Nullable
+    public ServerStatistics getServer(ServerAddress address) {
+        return servers.get(address);
+    }
+
+    @Override
+    public void clusterOpening(ClusterOpeningEvent event) {
+        synchronized (open) {
+            if (!open.contains(this)) {
+                open.add(this);
+            }
+        }
+    }
+
+    @Override
+    public void clusterClosed(ClusterClosedEvent event) {
+        open.remove(this);
+    }
+
+    @Override
+    public void clusterDescriptionChanged(ClusterDescriptionChangedEvent event) {
+        clusterDescription = event.getNewDescription();
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        started.increment();
+        server(event.getConnectionDescription().getServerAddress()).commandStarted();
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        succeeded.increment();
+        server(event.getConnectionDescription().getServerAddress()).commandFinished();
+        command(event.getCommandName()).record(event.getElapsedTime(TimeUnit.NANOSECONDS), false);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        failed.increment();
+        server(event.getConnectionDescription().getServerAddress()).commandFinished();
+        command(event.getCommandName()).record(event.getElapsedTime(TimeUnit.NANOSECONDS), true);
+    }
+
+    @Override
+    public void connectionCreated(ConnectionCreatedEvent event) {
+        server(event.getConnectionId().getServerId().getAddress()).connectionCreated();
+    }
+
+    @Override
+    public void connectionClosed(ConnectionClosedEvent event) {
+        server(event.getConnectionId().getServerId().getAddress()).connectionClosed();
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        server(event.getServerId().getAddress()).checkOutStarted();
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        server(event.getConnectionId().getServerId().getAddress()).checkedOut(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        server(event.getServerId().getAddress()).checkOutFailed();
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        server(event.getConnectionId().getServerId().getAddress()).checkedIn();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <L> List<L> replace(List<L> listeners, MongoClientMonitor monitor) {
+        List<L> replaced = new ArrayList<>(listeners.size());
+        for (L listener : listeners) {
+            replaced.add(listener instanceof MongoClientMonitor ? (L) monitor : listener);
+        }
+        return replaced;
+    }
+
+    private ServerStatistics server(ServerAddress address) {
+        ServerStatistics statistics = servers.get(address);
+        return statistics != null ? statistics : servers.computeIfAbsent(address, ServerStatistics::new);
+    }
+
+    private CommandStatistics command(String commandName) {
+        CommandStatistics statistics = commands.get(commandName);
+        return statistics != null ? statistics : commands.computeIfAbsent(commandName, CommandStatistics::new);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.monitor;
+
+import com.mongodb.ServerAddress;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connection pool and operation statistics of a single server.
+ *
+ * @since 5.6.0
+ */
+public final class ServerStatistics {
+
+    private static final double EWMA_ALPHA = 0.2;
+
+    private final ServerAddress address;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger checkedOut = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder checkOuts = new LongAdder();
+    private final LongAdder checkOutFailures = new LongAdder();
+    private final LongAdder checkOutWaitNanos = new LongAdder();
+    private volatile double checkOutWaitEwmaNanos;
+
+    ServerStatistics(ServerAddress address) {
+        this.address = address;
+    }
+
+    /**
+     * @return The server address
+     */
+    public ServerAddress getAddress() {
+        return address;
+    }
+
+    /**
+     * @return The number of open connections in the pool
+     */
+    public int getConnections() {
+        return connections.get();
+    }
+
+    /**
+     * @return The number of connections checked out of the pool
+     */
+    public int getCheckedOut() {
+        return checkedOut.get();
+    }
+
+    /**
+     * @return The number of operations waiting for a connection
+     */
+    public int getWaiting() {
+        return Math.max(0, waiting.get());
+    }
+
+    /**
+     * @return The number of commands sent to the server without a reply yet
+     */
+    public int getInFlight() {
+        return Math.max(0, inFlight.get());
+    }
+
+    /**
+     * @return The number of connection check outs
+     */
+    public long getCheckOuts() {
+        return checkOuts.sum();
+    }
+
+    /**
+     * @return The number of failed connection check outs
+     */
+    public long getCheckOutFailures() {
+        return checkOutFailures.sum();
+    }
+
+    /**
+     * @return The average time waited for a connection in nanoseconds
+     */
+    public long getAverageCheckOutWaitNanos() {
+        long count = checkOuts.sum();
+        return count == 0 ? 0 : checkOutWaitNanos.sum() / count;
+    }
+
+    /**
+     * @return The exponentially weighted moving average of the time waited for a connection in nanoseconds
+     */
+    public long getCheckOutWaitEwmaNanos() {
+        return (long) checkOutWaitEwmaNanos;
+    }
+
+    void connectionCreated() {
+        connections.incrementAndGet();
+    }
+
+    void connectionClosed() {
+        connections.decrementAndGet();
+    }
+
+    void checkOutStarted() {
+        waiting.incrementAndGet();
+    }
+
+    void checkedOut(long waitNanos) {
+        waiting.decrementAndGet();
+        checkedOut.incrementAndGet();
+        checkOuts.increment();
+        checkOutWaitNanos.add(waitNanos);
+        // racy updates only lose samples, which is acceptable for a moving average
+        checkOutWaitEwmaNanos = checkOutWaitEwmaNanos + EWMA_ALPHA * (waitNanos - checkOutWaitEwmaNanos);
+    }
+
+    void checkOutFailed() {
+        waiting.decrementAndGet();
+        checkOutFailures.increment();
+    }
+
+    void checkedIn() {
+        checkedOut.decrementAndGet();
+    }
+
+    void commandStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    void commandFinished() {
+        inFlight.decrementAndGet();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.page;
+
+import io.micronaut.core.annotation.Nullable;
+import org.bson.BsonDocumentWrapper;
+import org.bson.codecs.configuration.CodecRegistry;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A page of a keyset pagination.
+ *
+ * @param <T> The result type
+ * @since 5.6.0
+ */
+public final class KeysetPage<T> {
+
+    private final List<T> items;
+    private final String nextToken;
+
+    /**
+     * @param items     The results of the page
+     * @param nextToken The continuation token of the next page or null if this is the last page
+     */
+    public KeysetPage(List<T> items, @Nullable String nextToken) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextToken = nextToken;
+    }
+
+    /**
+     * Creates a page from the results of a query limited to one more than the page size, where the additional result
+     * only indicates that there is a next page.
+     *
+     * @param sort     The sort of the pagination
+     * @param results  The results, at most one more than the page size
+     * @param size     The page size
+     * @param registry The codec registry encoding the last result to read its sort key values
+     * @param <T>      The result type
+     * @return The page
+     */
+    public static <T> KeysetPage<T> of(KeysetSort sort, List<T> results, int size, CodecRegistry registry) {
+        if (results.size() <= size) {
+            return new KeysetPage<>(results, null);
+        }
+        List<T> items = results.subList(0, size);
+        T last = items.get(size - 1);
+        return new KeysetPage<>(items, sort.token(BsonDocumentWrapper.asBsonDocument(last, registry)));
+    }
+
+    /**
+     * @return The results of the page
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * @return The continuation token of the next page or null if this is the last page
+     */
+    @Nullable
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    /**
+     * @return Whether there is a next page
+     */
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+}
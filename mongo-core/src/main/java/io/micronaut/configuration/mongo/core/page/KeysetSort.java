@@ -0,0 +1,263 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.page;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.model.Filters;
+import io.micronaut.core.annotation.Nullable;
+import org.bson.BsonArray;
+import org.bson.BsonBinary;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonInvalidOperationException;
+import org.bson.BsonNull;
+import org.bson.BsonSerializationException;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.conversions.Bson;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The sort of a keyset pagination. It adds <code>_id</code> as the last sort key unless present so that the order
+ * is total, generates the range predicate selecting the results after a continuation token and creates the token
+ * from the last result of a page.
+ *
+ * <p>Tokens are opaque, URL safe strings holding the sort key values of the last result, signed with an HMAC of the
+ * sort and the values. A token only continues a pagination with the same sort and secret, tampered tokens are
+ * rejected. Without an explicit secret a random one is generated per JVM, so applications handing tokens to clients
+ * served by several instances should pass a shared secret.</p>
+ *
+ * <p>The sort keys should be covered by an index, then every page costs the same as the first one. Missing sort keys
+ * sort like <code>null</code>, values of sort keys must not be documents or arrays.</p>
+ *
+ * @since 5.6.0
+ */
+public final class KeysetSort {
+
+    private static final String ID = "_id";
+    private static final String SORT_KEY = "s";
+    private static final String VALUES_KEY = "v";
+    private static final String MAC_KEY = "m";
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final BsonDocumentCodec CODEC = new BsonDocumentCodec();
+    private static final byte[] DEFAULT_SECRET = randomSecret();
+
+    private final BsonDocument sort;
+    private final List<String> fields;
+    private final boolean[] ascending;
+    private final SecretKeySpec secret;
+
+    private KeysetSort(BsonDocument sort, byte[] secret) {
+        this.sort = sort;
+        this.fields = List.copyOf(sort.keySet());
+        this.ascending = new boolean[fields.size()];
+        for (int i = 0; i < ascending.length; i++) {
+            ascending[i] = sort.getNumber(fields.get(i)).intValue() > 0;
+        }
+        this.secret = new SecretKeySpec(secret, ALGORITHM);
+    }
+
+    /**
+     * Creates a sort signing its tokens with a random secret of this JVM.
+     *
+     * @param sort The sort, for example <code>Sorts.ascending("title")</code>
+     * @return The keyset sort
+     * @throws IllegalArgumentException If a sort key is not ascending or descending, for example a text score
+     */
+    public static KeysetSort of(Bson sort) {
+        return of(sort, DEFAULT_SECRET);
+    }
+
+    /**
+     * @param sort   The sort, for example <code>Sorts.ascending("title")</code>
+     * @param secret The secret signing the tokens, at least 32 bytes
+     * @return The keyset sort
+     * @throws IllegalArgumentException If a sort key is not ascending or descending, for example a text score, or the
+     *                                  secret is too short
+     */
+    public static KeysetSort of(Bson sort, byte[] secret) {
+        if (secret.length < 32) {
+            throw new IllegalArgumentException("Keyset pagination secret must have at least 32 bytes: " + secret.length);
+        }
+        BsonDocument document = new BsonDocument();
+        for (Map.Entry<String, BsonValue> key : sort.toBsonDocument(BsonDocument.class, MongoClientSettings.getDefaultCodecRegistry()).entrySet()) {
+            BsonValue direction = key.getValue();
+            if (!direction.isNumber() || Math.abs(direction.asNumber().intValue()) != 1) {
+                throw new IllegalArgumentException("Sort key [" + key.getKey() + "] must be ascending or descending for keyset pagination: " + direction);
+            }
+            document.put(key.getKey(), new BsonInt32(direction.asNumber().intValue()));
+        }
+        if (!document.containsKey(ID)) {
+            document.put(ID, new BsonInt32(1));
+        }
+        return new KeysetSort(document, secret.clone());
+    }
+
+    /**
+     * @return The sort keys in order, ending with <code>_id</code> unless it was already part of the sort
+     */
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * @return The sort to query with
+     */
+    public BsonDocument toSort() {
+        return sort.clone();
+    }
+
+    /**
+     * @param filter The filter of the pagination
+     * @param token  The continuation token of the previous page or null for the first page
+     * @return The filter of the page
+     * @throws IllegalArgumentException If the token is invalid or was created for another sort
+     */
+    public Bson filter(Bson filter, @Nullable String token) {
+        return token == null ? filter : Filters.and(filter, after(decode(token)));
+    }
+
+    /**
+     * @param document The last result of a page
+     * @return The continuation token selecting the results after the document
+     * @throws IllegalArgumentException If the value of a sort key is a document or array
+     */
+    public String token(BsonDocument document) {
+        BsonArray values = new BsonArray(fields.size());
+        for (String field : fields) {
+            BsonValue value = valueOf(document, field);
+            if (value.isDocument() || value.isArray()) {
+                throw new IllegalArgumentException("Sort key [" + field + "] must not be a document or array for keyset pagination: " + value);
+            }
+            values.add(value);
+        }
+        BsonDocument token = new BsonDocument(VALUES_KEY, values).append(MAC_KEY, new BsonBinary(mac(values)));
+        ByteBuffer bytes = new RawBsonDocument(token, CODEC).getByteBuffer().asNIO();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(toArray(bytes));
+    }
+
+    @Override
+    public String toString() {
+        return sort.toJson();
+    }
+
+    /**
+     * Selects the documents sorting after the given values: the first key is past its value, or it is equal and the
+     * second key is past its value, and so on. Null and missing values sort before all other values.
+     */
+    private Bson after(BsonArray values) {
+        List<Bson> alternatives = new ArrayList<>(fields.size());
+        List<Bson> equal = new ArrayList<>(fields.size());
+        for (int i = 0; i < fields.size(); i++) {
+            String field = fields.get(i);
+            BsonValue value = values.get(i);
+            Bson past = past(field, value, ascending[i]);
+            if (past != null) {
+                List<Bson> alternative = new ArrayList<>(equal);
+                alternative.add(past);
+                alternatives.add(alternative.size() == 1 ? alternative.get(0) : Filters.and(alternative));
+            }
+            // an explicit $eq, so that a value is never interpreted as an operator
+            equal.add(new BsonDocument(field, new BsonDocument("$eq", value)));
+        }
+        if (alternatives.isEmpty()) {
+            return Filters.nor(Filters.empty());
+        }
+        return alternatives.size() == 1 ? alternatives.get(0) : Filters.or(alternatives);
+    }
+
+    @Nullable
+    private static Bson past(String field, BsonValue value, boolean ascending) {
+        if (value.isNull()) {
+            // nothing sorts before null in a descending sort
+            return ascending ? Filters.ne(field, BsonNull.VALUE) : null;
+        }
+        if (ascending) {
+            return Filters.gt(field, value);
+        }
+        return Filters.or(Filters.lt(field, value), Filters.eq(field, BsonNull.VALUE));
+    }
+
+    private BsonArray decode(String token) {
+        BsonDocument document;
+        try {
+            document = new RawBsonDocument(Base64.getUrlDecoder().decode(token)).decode(CODEC);
+        } catch (IllegalArgumentException | BsonSerializationException | BsonInvalidOperationException e) {
+            throw new IllegalArgumentException("Invalid continuation token: " + token, e);
+        }
+        BsonValue values = document.get(VALUES_KEY);
+        BsonValue mac = document.get(MAC_KEY);
+        if (values == null || !values.isArray() || values.asArray().size() != fields.size() || mac == null || !mac.isBinary()) {
+            throw new IllegalArgumentException("Invalid continuation token: " + token);
+        }
+        if (!MessageDigest.isEqual(mac.asBinary().getData(), mac(values.asArray()))) {
+            throw new IllegalArgumentException("Continuation token was created for another sort than " + this + " or was modified");
+        }
+        for (BsonValue value : values.asArray()) {
+            if (value.isDocument() || value.isArray()) {
+                throw new IllegalArgumentException("Invalid continuation token: " + token);
+            }
+        }
+        return values.asArray();
+    }
+
+    private byte[] mac(BsonArray values) {
+        BsonDocument signed = new BsonDocument(SORT_KEY, sort).append(VALUES_KEY, values);
+        ByteBuffer bytes = new RawBsonDocument(signed, CODEC).getByteBuffer().asNIO();
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(secret);
+            mac.update(bytes);
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign continuation token", e);
+        }
+    }
+
+    private static BsonValue valueOf(BsonDocument document, String field) {
+        BsonValue value = document;
+        for (String name : field.split("\\.")) {
+            if (!(value instanceof BsonDocument nested) || !nested.containsKey(name)) {
+                return BsonNull.VALUE;
+            }
+            value = nested.get(name);
+        }
+        return value;
+    }
+
+    private static byte[] randomSecret() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        return secret;
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.select;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterDescription;
+import com.mongodb.connection.ServerDescription;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import com.mongodb.selector.ServerSelector;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks the server of an operation among the servers suitable for its read preference by their observed load. It is
+ * registered as the server selector and as a connection pool listener of a client, and runs before the driver narrows
+ * the servers down to the ones within the local threshold.
+ *
+ * @since 5.6.0
+ */
+public final class LoadAwareServerSelector implements ServerSelector, ConnectionPoolListener {
+
+    /**
+     * The lower bound of the latency used as weight, so that idle servers with a tiny round trip time do not receive
+     * all operations.
+     */
+    private static final long MIN_LATENCY_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final ServerSelectionMode mode;
+    private final Map<ServerAddress, ServerLoad> loads = new ConcurrentHashMap<>();
+
+    /**
+     * @param mode The selection mode, either {@link ServerSelectionMode#WEIGHTED} or {@link ServerSelectionMode#LEAST_OUTSTANDING}
+     */
+    public LoadAwareServerSelector(ServerSelectionMode mode) {
+        if (mode == ServerSelectionMode.DRIVER) {
+            throw new IllegalArgumentException("The driver selection mode is implemented by the driver");
+        }
+        this.mode = mode;
+    }
+
+    /**
+     * @return The selection mode
+     */
+    public ServerSelectionMode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return The load of all servers a connection was checked out from
+     */
+    public Collection<ServerLoad> getLoads() {
+        return Collections.unmodifiableCollection(loads.values());
+    }
+
+    @Override
+    public List<ServerDescription> select(ClusterDescription clusterDescription) {
+        List<ServerDescription> candidates = clusterDescription.getServerDescriptions();
+        if (candidates.size() < 2) {
+            return candidates;
+        }
+        ServerDescription selected = mode == ServerSelectionMode.WEIGHTED ? weighted(candidates) : leastOutstanding(candidates);
+        return Collections.singletonList(selected);
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        load(event.getServerId().getAddress()).checkOutStarted();
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        load(event.getConnectionId().getServerId().getAddress()).checkedOut(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        load(event.getServerId().getAddress()).checkOutFailed(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        load(event.getConnectionId().getServerId().getAddress()).checkedIn();
+    }
+
+    @Override
+    public String toString() {
+        return "LoadAwareServerSelector{mode=" + mode + "}";
+    }
+
+    private ServerDescription weighted(List<ServerDescription> candidates) {
+        double[] weights = new double[candidates.size()];
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            ServerDescription candidate = candidates.get(i);
+            ServerLoad load = loads.get(candidate.getAddress());
+            long latency = candidate.getRoundTripTimeNanos() + (load == null ? 0 : load.getCheckoutWait(TimeUnit.NANOSECONDS));
+            weights[i] = 1.0 / Math.max(MIN_LATENCY_NANOS, latency);
+            total += weights[i];
+        }
+        double point = ThreadLocalRandom.current().nextDouble(total);
+        for (int i = 0; i < weights.length; i++) {
+            point -= weights[i];
+            if (point < 0) {
+                return candidates.get(i);
+            }
+        }
+        return candidates.get(candidates.size() - 1);
+    }
+
+    private ServerDescription leastOutstanding(List<ServerDescription> candidates) {
+        List<ServerDescription> least = new ArrayList<>(candidates.size());
+        int min = Integer.MAX_VALUE;
+        for (ServerDescription candidate : candidates) {
+            ServerLoad load = loads.get(candidate.getAddress());
+            int outstanding = load == null ? 0 : load.getOutstanding();
+            if (outstanding < min) {
+                min = outstanding;
+                least.clear();
+            }
+            if (outstanding == min) {
+                least.add(candidate);
+            }
+        }
+        return least.size() == 1 ? least.get(0) : least.get(ThreadLocalRandom.current().nextInt(least.size()));
+    }
+
+    private ServerLoad load(ServerAddress address) {
+        return loads.computeIfAbsent(address, ServerLoad::new);
+    }
+}
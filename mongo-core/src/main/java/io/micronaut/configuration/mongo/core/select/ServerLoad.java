@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.select;
+
+import com.mongodb.ServerAddress;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The observed load of a server: the operations holding or waiting for a connection of its pools and the
+ * exponentially weighted time operations waited for a connection.
+ *
+ * @since 5.6.0
+ */
+public final class ServerLoad {
+
+    private static final double WEIGHT = 0.2;
+
+    private final ServerAddress address;
+    private final AtomicInteger checkedOut = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong checkoutWait = new AtomicLong(Double.doubleToRawLongBits(0));
+
+    ServerLoad(ServerAddress address) {
+        this.address = address;
+    }
+
+    /**
+     * @return The address of the server
+     */
+    public ServerAddress getAddress() {
+        return address;
+    }
+
+    /**
+     * @return The number of operations holding or waiting for a connection
+     */
+    public int getOutstanding() {
+        return Math.max(0, checkedOut.get()) + Math.max(0, waiting.get());
+    }
+
+    /**
+     * @param unit The time unit
+     * @return The exponentially weighted time operations waited for a connection
+     */
+    public long getCheckoutWait(TimeUnit unit) {
+        return unit.convert((long) Double.longBitsToDouble(checkoutWait.get()), TimeUnit.NANOSECONDS);
+    }
+
+    void checkOutStarted() {
+        waiting.incrementAndGet();
+    }
+
+    void checkedOut(long waitNanos) {
+        waiting.decrementAndGet();
+        checkedOut.incrementAndGet();
+        recordWait(waitNanos);
+    }
+
+    void checkOutFailed(long waitNanos) {
+        waiting.decrementAndGet();
+        recordWait(waitNanos);
+    }
+
+    void checkedIn() {
+        checkedOut.decrementAndGet();
+    }
+
+    private void recordWait(long waitNanos) {
+        long previous;
+        long next;
+        do {
+            previous = checkoutWait.get();
+            double average = Double.longBitsToDouble(previous);
+            next = Double.doubleToRawLongBits(average + WEIGHT * (waitNanos - average));
+        } while (!checkoutWait.compareAndSet(previous, next));
+    }
+
+    @Override
+    public String toString() {
+        return "ServerLoad{address=" + address + ", outstanding=" + getOutstanding()
+            + ", checkoutWait=" + getCheckoutWait(TimeUnit.MICROSECONDS) + "us}";
+    }
+}
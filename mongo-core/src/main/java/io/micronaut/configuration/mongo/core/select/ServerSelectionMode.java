@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.select;
+
+/**
+ * How the server of an operation is selected among the suitable servers, for example among the <code>mongos</code>
+ * routers of a sharded cluster.
+ *
+ * @since 5.6.0
+ */
+public enum ServerSelectionMode {
+
+    /**
+     * The driver picks a server within the local threshold of the fastest one.
+     */
+    DRIVER,
+
+    /**
+     * Servers are picked at random, weighted by the inverse of their round trip time plus the time operations waited
+     * for a connection of their pool.
+     */
+    WEIGHTED,
+
+    /**
+     * The server with the fewest operations holding or waiting for a connection is picked.
+     */
+    LEAST_OUTSTANDING
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.select;
+
+/**
+ * The server selection settings of a client, configured under <code>mongodb.server-selection</code> or
+ * <code>mongodb.servers.[name].server-selection</code>.
+ *
+ * @since 5.6.0
+ */
+public final class ServerSelectionSettings {
+
+    private final ServerSelectionMode mode;
+
+    private ServerSelectionSettings(Builder builder) {
+        this.mode = builder.mode;
+    }
+
+    /**
+     * @return A new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return Whether the selection differs from the one of the driver
+     */
+    public boolean isEnabled() {
+        return mode != ServerSelectionMode.DRIVER;
+    }
+
+    /**
+     * @return The selection mode
+     */
+    public ServerSelectionMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Builder of {@link ServerSelectionSettings}.
+     */
+    public static final class Builder {
+
+        private ServerSelectionMode mode = ServerSelectionMode.DRIVER;
+
+        private Builder() {
+        }
+
+        /**
+         * @param mode The selection mode
+         * @return This builder
+         */
+        public Builder mode(ServerSelectionMode mode) {
+            if (mode != null) {
+                this.mode = mode;
+            }
+            return this;
+        }
+
+        /**
+         * @return The settings
+         */
+        public ServerSelectionSettings build() {
+            return new ServerSelectionSettings(this);
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.micronaut.configuration.mongo.core.serde;
 
+import io.micronaut.core.annotation.AnnotationMetadata;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.core.beans.BeanIntrospection;
@@ -24,14 +25,20 @@ import io.micronaut.serde.annotation.Serdeable;
 import org.bson.codecs.Codec;
 import org.bson.codecs.configuration.CodecConfigurationException;
 import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.codecs.pojo.annotations.BsonDiscriminator;
 
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * The Micronaut Serialization codec registry.
+ * The Micronaut Serialization codec registry. Entities annotated with {@link BsonDiscriminator}, directly or through
+ * a super type, are polymorphic: their documents carry the discriminator of their subtype and are decoded as the
+ * subtype.
  *
  * @author Denis Stepanov
  * @since 4.4
@@ -39,6 +46,8 @@ import java.util.concurrent.ConcurrentHashMap;
 @Internal
 public final class DataCodecRegistry implements CodecRegistry {
 
+    private static final String DEFAULT_DISCRIMINATOR_KEY = "_t";
+
     @Nullable
     private final Collection<Class<?>> entities;
     private final SerdeRegistry serdeRegistry;
@@ -72,9 +81,10 @@ public final class DataCodecRegistry implements CodecRegistry {
         Optional<BeanIntrospection<T>> introspection = BeanIntrospector.SHARED.findIntrospection(clazz);
         if (introspection.isPresent()) {
             BeanIntrospection<T> beanIntrospection = introspection.get();
-            if (beanIntrospection.hasStereotype(Serdeable.Serializable.class)
-                || beanIntrospection.hasStereotype(Serdeable.Deserializable.class)) {
-                codec = new SerdeCodec<>(serdeRegistry, clazz, registry);
+            if (isSerdeable(beanIntrospection.getAnnotationMetadata())) {
+                codec = beanIntrospection.hasAnnotation(BsonDiscriminator.class)
+                    ? polymorphicCodec(beanIntrospection, registry)
+                    : new SerdeCodec<>(serdeRegistry, clazz, registry);
                 codecs.put(clazz, codec);
                 return codec;
             }
@@ -82,4 +92,37 @@ public final class DataCodecRegistry implements CodecRegistry {
         return null;
     }
 
+    @SuppressWarnings("unchecked")
+    private <T> Codec<T> polymorphicCodec(BeanIntrospection<T> introspection, CodecRegistry registry) {
+        Class<T> type = introspection.getBeanType();
+        String key = introspection.stringValue(BsonDiscriminator.class, "key").orElse(DEFAULT_DISCRIMINATOR_KEY);
+        List<DiscriminatedSerdeCodec<?>> subtypeCodecs = new ArrayList<>();
+        DiscriminatedSerdeCodec<T> defaultCodec = null;
+        Collection<BeanIntrospection<Object>> subtypes = BeanIntrospector.SHARED.findIntrospections(reference ->
+            reference.getAnnotationMetadata().hasAnnotation(BsonDiscriminator.class)
+                && isSerdeable(reference.getAnnotationMetadata()) && type.isAssignableFrom(reference.getBeanType()));
+        for (BeanIntrospection<Object> subtype : subtypes) {
+            Class<Object> subtypeClass = subtype.getBeanType();
+            if (subtypeClass.isInterface() || Modifier.isAbstract(subtypeClass.getModifiers())
+                || entities != null && !entities.contains(subtypeClass)) {
+                continue;
+            }
+            String discriminator = subtype.getAnnotationMetadata().getDeclaredMetadata().stringValue(BsonDiscriminator.class)
+                .filter(value -> !value.isEmpty())
+                .orElse(subtypeClass.getSimpleName());
+            DiscriminatedSerdeCodec<Object> codec = new DiscriminatedSerdeCodec<>(serdeRegistry, subtypeClass, registry, key, discriminator);
+            subtypeCodecs.add(codec);
+            if (subtypeClass == type) {
+                defaultCodec = (DiscriminatedSerdeCodec<T>) (DiscriminatedSerdeCodec<?>) codec;
+            }
+        }
+        if (subtypeCodecs.isEmpty()) {
+            throw new CodecConfigurationException("No instantiable subtype of the polymorphic entity " + type.getName() + " is introspected");
+        }
+        return new PolymorphicSerdeCodec<>(type, key, subtypeCodecs, defaultCodec);
+    }
+
+    private static boolean isSerdeable(AnnotationMetadata metadata) {
+        return metadata.hasStereotype(Serdeable.Serializable.class) || metadata.hasStereotype(Serdeable.Deserializable.class);
+    }
 }
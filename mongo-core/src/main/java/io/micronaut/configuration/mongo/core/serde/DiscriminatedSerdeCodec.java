@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.serde;
+
+import io.micronaut.serde.SerdeRegistry;
+import org.bson.BsonWriter;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+
+/**
+ * A codec of a subtype of a polymorphic entity, which writes the discriminator of the subtype as the first field.
+ *
+ * @param <T> The entity type
+ * @since 5.6.0
+ */
+final class DiscriminatedSerdeCodec<T> extends SerdeCodec<T> {
+
+    private final String discriminatorKey;
+    private final String discriminator;
+
+    /**
+     * @param dataSerdeRegistry The data serde registry
+     * @param type              The type
+     * @param codecRegistry     The codec registry
+     * @param discriminatorKey  The name of the discriminator field
+     * @param discriminator     The discriminator of the type
+     */
+    DiscriminatedSerdeCodec(SerdeRegistry dataSerdeRegistry, Class<T> type, CodecRegistry codecRegistry,
+                            String discriminatorKey, String discriminator) {
+        super(dataSerdeRegistry, type, codecRegistry);
+        this.discriminatorKey = discriminatorKey;
+        this.discriminator = discriminator;
+    }
+
+    /**
+     * @return The discriminator of the type
+     */
+    String getDiscriminator() {
+        return discriminator;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, T value, EncoderContext encoderContext) {
+        super.encode(new DiscriminatorBsonWriter(writer, discriminatorKey, discriminator), value, encoderContext);
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.serde;
+
+import org.bson.BsonBinary;
+import org.bson.BsonDbPointer;
+import org.bson.BsonReader;
+import org.bson.BsonRegularExpression;
+import org.bson.BsonTimestamp;
+import org.bson.BsonWriter;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+
+/**
+ * A writer that writes the discriminator as the first field of the top level document written to another writer,
+ * where readers find it without skipping other fields.
+ *
+ * @since 5.6.0
+ */
+final class DiscriminatorBsonWriter implements BsonWriter {
+
+    private final BsonWriter delegate;
+    private final String key;
+    private final String value;
+    private boolean written;
+
+    DiscriminatorBsonWriter(BsonWriter delegate, String key, String value) {
+        this.delegate = delegate;
+        this.key = key;
+        this.value = value;
+    }
+
+    @Override
+    public void writeStartDocument() {
+        delegate.writeStartDocument();
+        if (!written) {
+            written = true;
+            delegate.writeString(key, value);
+        }
+    }
+
+    @Override
+    public void flush() {
+        delegate.flush();
+    }
+
+    @Override
+    public void writeBinaryData(BsonBinary value) {
+        delegate.writeBinaryData(value);
+    }
+
+    @Override
+    public void writeBinaryData(String name, BsonBinary value) {
+        delegate.writeBinaryData(name, value);
+    }
+
+    @Override
+    public void writeBoolean(boolean value) {
+        delegate.writeBoolean(value);
+    }
+
+    @Override
+    public void writeBoolean(String name, boolean value) {
+        delegate.writeBoolean(name, value);
+    }
+
+    @Override
+    public void writeDateTime(long value) {
+        delegate.writeDateTime(value);
+    }
+
+    @Override
+    public void writeDateTime(String name, long value) {
+        delegate.writeDateTime(name, value);
+    }
+
+    @Override
+    public void writeDBPointer(BsonDbPointer value) {
+        delegate.writeDBPointer(value);
+    }
+
+    @Override
+    public void writeDBPointer(String name, BsonDbPointer value) {
+        delegate.writeDBPointer(name, value);
+    }
+
+    @Override
+    public void writeDouble(double value) {
+        delegate.writeDouble(value);
+    }
+
+    @Override
+    public void writeDouble(String name, double value) {
+        delegate.writeDouble(name, value);
+    }
+
+    @Override
+    public void writeEndArray() {
+        delegate.writeEndArray();
+    }
+
+    @Override
+    public void writeEndDocument() {
+        delegate.writeEndDocument();
+    }
+
+    @Override
+    public void writeInt32(int value) {
+        delegate.writeInt32(value);
+    }
+
+    @Override
+    public void writeInt32(String name, int value) {
+        delegate.writeInt32(name, value);
+    }
+
+    @Override
+    public void writeInt64(long value) {
+        delegate.writeInt64(value);
+    }
+
+    @Override
+    public void writeInt64(String name, long value) {
+        delegate.writeInt64(name, value);
+    }
+
+    @Override
+    public void writeDecimal128(Decimal128 value) {
+        delegate.writeDecimal128(value);
+    }
+
+    @Override
+    public void writeDecimal128(String name, Decimal128 value) {
+        delegate.writeDecimal128(name, value);
+    }
+
+    @Override
+    public void writeJavaScript(String value) {
+        delegate.writeJavaScript(value);
+    }
+
+    @Override
+    public void writeJavaScript(String name, String value) {
+        delegate.writeJavaScript(name, value);
+    }
+
+    @Override
+    public void writeJavaScriptWithScope(String value) {
+        delegate.writeJavaScriptWithScope(value);
+    }
+
+    @Override
+    public void writeJavaScriptWithScope(String name, String value) {
+        delegate.writeJavaScriptWithScope(name, value);
+    }
+
+    @Override
+    public void writeMaxKey() {
+        delegate.writeMaxKey();
+    }
+
+    @Override
+    public void writeMaxKey(String name) {
+        delegate.writeMaxKey(name);
+    }
+
+    @Override
+    public void writeMinKey() {
+        delegate.writeMinKey();
+    }
+
+    @Override
+    public void writeMinKey(String name) {
+        delegate.writeMinKey(name);
+    }
+
+    @Override
+    public void writeName(String name) {
+        delegate.writeName(name);
+    }
+
+    @Override
+    public void writeNull() {
+        delegate.writeNull();
+    }
+
+    @Override
+    public void writeNull(String name) {
+        delegate.writeNull(name);
+    }
+
+    @Override
+    public void writeObjectId(ObjectId value) {
+        delegate.writeObjectId(value);
+    }
+
+    @Override
+    public void writeObjectId(String name, ObjectId value) {
+        delegate.writeObjectId(name, value);
+    }
+
+    @Override
+    public void writeRegularExpression(BsonRegularExpression value) {
+        delegate.writeRegularExpression(value);
+    }
+
+    @Override
+    public void writeRegularExpression(String name, BsonRegularExpression value) {
+        delegate.writeRegularExpression(name, value);
+    }
+
+    @Override
+    public void writeStartArray() {
+        delegate.writeStartArray();
+    }
+
+    @Override
+    public void writeStartArray(String name) {
+        delegate.writeStartArray(name);
+    }
+
+    @Override
+    public void writeStartDocument(String name) {
+        delegate.writeStartDocument(name);
+    }
+
+    @Override
+    public void writeString(String value) {
+        delegate.writeString(value);
+    }
+
+    @Override
+    public void writeString(String name, String value) {
+        delegate.writeString(name, value);
+    }
+
+    @Override
+    public void writeSymbol(String value) {
+        delegate.writeSymbol(value);
+    }
+
+    @Override
+    public void writeSymbol(String name, String value) {
+        delegate.writeSymbol(name, value);
+    }
+
+    @Override
+    public void writeTimestamp(BsonTimestamp value) {
+        delegate.writeTimestamp(value);
+    }
+
+    @Override
+    public void writeTimestamp(String name, BsonTimestamp value) {
+        delegate.writeTimestamp(name, value);
+    }
+
+    @Override
+    public void writeUndefined() {
+        delegate.writeUndefined();
+    }
+
+    @Override
+    public void writeUndefined(String name) {
+        delegate.writeUndefined(name);
+    }
+
+    @Override
+    public void pipe(BsonReader reader) {
+        delegate.pipe(reader);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.serde;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * A lookup table from discriminator values to codecs. The slot of a value is picked by multiplicative hashing of its
+ * hash code, with a multiplier searched at construction so that every value has a slot of its own. Values whose hash
+ * codes collide fall back to the next free slot.
+ *
+ * @param <V> The value type
+ * @since 5.6.0
+ */
+final class DiscriminatorTable<V> {
+
+    private static final int ATTEMPTS = 32;
+    private static final int MAX_GROWTH = 3;
+
+    private final String[] keys;
+    private final Object[] values;
+    private final int multiplier;
+    private final int shift;
+    private final int mask;
+
+    private DiscriminatorTable(String[] keys, Object[] values, int multiplier, int shift) {
+        this.keys = keys;
+        this.values = values;
+        this.multiplier = multiplier;
+        this.shift = shift;
+        this.mask = keys.length - 1;
+    }
+
+    /**
+     * @param entries The discriminator values and their codecs
+     * @param <V>     The value type
+     * @return The table
+     */
+    static <V> DiscriminatorTable<V> of(Map<String, V> entries) {
+        int minBits = Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.max(1, entries.size()) * 2 - 1));
+        SplittableRandom random = new SplittableRandom(entries.size());
+        int bits = minBits;
+        int bestMultiplier = 1;
+        int bestCollisions = Integer.MAX_VALUE;
+        for (int candidateBits = minBits; candidateBits <= minBits + MAX_GROWTH && bestCollisions > 0; candidateBits++) {
+            for (int attempt = 0; attempt < ATTEMPTS && bestCollisions > 0; attempt++) {
+                int multiplier = random.nextInt() | 1;
+                int collisions = collisions(entries, multiplier, candidateBits);
+                if (collisions < bestCollisions) {
+                    bits = candidateBits;
+                    bestMultiplier = multiplier;
+                    bestCollisions = collisions;
+                }
+            }
+        }
+        int size = 1 << bits;
+        int shift = 32 - bits;
+        String[] keys = new String[size];
+        Object[] values = new Object[size];
+        for (Map.Entry<String, V> entry : entries.entrySet()) {
+            int slot = (entry.getKey().hashCode() * bestMultiplier) >>> shift;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & (size - 1);
+            }
+            keys[slot] = entry.getKey();
+            values[slot] = entry.getValue();
+        }
+        return new DiscriminatorTable<>(keys, values, bestMultiplier, shift);
+    }
+
+    /**
+     * @param key The discriminator value
+     * @return The codec of the value or null
+     */
+    @SuppressWarnings("unchecked")
+    V get(String key) {
+        int slot = (key.hashCode() * multiplier) >>> shift;
+        String candidate;
+        while ((candidate = keys[slot]) != null) {
+            if (candidate.equals(key)) {
+                return (V) values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * @return The number of slots
+     */
+    int capacity() {
+        return keys.length;
+    }
+
+    private static int collisions(Map<String, ?> entries, int multiplier, int bits) {
+        boolean[] used = new boolean[1 << bits];
+        int collisions = 0;
+        for (String key : entries.keySet()) {
+            int slot = (key.hashCode() * multiplier) >>> (32 - bits);
+            if (used[slot]) {
+                collisions++;
+            }
+            used[slot] = true;
+        }
+        return collisions;
+    }
+}
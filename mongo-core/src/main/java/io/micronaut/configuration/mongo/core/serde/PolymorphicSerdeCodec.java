@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.serde;
+
+import io.micronaut.core.annotation.Nullable;
+import org.bson.BsonReader;
+import org.bson.BsonReaderMark;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecConfigurationException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A codec of a polymorphic entity, annotated with {@link org.bson.codecs.pojo.annotations.BsonDiscriminator}. On
+ * decode the discriminator field is read ahead from a mark of the reader, usually as the first field, and the
+ * reader is reset before the codec of the subtype looked up in a {@link DiscriminatorTable} decodes the document.
+ *
+ * @param <T> The entity type
+ * @since 5.6.0
+ */
+final class PolymorphicSerdeCodec<T> implements Codec<T> {
+
+    private final Class<T> type;
+    private final String discriminatorKey;
+    private final Class<?>[] subtypes;
+    private final DiscriminatedSerdeCodec<?>[] codecs;
+    private final DiscriminatorTable<DiscriminatedSerdeCodec<?>> table;
+    @Nullable
+    private final DiscriminatedSerdeCodec<T> defaultCodec;
+
+    /**
+     * @param type             The entity type
+     * @param discriminatorKey The name of the discriminator field
+     * @param codecs           The codecs of the instantiable subtypes, including the type itself if instantiable
+     * @param defaultCodec     The codec of documents without a discriminator or null
+     */
+    PolymorphicSerdeCodec(Class<T> type, String discriminatorKey, List<DiscriminatedSerdeCodec<?>> codecs,
+                          @Nullable DiscriminatedSerdeCodec<T> defaultCodec) {
+        this.type = type;
+        this.discriminatorKey = discriminatorKey;
+        this.codecs = codecs.toArray(new DiscriminatedSerdeCodec<?>[0]);
+        this.subtypes = new Class<?>[this.codecs.length];
+        Map<String, DiscriminatedSerdeCodec<?>> entries = new LinkedHashMap<>();
+        for (int i = 0; i < this.codecs.length; i++) {
+            subtypes[i] = this.codecs[i].getEncoderClass();
+            DiscriminatedSerdeCodec<?> previous = entries.put(this.codecs[i].getDiscriminator(), this.codecs[i]);
+            if (previous != null) {
+                throw new CodecConfigurationException("Discriminator '" + this.codecs[i].getDiscriminator() + "' of "
+                    + subtypes[i].getName() + " is already used by " + previous.getEncoderClass().getName());
+            }
+        }
+        this.table = DiscriminatorTable.of(entries);
+        this.defaultCodec = defaultCodec;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T decode(BsonReader reader, DecoderContext decoderContext) {
+        String discriminator = readDiscriminator(reader);
+        Codec<? extends T> codec = discriminator == null ? defaultCodec : (Codec<? extends T>) table.get(discriminator);
+        if (codec == null) {
+            throw new CodecConfigurationException(discriminator == null
+                ? "Failed to decode '" + type.getName() + "': the document has no discriminator field '" + discriminatorKey + "'"
+                : "Failed to decode '" + type.getName() + "': no subtype has the discriminator '" + discriminator + "'");
+        }
+        return codec.decode(reader, decoderContext);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void encode(BsonWriter writer, T value, EncoderContext encoderContext) {
+        Class<?> valueType = value.getClass();
+        for (int i = 0; i < subtypes.length; i++) {
+            if (subtypes[i] == valueType) {
+                ((Codec<T>) codecs[i]).encode(writer, value, encoderContext);
+                return;
+            }
+        }
+        throw new CodecConfigurationException("Failed to encode '" + type.getName() + "': " + valueType.getName() + " is not a known subtype");
+    }
+
+    @Override
+    public Class<T> getEncoderClass() {
+        return type;
+    }
+
+    @Nullable
+    private String readDiscriminator(BsonReader reader) {
+        BsonReaderMark mark = reader.getMark();
+        try {
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                if (reader.readName().equals(discriminatorKey)) {
+                    if (reader.getCurrentBsonType() != BsonType.STRING) {
+                        throw new CodecConfigurationException("Failed to decode '" + type.getName() + "': the discriminator field '"
+                            + discriminatorKey + "' is of type " + reader.getCurrentBsonType() + " instead of STRING");
+                    }
+                    return reader.readString();
+                }
+                reader.skipValue();
+            }
+            return null;
+        } finally {
+            mark.reset();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.spill;
+
+import io.micronaut.core.annotation.Nullable;
+import org.bson.BsonBinaryReader;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Decoder;
+import org.bson.codecs.DecoderContext;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The documents collected by a {@link SpillingResultBuffer}, decoded as they are iterated. The results can be
+ * iterated several times and must be closed to delete the temporary file.
+ *
+ * @param <T> The document type
+ * @since 5.6.0
+ */
+public final class SpilledResults<T> implements Iterable<T>, Closeable {
+
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+
+    private final Decoder<T> decoder;
+    private final List<RawBsonDocument> inMemory;
+    private final List<ByteBuffer> segments;
+    private final int spilledCount;
+    private final long memoryBytes;
+    private final long spilledBytes;
+    private FileChannel channel;
+    private Path file;
+    private volatile boolean closed;
+
+    SpilledResults(Decoder<T> decoder, List<RawBsonDocument> inMemory, List<ByteBuffer> segments, int spilledCount,
+                   long memoryBytes, long spilledBytes, @Nullable FileChannel channel, @Nullable Path file) {
+        this.decoder = decoder;
+        this.inMemory = inMemory;
+        this.segments = segments;
+        this.spilledCount = spilledCount;
+        this.memoryBytes = memoryBytes;
+        this.spilledBytes = spilledBytes;
+        this.channel = channel;
+        this.file = file;
+    }
+
+    /**
+     * @return The number of documents
+     */
+    public long size() {
+        return (long) inMemory.size() + spilledCount;
+    }
+
+    /**
+     * @return Whether documents were spilled to disk
+     */
+    public boolean isSpilled() {
+        return spilledCount > 0;
+    }
+
+    /**
+     * @return The number of bytes of the documents kept in memory
+     */
+    public long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    /**
+     * @return The number of bytes of the documents spilled to disk
+     */
+    public long getSpilledBytes() {
+        return spilledBytes;
+    }
+
+    /**
+     * @return The temporary file or null if no documents were spilled or the results are closed
+     */
+    @Nullable
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new ResultIterator();
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /**
+     * @return A sequential stream of the documents, closing the results when closed
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false).onClose(this::close);
+    }
+
+    /**
+     * Deletes the temporary file. The memory mapped segments are released once they are garbage collected.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        delete(channel, file);
+        channel = null;
+        file = null;
+    }
+
+    static void delete(@Nullable FileChannel channel, @Nullable Path file) {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+            if (file != null) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            if (file != null) {
+                file.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Iterates the documents in memory and then the documents of the segments of the file.
+     */
+    private final class ResultIterator implements Iterator<T> {
+
+        private int memoryIndex;
+        private int segmentIndex;
+        private ByteBuffer segment;
+
+        @Override
+        public boolean hasNext() {
+            if (memoryIndex < inMemory.size()) {
+                return true;
+            }
+            while (segment == null || !segment.hasRemaining()) {
+                if (segmentIndex == segments.size()) {
+                    return false;
+                }
+                segment = segments.get(segmentIndex++).duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (closed) {
+                throw new IllegalStateException("Results are closed");
+            }
+            if (memoryIndex < inMemory.size()) {
+                return inMemory.get(memoryIndex++).decode(decoder);
+            }
+            int start = segment.position();
+            int length = segment.getInt(start);
+            segment.position(start + length);
+            try (BsonBinaryReader reader = new BsonBinaryReader(segment.slice(start, length))) {
+                return decoder.decode(reader, DECODER_CONTEXT);
+            }
+        }
+    }
+}
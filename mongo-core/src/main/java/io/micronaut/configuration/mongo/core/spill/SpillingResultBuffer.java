@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.spill;
+
+import io.micronaut.core.annotation.Nullable;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Decoder;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the documents of a result as raw BSON. Documents are kept in memory until their size exceeds the memory
+ * budget, all later documents are appended to a temporary file that is written and read through memory mapped
+ * segments. The collected documents are decoded lazily when iterating the {@link SpilledResults}.
+ *
+ * <p>A buffer is not thread safe. It must be closed if collecting fails, otherwise the results own the file.</p>
+ *
+ * @since 5.6.0
+ */
+public final class SpillingResultBuffer implements Closeable {
+
+    /**
+     * The default memory budget of 64 MiB.
+     */
+    public static final long DEFAULT_MEMORY_BUDGET = 64L * 1024 * 1024;
+
+    /**
+     * The size of the memory mapped segments of the file, larger than the maximum size of a document.
+     */
+    static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private final long memoryBudget;
+    private final Path directory;
+    private final List<RawBsonDocument> inMemory = new ArrayList<>();
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private long memoryBytes;
+    private long spilledBytes;
+    private int spilledCount;
+    private Path file;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long segmentStart;
+
+    private SpillingResultBuffer(long memoryBudget, Path directory) {
+        this.memoryBudget = memoryBudget;
+        this.directory = directory;
+    }
+
+    /**
+     * @param memoryBudget The maximum number of bytes of the documents kept in memory
+     * @param directory    The directory of the temporary file or null for the default temporary directory
+     * @return The buffer
+     */
+    public static SpillingResultBuffer create(long memoryBudget, @Nullable Path directory) {
+        if (memoryBudget < 0) {
+            throw new IllegalArgumentException("Memory budget must not be negative: " + memoryBudget);
+        }
+        return new SpillingResultBuffer(memoryBudget, directory);
+    }
+
+    /**
+     * @param document The next document
+     * @throws UncheckedIOException If the temporary file cannot be written
+     */
+    public void add(RawBsonDocument document) {
+        ByteBuffer bytes = document.getByteBuffer().asNIO();
+        if (channel == null && memoryBytes + bytes.remaining() <= memoryBudget) {
+            inMemory.add(document);
+            memoryBytes += bytes.remaining();
+            return;
+        }
+        try {
+            if (segment == null || segment.remaining() < bytes.remaining()) {
+                nextSegment();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spill results to " + file, e);
+        }
+        spilledBytes += bytes.remaining();
+        spilledCount++;
+        segment.put(bytes);
+    }
+
+    /**
+     * @param decoder The decoder of the documents
+     * @param <T>     The document type
+     * @return The results, which take over the temporary file
+     */
+    public <T> SpilledResults<T> results(Decoder<T> decoder) {
+        if (segment != null) {
+            segments.add(segment.flip());
+        }
+        SpilledResults<T> results = new SpilledResults<>(decoder, inMemory, segments, spilledCount, memoryBytes, spilledBytes, channel, file);
+        channel = null;
+        file = null;
+        segment = null;
+        return results;
+    }
+
+    /**
+     * Deletes the temporary file unless the results took it over.
+     */
+    @Override
+    public void close() {
+        SpilledResults.delete(channel, file);
+        channel = null;
+        file = null;
+    }
+
+    private void nextSegment() throws IOException {
+        if (channel == null) {
+            file = directory == null ? Files.createTempFile("mongo-spill-", ".bson") : Files.createTempFile(directory, "mongo-spill-", ".bson");
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } else {
+            segmentStart += segment.position();
+            segments.add(segment.flip());
+        }
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, segmentStart, SEGMENT_SIZE);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.template;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An aggregation pipeline encoded once with slots for parameters, see {@link BsonTemplate}. The stages of a bound
+ * pipeline are views of a single encoded document.
+ *
+ * <pre>{@code
+ * static final BsonPipelineTemplate TOTALS = BsonPipelineTemplate.compile(List.of(
+ *     Aggregates.match(Filters.eq("region", BsonTemplate.param("region"))),
+ *     Aggregates.group("$status", Accumulators.sum("total", "$total"))),
+ *     MongoClientSettings.getDefaultCodecRegistry());
+ *
+ * collection.aggregate(TOTALS.bind("EU"));
+ * }</pre>
+ *
+ * @since 5.6.0
+ */
+public final class BsonPipelineTemplate {
+
+    private static final String STAGES = "stages";
+
+    private final BsonTemplate template;
+
+    private BsonPipelineTemplate(BsonTemplate template) {
+        this.template = template;
+    }
+
+    /**
+     * @param pipeline      The stages, with {@link BsonTemplate#param(String) placeholders} in place of the parameter values
+     * @param codecRegistry The codec registry encoding the stages and the parameter values
+     * @return The compiled template
+     */
+    public static BsonPipelineTemplate compile(List<? extends Bson> pipeline, CodecRegistry codecRegistry) {
+        BsonArray stages = new BsonArray(new ArrayList<>(pipeline.size()));
+        for (Bson stage : pipeline) {
+            stages.add(stage.toBsonDocument(BsonDocument.class, codecRegistry));
+        }
+        return new BsonPipelineTemplate(BsonTemplate.compile(new BsonDocument(STAGES, stages), codecRegistry));
+    }
+
+    /**
+     * @return The names of the parameters in the order of their first occurrence
+     */
+    public List<String> getParameterNames() {
+        return template.getParameterNames();
+    }
+
+    /**
+     * @param values The parameter values in the order of {@link #getParameterNames()}
+     * @return The stages with the parameter values
+     */
+    public List<BsonDocument> bind(Object... values) {
+        return stages(template.bind(values));
+    }
+
+    /**
+     * @param values The parameter values by name
+     * @return The stages with the parameter values
+     */
+    public List<BsonDocument> bind(Map<String, ?> values) {
+        return stages(template.bind(values));
+    }
+
+    @Override
+    public String toString() {
+        return template.toString();
+    }
+
+    private static List<BsonDocument> stages(BsonDocument bound) {
+        BsonArray array = bound.getArray(STAGES);
+        List<BsonDocument> stages = new ArrayList<>(array.size());
+        for (BsonValue stage : array) {
+            stages.add(stage.asDocument());
+        }
+        return stages;
+    }
+}
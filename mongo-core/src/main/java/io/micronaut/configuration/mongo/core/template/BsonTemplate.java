@@ -0,0 +1,329 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.template;
+
+import io.micronaut.core.annotation.Nullable;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonType;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.Codec;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+import org.bson.io.BasicOutputBuffer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A document, such as a filter, encoded once with slots for parameters. Binding parameters copies the encoded
+ * document, writes the encoded parameter values into their slots and corrects the lengths of the enclosing
+ * documents and arrays, without building or encoding the document again. The bound document is a
+ * {@link RawBsonDocument}, which the driver sends as is.
+ *
+ * <pre>{@code
+ * static final BsonTemplate BY_STATUS = BsonTemplate.compile(
+ *     Filters.and(Filters.eq("status", BsonTemplate.param("status")), Filters.gte("total", BsonTemplate.param("min"))),
+ *     MongoClientSettings.getDefaultCodecRegistry());
+ *
+ * collection.find(BY_STATUS.bind("A", 100));
+ * }</pre>
+ *
+ * <p>Templates are immutable and can be shared between threads.</p>
+ *
+ * @since 5.6.0
+ */
+public final class BsonTemplate {
+
+    /**
+     * The key of the placeholder documents created by {@link #param(String)}.
+     */
+    public static final String PARAM_KEY = "$param";
+
+    private static final BsonDocumentCodec CODEC = new BsonDocumentCodec();
+    private static final EncoderContext ENCODER_CONTEXT = EncoderContext.builder().build();
+    private static final byte[] VALUE_NAME = {'v', 0};
+
+    private final byte[] bytes;
+    private final List<String> parameterNames;
+    private final Slot[] slots;
+    private final int[] containers;
+    private final CodecRegistry codecRegistry;
+
+    private BsonTemplate(byte[] bytes, List<String> parameterNames, List<Slot> slots, List<Integer> containers, CodecRegistry codecRegistry) {
+        this.bytes = bytes;
+        this.parameterNames = List.copyOf(parameterNames);
+        this.slots = slots.toArray(new Slot[0]);
+        this.containers = containers.stream().mapToInt(Integer::intValue).toArray();
+        this.codecRegistry = codecRegistry;
+    }
+
+    /**
+     * @param name The parameter name
+     * @return The placeholder of the parameter, to be used in place of a value of the template
+     */
+    public static BsonDocument param(String name) {
+        return new BsonDocument(PARAM_KEY, new BsonString(name));
+    }
+
+    /**
+     * @param template      The template, with {@link #param(String) placeholders} in place of the parameter values
+     * @param codecRegistry The codec registry encoding the template and the parameter values
+     * @return The compiled template
+     */
+    public static BsonTemplate compile(Bson template, CodecRegistry codecRegistry) {
+        BasicOutputBuffer output = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(output)) {
+            CODEC.encode(writer, template.toBsonDocument(BsonDocument.class, codecRegistry), ENCODER_CONTEXT);
+        }
+        byte[] bytes = output.toByteArray();
+        Compiler compiler = new Compiler(bytes);
+        compiler.document(0);
+        return new BsonTemplate(bytes, new ArrayList<>(compiler.parameterNames.keySet()), compiler.slots, compiler.containers, codecRegistry);
+    }
+
+    /**
+     * @return The names of the parameters in the order of their first occurrence
+     */
+    public List<String> getParameterNames() {
+        return parameterNames;
+    }
+
+    /**
+     * @param values The parameter values in the order of {@link #getParameterNames()}
+     * @return The document with the parameter values
+     * @throws IllegalArgumentException If the number of values does not match the number of parameters
+     * @throws org.bson.codecs.configuration.CodecConfigurationException If there is no codec for a value
+     */
+    public RawBsonDocument bind(Object... values) {
+        if (values.length != parameterNames.size()) {
+            throw new IllegalArgumentException("Expected " + parameterNames.size() + " parameter values " + parameterNames + " but got " + values.length);
+        }
+        byte[][] encoded = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            encoded[i] = encode(values[i]);
+        }
+        return bind(encoded);
+    }
+
+    /**
+     * @param values The parameter values by name
+     * @return The document with the parameter values
+     * @throws IllegalArgumentException If a parameter value is missing
+     */
+    public RawBsonDocument bind(Map<String, ?> values) {
+        Object[] ordered = new Object[parameterNames.size()];
+        for (int i = 0; i < ordered.length; i++) {
+            String name = parameterNames.get(i);
+            if (!values.containsKey(name)) {
+                throw new IllegalArgumentException("Missing value of parameter " + name);
+            }
+            ordered[i] = values.get(name);
+        }
+        return bind(ordered);
+    }
+
+    @Override
+    public String toString() {
+        return new RawBsonDocument(bytes).toJson();
+    }
+
+    private RawBsonDocument bind(byte[][] encoded) {
+        int[] shifts = new int[slots.length];
+        int shift = 0;
+        for (int i = 0; i < slots.length; i++) {
+            Slot slot = slots[i];
+            shift += encoded[slot.parameter].length - 1 - (slot.valueEnd - slot.valueStart);
+            shifts[i] = shift;
+        }
+        byte[] result = new byte[bytes.length + shift];
+        int from = 0;
+        int to = 0;
+        for (Slot slot : slots) {
+            byte[] value = encoded[slot.parameter];
+            int literal = slot.typeOffset - from;
+            System.arraycopy(bytes, from, result, to, literal);
+            to += literal;
+            result[to++] = value[0];
+            int name = slot.valueStart - slot.typeOffset - 1;
+            System.arraycopy(bytes, slot.typeOffset + 1, result, to, name);
+            to += name;
+            System.arraycopy(value, 1, result, to, value.length - 1);
+            to += value.length - 1;
+            from = slot.valueEnd;
+        }
+        System.arraycopy(bytes, from, result, to, bytes.length - from);
+        ByteBuffer buffer = ByteBuffer.wrap(result).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < containers.length; i += 2) {
+            int start = containers[i];
+            int end = containers[i + 1];
+            int before = 0;
+            int inside = 0;
+            for (int j = 0; j < slots.length; j++) {
+                int delta = shifts[j] - (j == 0 ? 0 : shifts[j - 1]);
+                if (slots[j].valueEnd <= start) {
+                    before += delta;
+                } else if (slots[j].typeOffset < end) {
+                    inside += delta;
+                }
+            }
+            if (inside != 0) {
+                buffer.putInt(start + before, end - start + inside);
+            }
+        }
+        return new RawBsonDocument(result);
+    }
+
+    /**
+     * @param value The value
+     * @return The BSON type of the value followed by the encoded value
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private byte[] encode(@Nullable Object value) {
+        if (value == null) {
+            return new byte[] {(byte) BsonType.NULL.getValue()};
+        }
+        BasicOutputBuffer output = new BasicOutputBuffer(64);
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(output)) {
+            writer.writeStartDocument();
+            writer.writeName("v");
+            Codec codec = codecRegistry.get(value.getClass());
+            ENCODER_CONTEXT.encodeWithChildContext(codec, writer, value);
+            writer.writeEndDocument();
+        }
+        byte[] document = output.toByteArray();
+        int valueStart = 5 + VALUE_NAME.length;
+        byte[] encoded = new byte[document.length - valueStart];
+        encoded[0] = document[4];
+        System.arraycopy(document, valueStart, encoded, 1, document.length - 1 - valueStart);
+        return encoded;
+    }
+
+    /**
+     * A placeholder element: the offset of its type, the start of its value after the name and the end of the value.
+     */
+    private static final class Slot {
+
+        private final int typeOffset;
+        private final int valueStart;
+        private final int valueEnd;
+        private final int parameter;
+
+        Slot(int typeOffset, int valueStart, int valueEnd, int parameter) {
+            this.typeOffset = typeOffset;
+            this.valueStart = valueStart;
+            this.valueEnd = valueEnd;
+            this.parameter = parameter;
+        }
+    }
+
+    /**
+     * Finds the placeholders and the documents and arrays enclosing them in an encoded document.
+     */
+    private static final class Compiler {
+
+        private static final byte[] PARAM_NAME = (PARAM_KEY + '\0').getBytes(StandardCharsets.UTF_8);
+
+        private final byte[] bytes;
+        private final ByteBuffer buffer;
+        private final Map<String, Integer> parameterNames = new LinkedHashMap<>();
+        private final List<Slot> slots = new ArrayList<>();
+        private final List<Integer> containers = new ArrayList<>();
+
+        Compiler(byte[] bytes) {
+            this.bytes = bytes;
+            this.buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        /**
+         * @param start The start of a document or array
+         * @return The end of the document or array
+         */
+        int document(int start) {
+            int end = start + buffer.getInt(start);
+            containers.add(start);
+            containers.add(end);
+            int position = start + 4;
+            while (bytes[position] != 0) {
+                int typeOffset = position;
+                byte type = bytes[position];
+                position = cStringEnd(position + 1);
+                int valueStart = position;
+                if (type == BsonType.DOCUMENT.getValue() && isPlaceholder(valueStart)) {
+                    position = valueStart + buffer.getInt(valueStart);
+                    String name = placeholderName(valueStart);
+                    int parameter = parameterNames.computeIfAbsent(name, n -> parameterNames.size());
+                    slots.add(new Slot(typeOffset, valueStart, position, parameter));
+                } else if (type == BsonType.DOCUMENT.getValue() || type == BsonType.ARRAY.getValue()) {
+                    position = document(valueStart);
+                } else {
+                    position = skip(type, valueStart);
+                }
+            }
+            return end;
+        }
+
+        private boolean isPlaceholder(int start) {
+            int size = buffer.getInt(start);
+            int element = start + 4;
+            if (bytes[element] != BsonType.STRING.getValue()
+                || !Arrays.equals(bytes, element + 1, element + 1 + PARAM_NAME.length, PARAM_NAME, 0, PARAM_NAME.length)) {
+                return false;
+            }
+            int value = element + 1 + PARAM_NAME.length;
+            return value + 4 + buffer.getInt(value) + 1 == start + size;
+        }
+
+        private String placeholderName(int start) {
+            int value = start + 4 + 1 + PARAM_NAME.length;
+            return new String(bytes, value + 4, buffer.getInt(value) - 1, StandardCharsets.UTF_8);
+        }
+
+        private int cStringEnd(int position) {
+            while (bytes[position] != 0) {
+                position++;
+            }
+            return position + 1;
+        }
+
+        private int skip(byte type, int position) {
+            BsonType bsonType = BsonType.findByValue(type);
+            return switch (bsonType) {
+                case DOUBLE, DATE_TIME, TIMESTAMP, INT64 -> position + 8;
+                case STRING, JAVASCRIPT, SYMBOL -> position + 4 + buffer.getInt(position);
+                case BINARY -> position + 5 + buffer.getInt(position);
+                case OBJECT_ID -> position + 12;
+                case BOOLEAN -> position + 1;
+                case INT32 -> position + 4;
+                case DECIMAL128 -> position + 16;
+                case REGULAR_EXPRESSION -> cStringEnd(cStringEnd(position));
+                case DB_POINTER -> position + 4 + buffer.getInt(position) + 12;
+                case JAVASCRIPT_WITH_SCOPE -> position + buffer.getInt(position);
+                case UNDEFINED, NULL, MIN_KEY, MAX_KEY -> position;
+                default -> throw new IllegalStateException("Unexpected BSON type " + bsonType);
+            };
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.serde
+
+import spock.lang.Specification
+
+class DiscriminatorTableSpec extends Specification {
+
+    void "test every discriminator is found"() {
+        given:
+        Map<String, Integer> entries = (0..<200).collectEntries { ['type' + it, it] }
+        DiscriminatorTable<Integer> table = DiscriminatorTable.of(entries)
+
+        expect:
+        entries.every { table.get(it.key) == it.value }
+        table.capacity() >= 400
+    }
+
+    void "test discriminators with colliding hash codes are found"() {
+        given:
+        List<String> colliding = ['Aa', 'BB', 'AaAa', 'BBBB', 'AaBB', 'BBAa']
+        DiscriminatorTable<String> table = DiscriminatorTable.of(colliding.collectEntries { [it, it.toLowerCase()] })
+
+        expect:
+        colliding.every { table.get(it) == it.toLowerCase() }
+        table.get('C#') == null
+        table.get('AaAaAa') == null
+    }
+
+    void "test unknown discriminators are not found"() {
+        expect:
+        DiscriminatorTable.of(entries).get(key) == null
+
+        where:
+        entries                  | key
+        [dog: 1]                 | 'cat'
+        [dog: 1, cat: 2]         | 'Dog'
+        [dog: 1, cat: 2]         | ''
+        [:]                      | 'dog'
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.core.serde
+
+import io.micronaut.core.type.Argument
+import io.micronaut.serde.Decoder
+import io.micronaut.serde.Deserializer
+import io.micronaut.serde.SerdeRegistry
+import io.micronaut.serde.Serializer
+import org.bson.BsonDocument
+import org.bson.BsonDocumentReader
+import org.bson.codecs.DecoderContext
+import org.bson.codecs.configuration.CodecConfigurationException
+import org.bson.codecs.configuration.CodecRegistry
+import spock.lang.Specification
+
+class PolymorphicSerdeCodecSpec extends Specification {
+
+    void "test documents are decoded by the codec of their discriminator"() {
+        given:
+        PolymorphicSerdeCodec<Animal> codec = new PolymorphicSerdeCodec<>(Animal, '_t', [codec(Dog, 'dog'), codec(Cat, 'cat')], null)
+
+        expect:
+        decode(codec, '{"_t": "dog", "name": "Rex"}') instanceof Dog
+        decode(codec, '{"name": "Tom", "_t": "cat"}') instanceof Cat
+    }
+
+    void "test discriminators with colliding hash codes are decoded by their own codec"() {
+        given:
+        PolymorphicSerdeCodec<Animal> codec = new PolymorphicSerdeCodec<>(Animal, '_t', [codec(Dog, 'Aa'), codec(Cat, 'BB')], null)
+
+        expect:
+        'Aa'.hashCode() == 'BB'.hashCode()
+        decode(codec, '{"_t": "Aa"}') instanceof Dog
+        decode(codec, '{"_t": "BB"}') instanceof Cat
+    }
+
+    void "test documents without a discriminator are decoded by the default codec"() {
+        given:
+        DiscriminatedSerdeCodec<Animal> defaultCodec = codec(Dog, 'dog')
+        PolymorphicSerdeCodec<Animal> codec = new PolymorphicSerdeCodec<>(Animal, '_t', [defaultCodec, codec(Cat, 'cat')], defaultCodec)
+
+        expect:
+        decode(codec, '{"name": "Rex"}') instanceof Dog
+    }
+
+    void "test documents that cannot be dispatched fail"() {
+        given:
+        PolymorphicSerdeCodec<Animal> codec = new PolymorphicSerdeCodec<>(Animal, '_t', codecs.collect { codec(it.value, it.key) }, null)
+
+        when:
+        decode(codec, document)
+
+        then:
+        CodecConfigurationException e = thrown()
+        e.message.endsWith(message)
+
+        where:
+        codecs                | document                   | message
+        [dog: Dog, cat: Cat]  | '{"name": "Rex"}'          | "the document has no discriminator field '_t'"
+        [dog: Dog, cat: Cat]  | '{"_t": "bird"}'           | "no subtype has the discriminator 'bird'"
+        [dog: Dog, cat: Cat]  | '{"_t": 1}'                | "the discriminator field '_t' is of type INT32 instead of STRING"
+        [dog: Dog, cat: Cat]  | '{"_t": null}'             | "the discriminator field '_t' is of type NULL instead of STRING"
+        [:]                   | '{"_t": "dog"}'            | "no subtype has the discriminator 'dog'"
+    }
+
+    void "test a discriminator used by two subtypes fails"() {
+        when:
+        new PolymorphicSerdeCodec<>(Animal, '_t', [codec(Dog, 'dog'), codec(Cat, 'dog')], null)
+
+        then:
+        CodecConfigurationException e = thrown()
+        e.message == "Discriminator 'dog' of ${Cat.name} is already used by ${Dog.name}"
+    }
+
+    private static Animal decode(PolymorphicSerdeCodec<Animal> codec, String json) {
+        codec.decode(new BsonDocumentReader(BsonDocument.parse(json)), DecoderContext.builder().build())
+    }
+
+    private DiscriminatedSerdeCodec<Animal> codec(Class<? extends Animal> type, String discriminator) {
+        SerdeRegistry serdeRegistry = Stub() {
+            findSerializer(_) >> Stub(Serializer)
+            findDeserializer(_) >> new InstanceDeserializer(type)
+        }
+        new DiscriminatedSerdeCodec(serdeRegistry, type, Stub(CodecRegistry), '_t', discriminator)
+    }
+
+    static abstract class Animal {
+    }
+
+    static class Dog extends Animal {
+    }
+
+    static class Cat extends Animal {
+    }
+
+    /**
+     * Skips the document and creates an instance of the type.
+     */
+    static class InstanceDeserializer implements Deserializer<Animal> {
+
+        private final Class<? extends Animal> type
+
+        InstanceDeserializer(Class<? extends Animal> type) {
+            this.type = type
+        }
+
+        @Override
+        Animal deserialize(Decoder decoder, Deserializer.DecoderContext context, Argument<? super Animal> argument) {
+            Decoder document = decoder.decodeObject()
+            while (document.decodeKey() != null) {
+                document.skipValue()
+            }
+            document.finishStructure()
+            type.getDeclaredConstructor().newInstance()
+        }
+    }
+}
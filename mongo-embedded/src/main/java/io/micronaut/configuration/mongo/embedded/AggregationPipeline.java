@@ -0,0 +1,257 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.embedded;
+
+import org.bson.BsonArray;
+import org.bson.BsonBoolean;
+import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonNull;
+import org.bson.BsonValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Runs aggregation pipelines made of the stages <code>$match</code>, <code>$sort</code>, <code>$skip</code>,
+ * <code>$limit</code>, <code>$project</code>, <code>$addFields</code>, <code>$set</code>, <code>$unset</code>,
+ * <code>$group</code>, <code>$count</code>, <code>$unwind</code>, <code>$replaceRoot</code>,
+ * <code>$replaceWith</code>, <code>$sortByCount</code> and <code>$lookup</code>.
+ *
+ * @since 5.6.0
+ */
+final class AggregationPipeline {
+
+    private final Function<String, List<BsonDocument>> collections;
+
+    /**
+     * @param collections Resolves the documents of a collection of the same database for <code>$lookup</code>
+     */
+    AggregationPipeline(Function<String, List<BsonDocument>> collections) {
+        this.collections = collections;
+    }
+
+    /**
+     * @param documents The input documents
+     * @param pipeline  The stages
+     * @return The output documents
+     */
+    List<BsonDocument> run(List<BsonDocument> documents, List<BsonValue> pipeline) {
+        List<BsonDocument> current = documents;
+        for (BsonValue value : pipeline) {
+            BsonDocument stage = value.asDocument();
+            if (stage.size() != 1) {
+                throw new CommandFailure(40323, "Location40323", "A pipeline stage specification object must contain exactly one field.");
+            }
+            current = stage(current, stage.getFirstKey(), stage.get(stage.getFirstKey()));
+        }
+        return current;
+    }
+
+    private List<BsonDocument> stage(List<BsonDocument> documents, String name, BsonValue specification) {
+        return switch (name) {
+            case "$match" -> documents.stream().filter(d -> QueryMatcher.matches(d, specification.asDocument())).toList();
+            case "$sort" -> {
+                List<BsonDocument> sorted = new ArrayList<>(documents);
+                sorted.sort(Sorting.comparator(specification.asDocument())::compare);
+                yield sorted;
+            }
+            case "$skip" -> documents.subList(Math.min(documents.size(), specification.asNumber().intValue()), documents.size());
+            case "$limit" -> documents.subList(0, Math.min(documents.size(), specification.asNumber().intValue()));
+            case "$project" -> documents.stream().map(d -> Projections.project(d, specification.asDocument())).toList();
+            case "$addFields", "$set" -> documents.stream().map(d -> addFields(d, specification.asDocument())).toList();
+            case "$unset" -> documents.stream().map(d -> unset(d, specification)).toList();
+            case "$replaceRoot" -> documents.stream().map(d -> replaceRoot(d, specification.asDocument().get("newRoot"))).toList();
+            case "$replaceWith" -> documents.stream().map(d -> replaceRoot(d, specification)).toList();
+            case "$group" -> group(documents, specification.asDocument());
+            case "$count" -> documents.isEmpty()
+                ? List.of()
+                : List.of(new BsonDocument(specification.asString().getValue(), new BsonInt32(documents.size())));
+            case "$sortByCount" -> {
+                BsonDocument group = new BsonDocument("_id", specification).append("count", new BsonDocument("$sum", new BsonInt32(1)));
+                List<BsonDocument> grouped = new ArrayList<>(group(documents, group));
+                grouped.sort((a, b) -> BsonComparator.INSTANCE.compare(b.get("count"), a.get("count")));
+                yield grouped;
+            }
+            case "$unwind" -> unwind(documents, specification);
+            case "$lookup" -> lookup(documents, specification.asDocument());
+            default -> throw new CommandFailure(40324, "Location40324", "Unrecognized pipeline stage name: '" + name + "'");
+        };
+    }
+
+    private static BsonDocument addFields(BsonDocument document, BsonDocument fields) {
+        BsonDocument result = document.clone();
+        for (Map.Entry<String, BsonValue> field : fields.entrySet()) {
+            BsonPaths.set(result, field.getKey(), Expressions.evaluate(document, field.getValue()));
+        }
+        return result;
+    }
+
+    private static BsonDocument unset(BsonDocument document, BsonValue fields) {
+        BsonDocument result = document.clone();
+        for (BsonValue field : fields.isArray() ? fields.asArray() : new BsonArray(List.of(fields))) {
+            BsonPaths.remove(result, field.asString().getValue());
+        }
+        return result;
+    }
+
+    private static BsonDocument replaceRoot(BsonDocument document, BsonValue expression) {
+        BsonValue root = Expressions.evaluate(document, expression);
+        if (!root.isDocument()) {
+            throw new CommandFailure(40228, "Location40228", "'newRoot' expression must evaluate to an object, but resulting value was: " + root);
+        }
+        return root.asDocument();
+    }
+
+    private static List<BsonDocument> group(List<BsonDocument> documents, BsonDocument specification) {
+        if (!specification.containsKey("_id")) {
+            throw new CommandFailure(15955, "Location15955", "a group specification must include an _id");
+        }
+        Map<BsonValue, List<BsonDocument>> groups = new TreeMap<>(BsonComparator.INSTANCE);
+        for (BsonDocument document : documents) {
+            groups.computeIfAbsent(Expressions.evaluate(document, specification.get("_id")), k -> new ArrayList<>()).add(document);
+        }
+        List<BsonDocument> result = new ArrayList<>(groups.size());
+        for (Map.Entry<BsonValue, List<BsonDocument>> group : groups.entrySet()) {
+            BsonDocument output = new BsonDocument("_id", group.getKey());
+            for (Map.Entry<String, BsonValue> field : specification.entrySet()) {
+                if (!field.getKey().equals("_id")) {
+                    BsonDocument accumulator = field.getValue().asDocument();
+                    output.put(field.getKey(), accumulate(group.getValue(), accumulator.getFirstKey(), accumulator.get(accumulator.getFirstKey())));
+                }
+            }
+            result.add(output);
+        }
+        return result;
+    }
+
+    private static BsonValue accumulate(List<BsonDocument> documents, String accumulator, BsonValue expression) {
+        List<BsonValue> values = new ArrayList<>(documents.size());
+        for (BsonDocument document : documents) {
+            values.add(Expressions.evaluate(document, expression));
+        }
+        return switch (accumulator) {
+            case "$sum" -> Expressions.sum(values);
+            case "$count" -> new BsonInt32(documents.size());
+            case "$avg" -> {
+                double sum = 0;
+                int count = 0;
+                for (BsonValue value : values) {
+                    if (value.isNumber()) {
+                        sum += value.asNumber().doubleValue();
+                        count++;
+                    }
+                }
+                yield count == 0 ? BsonNull.VALUE : new BsonDouble(sum / count);
+            }
+            case "$min" -> values.stream().filter(v -> !v.isNull()).min(BsonComparator.INSTANCE).orElse(BsonNull.VALUE);
+            case "$max" -> values.stream().filter(v -> !v.isNull()).max(BsonComparator.INSTANCE).orElse(BsonNull.VALUE);
+            case "$first" -> values.isEmpty() ? BsonNull.VALUE : values.get(0);
+            case "$last" -> values.isEmpty() ? BsonNull.VALUE : values.get(values.size() - 1);
+            case "$push" -> new BsonArray(values);
+            case "$addToSet" -> {
+                BsonArray set = new BsonArray();
+                for (BsonValue value : values) {
+                    if (set.stream().noneMatch(v -> BsonComparator.equal(v, value))) {
+                        set.add(value);
+                    }
+                }
+                yield set;
+            }
+            default -> throw new CommandFailure(15952, "Location15952", "unknown group operator '" + accumulator + "'");
+        };
+    }
+
+    private static List<BsonDocument> unwind(List<BsonDocument> documents, BsonValue specification) {
+        String path;
+        boolean preserve = false;
+        String indexField = null;
+        if (specification.isDocument()) {
+            BsonDocument options = specification.asDocument();
+            path = options.getString("path").getValue();
+            preserve = options.getBoolean("preserveNullAndEmptyArrays", BsonBoolean.FALSE).getValue();
+            indexField = options.containsKey("includeArrayIndex") ? options.getString("includeArrayIndex").getValue() : null;
+        } else {
+            path = specification.asString().getValue();
+        }
+        if (!path.startsWith("$")) {
+            throw new CommandFailure(28818, "Location28818", "path option to $unwind stage should be prefixed with a '$': " + path);
+        }
+        String field = path.substring(1);
+        List<BsonDocument> result = new ArrayList<>();
+        for (BsonDocument document : documents) {
+            BsonValue value = BsonPaths.get(document, field);
+            if (value == null || value.isNull() || value.isArray() && value.asArray().isEmpty()) {
+                if (preserve) {
+                    BsonDocument copy = document.clone();
+                    if (indexField != null) {
+                        copy.put(indexField, BsonNull.VALUE);
+                    }
+                    result.add(copy);
+                }
+                continue;
+            }
+            if (!value.isArray()) {
+                BsonDocument copy = document.clone();
+                if (indexField != null) {
+                    copy.put(indexField, BsonNull.VALUE);
+                }
+                result.add(copy);
+                continue;
+            }
+            BsonArray array = value.asArray();
+            for (int i = 0; i < array.size(); i++) {
+                BsonDocument copy = document.clone();
+                BsonPaths.set(copy, field, array.get(i));
+                if (indexField != null) {
+                    copy.put(indexField, new BsonInt64(i));
+                }
+                result.add(copy);
+            }
+        }
+        return result;
+    }
+
+    private List<BsonDocument> lookup(List<BsonDocument> documents, BsonDocument specification) {
+        if (specification.containsKey("pipeline")) {
+            throw new CommandFailure(CommandFailure.BAD_VALUE, "BadValue", "$lookup with a pipeline is not supported by the embedded server");
+        }
+        List<BsonDocument> foreign = collections.apply(specification.getString("from").getValue());
+        String localField = specification.getString("localField").getValue();
+        String foreignField = specification.getString("foreignField").getValue();
+        String as = specification.getString("as").getValue();
+        List<BsonDocument> result = new ArrayList<>(documents.size());
+        for (BsonDocument document : documents) {
+            List<BsonValue> locals = BsonPaths.values(document, localField);
+            BsonValue local = locals.isEmpty() ? BsonNull.VALUE : locals.get(0);
+            BsonArray matches = new BsonArray();
+            for (BsonDocument candidate : foreign) {
+                if (QueryMatcher.matches(candidate, new BsonDocument(foreignField, local.isArray() ? new BsonDocument("$in", local) : local))) {
+                    matches.add(candidate);
+                }
+            }
+            BsonDocument copy = document.clone();
+            BsonPaths.set(copy, as, matches);
+            result.add(copy);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.embedded;
+
+import org.bson.BsonArray;
+import org.bson.BsonBinary;
+import org.bson.BsonDocument;
+import org.bson.BsonRegularExpression;
+import org.bson.BsonValue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Compares BSON values in the sort order of MongoDB: values of different types are ordered by type, numbers are
+ * compared by value regardless of their type.
+ *
+ * @since 5.6.0
+ */
+final class BsonComparator implements Comparator<BsonValue> {
+
+    static final BsonComparator INSTANCE = new BsonComparator();
+
+    private BsonComparator() {
+    }
+
+    @Override
+    public int compare(BsonValue a, BsonValue b) {
+        int typeOrder = Integer.compare(typeOrder(a), typeOrder(b));
+        if (typeOrder != 0) {
+            return typeOrder;
+        }
+        return switch (a.getBsonType()) {
+            case INT32, INT64, DOUBLE, DECIMAL128 -> compareNumbers(a, b);
+            case STRING, SYMBOL -> string(a).compareTo(string(b));
+            case DOCUMENT -> compareDocuments(a.asDocument(), b.asDocument());
+            case ARRAY -> compareArrays(a.asArray(), b.asArray());
+            case BINARY -> compareBinaries(a.asBinary(), b.asBinary());
+            case OBJECT_ID -> a.asObjectId().getValue().compareTo(b.asObjectId().getValue());
+            case BOOLEAN -> Boolean.compare(a.asBoolean().getValue(), b.asBoolean().getValue());
+            case DATE_TIME -> Long.compare(a.asDateTime().getValue(), b.asDateTime().getValue());
+            case TIMESTAMP -> a.asTimestamp().compareTo(b.asTimestamp());
+            case REGULAR_EXPRESSION -> compareRegularExpressions(a.asRegularExpression(), b.asRegularExpression());
+            default -> 0;
+        };
+    }
+
+    /**
+     * @param a A value
+     * @param b Another value
+     * @return Whether both values are equal in the sense of a query, for example <code>1</code> equals <code>1.0</code>
+     */
+    static boolean equal(BsonValue a, BsonValue b) {
+        return INSTANCE.compare(a, b) == 0;
+    }
+
+    /**
+     * @param value A value
+     * @return The rank of the type of the value in the sort order
+     */
+    static int typeOrder(BsonValue value) {
+        return switch (value.getBsonType()) {
+            case MIN_KEY -> 1;
+            case NULL, UNDEFINED -> 2;
+            case INT32, INT64, DOUBLE, DECIMAL128 -> 3;
+            case STRING, SYMBOL -> 4;
+            case DOCUMENT -> 5;
+            case ARRAY -> 6;
+            case BINARY -> 7;
+            case OBJECT_ID -> 8;
+            case BOOLEAN -> 9;
+            case DATE_TIME -> 10;
+            case TIMESTAMP -> 11;
+            case REGULAR_EXPRESSION -> 12;
+            case MAX_KEY -> 127;
+            default -> 64;
+        };
+    }
+
+    private static String string(BsonValue value) {
+        return value.isSymbol() ? value.asSymbol().getSymbol() : value.asString().getValue();
+    }
+
+    private static int compareNumbers(BsonValue a, BsonValue b) {
+        if (a.isDecimal128() || b.isDecimal128()) {
+            return a.asNumber().decimal128Value().bigDecimalValue().compareTo(b.asNumber().decimal128Value().bigDecimalValue());
+        }
+        if (a.isDouble() || b.isDouble()) {
+            return Double.compare(a.asNumber().doubleValue(), b.asNumber().doubleValue());
+        }
+        return Long.compare(a.asNumber().longValue(), b.asNumber().longValue());
+    }
+
+    private int compareDocuments(BsonDocument a, BsonDocument b) {
+        Iterator<Map.Entry<String, BsonValue>> left = a.entrySet().iterator();
+        Iterator<Map.Entry<String, BsonValue>> right = b.entrySet().iterator();
+        while (left.hasNext() && right.hasNext()) {
+            Map.Entry<String, BsonValue> l = left.next();
+            Map.Entry<String, BsonValue> r = right.next();
+            int result = compare(l.getValue(), r.getValue());
+            if (result == 0) {
+                result = l.getKey().compareTo(r.getKey());
+            }
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Boolean.compare(left.hasNext(), right.hasNext());
+    }
+
+    private int compareArrays(BsonArray a, BsonArray b) {
+        int size = Math.min(a.size(), b.size());
+        for (int i = 0; i < size; i++) {
+            int result = compare(a.get(i), b.get(i));
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(a.size(), b.size());
+    }
+
+    private static int compareBinaries(BsonBinary a, BsonBinary b) {
+        int result = Integer.compare(a.getData().length, b.getData().length);
+        if (result == 0) {
+            result = Byte.compare(a.getType(), b.getType());
+        }
+        return result == 0 ? Arrays.compareUnsigned(a.getData(), b.getData()) : result;
+    }
+
+    private static int compareRegularExpressions(BsonRegularExpression a, BsonRegularExpression b) {
+        int result = a.getPattern().compareTo(b.getPattern());
+        return result == 0 ? a.getOptions().compareTo(b.getOptions()) : result;
+    }
+}
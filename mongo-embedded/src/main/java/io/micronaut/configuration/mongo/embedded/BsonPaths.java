@@ -0,0 +1,187 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.embedded;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonNull;
+import org.bson.BsonValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolves, sets and removes dotted field paths like <code>address.city</code> or <code>items.0.price</code>.
+ *
+ * @since 5.6.0
+ */
+final class BsonPaths {
+
+    private BsonPaths() {
+    }
+
+    /**
+     * Resolves the values of a path for matching a query. Arrays along the path are traversed, so
+     * <code>items.price</code> yields the price of every item.
+     *
+     * @param root The document
+     * @param path The path
+     * @return The values, empty if the path does not exist
+     */
+    static List<BsonValue> values(BsonDocument root, String path) {
+        List<BsonValue> values = new ArrayList<>(1);
+        collect(root, path.split("\\."), 0, values);
+        return values;
+    }
+
+    private static void collect(BsonValue current, String[] segments, int index, List<BsonValue> values) {
+        if (index == segments.length) {
+            values.add(current);
+            return;
+        }
+        String segment = segments[index];
+        if (current.isDocument()) {
+            BsonValue next = current.asDocument().get(segment);
+            if (next != null) {
+                collect(next, segments, index + 1, values);
+            }
+        } else if (current.isArray()) {
+            BsonArray array = current.asArray();
+            int position = arrayIndex(segment);
+            if (position >= 0) {
+                if (position < array.size()) {
+                    collect(array.get(position), segments, index + 1, values);
+                }
+                return;
+            }
+            for (BsonValue element : array) {
+                if (element.isDocument()) {
+                    collect(element, segments, index, values);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param root The document
+     * @param path The path
+     * @return The value at the path without traversing arrays other than by position, or null if it does not exist
+     */
+    static BsonValue get(BsonDocument root, String path) {
+        BsonValue current = root;
+        for (String segment : path.split("\\.")) {
+            if (current.isDocument()) {
+                current = current.asDocument().get(segment);
+            } else if (current.isArray()) {
+                int position = arrayIndex(segment);
+                current = position >= 0 && position < current.asArray().size() ? current.asArray().get(position) : null;
+            } else {
+                current = null;
+            }
+            if (current == null) {
+                return null;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Sets the value at the path, creating intermediate documents as needed.
+     *
+     * @param root  The document
+     * @param path  The path
+     * @param value The value
+     */
+    static void set(BsonDocument root, String path, BsonValue value) {
+        String[] segments = path.split("\\.");
+        BsonValue current = root;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            boolean last = i == segments.length - 1;
+            if (current.isDocument()) {
+                BsonDocument document = current.asDocument();
+                if (last) {
+                    document.put(segment, value);
+                    return;
+                }
+                BsonValue next = document.get(segment);
+                if (next == null || next.isNull()) {
+                    next = new BsonDocument();
+                    document.put(segment, next);
+                }
+                current = next;
+            } else if (current.isArray()) {
+                BsonArray array = current.asArray();
+                int position = arrayIndex(segment);
+                if (position < 0) {
+                    throw new CommandFailure(28, "PathNotViable", "Cannot create field '" + segment + "' in array of path " + path);
+                }
+                while (array.size() <= position) {
+                    array.add(BsonNull.VALUE);
+                }
+                if (last) {
+                    array.set(position, value);
+                    return;
+                }
+                BsonValue next = array.get(position);
+                if (next.isNull()) {
+                    next = new BsonDocument();
+                    array.set(position, next);
+                }
+                current = next;
+            } else {
+                throw new CommandFailure(28, "PathNotViable", "Cannot create field '" + segment + "' in element of path " + path);
+            }
+        }
+    }
+
+    /**
+     * @param root The document
+     * @param path The path
+     * @return The removed value or null if the path did not exist
+     */
+    static BsonValue remove(BsonDocument root, String path) {
+        int dot = path.lastIndexOf('.');
+        BsonValue parent = dot < 0 ? root : get(root, path.substring(0, dot));
+        String last = path.substring(dot + 1);
+        if (parent == null) {
+            return null;
+        }
+        if (parent.isDocument()) {
+            return parent.asDocument().remove(last);
+        }
+        if (parent.isArray()) {
+            int position = arrayIndex(last);
+            if (position >= 0 && position < parent.asArray().size()) {
+                // removing an array element by path leaves a null behind
+                return parent.asArray().set(position, BsonNull.VALUE);
+            }
+        }
+        return null;
+    }
+
+    private static int arrayIndex(String segment) {
+        if (segment.isEmpty() || segment.length() > 9) {
+            return -1;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            if (!Character.isDigit(segment.charAt(i))) {
+                return -1;
+            }
+        }
+        return Integer.parseInt(segment);
+    }
+}
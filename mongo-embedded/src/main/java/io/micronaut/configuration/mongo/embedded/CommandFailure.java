@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.embedded;
+
+/**
+ * A command failure reported to the client as <code>ok: 0</code> reply.
+ *
+ * @since 5.6.0
+ */
+final class CommandFailure extends RuntimeException {
+
+    static final int BAD_VALUE = 2;
+    static final int NAMESPACE_NOT_FOUND = 26;
+    static final int CURSOR_NOT_FOUND = 43;
+    static final int NAMESPACE_EXISTS = 48;
+    static final int IMMUTABLE_FIELD = 66;
+    static final int ILLEGAL_OPERATION = 20;
+    static final int INDEX_NOT_FOUND = 27;
+    static final int COMMAND_NOT_FOUND = 59;
+    static final int DUPLICATE_KEY = 11000;
+
+    private final int code;
+    private final String codeName;
+
+    CommandFailure(int code, String codeName, String message) {
+        super(message, null, false, false);
+        this.code = code;
+        this.codeName = codeName;
+    }
+
+    static CommandFailure badValue(String message) {
+        return new CommandFailure(BAD_VALUE, "BadValue", message);
+    }
+
+    int getCode() {
+        return code;
+    }
+
+    String getCodeName() {
+        return codeName;
+    }
+}
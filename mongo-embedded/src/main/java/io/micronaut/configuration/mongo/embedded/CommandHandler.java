@@ -0,0 +1,722 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.embedded;
+
+import org.bson.BsonArray;
+import org.bson.BsonBoolean;
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonNull;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Executes the commands received by an {@link EmbeddedMongoServer} against an {@link InMemoryStore}.
+ *
+ * @since 5.6.0
+ */
+final class CommandHandler {
+
+    static final int MAX_WIRE_VERSION = 17;
+    static final int MAX_BSON_OBJECT_SIZE = 16 * 1024 * 1024;
+    static final int MAX_MESSAGE_SIZE = 48_000_000;
+    static final String VERSION = "6.0.0";
+
+    private static final Logger LOG = LoggerFactory.getLogger(CommandHandler.class);
+    private static final int DEFAULT_BATCH_SIZE = 101;
+
+    private final InMemoryStore store;
+    private final long startTime = System.currentTimeMillis();
+
+    CommandHandler(InMemoryStore store) {
+        this.store = store;
+    }
+
+    /**
+     * @param database     The database the command is sent to
+     * @param command      The command
+     * @param connectionId The id of the connection the command was received on
+     * @return The reply, <code>ok: 0</code> if the command failed
+     */
+    BsonDocument handle(String database, BsonDocument command, int connectionId) {
+        String name = command.isEmpty() ? "" : command.getFirstKey();
+        try {
+            if (command.getBoolean("startTransaction", BsonBoolean.FALSE).getValue()) {
+                throw new CommandFailure(CommandFailure.ILLEGAL_OPERATION, "IllegalOperation",
+                    "Transaction numbers are only allowed on a replica set member or mongos");
+            }
+            return execute(database, name, command, connectionId).append("ok", new BsonDouble(1));
+        } catch (CommandFailure e) {
+            return failure(e.getCode(), e.getCodeName(), e.getMessage());
+        } catch (RuntimeException e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Embedded MongoDB failed to execute command {}: {}", name, e.getMessage(), e);
+            }
+            return failure(CommandFailure.BAD_VALUE, "BadValue", "Failed to execute " + name + ": " + e);
+        }
+    }
+
+    private BsonDocument execute(String database, String name, BsonDocument command, int connectionId) {
+        return switch (name.toLowerCase(Locale.ROOT)) {
+            case "hello", "ismaster" -> hello(name.equals("hello"), connectionId);
+            case "buildinfo" -> buildInfo();
+            case "ping", "endsessions", "killsessions", "killallsessions", "refreshsessions", "getlasterror" -> new BsonDocument();
+            case "serverstatus" -> serverStatus();
+            case "connectionstatus" -> new BsonDocument("authInfo", new BsonDocument("authenticatedUsers", new BsonArray())
+                .append("authenticatedUserRoles", new BsonArray()));
+            case "find" -> find(database, command);
+            case "getmore" -> getMore(command);
+            case "killcursors" -> killCursors(command);
+            case "insert" -> insert(database, command);
+            case "update" -> update(database, command);
+            case "delete" -> delete(database, command);
+            case "findandmodify" -> findAndModify(database, command);
+            case "count" -> count(database, command);
+            case "distinct" -> distinct(database, command);
+            case "aggregate" -> aggregate(database, command);
+            case "createindexes" -> createIndexes(database, command);
+            case "listindexes" -> listIndexes(database, command);
+            case "dropindexes", "deleteindexes" -> dropIndexes(database, command);
+            case "listcollections" -> listCollections(database, command);
+            case "listdatabases" -> listDatabases(command);
+            case "create" -> create(database, command);
+            case "drop" -> drop(database, command);
+            case "dropdatabase" -> {
+                store.dropDatabase(database);
+                yield new BsonDocument("dropped", new BsonString(database));
+            }
+            case "explain" -> explain(database, command.getDocument(name), command.getString("verbosity", new BsonString("allPlansExecution")).getValue());
+            default -> throw new CommandFailure(CommandFailure.COMMAND_NOT_FOUND, "CommandNotFound", "no such command: '" + name + "'");
+        };
+    }
+
+    private BsonDocument hello(boolean hello, int connectionId) {
+        return new BsonDocument("helloOk", BsonBoolean.TRUE)
+            .append(hello ? "isWritablePrimary" : "ismaster", BsonBoolean.TRUE)
+            .append("maxBsonObjectSize", new BsonInt32(MAX_BSON_OBJECT_SIZE))
+            .append("maxMessageSizeBytes", new BsonInt32(MAX_MESSAGE_SIZE))
+            .append("maxWriteBatchSize", new BsonInt32(100_000))
+            .append("localTime", new BsonDateTime(System.currentTimeMillis()))
+            .append("logicalSessionTimeoutMinutes", new BsonInt32(30))
+            .append("connectionId", new BsonInt32(connectionId))
+            .append("minWireVersion", new BsonInt32(0))
+            .append("maxWireVersion", new BsonInt32(MAX_WIRE_VERSION))
+            .append("readOnly", BsonBoolean.FALSE);
+    }
+
+    private static BsonDocument buildInfo() {
+        BsonArray versionArray = new BsonArray();
+        for (String part : VERSION.split("\\.")) {
+            versionArray.add(new BsonInt32(Integer.parseInt(part)));
+        }
+        versionArray.add(new BsonInt32(0));
+        return new BsonDocument("version", new BsonString(VERSION))
+            .append("gitVersion", new BsonString("embedded"))
+            .append("versionArray", versionArray)
+            .append("bits", new BsonInt32(64))
+            .append("maxBsonObjectSize", new BsonInt32(MAX_BSON_OBJECT_SIZE));
+    }
+
+    private BsonDocument serverStatus() {
+        return new BsonDocument("host", new BsonString("embedded"))
+            .append("version", new BsonString(VERSION))
+            .append("process", new BsonString("mongod"))
+            .append("uptimeMillis", new BsonInt64(System.currentTimeMillis() - startTime))
+            .append("localTime", new BsonDateTime(System.currentTimeMillis()))
+            .append("metrics", new BsonDocument("cursor", new BsonDocument("open",
+                new BsonDocument("total", new BsonInt64(store.openCursors())))));
+    }
+
+    private BsonDocument find(String database, BsonDocument command) {
+        String collection = command.getString("find").getValue();
+        List<BsonDocument> documents = query(database, collection, command.getDocument("filter", null), command.getDocument("sort", null));
+        int skip = command.getNumber("skip", new BsonInt32(0)).intValue();
+        int limit = command.getNumber("limit", new BsonInt32(0)).intValue();
+        boolean singleBatch = command.getBoolean("singleBatch", BsonBoolean.FALSE).getValue() || limit < 0;
+        documents = page(documents, skip, Math.abs(limit));
+        BsonDocument projection = command.getDocument("projection", null);
+        if (projection != null) {
+            documents = documents.stream().map(d -> Projections.project(d, projection)).toList();
+        }
+        return cursor(database + "." + collection, documents, batchSize(command.get("batchSize")), singleBatch);
+    }
+
+    private BsonDocument getMore(BsonDocument command) {
+        long id = command.getNumber("getMore").longValue();
+        InMemoryStore.Cursor cursor = store.cursor(id);
+        if (cursor == null) {
+            throw new CommandFailure(CommandFailure.CURSOR_NOT_FOUND, "CursorNotFound", "cursor id " + id + " not found");
+        }
+        List<BsonDocument> batch = cursor.next(command.getNumber("batchSize", new BsonInt32(0)).intValue());
+        if (cursor.isExhausted()) {
+            store.closeCursor(id);
+            id = 0;
+        }
+        return new BsonDocument("cursor", new BsonDocument("id", new BsonInt64(id))
+            .append("ns", new BsonString(cursor.getNamespace()))
+            .append("nextBatch", new BsonArray(new ArrayList<>(batch))));
+    }
+
+    private BsonDocument killCursors(BsonDocument command) {
+        BsonArray killed = new BsonArray();
+        BsonArray notFound = new BsonArray();
+        for (BsonValue id : command.getArray("cursors")) {
+            (store.closeCursor(id.asNumber().longValue()) ? killed : notFound).add(id);
+        }
+        return new BsonDocument("cursorsKilled", killed)
+            .append("cursorsNotFound", notFound)
+            .append("cursorsAlive", new BsonArray())
+            .append("cursorsUnknown", new BsonArray());
+    }
+
+    private BsonDocument insert(String database, BsonDocument command) {
+        InMemoryCollection collection = store.getOrCreate(database, command.getString("insert").getValue());
+        boolean ordered = command.getBoolean("ordered", BsonBoolean.TRUE).getValue();
+        BsonArray documents = command.getArray("documents");
+        BsonArray writeErrors = new BsonArray();
+        int inserted = 0;
+        synchronized (collection) {
+            for (int i = 0; i < documents.size(); i++) {
+                try {
+                    collection.insert(withId(documents.get(i).asDocument()));
+                    inserted++;
+                } catch (CommandFailure e) {
+                    writeErrors.add(writeError(i, e));
+                    if (ordered) {
+                        break;
+                    }
+                }
+            }
+        }
+        return writeResult(inserted, writeErrors);
+    }
+
+    private BsonDocument update(String database, BsonDocument command) {
+        InMemoryCollection collection = store.getOrCreate(database, command.getString("update").getValue());
+        boolean ordered = command.getBoolean("ordered", BsonBoolean.TRUE).getValue();
+        BsonArray updates = command.getArray("updates");
+        BsonArray writeErrors = new BsonArray();
+        BsonArray upserted = new BsonArray();
+        int matched = 0;
+        int modified = 0;
+        synchronized (collection) {
+            for (int i = 0; i < updates.size(); i++) {
+                BsonDocument statement = updates.get(i).asDocument();
+                BsonDocument filter = statement.getDocument("q", new BsonDocument());
+                BsonDocument update = updateDocument(statement.get("u"));
+                boolean multi = statement.getBoolean("multi", BsonBoolean.FALSE).getValue();
+                try {
+                    List<BsonDocument> targets = select(collection, filter);
+                    if (!multi && targets.size() > 1) {
+                        targets = targets.subList(0, 1);
+                    }
+                    for (BsonDocument target : targets) {
+                        BsonDocument updated = UpdateApplier.apply(target, update, false);
+                        matched++;
+                        if (!updated.equals(target)) {
+                            collection.replace(target, updated);
+                            modified++;
+                        }
+                    }
+                    if (targets.isEmpty() && statement.getBoolean("upsert", BsonBoolean.FALSE).getValue()) {
+                        BsonDocument document = upsert(collection, filter, update);
+                        upserted.add(new BsonDocument("index", new BsonInt32(i)).append("_id", document.get("_id")));
+                    }
+                } catch (CommandFailure e) {
+                    writeErrors.add(writeError(i, e));
+                    if (ordered) {
+                        break;
+                    }
+                }
+            }
+        }
+        BsonDocument result = writeResult(matched + upserted.size(), writeErrors).append("nModified", new BsonInt32(modified));
+        if (!upserted.isEmpty()) {
+            result.append("upserted", upserted);
+        }
+        return result;
+    }
+
+    private BsonDocument delete(String database, BsonDocument command) {
+        InMemoryCollection collection = store.collection(database, command.getString("delete").getValue());
+        int deleted = 0;
+        if (collection != null) {
+            synchronized (collection) {
+                for (BsonValue value : command.getArray("deletes")) {
+                    BsonDocument statement = value.asDocument();
+                    List<BsonDocument> targets = select(collection, statement.getDocument("q", new BsonDocument()));
+                    int limit = statement.getNumber("limit", new BsonInt32(0)).intValue();
+                    for (BsonDocument target : limit == 1 && targets.size() > 1 ? targets.subList(0, 1) : targets) {
+                        collection.remove(target);
+                        deleted++;
+                    }
+                }
+            }
+        }
+        return new BsonDocument("n", new BsonInt32(deleted));
+    }
+
+    private BsonDocument findAndModify(String database, BsonDocument command) {
+        InMemoryCollection collection = store.getOrCreate(database, command.getString(command.getFirstKey()).getValue());
+        BsonDocument filter = command.getDocument("query", new BsonDocument());
+        boolean remove = command.getBoolean("remove", BsonBoolean.FALSE).getValue();
+        boolean returnNew = command.getBoolean("new", BsonBoolean.FALSE).getValue();
+        BsonDocument lastError = new BsonDocument();
+        BsonValue value = BsonNull.VALUE;
+        synchronized (collection) {
+            List<BsonDocument> candidates = select(collection, filter);
+            BsonDocument sort = command.getDocument("sort", null);
+            if (sort != null) {
+                candidates = sort(candidates, sort);
+            }
+            BsonDocument target = candidates.isEmpty() ? null : candidates.get(0);
+            if (remove) {
+                if (target != null) {
+                    collection.remove(target);
+                    value = target;
+                }
+                lastError.append("n", new BsonInt32(target == null ? 0 : 1));
+            } else {
+                BsonDocument update = updateDocument(command.get("update"));
+                if (target != null) {
+                    BsonDocument updated = UpdateApplier.apply(target, update, false);
+                    collection.replace(target, updated);
+                    value = returnNew ? updated : target;
+                    lastError.append("n", new BsonInt32(1)).append("updatedExisting", BsonBoolean.TRUE);
+                } else if (command.getBoolean("upsert", BsonBoolean.FALSE).getValue()) {
+                    BsonDocument document = upsert(collection, filter, update);
+                    value = returnNew ? document : BsonNull.VALUE;
+                    lastError.append("n", new BsonInt32(1))
+                        .append("updatedExisting", BsonBoolean.FALSE)
+                        .append("upserted", document.get("_id"));
+                } else {
+                    lastError.append("n", new BsonInt32(0)).append("updatedExisting", BsonBoolean.FALSE);
+                }
+            }
+        }
+        BsonDocument fields = command.getDocument("fields", null);
+        if (fields != null && value.isDocument()) {
+            value = Projections.project(value.asDocument(), fields);
+        }
+        return new BsonDocument("lastErrorObject", lastError).append("value", value);
+    }
+
+    private BsonDocument count(String database, BsonDocument command) {
+        List<BsonDocument> documents = query(database, command.getString("count").getValue(), command.getDocument("query", null), null);
+        int skip = command.getNumber("skip", new BsonInt32(0)).intValue();
+        int limit = command.getNumber("limit", new BsonInt32(0)).intValue();
+        return new BsonDocument("n", new BsonInt32(page(documents, skip, Math.abs(limit)).size()));
+    }
+
+    private BsonDocument distinct(String database, BsonDocument command) {
+        String key = command.getString("key").getValue();
+        BsonArray values = new BsonArray();
+        for (BsonDocument document : query(database, command.getString("distinct").getValue(), command.getDocument("query", null), null)) {
+            for (BsonValue value : BsonPaths.values(document, key)) {
+                for (BsonValue element : value.isArray() ? value.asArray() : List.of(value)) {
+                    if (values.stream().noneMatch(v -> BsonComparator.equal(v, element))) {
+                        values.add(element);
+                    }
+                }
+            }
+        }
+        return new BsonDocument("values", values);
+    }
+
+    private BsonDocument aggregate(String database, BsonDocument command) {
+        BsonValue target = command.get("aggregate");
+        if (!target.isString()) {
+            throw CommandFailure.badValue("collection-less aggregations are not supported by the embedded server");
+        }
+        String collection = target.asString().getValue();
+        List<BsonValue> pipeline = command.getArray("pipeline").getValues();
+        if (command.getBoolean("explain", BsonBoolean.FALSE).getValue()) {
+            return explain(database, command, "queryPlanner");
+        }
+        List<BsonDocument> documents = new AggregationPipeline(name -> store.documents(database, name))
+            .run(store.documents(database, collection), pipeline);
+        BsonDocument cursor = command.getDocument("cursor", new BsonDocument());
+        return cursor(database + "." + collection, documents, batchSize(cursor.get("batchSize")), false);
+    }
+
+    private BsonDocument createIndexes(String database, BsonDocument command) {
+        String name = command.getString("createIndexes").getValue();
+        boolean created = store.collection(database, name) == null;
+        InMemoryCollection collection = store.getOrCreate(database, name);
+        int before = collection.getIndexes().size();
+        for (BsonValue index : command.getArray("indexes")) {
+            collection.createIndex(index.asDocument());
+        }
+        BsonDocument result = new BsonDocument("createdCollectionAutomatically", BsonBoolean.valueOf(created))
+            .append("numIndexesBefore", new BsonInt32(before))
+            .append("numIndexesAfter", new BsonInt32(collection.getIndexes().size()));
+        if (before == collection.getIndexes().size()) {
+            result.append("note", new BsonString("all indexes already exist"));
+        }
+        return result;
+    }
+
+    private BsonDocument listIndexes(String database, BsonDocument command) {
+        String name = command.getString("listIndexes").getValue();
+        InMemoryCollection collection = existing(database, name);
+        List<BsonDocument> indexes = new ArrayList<>(collection.getIndexes());
+        BsonDocument cursor = command.getDocument("cursor", new BsonDocument());
+        return cursor(database + "." + name, indexes, batchSize(cursor.get("batchSize")), false);
+    }
+
+    private BsonDocument dropIndexes(String database, BsonDocument command) {
+        InMemoryCollection collection = existing(database, command.getString(command.getFirstKey()).getValue());
+        int before = collection.getIndexes().size();
+        BsonValue index = command.get("index");
+        List<String> names = new ArrayList<>();
+        if (index.isDocument()) {
+            String indexName = collection.indexName(index.asDocument());
+            if (indexName == null) {
+                throw new CommandFailure(CommandFailure.INDEX_NOT_FOUND, "IndexNotFound", "can't find index with key: " + index.asDocument().toJson());
+            }
+            names.add(indexName);
+        } else if (index.isArray()) {
+            index.asArray().forEach(v -> names.add(v.asString().getValue()));
+        } else if (index.asString().getValue().equals("*")) {
+            collection.dropIndexes();
+        } else {
+            names.add(index.asString().getValue());
+        }
+        for (String indexName : names) {
+            if (!collection.dropIndex(indexName)) {
+                throw new CommandFailure(CommandFailure.INDEX_NOT_FOUND, "IndexNotFound", "index not found with name [" + indexName + "]");
+            }
+        }
+        return new BsonDocument("nIndexesWas", new BsonInt32(before));
+    }
+
+    private BsonDocument listCollections(String database, BsonDocument command) {
+        boolean nameOnly = command.getBoolean("nameOnly", BsonBoolean.FALSE).getValue();
+        BsonDocument filter = command.getDocument("filter", null);
+        List<BsonDocument> collections = new ArrayList<>();
+        for (InMemoryCollection collection : store.collections(database)) {
+            BsonDocument description = new BsonDocument("name", new BsonString(collection.getName()))
+                .append("type", new BsonString("collection"));
+            if (!nameOnly) {
+                description.append("options", collection.getOptions())
+                    .append("info", new BsonDocument("readOnly", BsonBoolean.FALSE))
+                    .append("idIndex", collection.getIndexes().iterator().next());
+            }
+            if (QueryMatcher.matches(description, filter)) {
+                collections.add(description);
+            }
+        }
+        BsonDocument cursor = command.getDocument("cursor", new BsonDocument());
+        return cursor(database + ".$cmd.listCollections", collections, batchSize(cursor.get("batchSize")), false);
+    }
+
+    private BsonDocument listDatabases(BsonDocument command) {
+        boolean nameOnly = command.getBoolean("nameOnly", BsonBoolean.FALSE).getValue();
+        BsonDocument filter = command.getDocument("filter", null);
+        BsonArray databases = new BsonArray();
+        for (String name : store.databaseNames()) {
+            BsonDocument description = new BsonDocument("name", new BsonString(name));
+            if (!nameOnly) {
+                description.append("sizeOnDisk", new BsonInt64(0)).append("empty", BsonBoolean.FALSE);
+            }
+            if (QueryMatcher.matches(description, filter)) {
+                databases.add(description);
+            }
+        }
+        BsonDocument result = new BsonDocument("databases", databases);
+        if (!nameOnly) {
+            result.append("totalSize", new BsonInt64(0)).append("totalSizeMb", new BsonInt64(0));
+        }
+        return result;
+    }
+
+    private BsonDocument create(String database, BsonDocument command) {
+        String name = command.getString("create").getValue();
+        BsonDocument options = new BsonDocument();
+        for (Map.Entry<String, BsonValue> option : command.entrySet()) {
+            if (!option.getKey().equals("create") && !option.getKey().startsWith("$")
+                && !option.getKey().equals("lsid") && !option.getKey().equals("writeConcern")) {
+                options.put(option.getKey(), option.getValue());
+            }
+        }
+        if (!store.create(database, name, options)) {
+            throw new CommandFailure(CommandFailure.NAMESPACE_EXISTS, "NamespaceExists", "Collection " + database + "." + name + " already exists.");
+        }
+        return new BsonDocument();
+    }
+
+    private BsonDocument drop(String database, BsonDocument command) {
+        String name = command.getString("drop").getValue();
+        InMemoryCollection dropped = store.drop(database, name);
+        if (dropped == null) {
+            throw new CommandFailure(CommandFailure.NAMESPACE_NOT_FOUND, "NamespaceNotFound", "ns not found");
+        }
+        return new BsonDocument("ns", new BsonString(database + "." + name))
+            .append("nIndexesWas", new BsonInt32(dropped.getIndexes().size()));
+    }
+
+    /**
+     * Explains the plan the server would pick if it used indexes: an index scan of the first index whose leading
+     * field is constrained by the filter, otherwise a collection scan. The execution statistics count the documents
+     * the plan would examine and return.
+     */
+    private BsonDocument explain(String database, BsonDocument explained, String verbosity) {
+        String operation = explained.getFirstKey();
+        String name = explained.getString(operation).getValue();
+        BsonDocument filter = switch (operation) {
+            case "find" -> explained.getDocument("filter", new BsonDocument());
+            case "count", "distinct", "findAndModify" -> explained.getDocument("query", new BsonDocument());
+            case "update" -> explained.getArray("updates").get(0).asDocument().getDocument("q", new BsonDocument());
+            case "delete" -> explained.getArray("deletes").get(0).asDocument().getDocument("q", new BsonDocument());
+            case "aggregate" -> {
+                List<BsonValue> pipeline = explained.getArray("pipeline").getValues();
+                yield !pipeline.isEmpty() && pipeline.get(0).asDocument().containsKey("$match")
+                    ? pipeline.get(0).asDocument().getDocument("$match")
+                    : new BsonDocument();
+            }
+            default -> new BsonDocument();
+        };
+        InMemoryCollection collection = store.collection(database, name);
+        BsonDocument plan = null;
+        BsonDocument indexFilter = null;
+        if (collection != null) {
+            for (BsonDocument index : collection.getIndexes()) {
+                indexFilter = indexFilter(filter, index.getDocument("key").getFirstKey());
+                if (indexFilter != null) {
+                    plan = new BsonDocument("stage", new BsonString("FETCH"))
+                        .append("inputStage", new BsonDocument("stage", new BsonString("IXSCAN"))
+                            .append("keyPattern", index.getDocument("key"))
+                            .append("indexName", index.getString("name")));
+                    break;
+                }
+            }
+        }
+        if (plan == null) {
+            plan = new BsonDocument("stage", new BsonString("COLLSCAN"))
+                .append("filter", filter)
+                .append("direction", new BsonString("forward"));
+        }
+        BsonDocument result = new BsonDocument("queryPlanner", new BsonDocument("namespace", new BsonString(database + "." + name))
+            .append("parsedQuery", filter)
+            .append("winningPlan", plan)
+            .append("rejectedPlans", new BsonArray()));
+        if (!verbosity.equals("queryPlanner")) {
+            List<BsonDocument> documents = collection == null ? List.of() : collection.snapshot();
+            int returned = 0;
+            int examined = 0;
+            for (BsonDocument document : documents) {
+                if (indexFilter == null || QueryMatcher.matches(document, indexFilter)) {
+                    examined++;
+                    if (QueryMatcher.matches(document, filter)) {
+                        returned++;
+                    }
+                }
+            }
+            if (operation.equals("find")) {
+                int skip = explained.getNumber("skip", new BsonInt32(0)).intValue();
+                int limit = Math.abs(explained.getNumber("limit", new BsonInt32(0)).intValue());
+                returned = Math.max(0, returned - skip);
+                returned = limit == 0 ? returned : Math.min(returned, limit);
+            }
+            result.append("executionStats", new BsonDocument("executionSuccess", BsonBoolean.TRUE)
+                .append("nReturned", new BsonInt32(returned))
+                .append("totalKeysExamined", new BsonInt32(indexFilter == null ? 0 : examined))
+                .append("totalDocsExamined", new BsonInt32(examined)));
+        }
+        return result;
+    }
+
+    /**
+     * @param filter The query filter
+     * @param field  The leading field of an index
+     * @return The clauses of the filter on the field, which bound an index scan, or null if the filter does not
+     * constrain the field
+     */
+    private static BsonDocument indexFilter(BsonDocument filter, String field) {
+        BsonArray clauses = new BsonArray();
+        if (filter.containsKey(field)) {
+            clauses.add(new BsonDocument(field, filter.get(field)));
+        }
+        BsonValue and = filter.get("$and");
+        if (and != null && and.isArray()) {
+            for (BsonValue clause : and.asArray()) {
+                if (clause.isDocument() && clause.asDocument().containsKey(field)) {
+                    clauses.add(new BsonDocument(field, clause.asDocument().get(field)));
+                }
+            }
+        }
+        if (clauses.isEmpty()) {
+            return null;
+        }
+        return clauses.size() == 1 ? clauses.get(0).asDocument() : new BsonDocument("$and", clauses);
+    }
+
+    private BsonDocument upsert(InMemoryCollection collection, BsonDocument filter, BsonDocument update) {
+        BsonDocument base = new BsonDocument();
+        if (UpdateApplier.isOperatorUpdate(update)) {
+            equalityFields(filter, base);
+        } else if (filter.containsKey("_id") && !isOperator(filter.get("_id"))) {
+            base.put("_id", filter.get("_id"));
+        }
+        BsonDocument document = withId(UpdateApplier.apply(base, update, true));
+        collection.insert(document);
+        return document;
+    }
+
+    private static void equalityFields(BsonDocument filter, BsonDocument target) {
+        for (Map.Entry<String, BsonValue> field : filter.entrySet()) {
+            String key = field.getKey();
+            BsonValue value = field.getValue();
+            if (key.equals("$and")) {
+                value.asArray().forEach(clause -> equalityFields(clause.asDocument(), target));
+            } else if (!key.startsWith("$")) {
+                if (!isOperator(value) && !value.isRegularExpression()) {
+                    BsonPaths.set(target, key, value);
+                } else if (value.isDocument() && value.asDocument().containsKey("$eq")) {
+                    BsonPaths.set(target, key, value.asDocument().get("$eq"));
+                }
+            }
+        }
+    }
+
+    private InMemoryCollection existing(String database, String name) {
+        InMemoryCollection collection = store.collection(database, name);
+        if (collection == null) {
+            throw new CommandFailure(CommandFailure.NAMESPACE_NOT_FOUND, "NamespaceNotFound", "ns does not exist: " + database + "." + name);
+        }
+        return collection;
+    }
+
+    private static boolean isOperator(BsonValue value) {
+        return value.isDocument() && QueryMatcher.isOperatorDocument(value.asDocument());
+    }
+
+    private static BsonDocument updateDocument(BsonValue update) {
+        if (update == null) {
+            throw CommandFailure.badValue("missing update");
+        }
+        if (update.isArray()) {
+            throw CommandFailure.badValue("pipeline updates are not supported by the embedded server");
+        }
+        return update.asDocument();
+    }
+
+    private static BsonDocument withId(BsonDocument document) {
+        if (document.containsKey("_id")) {
+            return document;
+        }
+        BsonDocument result = new BsonDocument("_id", new BsonObjectId());
+        result.putAll(document);
+        return result;
+    }
+
+    private List<BsonDocument> query(String database, String collection, BsonDocument filter, BsonDocument sort) {
+        InMemoryCollection existing = store.collection(database, collection);
+        List<BsonDocument> documents = existing == null ? List.of() : select(existing, filter);
+        return sort == null || sort.isEmpty() ? documents : sort(documents, sort);
+    }
+
+    private static List<BsonDocument> select(InMemoryCollection collection, BsonDocument filter) {
+        if (filter != null && filter.size() == 1 && filter.containsKey("_id")) {
+            BsonValue id = filter.get("_id");
+            if (!isOperator(id) && !id.isRegularExpression() && !id.isArray()) {
+                // point lookups by id skip the scan, ids of another numeric type fall back to it
+                BsonDocument document = collection.get(id);
+                if (document != null) {
+                    return List.of(document);
+                }
+                if (!id.isNumber()) {
+                    return List.of();
+                }
+            }
+        }
+        return filter(collection.snapshot(), filter);
+    }
+
+    private static List<BsonDocument> filter(List<BsonDocument> documents, BsonDocument filter) {
+        if (filter == null || filter.isEmpty()) {
+            return documents;
+        }
+        List<BsonDocument> result = new ArrayList<>();
+        for (BsonDocument document : documents) {
+            if (QueryMatcher.matches(document, filter)) {
+                result.add(document);
+            }
+        }
+        return result;
+    }
+
+    private static List<BsonDocument> sort(List<BsonDocument> documents, BsonDocument sort) {
+        List<BsonDocument> sorted = new ArrayList<>(documents);
+        sorted.sort(Sorting.comparator(sort)::compare);
+        return sorted;
+    }
+
+    private static List<BsonDocument> page(List<BsonDocument> documents, int skip, int limit) {
+        int from = Math.min(documents.size(), Math.max(0, skip));
+        int to = limit == 0 ? documents.size() : Math.min(documents.size(), from + limit);
+        return documents.subList(from, to);
+    }
+
+    private static int batchSize(BsonValue batchSize) {
+        return batchSize == null ? DEFAULT_BATCH_SIZE : batchSize.asNumber().intValue();
+    }
+
+    private BsonDocument cursor(String namespace, List<BsonDocument> documents, int batchSize, boolean singleBatch) {
+        int size = Math.min(documents.size(), Math.max(0, batchSize));
+        List<BsonDocument> firstBatch = documents.subList(0, size);
+        long id = 0;
+        if (!singleBatch && size < documents.size()) {
+            id = store.openCursor(namespace, new ArrayList<>(documents.subList(size, documents.size())));
+        }
+        return new BsonDocument("cursor", new BsonDocument("id", new BsonInt64(id))
+            .append("ns", new BsonString(namespace))
+            .append("firstBatch", new BsonArray(new ArrayList<>(firstBatch))));
+    }
+
+    private static BsonDocument writeResult(int n, BsonArray writeErrors) {
+        BsonDocument result = new BsonDocument("n", new BsonInt32(n));
+        if (!writeErrors.isEmpty()) {
+            result.append("writeErrors", writeErrors);
+        }
+        return result;
+    }
+
+    private static BsonDocument writeError(int index, CommandFailure failure) {
+        return new BsonDocument("index", new BsonInt32(index))
+            .append("code", new BsonInt32(failure.getCode()))
+            .append("codeName", new BsonString(failure.getCodeName()))
+            .append("errmsg", new BsonString(failure.getMessage()));
+    }
+
+    private static BsonDocument failure(int code, String codeName, String message) {
+        return new BsonDocument("ok", new BsonDouble(0))
+            .append("errmsg", new BsonString(message == null ? codeName : message))
+            .append("code", new BsonInt32(code))
+            .append("codeName", new BsonString(codeName));
+    }
+}
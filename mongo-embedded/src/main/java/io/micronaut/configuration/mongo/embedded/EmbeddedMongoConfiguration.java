@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.embedded;
+
+import io.micronaut.configuration.mongo.core.MongoSettings;
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.net.InetAddress;
+
+/**
+ * Configuration of the {@link EmbeddedMongoServer}.
+ *
+ * @since 5.6.0
+ */
+@ConfigurationProperties(EmbeddedMongoConfiguration.PREFIX)
+public class EmbeddedMongoConfiguration {
+
+    /**
+     * The prefix of the embedded server settings.
+     */
+    public static final String PREFIX = MongoSettings.PREFIX + ".embedded";
+
+    private boolean enabled;
+    private String host = InetAddress.getLoopbackAddress().getHostAddress();
+    private int port;
+
+    /**
+     * @return Whether the embedded server is started and every client is pointed at it (defaults to false)
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param enabled Whether the embedded server is enabled
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return The host the embedded server binds to (defaults to the loopback address)
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * @param host The host the embedded server binds to
+     */
+    public void setHost(String host) {
+        if (host != null) {
+            this.host = host;
+        }
+    }
+
+    /**
+     * @return The port the embedded server binds to (defaults to 0, a random port)
+     */
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * @param port The port the embedded server binds to
+     */
+    public void setPort(int port) {
+        this.port = port;
+    }
+}
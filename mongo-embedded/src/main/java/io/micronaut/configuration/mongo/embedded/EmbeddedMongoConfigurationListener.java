@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.embedded;
+
+import io.micronaut.configuration.mongo.core.AbstractMongoConfiguration;
+import io.micronaut.configuration.mongo.core.MongoSettings;
+import io.micronaut.context.BeanProvider;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.micronaut.core.util.StringUtils;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Points the default and every named MongoDB configuration at the {@link EmbeddedMongoServer}, replacing the
+ * configured deployment including its credentials and TLS settings, see
+ * {@link AbstractMongoConfiguration#replaceDeployment(String)}. The server is started with the first configuration.
+ *
+ * @since 5.6.0
+ */
+@Singleton
+@Requires(property = MongoSettings.EMBEDDED, value = StringUtils.TRUE)
+public class EmbeddedMongoConfigurationListener implements BeanCreatedEventListener<AbstractMongoConfiguration> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EmbeddedMongoConfigurationListener.class);
+
+    private final BeanProvider<EmbeddedMongoServer> server;
+
+    /**
+     * @param server The embedded server, resolved when the first configuration is created
+     */
+    public EmbeddedMongoConfigurationListener(BeanProvider<EmbeddedMongoServer> server) {
+        this.server = server;
+    }
+
+    @Override
+    public AbstractMongoConfiguration onCreated(BeanCreatedEvent<AbstractMongoConfiguration> event) {
+        AbstractMongoConfiguration configuration = event.getBean();
+        String connectionString = server.get().getConnectionString();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Pointing MongoDB server [{}] at the embedded server {}", configuration.getServerName(), connectionString);
+        }
+        configuration.replaceDeployment(connectionString);
+        return configuration;
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.embedded;
+
+import org.bson.BsonArray;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An in-process, in-memory stand-in for MongoDB that speaks the wire protocol. It answers the handshake sent as
+ * <code>OP_QUERY</code> and every other command sent as <code>OP_MSG</code>, covering the CRUD, cursor, index,
+ * aggregation and administration commands used by applications and their tests. It does not support
+ * authentication, transactions, change streams, compression or TLS.
+ *
+ * <p>Each connection is served by its own daemon thread, all data is lost when the server is closed.</p>
+ *
+ * @since 5.6.0
+ */
+public final class EmbeddedMongoServer implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EmbeddedMongoServer.class);
+
+    private static final int OP_REPLY = 1;
+    private static final int OP_QUERY = 2004;
+    private static final int OP_MSG = 2013;
+    private static final int CHECKSUM_PRESENT = 1;
+    private static final int MORE_TO_COME = 1 << 1;
+    private static final int HEADER_SIZE = 16;
+    private static final BsonDocumentCodec CODEC = new BsonDocumentCodec();
+
+    private final ServerSocket serverSocket;
+    private final InMemoryStore store = new InMemoryStore();
+    private final CommandHandler handler = new CommandHandler(store);
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connectionIds = new AtomicInteger();
+    private final AtomicInteger responseIds = new AtomicInteger();
+    private final Thread acceptor;
+    private volatile boolean closed;
+
+    private EmbeddedMongoServer(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+        this.acceptor = new Thread(this::accept, "mongo-embedded-acceptor-" + serverSocket.getLocalPort());
+        this.acceptor.setDaemon(true);
+    }
+
+    /**
+     * Starts a server listening on the loopback interface on a random port.
+     *
+     * @return The started server
+     * @throws IOException If the server socket cannot be opened
+     */
+    public static EmbeddedMongoServer start() throws IOException {
+        return start(InetAddress.getLoopbackAddress().getHostAddress(), 0);
+    }
+
+    /**
+     * @param host The host to bind to
+     * @param port The port to bind to, 0 picks a random port
+     * @return The started server
+     * @throws IOException If the server socket cannot be opened
+     */
+    public static EmbeddedMongoServer start(String host, int port) throws IOException {
+        ServerSocket serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(host, port));
+        EmbeddedMongoServer server = new EmbeddedMongoServer(serverSocket);
+        server.acceptor.start();
+        if (LOG.isInfoEnabled()) {
+            LOG.info("Embedded MongoDB listening on {}", server.getConnectionString());
+        }
+        return server;
+    }
+
+    /**
+     * @return The host the server is bound to
+     */
+    public String getHost() {
+        return serverSocket.getInetAddress().getHostAddress();
+    }
+
+    /**
+     * @return The port the server is bound to
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return The connection string clients connect with
+     */
+    public String getConnectionString() {
+        String host = getHost();
+        return "mongodb://" + (host.indexOf(':') >= 0 ? "[" + host + "]" : host) + ":" + getPort();
+    }
+
+    /**
+     * @return The number of open client connections
+     */
+    public int getConnections() {
+        return connections.size();
+    }
+
+    /**
+     * Drops all databases, for example between tests.
+     */
+    public void reset() {
+        store.clear();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        closeQuietly(serverSocket);
+        for (Socket connection : connections) {
+            closeQuietly(connection);
+        }
+        connections.clear();
+        store.clear();
+    }
+
+    private void accept() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                int connectionId = connectionIds.incrementAndGet();
+                connections.add(socket);
+                Thread thread = new Thread(() -> serve(socket, connectionId), "mongo-embedded-conn-" + connectionId);
+                thread.setDaemon(true);
+                thread.start();
+            } catch (IOException e) {
+                if (!closed) {
+                    LOG.warn("Embedded MongoDB failed to accept a connection: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket, int connectionId) {
+        try (socket) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            while (!closed) {
+                int length;
+                try {
+                    length = Integer.reverseBytes(in.readInt());
+                } catch (EOFException e) {
+                    return;
+                }
+                if (length < HEADER_SIZE || length > CommandHandler.MAX_MESSAGE_SIZE) {
+                    throw new IOException("Invalid message length " + length);
+                }
+                byte[] message = new byte[length - 4];
+                in.readFully(message);
+                ByteBuffer buffer = ByteBuffer.wrap(message).order(ByteOrder.LITTLE_ENDIAN);
+                int requestId = buffer.getInt();
+                buffer.getInt();
+                int opCode = buffer.getInt();
+                switch (opCode) {
+                    case OP_MSG -> handleMessage(buffer, requestId, connectionId, out);
+                    case OP_QUERY -> handleQuery(buffer, requestId, connectionId, out);
+                    default -> throw new IOException("Unsupported op code " + opCode);
+                }
+            }
+        } catch (SocketException e) {
+            // closed by the client or by close()
+        } catch (IOException | RuntimeException e) {
+            if (!closed) {
+                LOG.warn("Embedded MongoDB closed connection {}: {}", connectionId, e.getMessage());
+            }
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    private void handleMessage(ByteBuffer buffer, int requestId, int connectionId, OutputStream out) throws IOException {
+        int flags = buffer.getInt();
+        int end = buffer.limit() - ((flags & CHECKSUM_PRESENT) != 0 ? 4 : 0);
+        BsonDocument body = null;
+        while (buffer.position() < end) {
+            byte kind = buffer.get();
+            if (kind == 0) {
+                body = readDocument(buffer);
+            } else if (kind == 1) {
+                int sectionEnd = buffer.position() + buffer.getInt();
+                String identifier = readCString(buffer);
+                BsonArray documents = new BsonArray();
+                while (buffer.position() < sectionEnd) {
+                    documents.add(readDocument(buffer));
+                }
+                if (body == null) {
+                    throw new IOException("OP_MSG document sequence before body");
+                }
+                body.put(identifier, documents);
+            } else {
+                throw new IOException("Unsupported OP_MSG section kind " + kind);
+            }
+        }
+        if (body == null) {
+            throw new IOException("OP_MSG without body");
+        }
+        String database = body.getString("$db", new BsonString("admin")).getValue();
+        BsonDocument reply = handler.handle(database, body, connectionId);
+        if ((flags & MORE_TO_COME) != 0) {
+            return;
+        }
+        byte[] document = encode(reply);
+        ByteBuffer header = header(HEADER_SIZE + 4 + 1 + document.length, requestId, OP_MSG);
+        header.putInt(0);
+        header.put((byte) 0);
+        out.write(header.array(), 0, header.position());
+        out.write(document);
+        out.flush();
+    }
+
+    private void handleQuery(ByteBuffer buffer, int requestId, int connectionId, OutputStream out) throws IOException {
+        buffer.getInt();
+        String collection = readCString(buffer);
+        buffer.getInt();
+        buffer.getInt();
+        BsonDocument query = readDocument(buffer);
+        if (query.containsKey("$query")) {
+            query = query.getDocument("$query");
+        }
+        BsonDocument reply;
+        if (collection.endsWith(".$cmd")) {
+            reply = handler.handle(collection.substring(0, collection.length() - 5), query, connectionId);
+        } else {
+            reply = new BsonDocument("$err", new BsonString("OP_QUERY is only supported for commands"))
+                .append("code", new BsonInt32(CommandFailure.BAD_VALUE));
+        }
+        byte[] document = encode(reply);
+        ByteBuffer header = header(HEADER_SIZE + 20 + document.length, requestId, OP_REPLY);
+        header.putInt(0);
+        header.putLong(0);
+        header.putInt(0);
+        header.putInt(1);
+        out.write(header.array(), 0, header.position());
+        out.write(document);
+        out.flush();
+    }
+
+    private ByteBuffer header(int length, int responseTo, int opCode) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + 20).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(length);
+        header.putInt(responseIds.incrementAndGet());
+        header.putInt(responseTo);
+        header.putInt(opCode);
+        return header;
+    }
+
+    private static BsonDocument readDocument(ByteBuffer buffer) {
+        int size = buffer.getInt(buffer.position());
+        RawBsonDocument raw = new RawBsonDocument(buffer.array(), buffer.arrayOffset() + buffer.position(), size);
+        buffer.position(buffer.position() + size);
+        return raw.decode(CODEC);
+    }
+
+    private static String readCString(ByteBuffer buffer) {
+        int start = buffer.position();
+        while (buffer.get() != 0) {
+            // scan to the terminating zero
+        }
+        return new String(buffer.array(), buffer.arrayOffset() + start, buffer.position() - start - 1, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] encode(BsonDocument document) {
+        BasicOutputBuffer output = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(output)) {
+            CODEC.encode(writer, document, EncoderContext.builder().build());
+        }
+        return output.toByteArray();
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.embedded;
+
+import io.micronaut.configuration.mongo.core.MongoSettings;
+import io.micronaut.context.annotation.Bean;
+import io.micronaut.context.annotation.Factory;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.exceptions.ConfigurationException;
+import io.micronaut.core.util.StringUtils;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+
+/**
+ * Starts the {@link EmbeddedMongoServer} when <code>{@value MongoSettings#EMBEDDED}</code> is set.
+ *
+ * @since 5.6.0
+ */
+@Factory
+@Requires(property = MongoSettings.EMBEDDED, value = StringUtils.TRUE)
+public class EmbeddedMongoServerFactory {
+
+    /**
+     * @param configuration The embedded server configuration
+     * @return The started server
+     */
+    @Singleton
+    @Bean(preDestroy = "close")
+    protected EmbeddedMongoServer embeddedMongoServer(EmbeddedMongoConfiguration configuration) {
+        try {
+            return EmbeddedMongoServer.start(configuration.getHost(), configuration.getPort());
+        } catch (IOException e) {
+            throw new ConfigurationException("Failed to start the embedded MongoDB server on "
+                + configuration.getHost() + ":" + configuration.getPort() + ": " + e.getMessage(), e);
+        }
+    }
+}
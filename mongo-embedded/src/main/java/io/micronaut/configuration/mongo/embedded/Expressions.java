@@ -0,0 +1,233 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.embedded;
+
+import org.bson.BsonArray;
+import org.bson.BsonBoolean;
+import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonNull;
+import org.bson.BsonString;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Evaluates the subset of aggregation expressions used by the supported pipeline stages: field paths, literals,
+ * arithmetic, comparison, boolean, string and conditional operators.
+ *
+ * @since 5.6.0
+ */
+final class Expressions {
+
+    private Expressions() {
+    }
+
+    /**
+     * @param root       The current document
+     * @param expression The expression
+     * @return The value, {@link BsonNull#VALUE} for missing fields
+     */
+    static BsonValue evaluate(BsonDocument root, BsonValue expression) {
+        if (expression.isString()) {
+            String value = expression.asString().getValue();
+            if (value.equals("$$ROOT") || value.equals("$$CURRENT")) {
+                return root;
+            }
+            if (value.startsWith("$$")) {
+                throw CommandFailure.badValue("unsupported variable: " + value);
+            }
+            if (value.startsWith("$")) {
+                BsonValue resolved = resolve(root, value.substring(1));
+                return resolved == null ? BsonNull.VALUE : resolved;
+            }
+            return expression;
+        }
+        if (expression.isArray()) {
+            BsonArray result = new BsonArray();
+            for (BsonValue element : expression.asArray()) {
+                result.add(evaluate(root, element));
+            }
+            return result;
+        }
+        if (expression.isDocument()) {
+            BsonDocument document = expression.asDocument();
+            if (document.size() == 1 && document.getFirstKey().startsWith("$")) {
+                return operator(root, document.getFirstKey(), document.get(document.getFirstKey()));
+            }
+            BsonDocument result = new BsonDocument();
+            for (Map.Entry<String, BsonValue> field : document.entrySet()) {
+                result.put(field.getKey(), evaluate(root, field.getValue()));
+            }
+            return result;
+        }
+        return expression;
+    }
+
+    /**
+     * @param value A value
+     * @return Whether the value is true in the sense of aggregation expressions
+     */
+    static boolean isTrue(BsonValue value) {
+        if (value.isBoolean()) {
+            return value.asBoolean().getValue();
+        }
+        if (value.isNumber() || value.isDecimal128()) {
+            return value.asNumber().doubleValue() != 0;
+        }
+        return !value.isNull() && value.getBsonType() != BsonType.UNDEFINED;
+    }
+
+    private static BsonValue resolve(BsonDocument root, String path) {
+        List<BsonValue> values = BsonPaths.values(root, path);
+        if (values.isEmpty()) {
+            return null;
+        }
+        BsonValue direct = BsonPaths.get(root, path);
+        return direct != null ? direct : new BsonArray(values);
+    }
+
+    private static BsonValue operator(BsonDocument root, String operator, BsonValue operand) {
+        return switch (operator) {
+            case "$literal" -> operand;
+            case "$add" -> sum(arguments(root, operand));
+            case "$subtract" -> {
+                List<BsonValue> arguments = arguments(root, operand);
+                yield number(arguments.get(0).asNumber().doubleValue() - arguments.get(1).asNumber().doubleValue(), arguments);
+            }
+            case "$multiply" -> {
+                double product = 1;
+                List<BsonValue> arguments = arguments(root, operand);
+                for (BsonValue argument : arguments) {
+                    product *= argument.asNumber().doubleValue();
+                }
+                yield number(product, arguments);
+            }
+            case "$divide" -> {
+                List<BsonValue> arguments = arguments(root, operand);
+                yield new BsonDouble(arguments.get(0).asNumber().doubleValue() / arguments.get(1).asNumber().doubleValue());
+            }
+            case "$concat" -> {
+                StringBuilder builder = new StringBuilder();
+                for (BsonValue argument : arguments(root, operand)) {
+                    if (argument.isNull()) {
+                        yield BsonNull.VALUE;
+                    }
+                    builder.append(argument.asString().getValue());
+                }
+                yield new BsonString(builder.toString());
+            }
+            case "$toLower" -> string(evaluate(root, single(operand)), s -> s.toLowerCase(Locale.ROOT));
+            case "$toUpper" -> string(evaluate(root, single(operand)), s -> s.toUpperCase(Locale.ROOT));
+            case "$ifNull" -> {
+                List<BsonValue> arguments = arguments(root, operand);
+                for (BsonValue argument : arguments) {
+                    if (!argument.isNull()) {
+                        yield argument;
+                    }
+                }
+                yield arguments.get(arguments.size() - 1);
+            }
+            case "$cond" -> {
+                BsonValue condition;
+                BsonValue then;
+                BsonValue otherwise;
+                if (operand.isArray()) {
+                    condition = operand.asArray().get(0);
+                    then = operand.asArray().get(1);
+                    otherwise = operand.asArray().get(2);
+                } else {
+                    condition = operand.asDocument().get("if");
+                    then = operand.asDocument().get("then");
+                    otherwise = operand.asDocument().get("else");
+                }
+                yield evaluate(root, isTrue(evaluate(root, condition)) ? then : otherwise);
+            }
+            case "$eq" -> compare(root, operand, c -> c == 0);
+            case "$ne" -> compare(root, operand, c -> c != 0);
+            case "$gt" -> compare(root, operand, c -> c > 0);
+            case "$gte" -> compare(root, operand, c -> c >= 0);
+            case "$lt" -> compare(root, operand, c -> c < 0);
+            case "$lte" -> compare(root, operand, c -> c <= 0);
+            case "$cmp" -> {
+                List<BsonValue> arguments = arguments(root, operand);
+                yield new BsonInt32(Integer.signum(BsonComparator.INSTANCE.compare(arguments.get(0), arguments.get(1))));
+            }
+            case "$and" -> BsonBoolean.valueOf(arguments(root, operand).stream().allMatch(Expressions::isTrue));
+            case "$or" -> BsonBoolean.valueOf(arguments(root, operand).stream().anyMatch(Expressions::isTrue));
+            case "$not" -> BsonBoolean.valueOf(!isTrue(evaluate(root, single(operand))));
+            case "$size" -> new BsonInt32(evaluate(root, single(operand)).asArray().size());
+            case "$arrayElemAt" -> {
+                List<BsonValue> arguments = arguments(root, operand);
+                BsonArray array = arguments.get(0).asArray();
+                int index = arguments.get(1).asNumber().intValue();
+                int position = index < 0 ? array.size() + index : index;
+                yield position >= 0 && position < array.size() ? array.get(position) : BsonNull.VALUE;
+            }
+            default -> throw new CommandFailure(168, "InvalidPipelineOperator", "Unrecognized expression '" + operator + "'");
+        };
+    }
+
+    private static BsonValue single(BsonValue operand) {
+        return operand.isArray() ? operand.asArray().get(0) : operand;
+    }
+
+    private static List<BsonValue> arguments(BsonDocument root, BsonValue operand) {
+        return evaluate(root, operand.isArray() ? operand : new BsonArray(List.of(operand))).asArray().getValues();
+    }
+
+    private static BsonValue compare(BsonDocument root, BsonValue operand, IntPredicate predicate) {
+        List<BsonValue> arguments = arguments(root, operand);
+        return BsonBoolean.valueOf(predicate.test(BsonComparator.INSTANCE.compare(arguments.get(0), arguments.get(1))));
+    }
+
+    private static BsonValue string(BsonValue value, UnaryOperator<String> function) {
+        return value.isNull() ? new BsonString("") : new BsonString(function.apply(value.asString().getValue()));
+    }
+
+    /**
+     * @param values Numeric values, non-numeric values are ignored
+     * @return The sum with the widest type of the values
+     */
+    static BsonValue sum(List<BsonValue> values) {
+        double sum = 0;
+        for (BsonValue value : values) {
+            if (value.isNumber()) {
+                sum += value.asNumber().doubleValue();
+            }
+        }
+        return number(sum, values);
+    }
+
+    private static BsonValue number(double value, List<BsonValue> operands) {
+        boolean floating = operands.stream().anyMatch(v -> v.isDouble() || v.isDecimal128());
+        if (floating || value != Math.rint(value)) {
+            return new BsonDouble(value);
+        }
+        boolean wide = operands.stream().anyMatch(BsonValue::isInt64);
+        if (!wide && value <= Integer.MAX_VALUE && value >= Integer.MIN_VALUE) {
+            return new BsonInt32((int) value);
+        }
+        return new BsonInt64((long) value);
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.embedded;
+
+import org.bson.BsonBoolean;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonNull;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The documents and indexes of a collection. Stored documents are never mutated, updates replace them. Callers
+ * synchronize on the collection for commands spanning several documents.
+ *
+ * @since 5.6.0
+ */
+final class InMemoryCollection {
+
+    static final String ID_INDEX = "_id_";
+
+    private final String name;
+    private final BsonDocument options;
+    private final Map<BsonValue, BsonDocument> documents = new LinkedHashMap<>();
+    private final Map<String, BsonDocument> indexes = new LinkedHashMap<>();
+    private final Map<String, TreeMap<BsonValue, BsonValue>> uniqueKeys = new LinkedHashMap<>();
+
+    InMemoryCollection(String name, BsonDocument options) {
+        this.name = name;
+        this.options = options;
+        indexes.put(ID_INDEX, new BsonDocument("v", new BsonInt32(2))
+            .append("key", new BsonDocument("_id", new BsonInt32(1)))
+            .append("name", new BsonString(ID_INDEX)));
+    }
+
+    String getName() {
+        return name;
+    }
+
+    BsonDocument getOptions() {
+        return options;
+    }
+
+    synchronized int size() {
+        return documents.size();
+    }
+
+    synchronized List<BsonDocument> snapshot() {
+        return new ArrayList<>(documents.values());
+    }
+
+    synchronized BsonDocument get(BsonValue id) {
+        return documents.get(id);
+    }
+
+    synchronized Collection<BsonDocument> getIndexes() {
+        return new ArrayList<>(indexes.values());
+    }
+
+    synchronized void insert(BsonDocument document) {
+        BsonValue id = document.get("_id");
+        if (documents.containsKey(id)) {
+            throw duplicateKey(ID_INDEX, new BsonDocument("_id", id));
+        }
+        checkUnique(document, null);
+        documents.put(id, document);
+        indexUnique(document, null);
+    }
+
+    synchronized void replace(BsonDocument existing, BsonDocument replacement) {
+        checkUnique(replacement, existing);
+        documents.put(existing.get("_id"), replacement);
+        indexUnique(replacement, existing);
+    }
+
+    synchronized void remove(BsonDocument document) {
+        documents.remove(document.get("_id"));
+        indexUnique(null, document);
+    }
+
+    /**
+     * @param specification The index specification as sent by <code>createIndexes</code>
+     * @return Whether the index was created, false if it already existed
+     */
+    synchronized boolean createIndex(BsonDocument specification) {
+        String indexName = specification.getString("name").getValue();
+        BsonDocument key = specification.getDocument("key");
+        for (BsonDocument existing : indexes.values()) {
+            boolean sameName = existing.getString("name").getValue().equals(indexName);
+            boolean sameKey = existing.getDocument("key").equals(key);
+            if (sameName && sameKey) {
+                return false;
+            }
+            if (sameName) {
+                throw new CommandFailure(86, "IndexKeySpecsConflict", "An existing index has the same name as the requested index: " + existing);
+            }
+            if (sameKey && existing.getBoolean("unique", BsonBoolean.FALSE).equals(specification.getBoolean("unique", BsonBoolean.FALSE))) {
+                throw new CommandFailure(85, "IndexOptionsConflict", "Index already exists with a different name: " + existing.getString("name").getValue());
+            }
+        }
+        BsonDocument index = new BsonDocument("v", new BsonInt32(2));
+        for (Map.Entry<String, BsonValue> option : specification.entrySet()) {
+            if (!option.getKey().equals("v")) {
+                index.put(option.getKey(), option.getValue());
+            }
+        }
+        if (isUnique(index)) {
+            TreeMap<BsonValue, BsonValue> keys = new TreeMap<>(BsonComparator.INSTANCE);
+            for (BsonDocument document : documents.values()) {
+                BsonDocument value = keyOf(index, document);
+                if (value != null && keys.put(value, document.get("_id")) != null) {
+                    throw duplicateKey(indexName, value);
+                }
+            }
+            uniqueKeys.put(indexName, keys);
+        }
+        indexes.put(indexName, index);
+        return true;
+    }
+
+    /**
+     * @param indexName The index name
+     * @return Whether the index existed
+     */
+    synchronized boolean dropIndex(String indexName) {
+        if (indexName.equals(ID_INDEX)) {
+            throw new CommandFailure(72, "InvalidOptions", "cannot drop _id index");
+        }
+        uniqueKeys.remove(indexName);
+        return indexes.remove(indexName) != null;
+    }
+
+    /**
+     * @param key The key of an index
+     * @return The name of the index with the key or null
+     */
+    synchronized String indexName(BsonDocument key) {
+        for (BsonDocument index : indexes.values()) {
+            if (index.getDocument("key").equals(key)) {
+                return index.getString("name").getValue();
+            }
+        }
+        return null;
+    }
+
+    synchronized void dropIndexes() {
+        indexes.keySet().removeIf(indexName -> !indexName.equals(ID_INDEX));
+        uniqueKeys.clear();
+    }
+
+    private void checkUnique(BsonDocument document, BsonDocument replaced) {
+        for (Map.Entry<String, TreeMap<BsonValue, BsonValue>> unique : uniqueKeys.entrySet()) {
+            BsonDocument key = keyOf(indexes.get(unique.getKey()), document);
+            BsonValue owner = key == null ? null : unique.getValue().get(key);
+            if (owner != null && (replaced == null || !BsonComparator.equal(owner, replaced.get("_id")))) {
+                throw duplicateKey(unique.getKey(), key);
+            }
+        }
+    }
+
+    private void indexUnique(BsonDocument added, BsonDocument removed) {
+        for (Map.Entry<String, TreeMap<BsonValue, BsonValue>> unique : uniqueKeys.entrySet()) {
+            BsonDocument index = indexes.get(unique.getKey());
+            if (removed != null) {
+                BsonDocument key = keyOf(index, removed);
+                if (key != null) {
+                    unique.getValue().remove(key);
+                }
+            }
+            if (added != null) {
+                BsonDocument key = keyOf(index, added);
+                if (key != null) {
+                    unique.getValue().put(key, added.get("_id"));
+                }
+            }
+        }
+    }
+
+    private static BsonDocument keyOf(BsonDocument index, BsonDocument document) {
+        BsonDocument key = new BsonDocument();
+        boolean present = false;
+        for (String field : index.getDocument("key").keySet()) {
+            BsonValue value = BsonPaths.get(document, field);
+            present |= value != null;
+            key.put(field, value == null ? BsonNull.VALUE : value);
+        }
+        boolean sparse = index.getBoolean("sparse", BsonBoolean.FALSE).getValue();
+        if (sparse && !present) {
+            return null;
+        }
+        BsonDocument partial = index.getDocument("partialFilterExpression", null);
+        if (partial != null && !QueryMatcher.matches(document, partial)) {
+            return null;
+        }
+        return key;
+    }
+
+    private static boolean isUnique(BsonDocument index) {
+        return index.getBoolean("unique", BsonBoolean.FALSE).getValue();
+    }
+
+    private CommandFailure duplicateKey(String indexName, BsonDocument key) {
+        return new CommandFailure(CommandFailure.DUPLICATE_KEY, "DuplicateKey",
+            "E11000 duplicate key error collection: " + name + " index: " + indexName + " dup key: " + key.toJson());
+    }
+}
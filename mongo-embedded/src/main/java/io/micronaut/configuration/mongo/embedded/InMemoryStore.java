@@ -0,0 +1,194 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.embedded;
+
+import org.bson.BsonDocument;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The databases, collections and open cursors of an {@link EmbeddedMongoServer}.
+ *
+ * @since 5.6.0
+ */
+final class InMemoryStore {
+
+    private final Map<String, Map<String, InMemoryCollection>> databases = new ConcurrentSkipListMap<>();
+    private final Map<Long, Cursor> cursors = new ConcurrentHashMap<>();
+    private final AtomicLong cursorIds = new AtomicLong();
+
+    /**
+     * @param database   The database name
+     * @param collection The collection name
+     * @return The collection or null if it does not exist
+     */
+    InMemoryCollection collection(String database, String collection) {
+        Map<String, InMemoryCollection> collections = databases.get(database);
+        return collections == null ? null : collections.get(collection);
+    }
+
+    /**
+     * @param database   The database name
+     * @param collection The collection name
+     * @return The documents of the collection, empty if it does not exist
+     */
+    List<BsonDocument> documents(String database, String collection) {
+        InMemoryCollection existing = collection(database, collection);
+        return existing == null ? List.of() : existing.snapshot();
+    }
+
+    /**
+     * @param database   The database name
+     * @param collection The collection name
+     * @return The existing or a new collection
+     */
+    InMemoryCollection getOrCreate(String database, String collection) {
+        return databases.computeIfAbsent(database, k -> new ConcurrentSkipListMap<>())
+            .computeIfAbsent(collection, name -> new InMemoryCollection(name, new BsonDocument()));
+    }
+
+    /**
+     * @param database   The database name
+     * @param collection The collection name
+     * @param options    The collection options
+     * @return Whether the collection was created, false if it already existed
+     */
+    boolean create(String database, String collection, BsonDocument options) {
+        InMemoryCollection created = new InMemoryCollection(collection, options);
+        return databases.computeIfAbsent(database, k -> new ConcurrentSkipListMap<>()).putIfAbsent(collection, created) == null;
+    }
+
+    /**
+     * @param database   The database name
+     * @param collection The collection name
+     * @return The dropped collection or null if it did not exist
+     */
+    InMemoryCollection drop(String database, String collection) {
+        Map<String, InMemoryCollection> collections = databases.get(database);
+        return collections == null ? null : collections.remove(collection);
+    }
+
+    /**
+     * @param database The database name
+     */
+    void dropDatabase(String database) {
+        databases.remove(database);
+    }
+
+    /**
+     * @return The names of the databases with at least one collection
+     */
+    List<String> databaseNames() {
+        List<String> names = new ArrayList<>();
+        for (Map.Entry<String, Map<String, InMemoryCollection>> database : databases.entrySet()) {
+            if (!database.getValue().isEmpty()) {
+                names.add(database.getKey());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * @param database The database name
+     * @return The collections of the database
+     */
+    Collection<InMemoryCollection> collections(String database) {
+        Map<String, InMemoryCollection> collections = databases.get(database);
+        return collections == null ? List.of() : new ArrayList<>(collections.values());
+    }
+
+    /**
+     * Removes all databases and cursors.
+     */
+    void clear() {
+        databases.clear();
+        cursors.clear();
+    }
+
+    /**
+     * @param namespace The namespace of the cursor
+     * @param remaining The documents not returned yet
+     * @return The id of the new cursor
+     */
+    long openCursor(String namespace, List<BsonDocument> remaining) {
+        long id = cursorIds.incrementAndGet();
+        cursors.put(id, new Cursor(namespace, remaining));
+        return id;
+    }
+
+    /**
+     * @param id The cursor id
+     * @return The cursor or null if it does not exist
+     */
+    Cursor cursor(long id) {
+        return cursors.get(id);
+    }
+
+    /**
+     * @param id The cursor id
+     * @return Whether the cursor existed
+     */
+    boolean closeCursor(long id) {
+        return cursors.remove(id) != null;
+    }
+
+    /**
+     * @return The number of open cursors
+     */
+    int openCursors() {
+        return cursors.size();
+    }
+
+    /**
+     * A server side cursor over the remaining documents of a query.
+     */
+    static final class Cursor {
+
+        private final String namespace;
+        private final List<BsonDocument> documents;
+        private int position;
+
+        Cursor(String namespace, List<BsonDocument> documents) {
+            this.namespace = namespace;
+            this.documents = documents;
+        }
+
+        String getNamespace() {
+            return namespace;
+        }
+
+        /**
+         * @param batchSize The maximum number of documents, 0 for all remaining documents
+         * @return The next batch
+         */
+        synchronized List<BsonDocument> next(int batchSize) {
+            int end = batchSize <= 0 ? documents.size() : Math.min(documents.size(), position + batchSize);
+            List<BsonDocument> batch = documents.subList(position, end);
+            position = end;
+            return batch;
+        }
+
+        synchronized boolean isExhausted() {
+            return position >= documents.size();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.embedded;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.util.Map;
+
+/**
+ * Applies inclusion and exclusion projections of find commands.
+ *
+ * @since 5.6.0
+ */
+final class Projections {
+
+    private Projections() {
+    }
+
+    /**
+     * @param document   The document
+     * @param projection The projection, null or empty returns the document itself
+     * @return The projected document
+     */
+    static BsonDocument project(BsonDocument document, BsonDocument projection) {
+        if (projection == null || projection.isEmpty()) {
+            return document;
+        }
+        boolean includeId = !projection.containsKey("_id") || isIncluded(projection.get("_id"));
+        boolean inclusion = false;
+        for (Map.Entry<String, BsonValue> field : projection.entrySet()) {
+            if (!field.getKey().equals("_id") && isIncluded(field.getValue())) {
+                inclusion = true;
+                break;
+            }
+        }
+        if (!inclusion) {
+            BsonDocument result = document.clone();
+            for (Map.Entry<String, BsonValue> field : projection.entrySet()) {
+                if (!isIncluded(field.getValue())) {
+                    BsonPaths.remove(result, field.getKey());
+                }
+            }
+            return result;
+        }
+        BsonDocument result = new BsonDocument();
+        if (includeId && document.containsKey("_id")) {
+            result.put("_id", document.get("_id"));
+        }
+        for (Map.Entry<String, BsonValue> field : projection.entrySet()) {
+            String path = field.getKey();
+            BsonValue specification = field.getValue();
+            if (path.equals("_id")) {
+                continue;
+            }
+            if (specification.isDocument() && specification.asDocument().containsKey("$slice")) {
+                BsonValue value = BsonPaths.get(document, path);
+                if (value != null) {
+                    BsonPaths.set(result, path, value.isArray() ? slice(value.asArray(), specification.asDocument().get("$slice")) : value);
+                }
+            } else if (specification.isDocument() || specification.isString()) {
+                BsonPaths.set(result, path, Expressions.evaluate(document, specification));
+            } else {
+                include(document, result, path);
+            }
+        }
+        return result;
+    }
+
+    private static void include(BsonDocument source, BsonDocument target, String path) {
+        int dot = path.indexOf('.');
+        String head = dot < 0 ? path : path.substring(0, dot);
+        BsonValue value = source.get(head);
+        if (value == null) {
+            return;
+        }
+        if (dot < 0) {
+            target.put(head, value);
+        } else if (value.isDocument()) {
+            BsonValue existing = target.get(head);
+            BsonDocument nested = existing != null && existing.isDocument() ? existing.asDocument() : new BsonDocument();
+            include(value.asDocument(), nested, path.substring(dot + 1));
+            target.put(head, nested);
+        } else if (value.isArray()) {
+            BsonArray projected = new BsonArray();
+            for (BsonValue element : value.asArray()) {
+                if (element.isDocument()) {
+                    BsonDocument nested = new BsonDocument();
+                    include(element.asDocument(), nested, path.substring(dot + 1));
+                    projected.add(nested);
+                }
+            }
+            target.put(head, projected);
+        }
+    }
+
+    private static BsonArray slice(BsonArray array, BsonValue specification) {
+        int skip;
+        int limit;
+        if (specification.isArray()) {
+            skip = specification.asArray().get(0).asNumber().intValue();
+            limit = specification.asArray().get(1).asNumber().intValue();
+        } else {
+            int count = specification.asNumber().intValue();
+            skip = count < 0 ? count : 0;
+            limit = Math.abs(count);
+        }
+        int from = skip < 0 ? Math.max(0, array.size() + skip) : Math.min(skip, array.size());
+        int to = Math.min(array.size(), from + limit);
+        return new BsonArray(array.subList(from, to));
+    }
+
+    private static boolean isIncluded(BsonValue value) {
+        if (value.isBoolean()) {
+            return value.asBoolean().getValue();
+        }
+        if (value.isNumber()) {
+            return value.asNumber().doubleValue() != 0;
+        }
+        return true;
+    }
+}
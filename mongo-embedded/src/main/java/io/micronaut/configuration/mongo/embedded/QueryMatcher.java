@@ -0,0 +1,339 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.embedded;
+
+import org.bson.BsonDocument;
+import org.bson.BsonRegularExpression;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * Evaluates query filters against documents. Supports the logical operators, the comparison operators,
+ * <code>$exists</code>, <code>$type</code>, <code>$size</code>, <code>$all</code>, <code>$elemMatch</code>,
+ * <code>$not</code>, <code>$regex</code> and <code>$mod</code>.
+ *
+ * @since 5.6.0
+ */
+final class QueryMatcher {
+
+    private QueryMatcher() {
+    }
+
+    /**
+     * @param document The document
+     * @param filter   The filter, null matches every document
+     * @return Whether the document matches the filter
+     */
+    static boolean matches(BsonDocument document, BsonDocument filter) {
+        if (filter == null) {
+            return true;
+        }
+        for (Map.Entry<String, BsonValue> entry : filter.entrySet()) {
+            String key = entry.getKey();
+            BsonValue value = entry.getValue();
+            switch (key) {
+                case "$and" -> {
+                    for (BsonValue clause : value.asArray()) {
+                        if (!matches(document, clause.asDocument())) {
+                            return false;
+                        }
+                    }
+                }
+                case "$or" -> {
+                    if (!matchesAny(document, value)) {
+                        return false;
+                    }
+                }
+                case "$nor" -> {
+                    if (matchesAny(document, value)) {
+                        return false;
+                    }
+                }
+                case "$comment" -> {
+                    // ignored
+                }
+                default -> {
+                    if (key.startsWith("$")) {
+                        throw CommandFailure.badValue("unknown top level operator: " + key);
+                    }
+                    if (!matchesCondition(BsonPaths.values(document, key), value)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param value     A value, for example an array element
+     * @param condition A condition as it appears on the right hand side of a field in a filter
+     * @return Whether the value matches the condition
+     */
+    static boolean matchesValue(BsonValue value, BsonValue condition) {
+        if (value.isDocument() && condition.isDocument() && !isOperatorDocument(condition.asDocument())) {
+            return matches(value.asDocument(), condition.asDocument()) || BsonComparator.equal(value, condition);
+        }
+        return matchesCondition(List.of(value), condition);
+    }
+
+    /**
+     * @param document A document
+     * @return Whether the document consists of query operators like <code>{$gt: 1}</code>
+     */
+    static boolean isOperatorDocument(BsonDocument document) {
+        return !document.isEmpty() && document.getFirstKey().startsWith("$");
+    }
+
+    private static boolean matchesAny(BsonDocument document, BsonValue clauses) {
+        for (BsonValue clause : clauses.asArray()) {
+            if (matches(document, clause.asDocument())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesCondition(List<BsonValue> values, BsonValue condition) {
+        if (condition.isDocument() && isOperatorDocument(condition.asDocument())) {
+            BsonDocument operators = condition.asDocument();
+            for (Map.Entry<String, BsonValue> operator : operators.entrySet()) {
+                if (!matchesOperator(values, operator.getKey(), operator.getValue(), operators)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (condition.isRegularExpression()) {
+            return matchesRegex(values, condition.asRegularExpression());
+        }
+        return matchesEquality(values, condition);
+    }
+
+    private static boolean matchesOperator(List<BsonValue> values, String operator, BsonValue operand, BsonDocument operators) {
+        return switch (operator) {
+            case "$eq" -> matchesEquality(values, operand);
+            case "$ne" -> !matchesEquality(values, operand);
+            case "$gt" -> matchesComparison(values, operand, c -> c > 0);
+            case "$gte" -> matchesComparison(values, operand, c -> c >= 0);
+            case "$lt" -> matchesComparison(values, operand, c -> c < 0);
+            case "$lte" -> matchesComparison(values, operand, c -> c <= 0);
+            case "$in" -> matchesIn(values, operand);
+            case "$nin" -> !matchesIn(values, operand);
+            case "$exists" -> isTrue(operand) != values.isEmpty();
+            case "$type" -> matchesType(values, operand);
+            case "$size" -> values.stream().anyMatch(v -> v.isArray() && v.asArray().size() == operand.asNumber().intValue());
+            case "$all" -> matchesAll(values, operand);
+            case "$elemMatch" -> matchesElement(values, operand.asDocument());
+            case "$not" -> !matchesCondition(values, operand);
+            case "$regex" -> matchesRegex(values, regex(operand, operators.get("$options")));
+            case "$options" -> true;
+            case "$mod" -> matchesMod(values, operand);
+            default -> throw CommandFailure.badValue("unknown operator: " + operator);
+        };
+    }
+
+    private static boolean matchesEquality(List<BsonValue> values, BsonValue operand) {
+        if (values.isEmpty()) {
+            return operand.isNull();
+        }
+        for (BsonValue value : values) {
+            if (BsonComparator.equal(value, operand)) {
+                return true;
+            }
+            if (value.isArray()) {
+                for (BsonValue element : value.asArray()) {
+                    if (BsonComparator.equal(element, operand)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesComparison(List<BsonValue> values, BsonValue operand, IntPredicate predicate) {
+        for (BsonValue value : flatten(values)) {
+            if (BsonComparator.typeOrder(value) == BsonComparator.typeOrder(operand)
+                && predicate.test(BsonComparator.INSTANCE.compare(value, operand))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesIn(List<BsonValue> values, BsonValue operand) {
+        for (BsonValue candidate : operand.asArray()) {
+            if (candidate.isRegularExpression() ? matchesRegex(values, candidate.asRegularExpression()) : matchesEquality(values, candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesAll(List<BsonValue> values, BsonValue operand) {
+        if (operand.asArray().isEmpty()) {
+            return false;
+        }
+        for (BsonValue candidate : operand.asArray()) {
+            boolean matched = candidate.isDocument() && candidate.asDocument().containsKey("$elemMatch")
+                ? matchesElement(values, candidate.asDocument().getDocument("$elemMatch"))
+                : matchesEquality(values, candidate);
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matchesElement(List<BsonValue> values, BsonDocument condition) {
+        for (BsonValue value : values) {
+            if (!value.isArray()) {
+                continue;
+            }
+            for (BsonValue element : value.asArray()) {
+                boolean matched = isOperatorDocument(condition)
+                    ? matchesCondition(List.of(element), condition)
+                    : element.isDocument() && matches(element.asDocument(), condition);
+                if (matched) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesRegex(List<BsonValue> values, BsonRegularExpression regex) {
+        Pattern pattern = compile(regex);
+        for (BsonValue value : flatten(values)) {
+            if (value.isString() && pattern.matcher(value.asString().getValue()).find()) {
+                return true;
+            }
+            if (value.isRegularExpression() && value.equals(regex)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesType(List<BsonValue> values, BsonValue operand) {
+        List<BsonValue> types = operand.isArray() ? operand.asArray().getValues() : List.of(operand);
+        for (BsonValue value : values) {
+            for (BsonValue type : types) {
+                if (isType(value, type)) {
+                    return true;
+                }
+                if (value.isArray() && !(type.isString() && type.asString().getValue().equals("array"))) {
+                    for (BsonValue element : value.asArray()) {
+                        if (isType(element, type)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isType(BsonValue value, BsonValue type) {
+        if (type.isNumber()) {
+            return value.getBsonType().getValue() == type.asNumber().intValue();
+        }
+        String alias = type.asString().getValue();
+        return switch (alias) {
+            case "number" -> value.isNumber() || value.isDecimal128();
+            case "double" -> value.getBsonType() == BsonType.DOUBLE;
+            case "string" -> value.getBsonType() == BsonType.STRING;
+            case "object" -> value.getBsonType() == BsonType.DOCUMENT;
+            case "array" -> value.getBsonType() == BsonType.ARRAY;
+            case "binData" -> value.getBsonType() == BsonType.BINARY;
+            case "objectId" -> value.getBsonType() == BsonType.OBJECT_ID;
+            case "bool" -> value.getBsonType() == BsonType.BOOLEAN;
+            case "date" -> value.getBsonType() == BsonType.DATE_TIME;
+            case "null" -> value.getBsonType() == BsonType.NULL;
+            case "regex" -> value.getBsonType() == BsonType.REGULAR_EXPRESSION;
+            case "int" -> value.getBsonType() == BsonType.INT32;
+            case "timestamp" -> value.getBsonType() == BsonType.TIMESTAMP;
+            case "long" -> value.getBsonType() == BsonType.INT64;
+            case "decimal" -> value.getBsonType() == BsonType.DECIMAL128;
+            default -> throw CommandFailure.badValue("unknown type name alias: " + alias);
+        };
+    }
+
+    private static boolean matchesMod(List<BsonValue> values, BsonValue operand) {
+        long divisor = operand.asArray().get(0).asNumber().longValue();
+        long remainder = operand.asArray().get(1).asNumber().longValue();
+        if (divisor == 0) {
+            throw CommandFailure.badValue("divisor cannot be 0");
+        }
+        for (BsonValue value : flatten(values)) {
+            if (value.isNumber() && value.asNumber().longValue() % divisor == remainder) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<BsonValue> flatten(List<BsonValue> values) {
+        List<BsonValue> flattened = new ArrayList<>(values.size());
+        for (BsonValue value : values) {
+            if (value.isArray()) {
+                flattened.addAll(value.asArray());
+            }
+            flattened.add(value);
+        }
+        return flattened;
+    }
+
+    private static BsonRegularExpression regex(BsonValue pattern, BsonValue options) {
+        String flags = options == null ? "" : options.asString().getValue();
+        if (pattern.isRegularExpression()) {
+            BsonRegularExpression regex = pattern.asRegularExpression();
+            return options == null ? regex : new BsonRegularExpression(regex.getPattern(), flags);
+        }
+        return new BsonRegularExpression(pattern.asString().getValue(), flags);
+    }
+
+    private static Pattern compile(BsonRegularExpression regex) {
+        int flags = 0;
+        for (char option : regex.getOptions().toCharArray()) {
+            flags |= switch (option) {
+                case 'i' -> Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+                case 'm' -> Pattern.MULTILINE;
+                case 's' -> Pattern.DOTALL;
+                case 'x' -> Pattern.COMMENTS;
+                default -> 0;
+            };
+        }
+        return Pattern.compile(regex.getPattern(), flags);
+    }
+
+    private static boolean isTrue(BsonValue value) {
+        if (value.isBoolean()) {
+            return value.asBoolean().getValue();
+        }
+        if (value.isNumber()) {
+            return value.asNumber().doubleValue() != 0;
+        }
+        return !value.isNull();
+    }
+}
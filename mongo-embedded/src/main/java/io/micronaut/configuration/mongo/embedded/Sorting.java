@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.embedded;
+
+import org.bson.BsonDocument;
+import org.bson.BsonNull;
+import org.bson.BsonValue;
+
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Builds comparators from sort specifications like <code>{age: -1, name: 1}</code>.
+ *
+ * @since 5.6.0
+ */
+final class Sorting {
+
+    private Sorting() {
+    }
+
+    /**
+     * @param specification The sort specification
+     * @return A comparator of documents or of array elements, missing fields sort like null
+     */
+    static Comparator<BsonValue> comparator(BsonDocument specification) {
+        Comparator<BsonValue> comparator = (a, b) -> 0;
+        for (Map.Entry<String, BsonValue> key : specification.entrySet()) {
+            if (!key.getValue().isNumber()) {
+                // {$meta: "textScore"} and friends have no meaning here
+                continue;
+            }
+            String path = key.getKey();
+            int direction = key.getValue().asNumber().intValue() < 0 ? -1 : 1;
+            comparator = comparator.thenComparing((a, b) -> direction * BsonComparator.INSTANCE.compare(value(a, path), value(b, path)));
+        }
+        return comparator;
+    }
+
+    private static BsonValue value(BsonValue value, String path) {
+        if (!value.isDocument()) {
+            return BsonNull.VALUE;
+        }
+        BsonValue result = BsonPaths.get(value.asDocument(), path);
+        return result == null ? BsonNull.VALUE : result;
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.embedded;
+
+import org.bson.BsonArray;
+import org.bson.BsonDateTime;
+import org.bson.BsonDecimal128;
+import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+import org.bson.types.Decimal128;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+
+/**
+ * Applies update documents to documents. Supports replacements and the field and array update operators except the
+ * positional operators.
+ *
+ * @since 5.6.0
+ */
+final class UpdateApplier {
+
+    private UpdateApplier() {
+    }
+
+    /**
+     * @param update An update document
+     * @return Whether the update consists of update operators rather than being a replacement
+     */
+    static boolean isOperatorUpdate(BsonDocument update) {
+        return !update.isEmpty() && update.getFirstKey().startsWith("$");
+    }
+
+    /**
+     * Applies the update to a copy of the document.
+     *
+     * @param document The document
+     * @param update   The update document or replacement
+     * @param inserted Whether the document is being inserted by an upsert
+     * @return The updated copy
+     */
+    static BsonDocument apply(BsonDocument document, BsonDocument update, boolean inserted) {
+        BsonDocument result;
+        if (isOperatorUpdate(update)) {
+            result = document.clone();
+            for (Map.Entry<String, BsonValue> operator : update.entrySet()) {
+                if (!operator.getKey().equals("$setOnInsert") || inserted) {
+                    applyOperator(result, operator.getKey(), operator.getValue().asDocument());
+                }
+            }
+        } else {
+            result = new BsonDocument();
+            BsonValue id = document.get("_id");
+            if (id != null) {
+                result.put("_id", id);
+            }
+            for (Map.Entry<String, BsonValue> field : update.entrySet()) {
+                if (field.getKey().startsWith("$")) {
+                    throw CommandFailure.badValue("The dollar ($) prefixed field '" + field.getKey() + "' is not allowed in a replacement");
+                }
+                if (!field.getKey().equals("_id") || id == null) {
+                    result.put(field.getKey(), field.getValue());
+                }
+            }
+        }
+        BsonValue before = document.get("_id");
+        if (before != null) {
+            BsonValue after = isOperatorUpdate(update) ? result.get("_id") : update.get("_id");
+            if (after != null ? !BsonComparator.equal(before, after) : isOperatorUpdate(update)) {
+                throw new CommandFailure(CommandFailure.IMMUTABLE_FIELD, "ImmutableField", "Performing an update on the path '_id' would modify the immutable field '_id'");
+            }
+        }
+        return result;
+    }
+
+    private static void applyOperator(BsonDocument document, String operator, BsonDocument fields) {
+        for (Map.Entry<String, BsonValue> field : fields.entrySet()) {
+            String path = field.getKey();
+            BsonValue operand = field.getValue();
+            BsonValue current = BsonPaths.get(document, path);
+            switch (operator) {
+                case "$set", "$setOnInsert" -> BsonPaths.set(document, path, operand);
+                case "$unset" -> BsonPaths.remove(document, path);
+                case "$inc" -> BsonPaths.set(document, path, current == null ? operand : arithmetic(path, current, operand, BigDecimal::add));
+                case "$mul" -> BsonPaths.set(document, path, arithmetic(path, current == null ? new BsonInt32(0) : current, operand, BigDecimal::multiply));
+                case "$min" -> {
+                    if (current == null || BsonComparator.INSTANCE.compare(operand, current) < 0) {
+                        BsonPaths.set(document, path, operand);
+                    }
+                }
+                case "$max" -> {
+                    if (current == null || BsonComparator.INSTANCE.compare(operand, current) > 0) {
+                        BsonPaths.set(document, path, operand);
+                    }
+                }
+                case "$rename" -> {
+                    BsonValue value = BsonPaths.remove(document, path);
+                    if (value != null) {
+                        BsonPaths.set(document, operand.asString().getValue(), value);
+                    }
+                }
+                case "$currentDate" -> {
+                    boolean timestamp = operand.isDocument() && operand.asDocument().getString("$type").getValue().equals("timestamp");
+                    BsonValue now = timestamp
+                        ? new BsonTimestamp((int) (System.currentTimeMillis() / 1000), 1)
+                        : new BsonDateTime(System.currentTimeMillis());
+                    BsonPaths.set(document, path, now);
+                }
+                case "$push" -> push(document, path, array(path, current), operand);
+                case "$addToSet" -> {
+                    BsonArray array = array(path, current);
+                    for (BsonValue value : each(operand)) {
+                        if (array.stream().noneMatch(element -> BsonComparator.equal(element, value))) {
+                            array.add(value);
+                        }
+                    }
+                    BsonPaths.set(document, path, array);
+                }
+                case "$pull" -> {
+                    if (current != null) {
+                        BsonArray array = array(path, current);
+                        array.removeIf(element -> QueryMatcher.matchesValue(element, operand));
+                    }
+                }
+                case "$pullAll" -> {
+                    if (current != null) {
+                        BsonArray array = array(path, current);
+                        array.removeIf(element -> operand.asArray().stream().anyMatch(value -> BsonComparator.equal(element, value)));
+                    }
+                }
+                case "$pop" -> {
+                    if (current != null) {
+                        BsonArray array = array(path, current);
+                        if (!array.isEmpty()) {
+                            array.remove(operand.asNumber().intValue() < 0 ? 0 : array.size() - 1);
+                        }
+                    }
+                }
+                default -> throw new CommandFailure(9, "FailedToParse", "Unknown modifier: " + operator);
+            }
+        }
+    }
+
+    private static void push(BsonDocument document, String path, BsonArray array, BsonValue operand) {
+        List<BsonValue> values = each(operand);
+        int position = array.size();
+        if (operand.isDocument() && operand.asDocument().containsKey("$position")) {
+            int requested = operand.asDocument().get("$position").asNumber().intValue();
+            position = requested < 0 ? Math.max(0, array.size() + requested) : Math.min(requested, array.size());
+        }
+        array.addAll(position, values);
+        if (operand.isDocument() && operand.asDocument().containsKey("$sort")) {
+            BsonValue sort = operand.asDocument().get("$sort");
+            List<BsonValue> sorted = new ArrayList<>(array);
+            if (sort.isDocument()) {
+                sorted.sort(Sorting.comparator(sort.asDocument()));
+            } else {
+                int direction = sort.asNumber().intValue();
+                sorted.sort((a, b) -> direction * BsonComparator.INSTANCE.compare(a, b));
+            }
+            array = new BsonArray(sorted);
+        }
+        if (operand.isDocument() && operand.asDocument().containsKey("$slice")) {
+            int slice = operand.asDocument().get("$slice").asNumber().intValue();
+            List<BsonValue> kept = slice < 0
+                ? new ArrayList<>(array.subList(Math.max(0, array.size() + slice), array.size()))
+                : new ArrayList<>(array.subList(0, Math.min(slice, array.size())));
+            array = new BsonArray(kept);
+        }
+        BsonPaths.set(document, path, array);
+    }
+
+    private static List<BsonValue> each(BsonValue operand) {
+        if (operand.isDocument() && operand.asDocument().containsKey("$each")) {
+            return operand.asDocument().getArray("$each").getValues();
+        }
+        return List.of(operand);
+    }
+
+    private static BsonArray array(String path, BsonValue current) {
+        if (current == null) {
+            return new BsonArray();
+        }
+        if (!current.isArray()) {
+            throw new CommandFailure(2, "BadValue", "The field '" + path + "' must be an array but is of type " + current.getBsonType());
+        }
+        return current.asArray();
+    }
+
+    private static BsonValue arithmetic(String path, BsonValue current, BsonValue operand, BinaryOperator<BigDecimal> operation) {
+        if (!current.isNumber() && !current.isDecimal128() || !operand.isNumber() && !operand.isDecimal128()) {
+            throw new CommandFailure(14, "TypeMismatch", "Cannot apply arithmetic to non-numeric field '" + path + "'");
+        }
+        if (current.isDecimal128() || operand.isDecimal128()) {
+            return new BsonDecimal128(new Decimal128(operation.apply(decimal(current), decimal(operand))));
+        }
+        if (current.isDouble() || operand.isDouble()) {
+            return new BsonDouble(operation.apply(decimal(current), decimal(operand)).doubleValue());
+        }
+        BigDecimal result = operation.apply(decimal(current), decimal(operand));
+        if (current.isInt32() && operand.isInt32() && result.compareTo(BigDecimal.valueOf(Integer.MAX_VALUE)) <= 0
+            && result.compareTo(BigDecimal.valueOf(Integer.MIN_VALUE)) >= 0) {
+            return new BsonInt32(result.intValue());
+        }
+        return new BsonInt64(result.longValue());
+    }
+
+    private static BigDecimal decimal(BsonValue value) {
+        if (value.isDecimal128()) {
+            return value.asDecimal128().getValue().bigDecimalValue();
+        }
+        if (value.isDouble()) {
+            return BigDecimal.valueOf(value.asDouble().getValue());
+        }
+        return BigDecimal.valueOf(value.asNumber().longValue());
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.processor;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.inject.ast.ClassElement;
+import io.micronaut.inject.ast.Element;
+import io.micronaut.inject.ast.ElementQuery;
+import io.micronaut.inject.visitor.TypeElementVisitor;
+import io.micronaut.inject.visitor.VisitorContext;
+import io.micronaut.inject.writer.GeneratedFile;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Generates the GraalVM native image reflection metadata of the entities encoded by the <code>PojoCodecProvider</code>,
+ * which builds their class models reflectively. Entities are the classes of the packages listed in the
+ * {@value #ENTITY_PACKAGES} processor option, which should match the <code>mongodb.packages</code> setting, and
+ * the classes using the BSON annotations such as <code>@BsonId</code> or <code>@BsonDiscriminator</code>.
+ *
+ * <p>The metadata is written to <code>META-INF/native-image/{group}/{module}-mongodb/reflect-config.json</code>,
+ * where group and module are the ones of the Micronaut processing options. Entities mapped with Micronaut
+ * Serialization need no metadata.</p>
+ *
+ * @since 5.6.0
+ */
+@Internal
+public final class MongoEntityVisitor implements TypeElementVisitor<Object, Object> {
+
+    /**
+     * The processor option listing the packages of the entities, separated by commas.
+     */
+    public static final String ENTITY_PACKAGES = "micronaut.mongodb.entity.packages";
+
+    private static final String BSON_ANNOTATIONS = "org.bson.codecs.pojo.annotations.";
+    private static final String DEFAULT_GROUP = "io.micronaut.mongodb";
+    private static final String DEFAULT_MODULE = "entities";
+
+    private final Map<String, ClassElement> entities = new TreeMap<>();
+    private Set<String> packages;
+
+    @Override
+    public void start(VisitorContext visitorContext) {
+        String option = visitorContext.getOptions().get(ENTITY_PACKAGES);
+        packages = StringUtils.isEmpty(option) ? Set.of() : Arrays.stream(option.split(","))
+            .map(String::trim)
+            .filter(StringUtils::isNotEmpty)
+            .collect(Collectors.toSet());
+    }
+
+    @Override
+    public void visitClass(ClassElement element, VisitorContext context) {
+        if (element.isInterface() || element.isEnum() || element.isRecord() || !isEntity(element)) {
+            return;
+        }
+        // the class model includes the properties of all super classes
+        ClassElement type = element;
+        while (type != null && !type.getName().equals(Object.class.getName()) && !entities.containsKey(type.getName())) {
+            entities.put(type.getName(), type);
+            type = type.getSuperType().orElse(null);
+        }
+    }
+
+    @Override
+    public void finish(VisitorContext visitorContext) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        Map<String, String> options = visitorContext.getOptions();
+        String group = options.getOrDefault(VisitorContext.MICRONAUT_PROCESSING_GROUP, DEFAULT_GROUP);
+        String module = options.getOrDefault(VisitorContext.MICRONAUT_PROCESSING_MODULE, DEFAULT_MODULE);
+        String path = "native-image/" + group + "/" + module + "-mongodb/reflect-config.json";
+        Element[] originatingElements = entities.values().toArray(new Element[0]);
+        Optional<GeneratedFile> file = visitorContext.visitMetaInfFile(path, originatingElements);
+        if (file.isEmpty()) {
+            return;
+        }
+        try (Writer writer = file.get().openWriter()) {
+            writer.write(reflectConfig(List.copyOf(entities.keySet())));
+        } catch (IOException e) {
+            visitorContext.warn("Unable to write the native image metadata of the MongoDB entities: " + e.getMessage(), null);
+        }
+        entities.clear();
+    }
+
+    @Override
+    public @NonNull Set<String> getSupportedOptions() {
+        return Set.of(ENTITY_PACKAGES);
+    }
+
+    @Override
+    public @NonNull VisitorKind getVisitorKind() {
+        return VisitorKind.AGGREGATING;
+    }
+
+    private boolean isEntity(ClassElement element) {
+        if (packages.contains(element.getPackageName()) || hasBsonAnnotation(element)) {
+            return true;
+        }
+        Set<Element> members = new HashSet<>();
+        members.addAll(element.getEnclosedElements(ElementQuery.ALL_FIELDS.onlyDeclared()));
+        members.addAll(element.getEnclosedElements(ElementQuery.ALL_METHODS.onlyDeclared()));
+        members.addAll(element.getEnclosedElements(ElementQuery.CONSTRUCTORS));
+        if (members.stream().anyMatch(MongoEntityVisitor::hasBsonAnnotation)) {
+            return true;
+        }
+        // for example the subclasses of a class with a discriminator
+        ClassElement superType = element.getSuperType().orElse(null);
+        return superType != null && !superType.getName().equals(Object.class.getName()) && isEntity(superType);
+    }
+
+    private static boolean hasBsonAnnotation(Element element) {
+        for (String annotation : element.getAnnotationNames()) {
+            if (annotation.startsWith(BSON_ANNOTATIONS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String reflectConfig(List<String> classNames) {
+        StringBuilder json = new StringBuilder("[\n");
+        for (int i = 0; i < classNames.size(); i++) {
+            json.append("  {\n")
+                .append("    \"name\": \"").append(classNames.get(i)).append("\",\n")
+                .append("    \"allDeclaredConstructors\": true,\n")
+                .append("    \"allDeclaredMethods\": true,\n")
+                .append("    \"allDeclaredFields\": true\n")
+                .append(i + 1 < classNames.size() ? "  },\n" : "  }\n");
+        }
+        return json.append("]\n").toString();
+    }
+}
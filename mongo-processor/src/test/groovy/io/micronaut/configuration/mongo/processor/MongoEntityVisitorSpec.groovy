@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.processor
+
+import groovy.json.JsonSlurper
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import javax.tools.JavaCompiler
+import javax.tools.ToolProvider
+import java.nio.file.Files
+import java.nio.file.Path
+
+class MongoEntityVisitorSpec extends Specification {
+
+    @TempDir
+    Path dir
+
+    void "test reflection metadata is generated for entities"() {
+        given:
+        source('example/Book.java', '''
+package example;
+public class Book {
+    private String title;
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+}
+''')
+        source('other/Person.java', '''
+package other;
+public class Person {
+    private String name;
+}
+''')
+        source('other/Author.java', '''
+package other;
+import org.bson.codecs.pojo.annotations.BsonId;
+public class Author extends Person {
+    @BsonId private String id;
+}
+''')
+        source('other/Shape.java', '''
+package other;
+import org.bson.codecs.pojo.annotations.BsonDiscriminator;
+@BsonDiscriminator public abstract class Shape {
+}
+''')
+        source('other/Circle.java', '''
+package other;
+public class Circle extends Shape {
+    private double radius;
+}
+''')
+        source('other/Point.java', '''
+package other;
+import org.bson.codecs.pojo.annotations.BsonCreator;
+import org.bson.codecs.pojo.annotations.BsonProperty;
+public class Point {
+    private final int x;
+    @BsonCreator public Point(@BsonProperty("x") int x) { this.x = x; }
+}
+''')
+        source('other/Service.java', '''
+package other;
+public class Service {
+}
+''')
+
+        when:
+        compile('-Amicronaut.mongodb.entity.packages=example', '-Amicronaut.processing.group=com.acme', '-Amicronaut.processing.module=app')
+        List<Map> config = new JsonSlurper().parse(dir.resolve('classes/META-INF/native-image/com.acme/app-mongodb/reflect-config.json').toFile()) as List<Map>
+
+        then:
+        config*.name == ['example.Book', 'other.Author', 'other.Circle', 'other.Person', 'other.Point', 'other.Shape']
+        config.every { it.allDeclaredConstructors && it.allDeclaredMethods && it.allDeclaredFields }
+    }
+
+    void "test no metadata is generated without entities"() {
+        given:
+        source('other/Service.java', '''
+package other;
+public class Service {
+}
+''')
+
+        when:
+        compile()
+
+        then:
+        !Files.exists(dir.resolve('classes/META-INF/native-image'))
+    }
+
+    private void source(String path, String code) {
+        Path file = dir.resolve('src').resolve(path)
+        Files.createDirectories(file.parent)
+        file.text = code
+    }
+
+    private void compile(String... options) {
+        Path classes = Files.createDirectories(dir.resolve('classes'))
+        List<String> sources = Files.walk(dir.resolve('src')).findAll { it.toString().endsWith('.java') }*.toString()
+        JavaCompiler compiler = ToolProvider.systemJavaCompiler
+        List<String> arguments = ['-d', classes.toString(), '-classpath', System.getProperty('java.class.path')] + options.toList() + sources
+        assert compiler.run(null, null, null, arguments as String[]) == 0
+    }
+}
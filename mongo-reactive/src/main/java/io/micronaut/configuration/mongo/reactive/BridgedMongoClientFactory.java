@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+import io.micronaut.configuration.mongo.core.DefaultMongoConfiguration;
+import io.micronaut.configuration.mongo.core.MongoSettings;
+import io.micronaut.configuration.mongo.core.NamedMongoConfiguration;
+import io.micronaut.configuration.mongo.sync.DefaultMongoClientFactory;
+import io.micronaut.configuration.mongo.sync.NamedMongoClientFactory;
+import io.micronaut.context.annotation.EachBean;
+import io.micronaut.context.annotation.Factory;
+import io.micronaut.context.annotation.Primary;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.StringUtils;
+import jakarta.inject.Singleton;
+
+/**
+ * Replaces the clients of the synchronous and the Reactive Streams factories with clients sharing one connection
+ * pool and one set of server monitors per server, if both drivers are present and
+ * {@link MongoSettings#BRIDGED} is enabled.
+ *
+ * @since 5.6.0
+ */
+@Factory
+@Requires(classes = com.mongodb.client.MongoClient.class)
+@Requires(property = MongoSettings.BRIDGED, value = StringUtils.TRUE)
+public class BridgedMongoClientFactory {
+
+    /**
+     * @param configuration The configuration of the default server
+     * @param registry      The bridged clients
+     * @return The synchronous client of the default server
+     */
+    @Primary
+    @Singleton
+    @Requires(beans = DefaultMongoConfiguration.class)
+    @Replaces(bean = com.mongodb.client.MongoClient.class, factory = DefaultMongoClientFactory.class)
+    com.mongodb.client.MongoClient mongoClient(DefaultMongoConfiguration configuration, BridgedMongoClientRegistry registry) {
+        return registry.getSyncClient(configuration);
+    }
+
+    /**
+     * @param configuration The configuration of the default server
+     * @param registry      The bridged clients
+     * @return The Reactive Streams client of the default server
+     */
+    @Primary
+    @Singleton
+    @Requires(beans = DefaultMongoConfiguration.class)
+    @Replaces(bean = MongoClient.class, factory = DefaultReactiveMongoClientFactory.class)
+    MongoClient reactiveMongoClient(DefaultMongoConfiguration configuration, BridgedMongoClientRegistry registry) {
+        return registry.getReactiveClient(configuration);
+    }
+
+    /**
+     * @param configuration The configuration of the named server
+     * @param registry      The bridged clients
+     * @return The synchronous client of the named server
+     */
+    @EachBean(NamedMongoConfiguration.class)
+    @Replaces(bean = com.mongodb.client.MongoClient.class, factory = NamedMongoClientFactory.class)
+    com.mongodb.client.MongoClient namedMongoClient(NamedMongoConfiguration configuration, BridgedMongoClientRegistry registry) {
+        return registry.getSyncClient(configuration);
+    }
+
+    /**
+     * @param configuration The configuration of the named server
+     * @param registry      The bridged clients
+     * @return The Reactive Streams client of the named server
+     */
+    @EachBean(NamedMongoConfiguration.class)
+    @Replaces(bean = MongoClient.class, factory = NamedReactiveMongoClientFactory.class)
+    MongoClient namedReactiveMongoClient(NamedMongoConfiguration configuration, BridgedMongoClientRegistry registry) {
+        return registry.getReactiveClient(configuration);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.reactivestreams.client.MongoClient;
+import io.micronaut.configuration.mongo.core.AbstractMongoConfiguration;
+import io.micronaut.configuration.mongo.core.MongoSettings;
+import io.micronaut.configuration.mongo.core.crac.RestorableClient;
+import io.micronaut.configuration.mongo.core.crac.RestorableClientRegistry;
+import io.micronaut.configuration.mongo.core.crac.RestorableInvocationHandler;
+import io.micronaut.configuration.mongo.core.lane.MongoLaneInvocationHandler;
+import io.micronaut.configuration.mongo.core.lane.MongoLaneRegistry;
+import io.micronaut.configuration.mongo.core.lane.MongoLanes;
+import io.micronaut.configuration.mongo.reactive.netty.MongoNettyTransport;
+import io.micronaut.context.BeanProvider;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.util.StringUtils;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Creates the {@link BridgedMongoClients} of each server once and closes them on shutdown.
+ *
+ * @since 5.6.0
+ */
+@Internal
+@Singleton
+@Requires(classes = com.mongodb.client.MongoClient.class)
+@Requires(property = MongoSettings.BRIDGED, value = StringUtils.TRUE)
+public final class BridgedMongoClientRegistry implements AutoCloseable {
+
+    private static final BsonDocument PING = new BsonDocument("ping", new BsonInt32(1));
+    private static final Predicate<Class<?>> SYNC_RESOURCES =
+        resources(com.mongodb.client.MongoDatabase.class, com.mongodb.client.MongoCollection.class);
+    private static final Predicate<Class<?>> REACTIVE_RESOURCES =
+        resources(com.mongodb.reactivestreams.client.MongoDatabase.class, com.mongodb.reactivestreams.client.MongoCollection.class);
+
+    private final BeanProvider<MongoNettyTransport> nettyTransport;
+    private final BeanProvider<RestorableClientRegistry> restorableClients;
+    private final BeanProvider<MongoLaneRegistry> lanes;
+    private final Map<String, Bridge> bridges = new ConcurrentHashMap<>();
+
+    /**
+     * @param nettyTransport    The transport used if an event loop group is configured
+     * @param restorableClients The registry of the clients recreated after a CRaC restore, present if enabled
+     * @param lanes             The lanes of the servers, present if configured
+     */
+    public BridgedMongoClientRegistry(BeanProvider<MongoNettyTransport> nettyTransport,
+                                      BeanProvider<RestorableClientRegistry> restorableClients,
+                                      BeanProvider<MongoLaneRegistry> lanes) {
+        this.nettyTransport = nettyTransport;
+        this.restorableClients = restorableClients;
+        this.lanes = lanes;
+    }
+
+    /**
+     * @param configuration The configuration of the server
+     * @return The synchronous client of the server
+     */
+    com.mongodb.client.MongoClient getSyncClient(AbstractMongoConfiguration configuration) {
+        return bridge(configuration).syncClient;
+    }
+
+    /**
+     * @param configuration The configuration of the server
+     * @return The Reactive Streams client of the server
+     */
+    MongoClient getReactiveClient(AbstractMongoConfiguration configuration) {
+        return bridge(configuration).reactiveClient;
+    }
+
+    @Override
+    @PreDestroy
+    public void close() {
+        for (Bridge bridge : bridges.values()) {
+            bridge.closer.run();
+        }
+        bridges.clear();
+    }
+
+    private Bridge bridge(AbstractMongoConfiguration configuration) {
+        return bridges.computeIfAbsent(configuration.getServerName(), serverName -> {
+            MongoClientSettings settings = DefaultReactiveMongoClientFactory.buildSettings(configuration, nettyTransport);
+            if (!lanes.isPresent() || lanes.get().getLanes(serverName).isEmpty()) {
+                return create(serverName, settings);
+            }
+            MongoLanes<Bridge> laneBridges = lanes.get().create(serverName, settings, laneSettings -> create(serverName, laneSettings));
+            Runnable closer = () -> laneBridges.getClients().forEach(bridge -> bridge.closer.run());
+            return new Bridge(
+                MongoLaneInvocationHandler.proxy(laneBridges, bridge -> bridge.syncClient, com.mongodb.client.MongoClient.class, SYNC_RESOURCES, closer),
+                MongoLaneInvocationHandler.proxy(laneBridges, bridge -> bridge.reactiveClient, MongoClient.class, REACTIVE_RESOURCES, closer),
+                closer
+            );
+        });
+    }
+
+    private Bridge create(String serverName, MongoClientSettings settings) {
+        if (!restorableClients.isPresent()) {
+            BridgedMongoClients clients = BridgedMongoClients.create(settings);
+            return new Bridge(clients.getSyncClient(), clients.getReactiveClient(), clients::close);
+        }
+        RestorableClient<BridgedMongoClients> client = restorableClients.get().register(serverName, settings, BridgedMongoClients::create,
+            created -> created.getSyncClient().getDatabase("admin").runCommand(PING));
+        return new Bridge(
+            RestorableInvocationHandler.proxy(client, BridgedMongoClients::getSyncClient, com.mongodb.client.MongoClient.class, SYNC_RESOURCES),
+            RestorableInvocationHandler.proxy(client, BridgedMongoClients::getReactiveClient, MongoClient.class, REACTIVE_RESOURCES),
+            client::close
+        );
+    }
+
+    private static Predicate<Class<?>> resources(Class<?> database, Class<?> collection) {
+        return type -> database.isAssignableFrom(type) || collection.isAssignableFrom(type);
+    }
+
+    /**
+     * The clients handed out for a server.
+     */
+    private static final class Bridge {
+
+        private final com.mongodb.client.MongoClient syncClient;
+        private final MongoClient reactiveClient;
+        private final Runnable closer;
+
+        Bridge(com.mongodb.client.MongoClient syncClient, MongoClient reactiveClient, Runnable closer) {
+            this.syncClient = syncClient;
+            this.reactiveClient = reactiveClient;
+            this.closer = closer;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoDriverInformation;
+import com.mongodb.connection.AsynchronousSocketChannelStreamFactoryFactory;
+import com.mongodb.connection.StreamFactoryFactory;
+import com.mongodb.connection.TlsChannelStreamFactoryFactory;
+import com.mongodb.internal.connection.Cluster;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.internal.MongoClientImpl;
+import io.micronaut.core.annotation.Internal;
+
+import java.io.Closeable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * A synchronous and a Reactive Streams client sharing one cluster, that is one connection pool per server and one
+ * set of server monitors.
+ *
+ * <p>The driver has no public API to create two clients on one cluster, so this relies on the internal client
+ * implementations of the 4.x driver. The cluster is created and owned by the synchronous client with an asynchronous
+ * transport, which serves the blocking operations of the synchronous client as well. The Reactive Streams client is
+ * created on a view of that cluster, so closing it ends its server sessions but leaves the cluster open.</p>
+ *
+ * @since 5.6.0
+ */
+@Internal
+final class BridgedMongoClients implements Closeable {
+
+    private static final MongoDriverInformation DRIVER_INFORMATION = MongoDriverInformation.builder()
+        .driverName("reactive-streams")
+        .build();
+
+    private final com.mongodb.client.MongoClient syncClient;
+    private final MongoClient reactiveClient;
+    private final TlsChannelStreamFactoryFactory tlsChannels;
+
+    private BridgedMongoClients(com.mongodb.client.MongoClient syncClient, MongoClient reactiveClient, TlsChannelStreamFactoryFactory tlsChannels) {
+        this.syncClient = syncClient;
+        this.reactiveClient = reactiveClient;
+        this.tlsChannels = tlsChannels;
+    }
+
+    /**
+     * @param settings The settings
+     * @return The clients sharing one cluster
+     */
+    @SuppressWarnings("deprecation")
+    static BridgedMongoClients create(MongoClientSettings settings) {
+        TlsChannelStreamFactoryFactory tlsChannels = null;
+        MongoClientSettings bridged = settings;
+        if (settings.getTransportSettings() == null && settings.getStreamFactoryFactory() == null) {
+            // the socket transport of the synchronous driver only supports blocking operations, the asynchronous
+            // transports of the reactive driver can only be selected with the stream factory
+            StreamFactoryFactory streamFactoryFactory;
+            if (settings.getSslSettings().isEnabled()) {
+                tlsChannels = new TlsChannelStreamFactoryFactory();
+                streamFactoryFactory = tlsChannels;
+            } else {
+                streamFactoryFactory = AsynchronousSocketChannelStreamFactoryFactory.builder().build();
+            }
+            bridged = MongoClientSettings.builder(settings).streamFactoryFactory(streamFactoryFactory).build();
+        }
+        com.mongodb.client.MongoClient syncClient = com.mongodb.client.MongoClients.create(bridged, DRIVER_INFORMATION);
+        Cluster cluster = ((com.mongodb.client.internal.MongoClientImpl) syncClient).getCluster();
+        MongoClient reactiveClient = new MongoClientImpl(bridged, DRIVER_INFORMATION, SharedCluster.view(cluster), (Closeable) null);
+        return new BridgedMongoClients(syncClient, reactiveClient, tlsChannels);
+    }
+
+    /**
+     * @return The synchronous client
+     */
+    com.mongodb.client.MongoClient getSyncClient() {
+        return syncClient;
+    }
+
+    /**
+     * @return The Reactive Streams client
+     */
+    MongoClient getReactiveClient() {
+        return reactiveClient;
+    }
+
+    @Override
+    public void close() {
+        // the Reactive Streams client ends its server sessions while the synchronous client still owns an open cluster
+        try {
+            reactiveClient.close();
+        } finally {
+            try {
+                syncClient.close();
+            } finally {
+                if (tlsChannels != null) {
+                    tlsChannels.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * The cluster of the synchronous client as seen by the Reactive Streams client, which cannot close it.
+     */
+    private static final class SharedCluster implements InvocationHandler {
+
+        private final Cluster cluster;
+        private volatile boolean closed;
+
+        private SharedCluster(Cluster cluster) {
+            this.cluster = cluster;
+        }
+
+        static Cluster view(Cluster cluster) {
+            return (Cluster) Proxy.newProxyInstance(Cluster.class.getClassLoader(), new Class<?>[] {Cluster.class}, new SharedCluster(cluster));
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method invoked, Object[] arguments) throws Throwable {
+            if (invoked.getDeclaringClass() == Object.class) {
+                return switch (invoked.getName()) {
+                    case "equals" -> proxy == arguments[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> invoked.invoke(cluster, arguments);
+                };
+            }
+            if (invoked.getParameterCount() == 0) {
+                if ("close".equals(invoked.getName())) {
+                    closed = true;
+                    return null;
+                }
+                if ("isClosed".equals(invoked.getName())) {
+                    return closed || cluster.isClosed();
+                }
+            }
+            try {
+                return invoked.invoke(cluster, arguments);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -15,14 +15,20 @@
  */
 package io.micronaut.configuration.mongo.reactive;
 
+import com.mongodb.MongoClientSettings;
 import com.mongodb.reactivestreams.client.MongoClient;
-import com.mongodb.reactivestreams.client.MongoClients;
+import io.micronaut.configuration.mongo.core.AbstractMongoConfiguration;
 import io.micronaut.configuration.mongo.core.DefaultMongoConfiguration;
 import io.micronaut.configuration.mongo.core.MongoSettings;
+import io.micronaut.configuration.mongo.core.crac.RestorableClientRegistry;
+import io.micronaut.configuration.mongo.core.lane.MongoLaneRegistry;
+import io.micronaut.configuration.mongo.reactive.netty.MongoNettyTransport;
+import io.micronaut.context.BeanProvider;
 import io.micronaut.context.annotation.Bean;
 import io.micronaut.context.annotation.Factory;
 import io.micronaut.context.annotation.Primary;
 import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.exceptions.ConfigurationException;
 import io.micronaut.runtime.context.scope.Refreshable;
 
 /**
@@ -39,12 +45,37 @@ public class DefaultReactiveMongoClientFactory {
     /**
      * Factory Method for creating a client.
      * @param mongoConfiguration mongoConfiguration
+     * @param nettyTransport The transport used if an event loop group is configured
+     * @param restorableClients The registry of the clients recreated after a CRaC restore, present if enabled
+     * @param lanes The lanes of the servers, present if configured
      * @return mongoClient
      */
     @Bean(preDestroy = "close")
     @Refreshable(MongoSettings.PREFIX)
     @Primary
-    MongoClient mongoClient(DefaultMongoConfiguration mongoConfiguration) {
-        return MongoClients.create(mongoConfiguration.buildSettings());
+    MongoClient mongoClient(DefaultMongoConfiguration mongoConfiguration,
+                            BeanProvider<MongoNettyTransport> nettyTransport,
+                            BeanProvider<RestorableClientRegistry> restorableClients,
+                            BeanProvider<MongoLaneRegistry> lanes) {
+        return MongoClientCreator.create(mongoConfiguration.getServerName(), buildSettings(mongoConfiguration, nettyTransport), restorableClients, lanes);
+    }
+
+    /**
+     * Builds the settings, applying the Netty transport if an event loop group is configured.
+     *
+     * @param configuration  The configuration
+     * @param nettyTransport The Netty transport
+     * @return The settings
+     */
+    static MongoClientSettings buildSettings(AbstractMongoConfiguration configuration, BeanProvider<MongoNettyTransport> nettyTransport) {
+        MongoClientSettings settings = configuration.buildSettings();
+        if (configuration.getEventLoopGroup() == null) {
+            return settings;
+        }
+        if (!nettyTransport.isPresent()) {
+            throw new ConfigurationException("MongoDB server [" + configuration.getServerName() + "] is configured with event loop group ["
+                + configuration.getEventLoopGroup() + "] but micronaut-http-netty is not on the classpath");
+        }
+        return nettyTransport.get().apply(configuration, settings);
     }
 }
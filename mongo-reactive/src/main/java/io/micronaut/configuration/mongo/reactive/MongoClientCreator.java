@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import io.micronaut.configuration.mongo.core.crac.RestorableClient;
+import io.micronaut.configuration.mongo.core.crac.RestorableClientRegistry;
+import io.micronaut.configuration.mongo.core.crac.RestorableInvocationHandler;
+import io.micronaut.configuration.mongo.core.lane.MongoLaneInvocationHandler;
+import io.micronaut.configuration.mongo.core.lane.MongoLaneRegistry;
+import io.micronaut.configuration.mongo.core.lane.MongoLanes;
+import io.micronaut.context.BeanProvider;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Creates the clients of the factories, with one client per configured lane and registered for CRaC checkpoint and
+ * restore if enabled.
+ *
+ * @since 5.6.0
+ */
+final class MongoClientCreator {
+
+    private static final BsonDocument PING = new BsonDocument("ping", new BsonInt32(1));
+
+    private MongoClientCreator() {
+    }
+
+    /**
+     * @param serverName        The name of the server the client belongs to
+     * @param settings          The settings
+     * @param restorableClients The registry of the clients recreated after a restore
+     * @param lanes             The lanes of the servers
+     * @return The client
+     */
+    static MongoClient create(String serverName,
+                              MongoClientSettings settings,
+                              BeanProvider<RestorableClientRegistry> restorableClients,
+                              BeanProvider<MongoLaneRegistry> lanes) {
+        if (!lanes.isPresent() || lanes.get().getLanes(serverName).isEmpty()) {
+            return create(serverName, settings, restorableClients);
+        }
+        MongoLanes<MongoClient> clients = lanes.get().create(serverName, settings, laneSettings -> create(serverName, laneSettings, restorableClients));
+        return MongoLaneInvocationHandler.proxy(clients, Function.identity(), MongoClient.class, MongoClientCreator::isResource,
+            () -> clients.getClients().forEach(MongoClient::close));
+    }
+
+    private static MongoClient create(String serverName, MongoClientSettings settings, BeanProvider<RestorableClientRegistry> registry) {
+        if (!registry.isPresent()) {
+            return MongoClients.create(settings);
+        }
+        RestorableClient<MongoClient> client = registry.get().register(serverName, settings, MongoClients::create,
+            created -> Mono.from(created.getDatabase("admin").runCommand(PING)).block());
+        return RestorableInvocationHandler.proxy(client, MongoClient.class, MongoClientCreator::isResource);
+    }
+
+    private static boolean isResource(Class<?> type) {
+        return MongoDatabase.class.isAssignableFrom(type) || MongoCollection.class.isAssignableFrom(type);
+    }
+}
@@ -16,9 +16,12 @@
 package io.micronaut.configuration.mongo.reactive;
 
 import com.mongodb.reactivestreams.client.MongoClient;
-import com.mongodb.reactivestreams.client.MongoClients;
 import io.micronaut.configuration.mongo.core.MongoSettings;
 import io.micronaut.configuration.mongo.core.NamedMongoConfiguration;
+import io.micronaut.configuration.mongo.core.crac.RestorableClientRegistry;
+import io.micronaut.configuration.mongo.core.lane.MongoLaneRegistry;
+import io.micronaut.configuration.mongo.reactive.netty.MongoNettyTransport;
+import io.micronaut.context.BeanProvider;
 import io.micronaut.context.annotation.Bean;
 import io.micronaut.context.annotation.EachBean;
 import io.micronaut.context.annotation.Factory;
@@ -36,12 +39,19 @@ public class NamedReactiveMongoClientFactory {
     /**
      * Factory name to create a client.
      * @param configuration configuration pulled in
+     * @param nettyTransport The transport used if an event loop group is configured
+     * @param restorableClients The registry of the clients recreated after a CRaC restore, present if enabled
+     * @param lanes The lanes of the servers, present if configured
      * @return mongoClient
      */
     @Bean(preDestroy = "close")
     @EachBean(NamedMongoConfiguration.class)
     @Refreshable(MongoSettings.PREFIX)
-    MongoClient mongoClient(NamedMongoConfiguration configuration) {
-        return MongoClients.create(configuration.buildSettings());
+    MongoClient mongoClient(NamedMongoConfiguration configuration,
+                            BeanProvider<MongoNettyTransport> nettyTransport,
+                            BeanProvider<RestorableClientRegistry> restorableClients,
+                            BeanProvider<MongoLaneRegistry> lanes) {
+        return MongoClientCreator.create(configuration.getServerName(),
+            DefaultReactiveMongoClientFactory.buildSettings(configuration, nettyTransport), restorableClients, lanes);
     }
 }
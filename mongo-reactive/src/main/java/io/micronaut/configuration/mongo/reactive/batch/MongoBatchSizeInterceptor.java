@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.batch;
+
+import io.micronaut.configuration.mongo.core.batch.AbstractBatchSizeInterceptor;
+import io.micronaut.configuration.mongo.core.batch.MongoBatchSizeAdvisor;
+import io.micronaut.configuration.mongo.core.batch.MongoBatchSizeConfiguration;
+import io.micronaut.configuration.mongo.reactive.intercept.ReactiveMongoOperationInterceptor;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.StringUtils;
+import jakarta.inject.Singleton;
+
+/**
+ * Applies the batch size picked by the {@link MongoBatchSizeAdvisor} to the cursors of the Reactive Streams driver.
+ *
+ * @since 5.6.0
+ */
+@Singleton
+@Requires(property = MongoBatchSizeConfiguration.PREFIX + ".enabled", value = StringUtils.TRUE)
+public class MongoBatchSizeInterceptor extends AbstractBatchSizeInterceptor implements ReactiveMongoOperationInterceptor {
+
+    /**
+     * @param advisor The advisor
+     */
+    public MongoBatchSizeInterceptor(MongoBatchSizeAdvisor advisor) {
+        super(advisor);
+    }
+}
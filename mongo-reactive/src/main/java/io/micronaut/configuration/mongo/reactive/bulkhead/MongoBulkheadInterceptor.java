@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.bulkhead;
+
+import io.micronaut.configuration.mongo.core.bulkhead.MongoBulkhead;
+import io.micronaut.configuration.mongo.core.bulkhead.MongoBulkheadCondition;
+import io.micronaut.configuration.mongo.core.bulkhead.MongoBulkheadRegistry;
+import io.micronaut.configuration.mongo.core.bulkhead.MongoRateLimiter;
+import io.micronaut.configuration.mongo.core.intercept.MongoOperation;
+import io.micronaut.configuration.mongo.reactive.intercept.ReactiveMongoOperationInterceptor;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Applies the bulkheads and rate limits to the operations of the Reactive Streams driver. Delayed operations wait
+ * without blocking a thread and subscribe to the driver once they hold a permit.
+ *
+ * @since 5.6.0
+ */
+@Singleton
+@Requires(condition = MongoBulkheadCondition.class)
+public class MongoBulkheadInterceptor implements ReactiveMongoOperationInterceptor {
+
+    private final MongoBulkheadRegistry registry;
+
+    /**
+     * @param registry The bulkhead registry
+     */
+    public MongoBulkheadInterceptor(MongoBulkheadRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public int getOrder() {
+        return MongoBulkheadRegistry.INTERCEPTOR_ORDER;
+    }
+
+    @Override
+    public <T> Publisher<T> intercept(MongoOperation operation, Publisher<T> publisher) {
+        MongoBulkhead bulkhead = registry.getBulkhead(operation.getServerName());
+        return Flux.defer(() -> {
+            long wait = 0;
+            for (MongoRateLimiter limiter : registry.getRateLimiters()) {
+                if (limiter.matches(operation)) {
+                    long reserved = limiter.reserve();
+                    if (reserved < 0) {
+                        return Flux.error(limiter.rejected());
+                    }
+                    wait = Math.max(wait, reserved);
+                }
+            }
+            Flux<T> execution = bulkhead == null ? Flux.from(publisher) : withPermit(bulkhead, publisher);
+            return wait > 0 ? Mono.delay(Duration.ofNanos(wait)).thenMany(execution) : execution;
+        });
+    }
+
+    private static <T> Flux<T> withPermit(MongoBulkhead bulkhead, Publisher<T> publisher) {
+        return Flux.defer(() -> {
+            CompletableFuture<Void> permit = bulkhead.acquire();
+            Flux<T> execution = Flux.from(publisher).doFinally(signal -> bulkhead.release());
+            if (permit.isDone() && !permit.isCompletedExceptionally()) {
+                return execution;
+            }
+            return Mono.fromFuture(permit, true)
+                .doOnCancel(() -> bulkhead.abandon(permit))
+                .timeout(bulkhead.getSettings().getMaxWaitTime(), Mono.error(bulkhead::timeout))
+                .thenMany(execution);
+        });
+    }
+}
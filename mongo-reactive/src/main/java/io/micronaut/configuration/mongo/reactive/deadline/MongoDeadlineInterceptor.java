@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.deadline;
+
+import io.micronaut.configuration.mongo.core.deadline.AbstractDeadlineInterceptor;
+import io.micronaut.configuration.mongo.core.deadline.MongoDeadline;
+import io.micronaut.configuration.mongo.core.deadline.MongoDeadlineConfiguration;
+import io.micronaut.configuration.mongo.core.intercept.MongoOperation;
+import io.micronaut.configuration.mongo.reactive.intercept.ReactiveMongoOperationInterceptor;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.StringUtils;
+import jakarta.inject.Singleton;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Applies the {@link MongoDeadline} of the current context to the operations of the Reactive Streams driver.
+ * Operations still running at the deadline are cancelled with an error, which releases their connections and kills
+ * their cursors.
+ *
+ * @since 5.6.0
+ */
+@Singleton
+@Requires(property = MongoDeadlineConfiguration.PREFIX + ".enabled", value = StringUtils.TRUE)
+public class MongoDeadlineInterceptor extends AbstractDeadlineInterceptor implements ReactiveMongoOperationInterceptor {
+
+    @Override
+    public <T> Publisher<T> intercept(MongoOperation operation, Publisher<T> publisher) {
+        // like the maxTime, the deadline is the one of the context the publisher is subscribed in
+        return Flux.defer(() -> {
+            MongoDeadline deadline = deadline(operation);
+            if (deadline == null) {
+                return publisher;
+            }
+            if (deadline.isExpired()) {
+                return Flux.error(deadline.exceeded());
+            }
+            return Flux.from(publisher)
+                .takeUntilOther(Mono.delay(deadline.remaining()).then(Mono.error(deadline::exceeded)));
+        });
+    }
+}
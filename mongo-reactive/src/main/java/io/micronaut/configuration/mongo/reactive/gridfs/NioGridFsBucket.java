@@ -0,0 +1,308 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.gridfs;
+
+import com.mongodb.MongoGridFSException;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import io.micronaut.configuration.mongo.core.gridfs.GridFsChunkReader;
+import io.micronaut.configuration.mongo.core.gridfs.GridFsChunkWriter;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.io.buffer.ByteBufferFactory;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonObjectId;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.types.ObjectId;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A GridFS bucket that uploads from and downloads to NIO channels and buffers, compatible with the files of the
+ * {@link com.mongodb.reactivestreams.client.gridfs.GridFSBucket} of the driver. The data of a chunk is copied once on
+ * upload, into the encoded chunk document, and not at all on download, where it is handed out as a view of the chunk
+ * document received from the server. Chunks are inserted one at a time and fetched as they are requested, so a slow
+ * source or subscriber holds back the transfer instead of buffering the file.
+ *
+ * <pre>{@code
+ * @Get(value = "/media/{id}", produces = MediaType.APPLICATION_OCTET_STREAM)
+ * Publisher<ByteBuffer<?>> media(ObjectId id) {
+ *     return bucket.download(new BsonObjectId(id), byteBufferFactory);
+ * }
+ * }</pre>
+ *
+ * @since 5.6.0
+ */
+public final class NioGridFsBucket {
+
+    /**
+     * The name of the default bucket.
+     */
+    public static final String DEFAULT_BUCKET_NAME = "fs";
+
+    private final String bucketName;
+    private final int chunkSizeBytes;
+    private final MongoCollection<BsonDocument> filesCollection;
+    private final MongoCollection<RawBsonDocument> chunksCollection;
+    private volatile boolean checkedIndexes;
+
+    private NioGridFsBucket(MongoCollection<BsonDocument> filesCollection, MongoCollection<RawBsonDocument> chunksCollection,
+                            String bucketName, int chunkSizeBytes) {
+        this.bucketName = bucketName;
+        this.chunkSizeBytes = chunkSizeBytes;
+        this.filesCollection = filesCollection;
+        this.chunksCollection = chunksCollection;
+    }
+
+    /**
+     * @param database The database
+     * @return The bucket named <code>fs</code>
+     */
+    public static NioGridFsBucket of(MongoDatabase database) {
+        return of(database, DEFAULT_BUCKET_NAME);
+    }
+
+    /**
+     * @param database   The database
+     * @param bucketName The bucket name
+     * @return The bucket
+     */
+    public static NioGridFsBucket of(MongoDatabase database, String bucketName) {
+        return new NioGridFsBucket(
+            database.getCollection(bucketName + ".files", BsonDocument.class),
+            database.getCollection(bucketName + ".chunks", RawBsonDocument.class),
+            bucketName,
+            GridFsChunkWriter.DEFAULT_CHUNK_SIZE
+        );
+    }
+
+    /**
+     * @param chunkSizeBytes The chunk size of uploaded files
+     * @return A bucket with the chunk size
+     */
+    public NioGridFsBucket withChunkSizeBytes(int chunkSizeBytes) {
+        return new NioGridFsBucket(filesCollection, chunksCollection, bucketName, chunkSizeBytes);
+    }
+
+    /**
+     * @return The bucket name
+     */
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    /**
+     * @return The chunk size of uploaded files (defaults to 255 KiB)
+     */
+    public int getChunkSizeBytes() {
+        return chunkSizeBytes;
+    }
+
+    /**
+     * @param filename The file name
+     * @param source   The buffers with the content, each buffer is consumed before the next one is requested
+     * @return The id of the uploaded file
+     */
+    public Mono<ObjectId> upload(String filename, Publisher<ByteBuffer> source) {
+        return upload(filename, source, new GridFSUploadOptions());
+    }
+
+    /**
+     * @param filename The file name
+     * @param source   The buffers with the content, each buffer is consumed before the next one is requested
+     * @param options  The upload options
+     * @return The id of the uploaded file
+     */
+    public Mono<ObjectId> upload(String filename, Publisher<ByteBuffer> source, GridFSUploadOptions options) {
+        return Mono.defer(() -> {
+            ObjectId id = new ObjectId();
+            return upload(new BsonObjectId(id), filename, source, options).thenReturn(id);
+        });
+    }
+
+    /**
+     * @param id       The id of the file
+     * @param filename The file name
+     * @param source   The buffers with the content, each buffer is consumed before the next one is requested
+     * @param options  The upload options
+     * @return A publisher completing once the file is uploaded
+     */
+    public Mono<Void> upload(BsonValue id, String filename, Publisher<ByteBuffer> source, GridFSUploadOptions options) {
+        return upload(id, filename, options, writer -> Flux.from(source)
+            .concatMapIterable(buffer -> {
+                List<RawBsonDocument> chunks = new ArrayList<>(1);
+                writer.write(buffer, chunks::add);
+                return chunks;
+            }, 1)
+            .concatWith(Mono.fromSupplier(writer::flush)));
+    }
+
+    /**
+     * Uploads the content of a blocking channel, which is read on the bounded elastic scheduler.
+     *
+     * @param filename The file name
+     * @param source   The blocking channel to read the content from until its end
+     * @return The id of the uploaded file
+     */
+    public Mono<ObjectId> upload(String filename, ReadableByteChannel source) {
+        return upload(filename, source, new GridFSUploadOptions());
+    }
+
+    /**
+     * Uploads the content of a blocking channel, which is read on the bounded elastic scheduler.
+     *
+     * @param filename The file name
+     * @param source   The blocking channel to read the content from until its end
+     * @param options  The upload options
+     * @return The id of the uploaded file
+     */
+    public Mono<ObjectId> upload(String filename, ReadableByteChannel source, GridFSUploadOptions options) {
+        return Mono.defer(() -> {
+            ObjectId id = new ObjectId();
+            return upload(new BsonObjectId(id), filename, options, writer -> Flux.<RawBsonDocument>generate(sink -> {
+                try {
+                    RawBsonDocument chunk = writer.read(source);
+                    if (chunk == null) {
+                        sink.complete();
+                    } else {
+                        sink.next(chunk);
+                    }
+                } catch (IOException e) {
+                    sink.error(new MongoGridFSException("IOException when reading from the channel", e));
+                }
+            }).subscribeOn(Schedulers.boundedElastic())).thenReturn(id);
+        });
+    }
+
+    /**
+     * @param id The id of the file
+     * @return The data of the chunks of the file, heap buffers sharing the bytes of the chunk documents
+     */
+    public Flux<ByteBuffer> download(ObjectId id) {
+        return download(new BsonObjectId(id));
+    }
+
+    /**
+     * @param id The id of the file
+     * @return The data of the chunks of the file, heap buffers sharing the bytes of the chunk documents, failing with a
+     * {@link MongoGridFSException} if the file does not exist or its chunks are missing or corrupt
+     */
+    public Flux<ByteBuffer> download(BsonValue id) {
+        return Mono.from(filesCollection.find(GridFsChunkReader.fileFilter(id)).first())
+            .switchIfEmpty(Mono.error(() -> new MongoGridFSException("No file found with the id: " + id)))
+            .flatMapMany(file -> {
+                GridFsChunkReader reader = GridFsChunkReader.of(file);
+                return Flux.from(chunksCollection.find(reader.filter())
+                        .projection(reader.projection())
+                        .sort(reader.sort())
+                        .batchSize(reader.getBatchSize()))
+                    .map(reader::next)
+                    .concatWith(Mono.fromRunnable(reader::complete));
+            });
+    }
+
+    /**
+     * Downloads a file as Micronaut buffers, which a controller can return as a streamed response body. The buffers
+     * wrap the chunk documents without copying and the chunks are fetched as the response is written.
+     *
+     * @param id      The id of the file
+     * @param factory The buffer factory of the server
+     * @return The data of the chunks of the file
+     */
+    public Flux<io.micronaut.core.io.buffer.ByteBuffer<?>> download(BsonValue id, ByteBufferFactory<?, ?> factory) {
+        return download(id).map(data -> factory.wrap(data.array()).slice(data.arrayOffset() + data.position(), data.remaining()));
+    }
+
+    /**
+     * Downloads a file to a blocking channel, which is written on the bounded elastic scheduler.
+     *
+     * @param id     The id of the file
+     * @param target The blocking channel to write the content to
+     * @return The number of bytes written
+     */
+    public Mono<Long> download(BsonValue id, WritableByteChannel target) {
+        return download(id)
+            .publishOn(Schedulers.boundedElastic(), 1)
+            .reduce(0L, (written, data) -> written + write(target, data));
+    }
+
+    private Mono<Void> upload(BsonValue id, String filename, GridFSUploadOptions options,
+                              Function<GridFsChunkWriter, Flux<RawBsonDocument>> chunks) {
+        int chunkSize = options.getChunkSizeBytes() == null ? chunkSizeBytes : options.getChunkSizeBytes();
+        return checkIndexes().then(Mono.defer(() -> {
+            GridFsChunkWriter writer = GridFsChunkWriter.of(id, chunkSize);
+            return chunks.apply(writer)
+                .concatMap(chunksCollection::insertOne, 1)
+                .then(Mono.defer(() -> Mono.from(filesCollection.insertOne(writer.toFilesDocument(filename, metadata(options))))));
+        })).onErrorResume(e -> Mono.from(chunksCollection.deleteMany(new BsonDocument("files_id", id)))
+            .onErrorResume(deleteError -> {
+                e.addSuppressed(deleteError);
+                return Mono.empty();
+            })
+            .then(Mono.error(e))
+        ).then();
+    }
+
+    @Nullable
+    private BsonDocument metadata(GridFSUploadOptions options) {
+        return options.getMetadata() == null ? null
+            : options.getMetadata().toBsonDocument(BsonDocument.class, filesCollection.getCodecRegistry());
+    }
+
+    private Mono<Void> checkIndexes() {
+        return Mono.defer(() -> {
+            if (checkedIndexes) {
+                return Mono.empty();
+            }
+            return Mono.from(filesCollection.withReadPreference(ReadPreference.primary())
+                    .find()
+                    .projection(new BsonDocument("_id", new BsonInt32(1)))
+                    .first())
+                .hasElement()
+                .flatMap(exists -> exists ? Mono.<Void>empty() : Mono.from(filesCollection.createIndex(Indexes.ascending("filename", "uploadDate")))
+                    .then(Mono.from(chunksCollection.createIndex(Indexes.ascending("files_id", "n"), new IndexOptions().unique(true))))
+                    .then())
+                .doOnSuccess(ignore -> checkedIndexes = true);
+        });
+    }
+
+    private static long write(WritableByteChannel target, ByteBuffer data) {
+        int count = data.remaining();
+        try {
+            while (data.hasRemaining()) {
+                target.write(data);
+            }
+        } catch (IOException e) {
+            throw new MongoGridFSException("IOException when writing to the channel", e);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.hedge;
+
+import com.mongodb.ServerAddress;
+import io.micronaut.core.annotation.Nullable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * The state of a single execution of {@link HedgedReads}: the member the first attempt was sent to and the outcome of
+ * both attempts. An attempt that fails while the other one may still answer does not end the read.
+ *
+ * @since 5.6.0
+ */
+final class HedgedRead {
+
+    static final int FIRST = 1;
+    static final int SECOND = 2;
+
+    private static final int PENDING = 0;
+    private static final int RUNNING = 1;
+    private static final int FAILED = 2;
+    private static final int SKIPPED = 3;
+
+    private final Sinks.Empty<Void> firstFailed = Sinks.empty();
+    private ServerAddress firstAddress;
+    private boolean alternative;
+    private int first = RUNNING;
+    private int second = PENDING;
+
+    /**
+     * @param address     The member selected for the first attempt
+     * @param alternative Whether another member was eligible for the read
+     */
+    synchronized void selected(ServerAddress address, boolean alternative) {
+        this.firstAddress = address;
+        this.alternative = alternative;
+    }
+
+    /**
+     * @return The member selected for the first attempt, or null if it was not selected yet
+     */
+    @Nullable
+    synchronized ServerAddress getFirstAddress() {
+        return firstAddress;
+    }
+
+    /**
+     * @return A publisher completing once the first attempt failed and the second attempt should start right away
+     */
+    Mono<Void> firstFailed() {
+        return firstFailed.asMono();
+    }
+
+    /**
+     * @return Whether the second attempt is started, false if no other member is eligible for the read
+     */
+    synchronized boolean startSecond() {
+        if (second != PENDING) {
+            return false;
+        }
+        second = alternative ? RUNNING : SKIPPED;
+        return second == RUNNING;
+    }
+
+    /**
+     * @param attempt The attempt that failed
+     * @return Whether the other attempt may still answer, so that the failure must not end the read
+     */
+    boolean failed(int attempt) {
+        boolean startSecond;
+        synchronized (this) {
+            if (attempt == SECOND) {
+                second = FAILED;
+                return first == RUNNING;
+            }
+            first = FAILED;
+            if (second == RUNNING) {
+                return true;
+            }
+            startSecond = second == PENDING && alternative;
+        }
+        if (startSecond) {
+            firstFailed.tryEmitEmpty();
+        }
+        return startSecond;
+    }
+}
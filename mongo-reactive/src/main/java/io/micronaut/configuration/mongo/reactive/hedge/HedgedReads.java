@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.hedge;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.StringUtils;
+import jakarta.inject.Singleton;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Executes reads with a second, hedged attempt. If the first attempt has not answered within a delay derived from a
+ * percentile of the recently observed latencies, a second attempt is started. The attempt that emits a result or
+ * completes first wins and the other one is cancelled, which also kills its cursor on the server. An attempt that
+ * fails does not win: the read waits for the other attempt, and a failed first attempt starts the second one right
+ * away. The read fails once no attempt may answer anymore.
+ *
+ * <p>Only reads whose read preference allows secondaries, <code>secondary</code>, <code>secondaryPreferred</code>
+ * and <code>nearest</code>, are hedged. The {@link HedgingServerSelector} registered with the clients sends the
+ * second attempt to another member eligible for the read than the first one. If there is no such member the read is
+ * not hedged.</p>
+ *
+ * <p>The latency of every started attempt is recorded, measured from the start of that attempt. An attempt that is
+ * cancelled because the other one won contributes the time it ran until then, so that slow reads are not hidden by
+ * fast hedges.</p>
+ *
+ * <p>Only pass idempotent reads, for example <code>find</code>, <code>aggregate</code> without output stages or
+ * <code>countDocuments</code>.</p>
+ *
+ * @since 5.6.0
+ */
+@Singleton
+@Requires(property = HedgingConfiguration.PREFIX + ".enabled", value = StringUtils.TRUE)
+public class HedgedReads {
+
+    private static final int UNDECIDED = 0;
+
+    private final HedgingConfiguration configuration;
+    private final LatencyWindow latencies;
+    private final HedgingStatistics statistics;
+
+    /**
+     * @param configuration The hedging configuration
+     */
+    public HedgedReads(HedgingConfiguration configuration) {
+        this.configuration = configuration;
+        this.latencies = new LatencyWindow(configuration);
+        this.statistics = new HedgingStatistics(latencies);
+    }
+
+    /**
+     * @return The window of the recorded latencies
+     */
+    LatencyWindow getLatencies() {
+        return latencies;
+    }
+
+    /**
+     * @return The hedging statistics
+     */
+    public HedgingStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Executes a read against the given collection, hedging it if the first attempt is slow.
+     *
+     * @param collection The collection
+     * @param operation  The read, invoked once per attempt
+     * @param <D>        The document type of the collection
+     * @param <T>        The result type
+     * @return The results of the attempt that answered first
+     */
+    public <D, T> Publisher<T> execute(MongoCollection<D> collection, Function<MongoCollection<D>, Publisher<T>> operation) {
+        if (!isHedged(collection.getReadPreference())) {
+            return operation.apply(collection);
+        }
+        ReadPreference readPreference = configuration.getReadPreference();
+        MongoCollection<D> hedgeCollection = readPreference != null ? collection.withReadPreference(readPreference) : collection;
+        return Flux.defer(() -> {
+            statistics.operation();
+            HedgedRead read = new HedgedRead();
+            AtomicInteger winner = new AtomicInteger(UNDECIDED);
+            Flux<T> first = attempt(operation, collection, read, winner, HedgedRead.FIRST);
+            Flux<T> second = Mono.firstWithSignal(Mono.delay(Duration.ofNanos(latencies.getDelayNanos())).then(), read.firstFailed())
+                .thenMany(Flux.defer(() -> {
+                    if (!read.startSecond()) {
+                        return Flux.never();
+                    }
+                    statistics.hedged();
+                    return attempt(operation, hedgeCollection, read, winner, HedgedRead.SECOND);
+                }));
+            return Flux.firstWithSignal(first, second);
+        });
+    }
+
+    private static boolean isHedged(ReadPreference readPreference) {
+        return readPreference.isSecondaryOk() && !ReadPreference.primaryPreferred().getName().equals(readPreference.getName());
+    }
+
+    private <D, T> Flux<T> attempt(Function<MongoCollection<D>, Publisher<T>> operation,
+                                   MongoCollection<D> collection,
+                                   HedgedRead read,
+                                   AtomicInteger winner,
+                                   int attempt) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            AtomicBoolean recorded = new AtomicBoolean();
+            return Flux.from(HedgingServerSelector.bind(operation.apply(collection), read, attempt))
+                .doOnEach(signal -> {
+                    if (recorded.compareAndSet(false, true)) {
+                        latencies.record(System.nanoTime() - start);
+                    }
+                    if (!signal.isOnError()) {
+                        settle(winner, attempt);
+                    }
+                })
+                .doOnCancel(() -> {
+                    if (recorded.compareAndSet(false, true)) {
+                        latencies.record(System.nanoTime() - start);
+                    }
+                })
+                .onErrorResume(error -> read.failed(attempt) ? Flux.never() : Flux.error(error));
+        });
+    }
+
+    private void settle(AtomicInteger winner, int attempt) {
+        if (winner.compareAndSet(UNDECIDED, attempt) && attempt == HedgedRead.SECOND) {
+            statistics.hedgeWon();
+        }
+    }
+}
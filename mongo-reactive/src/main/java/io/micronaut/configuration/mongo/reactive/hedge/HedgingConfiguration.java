@@ -0,0 +1,160 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.hedge;
+
+import com.mongodb.ReadPreference;
+import io.micronaut.configuration.mongo.core.MongoSettings;
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.Duration;
+
+/**
+ * Configuration of {@link HedgedReads}.
+ *
+ * @since 5.6.0
+ */
+@ConfigurationProperties(HedgingConfiguration.PREFIX)
+public class HedgingConfiguration {
+
+    /**
+     * The prefix of the hedging settings.
+     */
+    public static final String PREFIX = MongoSettings.PREFIX + ".hedging";
+
+    /**
+     * The default percentile of the observed latency after which a read is hedged.
+     */
+    public static final double DEFAULT_PERCENTILE = 0.95;
+
+    /**
+     * The default number of latency samples.
+     */
+    public static final int DEFAULT_SAMPLE_SIZE = 1024;
+
+    private boolean enabled;
+    private double percentile = DEFAULT_PERCENTILE;
+    private int sampleSize = DEFAULT_SAMPLE_SIZE;
+    private Duration initialDelay = Duration.ofMillis(20);
+    private Duration minDelay = Duration.ofMillis(2);
+    private Duration maxDelay = Duration.ofSeconds(1);
+    private ReadPreference readPreference;
+
+    /**
+     * @return Whether hedged reads are enabled (defaults to false)
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param enabled Whether hedged reads are enabled
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return The percentile of the observed latency after which a second attempt is started (defaults to {@value #DEFAULT_PERCENTILE})
+     */
+    public double getPercentile() {
+        return percentile;
+    }
+
+    /**
+     * @param percentile The percentile between 0 and 1
+     */
+    public void setPercentile(double percentile) {
+        this.percentile = Math.min(1, Math.max(0, percentile));
+    }
+
+    /**
+     * @return The number of recent latency samples the percentile is computed from (defaults to {@value #DEFAULT_SAMPLE_SIZE})
+     */
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    /**
+     * @param sampleSize The number of recent latency samples
+     */
+    public void setSampleSize(int sampleSize) {
+        this.sampleSize = Math.max(16, sampleSize);
+    }
+
+    /**
+     * @return The delay used until enough latency samples have been recorded (defaults to 20ms)
+     */
+    public Duration getInitialDelay() {
+        return initialDelay;
+    }
+
+    /**
+     * @param initialDelay The delay used until enough latency samples have been recorded
+     */
+    public void setInitialDelay(Duration initialDelay) {
+        if (initialDelay != null) {
+            this.initialDelay = initialDelay;
+        }
+    }
+
+    /**
+     * @return The lower bound of the hedging delay (defaults to 2ms)
+     */
+    public Duration getMinDelay() {
+        return minDelay;
+    }
+
+    /**
+     * @param minDelay The lower bound of the hedging delay
+     */
+    public void setMinDelay(Duration minDelay) {
+        if (minDelay != null) {
+            this.minDelay = minDelay;
+        }
+    }
+
+    /**
+     * @return The upper bound of the hedging delay (defaults to 1s)
+     */
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    /**
+     * @param maxDelay The upper bound of the hedging delay
+     */
+    public void setMaxDelay(Duration maxDelay) {
+        if (maxDelay != null) {
+            this.maxDelay = maxDelay;
+        }
+    }
+
+    /**
+     * @return The read preference of the second attempt, defaults to the read preference of the collection
+     */
+    @Nullable
+    public ReadPreference getReadPreference() {
+        return readPreference;
+    }
+
+    /**
+     * @param readPreference The read preference of the second attempt
+     */
+    public void setReadPreference(@Nullable ReadPreference readPreference) {
+        this.readPreference = readPreference;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.hedge;
+
+import com.mongodb.connection.ClusterSettings;
+import com.mongodb.selector.CompositeServerSelector;
+import com.mongodb.selector.ServerSelector;
+import io.micronaut.configuration.mongo.core.AbstractMongoConfiguration;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.micronaut.core.util.StringUtils;
+import jakarta.inject.Singleton;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registers the {@link HedgingServerSelector} with every MongoDB configuration, after the configured server selector,
+ * so that the second attempt of a {@link HedgedReads hedged read} is sent to another member than the first one.
+ *
+ * @since 5.6.0
+ */
+@Singleton
+@Requires(property = HedgingConfiguration.PREFIX + ".enabled", value = StringUtils.TRUE)
+public class HedgingConfigurationListener implements BeanCreatedEventListener<AbstractMongoConfiguration> {
+
+    @Override
+    public AbstractMongoConfiguration onCreated(BeanCreatedEvent<AbstractMongoConfiguration> event) {
+        AbstractMongoConfiguration configuration = event.getBean();
+        ClusterSettings.Builder builder = configuration.getClusterSettings();
+        ClusterSettings cluster = builder.build();
+        ServerSelector selector = new HedgingServerSelector(cluster.getLocalThreshold(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        ServerSelector configured = cluster.getServerSelector();
+        builder.serverSelector(configured == null ? selector : new CompositeServerSelector(List.of(configured, selector)));
+        return configuration;
+    }
+}
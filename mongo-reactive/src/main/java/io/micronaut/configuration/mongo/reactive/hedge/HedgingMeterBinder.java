@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.hedge;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+/**
+ * Exports the {@link HedgingStatistics} to Micrometer.
+ *
+ * @since 5.6.0
+ */
+@Singleton
+@Requires(classes = MeterBinder.class)
+@Requires(beans = HedgedReads.class)
+public class HedgingMeterBinder implements MeterBinder {
+
+    private static final String PREFIX = "mongodb.hedging";
+
+    private final HedgingStatistics statistics;
+
+    /**
+     * @param hedgedReads The hedged reads
+     */
+    public HedgingMeterBinder(HedgedReads hedgedReads) {
+        this.statistics = hedgedReads.getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(PREFIX + ".operations", statistics, HedgingStatistics::getOperations)
+            .description("The number of reads executed with hedging enabled")
+            .register(registry);
+        FunctionCounter.builder(PREFIX + ".hedged", statistics, HedgingStatistics::getHedged)
+            .description("The number of reads for which a second attempt was started")
+            .register(registry);
+        FunctionCounter.builder(PREFIX + ".wins", statistics, HedgingStatistics::getHedgeWins)
+            .description("The number of reads answered first by the second attempt")
+            .register(registry);
+        Gauge.builder(PREFIX + ".hedge.rate", statistics, HedgingStatistics::getHedgeRate)
+            .description("The ratio of reads for which a second attempt was started")
+            .register(registry);
+        Gauge.builder(PREFIX + ".win.rate", statistics, HedgingStatistics::getWinRate)
+            .description("The ratio of second attempts that answered first")
+            .register(registry);
+        Gauge.builder(PREFIX + ".delay", statistics, s -> s.getDelayNanos() / 1_000_000d)
+            .description("The current delay after which a second attempt is started")
+            .baseUnit("milliseconds")
+            .register(registry);
+    }
+}
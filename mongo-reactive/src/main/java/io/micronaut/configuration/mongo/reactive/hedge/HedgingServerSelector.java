@@ -0,0 +1,211 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.hedge;
+
+import com.mongodb.MongoClientException;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterDescription;
+import com.mongodb.connection.ServerDescription;
+import com.mongodb.selector.ServerSelector;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Operators;
+import reactor.util.context.Context;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selects the members of the attempts of a {@link HedgedRead}. It is registered as the server selector of the clients
+ * and runs after the driver selected the members eligible for the read preference. The first attempt is sent to a
+ * random member within the local threshold, which is recorded, and the second attempt to another eligible member.
+ * Operations that are not attempts of a hedged read are left to the driver.
+ *
+ * <p>The attempt is bound to the thread while it is subscribed and requested, which is when the driver selects the
+ * server unless the cluster is still being discovered.</p>
+ *
+ * @since 5.6.0
+ */
+final class HedgingServerSelector implements ServerSelector {
+
+    private static final ThreadLocal<Attempt> CURRENT = new ThreadLocal<>();
+
+    private final long localThresholdNanos;
+
+    /**
+     * @param localThreshold The local threshold of the clients
+     * @param unit           The unit of the local threshold
+     */
+    HedgingServerSelector(long localThreshold, TimeUnit unit) {
+        this.localThresholdNanos = unit.toNanos(localThreshold);
+    }
+
+    @Override
+    public List<ServerDescription> select(ClusterDescription clusterDescription) {
+        Attempt attempt = CURRENT.get();
+        List<ServerDescription> candidates = clusterDescription.getServerDescriptions();
+        if (attempt == null || candidates.isEmpty()) {
+            return candidates;
+        }
+        HedgedRead read = attempt.read;
+        if (attempt.number == HedgedRead.FIRST) {
+            List<ServerDescription> nearest = withinLocalThreshold(candidates);
+            ServerDescription selected = nearest.get(ThreadLocalRandom.current().nextInt(nearest.size()));
+            read.selected(selected.getAddress(), candidates.size() > 1);
+            return Collections.singletonList(selected);
+        }
+        ServerAddress excluded = read.getFirstAddress();
+        List<ServerDescription> others = new ArrayList<>(candidates.size());
+        for (ServerDescription candidate : candidates) {
+            if (!candidate.getAddress().equals(excluded)) {
+                others.add(candidate);
+            }
+        }
+        if (others.isEmpty()) {
+            throw new MongoClientException("No member other than " + excluded + " is eligible for the hedged read");
+        }
+        return withinLocalThreshold(others);
+    }
+
+    @Override
+    public String toString() {
+        return "HedgingServerSelector{localThresholdNanos=" + localThresholdNanos + "}";
+    }
+
+    /**
+     * @param publisher The attempt
+     * @param read      The hedged read
+     * @param number    The number of the attempt, {@link HedgedRead#FIRST} or {@link HedgedRead#SECOND}
+     * @param <T>       The result type
+     * @return A publisher binding the attempt to the thread while it is subscribed and requested
+     */
+    static <T> Publisher<T> bind(Publisher<T> publisher, HedgedRead read, int number) {
+        Attempt attempt = new Attempt(read, number);
+        return subscriber -> {
+            BoundSubscriber<T> bound = new BoundSubscriber<>(Operators.toCoreSubscriber(subscriber), attempt);
+            Attempt previous = attempt.bind();
+            try {
+                publisher.subscribe(bound);
+            } finally {
+                attempt.unbind(previous);
+            }
+        };
+    }
+
+    private List<ServerDescription> withinLocalThreshold(List<ServerDescription> candidates) {
+        long fastest = Long.MAX_VALUE;
+        for (ServerDescription candidate : candidates) {
+            fastest = Math.min(fastest, candidate.getRoundTripTimeNanos());
+        }
+        List<ServerDescription> nearest = new ArrayList<>(candidates.size());
+        for (ServerDescription candidate : candidates) {
+            if (candidate.getRoundTripTimeNanos() - fastest <= localThresholdNanos) {
+                nearest.add(candidate);
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * An attempt of a hedged read.
+     */
+    private static final class Attempt {
+
+        private final HedgedRead read;
+        private final int number;
+
+        Attempt(HedgedRead read, int number) {
+            this.read = read;
+            this.number = number;
+        }
+
+        Attempt bind() {
+            Attempt previous = CURRENT.get();
+            CURRENT.set(this);
+            return previous;
+        }
+
+        void unbind(Attempt previous) {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Binds the attempt to the thread while the results are requested.
+     *
+     * @param <T> The result type
+     */
+    private static final class BoundSubscriber<T> implements CoreSubscriber<T>, Subscription {
+
+        private final CoreSubscriber<? super T> actual;
+        private final Attempt attempt;
+        private Subscription subscription;
+
+        BoundSubscriber(CoreSubscriber<? super T> actual, Attempt attempt) {
+            this.actual = actual;
+            this.attempt = attempt;
+        }
+
+        @Override
+        public Context currentContext() {
+            return actual.currentContext();
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            actual.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T value) {
+            actual.onNext(value);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            actual.onError(error);
+        }
+
+        @Override
+        public void onComplete() {
+            actual.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            Attempt previous = attempt.bind();
+            try {
+                subscription.request(n);
+            } finally {
+                attempt.unbind(previous);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            subscription.cancel();
+        }
+    }
+}
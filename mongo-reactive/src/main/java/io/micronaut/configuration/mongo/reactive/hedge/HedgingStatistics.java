@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.hedge;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of {@link HedgedReads}.
+ *
+ * @since 5.6.0
+ */
+public final class HedgingStatistics {
+
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder hedged = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LatencyWindow latencies;
+
+    HedgingStatistics(LatencyWindow latencies) {
+        this.latencies = latencies;
+    }
+
+    /**
+     * @return The number of operations executed through {@link HedgedReads}
+     */
+    public long getOperations() {
+        return operations.sum();
+    }
+
+    /**
+     * @return The number of operations for which a second attempt was started
+     */
+    public long getHedged() {
+        return hedged.sum();
+    }
+
+    /**
+     * @return The number of operations answered first by the second attempt
+     */
+    public long getHedgeWins() {
+        return hedgeWins.sum();
+    }
+
+    /**
+     * @return The ratio of operations for which a second attempt was started
+     */
+    public double getHedgeRate() {
+        long total = operations.sum();
+        return total == 0 ? 0 : (double) hedged.sum() / total;
+    }
+
+    /**
+     * @return The ratio of second attempts that answered first
+     */
+    public double getWinRate() {
+        long total = hedged.sum();
+        return total == 0 ? 0 : (double) hedgeWins.sum() / total;
+    }
+
+    /**
+     * @return The current delay after which a second attempt is started in nanoseconds
+     */
+    public long getDelayNanos() {
+        return latencies.getDelayNanos();
+    }
+
+    void operation() {
+        operations.increment();
+    }
+
+    void hedged() {
+        hedged.increment();
+    }
+
+    void hedgeWon() {
+        hedgeWins.increment();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.hedge;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps a window of recent latency samples and derives the hedging delay from a percentile of them.
+ * The percentile is recomputed every {@value #RECOMPUTE_INTERVAL} samples so that recording stays cheap. Samples are
+ * recorded concurrently by the threads completing the reads.
+ *
+ * @since 5.6.0
+ */
+final class LatencyWindow {
+
+    private static final int RECOMPUTE_INTERVAL = 64;
+    private static final int MIN_SAMPLES = 32;
+
+    private final AtomicLongArray samples;
+    private final AtomicLong count = new AtomicLong();
+    private final double percentile;
+    private final long minNanos;
+    private final long maxNanos;
+    private volatile long delayNanos;
+
+    LatencyWindow(HedgingConfiguration configuration) {
+        this.samples = new AtomicLongArray(configuration.getSampleSize());
+        this.percentile = configuration.getPercentile();
+        this.minNanos = configuration.getMinDelay().toNanos();
+        this.maxNanos = configuration.getMaxDelay().toNanos();
+        this.delayNanos = clamp(configuration.getInitialDelay().toNanos());
+    }
+
+    /**
+     * @return The current hedging delay in nanoseconds
+     */
+    long getDelayNanos() {
+        return delayNanos;
+    }
+
+    /**
+     * @return The number of samples recorded so far
+     */
+    long getRecorded() {
+        return count.get();
+    }
+
+    /**
+     * Records a latency sample.
+     *
+     * @param nanos The latency in nanoseconds
+     */
+    void record(long nanos) {
+        long index = count.getAndIncrement();
+        samples.set((int) (index % samples.length()), nanos);
+        long recorded = index + 1;
+        if (recorded >= MIN_SAMPLES && recorded % RECOMPUTE_INTERVAL == 0) {
+            recompute((int) Math.min(recorded, samples.length()));
+        }
+    }
+
+    private void recompute(int size) {
+        long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile * size) - 1;
+        delayNanos = clamp(sorted[Math.max(0, Math.min(size - 1, rank))]);
+    }
+
+    private long clamp(long nanos) {
+        return Math.max(minNanos, Math.min(maxNanos, nanos));
+    }
+}
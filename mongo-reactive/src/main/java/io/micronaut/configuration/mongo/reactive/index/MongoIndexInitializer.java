@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.index;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.model.IndexModel;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import io.micronaut.configuration.mongo.core.MongoSettings;
+import io.micronaut.configuration.mongo.core.index.IndexReport;
+import io.micronaut.configuration.mongo.core.index.MongoIndexConfiguration;
+import io.micronaut.configuration.mongo.core.index.MongoIndexRegistry;
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.context.exceptions.ConfigurationException;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import jakarta.inject.Singleton;
+import org.bson.BsonDocument;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Creates or verifies the declared {@link io.micronaut.configuration.mongo.core.index.MongoIndex} indexes
+ * at startup using the Reactive Streams {@link MongoClient} of every server, default and named. Collections are
+ * processed in parallel, the missing indexes of a collection are created with a single <code>createIndexes</code> command.
+ *
+ * @since 5.6.0
+ */
+@Singleton
+@Requires(beans = MongoClient.class)
+@Requires(property = MongoIndexConfiguration.PREFIX + ".enabled", notEquals = StringUtils.FALSE)
+public class MongoIndexInitializer implements ApplicationEventListener<StartupEvent> {
+
+    private final BeanContext beanContext;
+    private final MongoIndexRegistry registry;
+
+    /**
+     * @param beanContext The bean context the clients are looked up from
+     * @param registry    The index registry
+     */
+    public MongoIndexInitializer(BeanContext beanContext, MongoIndexRegistry registry) {
+        this.beanContext = beanContext;
+        this.registry = registry;
+    }
+
+    @Override
+    public void onApplicationEvent(StartupEvent event) {
+        if (!registry.claim()) {
+            return;
+        }
+        MongoIndexConfiguration configuration = registry.getConfiguration();
+        Map<String, List<IndexReport>> reports = new LinkedHashMap<>();
+        List<Mono<Map.Entry<String, IndexReport>>> declarations = new ArrayList<>();
+        for (Map.Entry<String, Map<MongoNamespace, List<IndexModel>>> server : registry.getIndexes().entrySet()) {
+            String name = server.getKey();
+            MongoClient client = client(name);
+            for (Map.Entry<MongoNamespace, List<IndexModel>> entry : server.getValue().entrySet()) {
+                declarations.add(ensureIndexes(client, entry.getKey(), entry.getValue(), configuration.isCreate())
+                    .map(report -> Map.entry(name, report)));
+            }
+            reports.put(name, new ArrayList<>());
+        }
+        List<Map.Entry<String, IndexReport>> processed;
+        try {
+            processed = Flux.fromIterable(declarations)
+                .flatMap(Function.identity(), configuration.getParallelism())
+                .collectList()
+                .block(configuration.getTimeout());
+        } catch (RuntimeException e) {
+            throw new ConfigurationException("Error creating MongoDB indexes: " + e.getMessage(), e);
+        }
+        if (processed != null) {
+            processed.forEach(report -> reports.get(report.getKey()).add(report.getValue()));
+            registry.report(reports);
+        }
+    }
+
+    private MongoClient client(String server) {
+        if (MongoSettings.DEFAULT_SERVER_NAME.equals(server)) {
+            return beanContext.getBean(MongoClient.class);
+        }
+        return beanContext.getBean(MongoClient.class, Qualifiers.byName(server));
+    }
+
+    private Mono<IndexReport> ensureIndexes(MongoClient client, MongoNamespace namespace, List<IndexModel> declared, boolean create) {
+        MongoCollection<BsonDocument> collection = client.getDatabase(namespace.getDatabaseName())
+            .getCollection(namespace.getCollectionName(), BsonDocument.class);
+        return Flux.from(collection.listIndexes(BsonDocument.class))
+            .collectList()
+            .map(existing -> IndexReport.compare(namespace, declared, existing))
+            .flatMap(report -> {
+                if (create && !report.getMissing().isEmpty()) {
+                    return Flux.from(collection.createIndexes(report.getMissing())).then(Mono.just(report));
+                }
+                return Mono.just(report);
+            });
+    }
+}
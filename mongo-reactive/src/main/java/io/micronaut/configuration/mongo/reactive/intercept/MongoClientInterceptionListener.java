@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.intercept;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+import io.micronaut.aop.InterceptedProxy;
+import io.micronaut.configuration.mongo.core.MongoSettings;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.micronaut.core.naming.NameResolver;
+import io.micronaut.core.order.OrderUtil;
+import jakarta.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wraps every {@link MongoClient} so that its operations are routed through the {@link ReactiveMongoOperationInterceptor}
+ * beans. Clients are left untouched when no interceptor exists.
+ *
+ * @since 5.6.0
+ */
+@Singleton
+@Requires(classes = MongoClient.class)
+public class MongoClientInterceptionListener implements BeanCreatedEventListener<MongoClient> {
+
+    private final List<ReactiveMongoOperationInterceptor> interceptors;
+
+    /**
+     * @param interceptors The interceptors
+     */
+    public MongoClientInterceptionListener(List<ReactiveMongoOperationInterceptor> interceptors) {
+        this.interceptors = new ArrayList<>(interceptors);
+        OrderUtil.sort(this.interceptors);
+    }
+
+    @Override
+    public MongoClient onCreated(BeanCreatedEvent<MongoClient> event) {
+        MongoClient client = event.getBean();
+        if (interceptors.isEmpty() || client instanceof InterceptedProxy) {
+            return client;
+        }
+        String serverName = MongoSettings.DEFAULT_SERVER_NAME;
+        if (event.getBeanDefinition() instanceof NameResolver resolver) {
+            serverName = resolver.resolveName().orElse(serverName);
+        }
+        return (MongoClient) new ReactiveMongoInvocationHandler(client, MongoClient.class, serverName, null, null, null, interceptors).proxy();
+    }
+}
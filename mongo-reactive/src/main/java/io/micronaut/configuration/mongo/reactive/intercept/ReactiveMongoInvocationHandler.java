@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.intercept;
+
+import com.mongodb.reactivestreams.client.ChangeStreamPublisher;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import io.micronaut.configuration.mongo.core.intercept.MongoInvocationHandler;
+import io.micronaut.configuration.mongo.core.intercept.MongoOperation;
+import io.micronaut.configuration.mongo.core.intercept.MongoOperationOptions;
+import io.micronaut.core.annotation.Nullable;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import reactor.core.publisher.Flux;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Routes the operations of the Reactive Streams driver through the {@link ReactiveMongoOperationInterceptor} beans.
+ * Change streams are not intercepted.
+ *
+ * @since 5.6.0
+ */
+final class ReactiveMongoInvocationHandler extends MongoInvocationHandler<ReactiveMongoOperationInterceptor> {
+
+    private static final String SUBSCRIBE = "subscribe";
+
+    ReactiveMongoInvocationHandler(Object target,
+                                   Class<?> type,
+                                   String serverName,
+                                   @Nullable String databaseName,
+                                   @Nullable String collectionName,
+                                   @Nullable MongoOperation operation,
+                                   List<ReactiveMongoOperationInterceptor> interceptors) {
+        super(target, type, serverName, databaseName, collectionName, operation, interceptors);
+    }
+
+    @Override
+    protected MongoInvocationHandler<ReactiveMongoOperationInterceptor> create(Object target,
+                                                                               Class<?> type,
+                                                                               @Nullable String databaseName,
+                                                                               @Nullable String collectionName,
+                                                                               @Nullable MongoOperation operation) {
+        return new ReactiveMongoInvocationHandler(target, type, getServerName(), databaseName, collectionName, operation, getInterceptors());
+    }
+
+    @Override
+    protected MongoOperationOptions options() {
+        return ReactiveMongoOperationOptions.INSTANCE;
+    }
+
+    @Override
+    protected boolean isResource(Class<?> type) {
+        return type == MongoClient.class || type == MongoDatabase.class || type == MongoCollection.class;
+    }
+
+    @Override
+    protected boolean isOperation(Class<?> type) {
+        return type != Publisher.class && Publisher.class.isAssignableFrom(type) && !ChangeStreamPublisher.class.isAssignableFrom(type);
+    }
+
+    @Override
+    protected String databaseName(Object resource) {
+        if (resource instanceof MongoDatabase database) {
+            return database.getName();
+        }
+        if (resource instanceof MongoCollection<?> collection) {
+            return collection.getNamespace().getDatabaseName();
+        }
+        return null;
+    }
+
+    @Override
+    protected String collectionName(Object resource) {
+        if (resource instanceof MongoCollection<?> collection) {
+            return collection.getNamespace().getCollectionName();
+        }
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Object execute(MongoOperation operation, Method method, Object[] args) throws Throwable {
+        if (SUBSCRIBE.equals(method.getName()) && args.length == 1 && getTarget() instanceof Publisher<?>) {
+            intercept(operation, execution -> (Publisher<Object>) executionTarget(execution)).subscribe((Subscriber<Object>) args[0]);
+            return null;
+        }
+        if (method.getReturnType() == Publisher.class) {
+            // the operation starts when subscribed, every subscription invokes the target with options of its own
+            return intercept(operation, execution -> {
+                try {
+                    return (Publisher<Object>) invoke(execution, method, args);
+                } catch (Throwable e) {
+                    return Flux.error(e);
+                }
+            });
+        }
+        return invokeTarget(method, args);
+    }
+
+    private Publisher<Object> intercept(MongoOperation operation, Function<MongoOperation, Publisher<Object>> publisher) {
+        Publisher<Object> intercepted = Flux.defer(() -> {
+            MongoOperation execution = execution(operation);
+            prepare(execution);
+            return publisher.apply(execution);
+        });
+        List<ReactiveMongoOperationInterceptor> interceptors = getInterceptors();
+        for (int i = interceptors.size() - 1; i >= 0; i--) {
+            intercepted = interceptors.get(i).intercept(operation, intercepted);
+        }
+        return intercepted;
+    }
+}
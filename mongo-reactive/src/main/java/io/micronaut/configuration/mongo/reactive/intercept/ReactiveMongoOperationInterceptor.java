@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.intercept;
+
+import io.micronaut.configuration.mongo.core.intercept.MongoOperation;
+import io.micronaut.configuration.mongo.core.intercept.MongoOperationInterceptor;
+import org.reactivestreams.Publisher;
+
+/**
+ * Intercepts the operations of the Reactive Streams driver. Every
+ * {@link com.mongodb.reactivestreams.client.MongoClient} bean is wrapped when at least one interceptor bean exists.
+ *
+ * <p>The publishers of all operations, including the ones returned by <code>find</code> or <code>first</code>, are
+ * decorated when subscribed to.</p>
+ *
+ * @since 5.6.0
+ */
+public interface ReactiveMongoOperationInterceptor extends MongoOperationInterceptor {
+
+    /**
+     * Decorates the publisher of an operation.
+     *
+     * @param operation The operation
+     * @param publisher The publisher executing the operation once subscribed to
+     * @param <T>       The result type
+     * @return The decorated publisher
+     */
+    default <T> Publisher<T> intercept(MongoOperation operation, Publisher<T> publisher) {
+        return publisher;
+    }
+}
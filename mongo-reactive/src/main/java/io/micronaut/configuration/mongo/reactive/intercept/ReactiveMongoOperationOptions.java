@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.intercept;
+
+import com.mongodb.WriteConcern;
+import com.mongodb.reactivestreams.client.AggregatePublisher;
+import com.mongodb.reactivestreams.client.DistinctPublisher;
+import com.mongodb.reactivestreams.client.FindPublisher;
+import com.mongodb.reactivestreams.client.ListCollectionsPublisher;
+import com.mongodb.reactivestreams.client.ListDatabasesPublisher;
+import com.mongodb.reactivestreams.client.ListIndexesPublisher;
+import com.mongodb.reactivestreams.client.ListSearchIndexesPublisher;
+import com.mongodb.reactivestreams.client.MapReducePublisher;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import io.micronaut.configuration.mongo.core.intercept.MongoOperationOptions;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sets the options of the publishers and collections of the Reactive Streams driver.
+ *
+ * @since 5.6.0
+ */
+@SuppressWarnings("deprecation")
+final class ReactiveMongoOperationOptions implements MongoOperationOptions {
+
+    static final ReactiveMongoOperationOptions INSTANCE = new ReactiveMongoOperationOptions();
+
+    private ReactiveMongoOperationOptions() {
+    }
+
+    @Override
+    public boolean supportsMaxTime(Object target) {
+        return supportsBatchSize(target);
+    }
+
+    @Override
+    public boolean supportsBatchSize(Object target) {
+        return target instanceof FindPublisher
+            || target instanceof AggregatePublisher
+            || target instanceof DistinctPublisher
+            || target instanceof ListCollectionsPublisher
+            || target instanceof ListDatabasesPublisher
+            || target instanceof ListIndexesPublisher
+            || target instanceof ListSearchIndexesPublisher
+            || target instanceof MapReducePublisher;
+    }
+
+    @Override
+    public boolean maxTime(Object target, long maxTime, TimeUnit unit) {
+        if (target instanceof FindPublisher<?> publisher) {
+            publisher.maxTime(maxTime, unit);
+        } else if (target instanceof AggregatePublisher<?> publisher) {
+            publisher.maxTime(maxTime, unit);
+        } else if (target instanceof DistinctPublisher<?> publisher) {
+            publisher.maxTime(maxTime, unit);
+        } else if (target instanceof ListCollectionsPublisher<?> publisher) {
+            publisher.maxTime(maxTime, unit);
+        } else if (target instanceof ListDatabasesPublisher<?> publisher) {
+            publisher.maxTime(maxTime, unit);
+        } else if (target instanceof ListIndexesPublisher<?> publisher) {
+            publisher.maxTime(maxTime, unit);
+        } else if (target instanceof ListSearchIndexesPublisher<?> publisher) {
+            publisher.maxTime(maxTime, unit);
+        } else if (target instanceof MapReducePublisher<?> publisher) {
+            publisher.maxTime(maxTime, unit);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean batchSize(Object target, int batchSize) {
+        if (target instanceof FindPublisher<?> publisher) {
+            publisher.batchSize(batchSize);
+        } else if (target instanceof AggregatePublisher<?> publisher) {
+            publisher.batchSize(batchSize);
+        } else if (target instanceof DistinctPublisher<?> publisher) {
+            publisher.batchSize(batchSize);
+        } else if (target instanceof ListCollectionsPublisher<?> publisher) {
+            publisher.batchSize(batchSize);
+        } else if (target instanceof ListDatabasesPublisher<?> publisher) {
+            publisher.batchSize(batchSize);
+        } else if (target instanceof ListIndexesPublisher<?> publisher) {
+            publisher.batchSize(batchSize);
+        } else if (target instanceof ListSearchIndexesPublisher<?> publisher) {
+            publisher.batchSize(batchSize);
+        } else if (target instanceof MapReducePublisher<?> publisher) {
+            publisher.batchSize(batchSize);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    @Nullable
+    public WriteConcern getWriteConcern(Object target) {
+        return target instanceof MongoCollection<?> collection ? collection.getWriteConcern() : null;
+    }
+
+    @Override
+    public Object withWriteConcern(Object target, WriteConcern writeConcern) {
+        return ((MongoCollection<?>) target).withWriteConcern(writeConcern);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.netty;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.connection.TransportSettings;
+import io.micronaut.configuration.mongo.core.AbstractMongoConfiguration;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.exceptions.ConfigurationException;
+import io.micronaut.http.netty.channel.EventLoopGroupConfiguration;
+import io.micronaut.http.netty.channel.EventLoopGroupFactory;
+import io.micronaut.http.netty.channel.EventLoopGroupRegistry;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Configures the Reactive Streams driver to run its connections on a Micronaut event loop group, typically the
+ * <code>default</code> group shared with the HTTP server and client, instead of starting its own threads for every
+ * client. The socket channel matches the event loop group, so the native transport is used when the group prefers it
+ * and it is available.
+ *
+ * @since 5.6.0
+ */
+@Singleton
+@Requires(classes = EventLoopGroupRegistry.class)
+public class MongoNettyTransport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MongoNettyTransport.class);
+
+    private final EventLoopGroupRegistry registry;
+    private final EventLoopGroupFactory factory;
+
+    /**
+     * @param registry The event loop group registry
+     * @param factory  The event loop group factory
+     */
+    public MongoNettyTransport(EventLoopGroupRegistry registry, EventLoopGroupFactory factory) {
+        this.registry = registry;
+        this.factory = factory;
+    }
+
+    /**
+     * Applies the transport to the settings if the configuration names an event loop group.
+     *
+     * @param configuration The configuration
+     * @param settings      The settings built from the configuration
+     * @return The settings using the event loop group
+     */
+    public MongoClientSettings apply(AbstractMongoConfiguration configuration, MongoClientSettings settings) {
+        String name = configuration.getEventLoopGroup();
+        if (name == null) {
+            return settings;
+        }
+        EventLoopGroup group = registry.getEventLoopGroup(name).orElseThrow(() -> new ConfigurationException(
+            "No event loop group named [" + name + "] exists for MongoDB server [" + configuration.getServerName() + "]"));
+        EventLoopGroupConfiguration groupConfiguration = registry.getEventLoopGroupConfiguration(name).orElse(null);
+        Class<? extends SocketChannel> channelClass = factory.clientSocketChannelClass(groupConfiguration);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("MongoDB server [{}] uses event loop group [{}] with channel {}", configuration.getServerName(), name, channelClass.getName());
+        }
+        return MongoClientSettings.builder(settings)
+            .transportSettings(TransportSettings.nettyBuilder()
+                .eventLoopGroup(group)
+                .socketChannelClass(channelClass)
+                .build())
+            .build();
+    }
+}
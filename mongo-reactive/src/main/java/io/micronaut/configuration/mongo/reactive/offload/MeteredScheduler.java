@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.offload;
+
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Decorates a {@link Scheduler} to record the queue depth and the time tasks wait for a thread.
+ *
+ * @since 5.6.0
+ */
+final class MeteredScheduler implements Scheduler {
+
+    private final Scheduler delegate;
+    private final OffloadStatistics statistics;
+
+    MeteredScheduler(Scheduler delegate, OffloadStatistics statistics) {
+        this.delegate = delegate;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Disposable schedule(Runnable task) {
+        return schedule(task, delegate::schedule);
+    }
+
+    @Override
+    public Worker createWorker() {
+        Worker worker = delegate.createWorker();
+        return new Worker() {
+            @Override
+            public Disposable schedule(Runnable task) {
+                return MeteredScheduler.this.schedule(task, worker::schedule);
+            }
+
+            @Override
+            public void dispose() {
+                worker.dispose();
+            }
+
+            @Override
+            public boolean isDisposed() {
+                return worker.isDisposed();
+            }
+        };
+    }
+
+    @Override
+    public void dispose() {
+        delegate.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return delegate.isDisposed();
+    }
+
+    private Disposable schedule(Runnable task, Function<Runnable, Disposable> scheduler) {
+        MeteredTask metered = new MeteredTask(task);
+        statistics.scheduled();
+        Disposable disposable;
+        try {
+            disposable = scheduler.apply(metered);
+        } catch (RejectedExecutionException e) {
+            if (metered.claim()) {
+                statistics.rejected();
+            }
+            throw e;
+        }
+        return () -> {
+            disposable.dispose();
+            if (metered.claim()) {
+                statistics.cancelled();
+            }
+        };
+    }
+
+    /**
+     * A task that records when it starts, unless it was cancelled or rejected first.
+     */
+    private final class MeteredTask extends AtomicBoolean implements Runnable {
+
+        private final Runnable task;
+        private final long scheduled = System.nanoTime();
+
+        MeteredTask(Runnable task) {
+            this.task = task;
+        }
+
+        boolean claim() {
+            return compareAndSet(false, true);
+        }
+
+        @Override
+        public void run() {
+            if (claim()) {
+                statistics.started(System.nanoTime() - scheduled);
+            }
+            task.run();
+        }
+    }
+}
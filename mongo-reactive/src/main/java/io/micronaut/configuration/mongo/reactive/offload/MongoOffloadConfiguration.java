@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.offload;
+
+import io.micronaut.configuration.mongo.core.MongoSettings;
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.annotation.Nullable;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+/**
+ * Configuration of {@link MongoOffloadingInterceptor}.
+ *
+ * @since 5.6.0
+ */
+@ConfigurationProperties(MongoOffloadConfiguration.PREFIX)
+public class MongoOffloadConfiguration {
+
+    /**
+     * The prefix of the offloading settings.
+     */
+    public static final String PREFIX = MongoSettings.PREFIX + ".offload";
+
+    private boolean enabled;
+    private String executor;
+    private int threadCap = Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE;
+    private int queuedTaskCap = Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE;
+    private int prefetch = Queues.SMALL_BUFFER_SIZE;
+
+    /**
+     * @return Whether the results of the Reactive Streams driver are delivered on another executor (defaults to false)
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param enabled Whether the results of the Reactive Streams driver are delivered on another executor
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return The name of the Micronaut executor results are delivered on, for example <code>virtual</code> or
+     * <code>blocking</code>. If not set a bounded elastic scheduler is created.
+     */
+    @Nullable
+    public String getExecutor() {
+        return executor;
+    }
+
+    /**
+     * @param executor The name of the Micronaut executor results are delivered on
+     */
+    public void setExecutor(@Nullable String executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @return The maximum number of threads of the bounded elastic scheduler (defaults to ten times the number of CPU cores)
+     */
+    public int getThreadCap() {
+        return threadCap;
+    }
+
+    /**
+     * @param threadCap The maximum number of threads of the bounded elastic scheduler
+     */
+    public void setThreadCap(int threadCap) {
+        this.threadCap = Math.max(1, threadCap);
+    }
+
+    /**
+     * @return The maximum number of tasks queued per thread of the bounded elastic scheduler, further deliveries fail
+     * (defaults to 100000)
+     */
+    public int getQueuedTaskCap() {
+        return queuedTaskCap;
+    }
+
+    /**
+     * @param queuedTaskCap The maximum number of tasks queued per thread of the bounded elastic scheduler
+     */
+    public void setQueuedTaskCap(int queuedTaskCap) {
+        this.queuedTaskCap = Math.max(1, queuedTaskCap);
+    }
+
+    /**
+     * @return The number of results requested from the driver ahead of their delivery (defaults to 256)
+     */
+    public int getPrefetch() {
+        return prefetch;
+    }
+
+    /**
+     * @param prefetch The number of results requested from the driver ahead of their delivery
+     */
+    public void setPrefetch(int prefetch) {
+        this.prefetch = Math.max(1, prefetch);
+    }
+}
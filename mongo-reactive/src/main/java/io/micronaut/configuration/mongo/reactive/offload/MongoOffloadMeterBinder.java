@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.offload;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exports the {@link OffloadStatistics} to Micrometer.
+ *
+ * @since 5.6.0
+ */
+@Singleton
+@Requires(classes = MeterBinder.class)
+@Requires(beans = MongoOffloadingInterceptor.class)
+public class MongoOffloadMeterBinder implements MeterBinder {
+
+    private static final String PREFIX = "mongodb.offload";
+
+    private final OffloadStatistics statistics;
+
+    /**
+     * @param interceptor The offloading interceptor
+     */
+    public MongoOffloadMeterBinder(MongoOffloadingInterceptor interceptor) {
+        this.statistics = interceptor.getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder(PREFIX + ".handoff", statistics, OffloadStatistics::getHandoffs, s -> s.getTotalHandoffTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS)
+            .description("The time deliveries of results waited for the executor")
+            .register(registry);
+        Gauge.builder(PREFIX + ".handoff.max", statistics, s -> s.getMaxHandoffNanos() / 1_000_000d)
+            .description("The longest time a delivery waited for the executor since the last poll")
+            .baseUnit("milliseconds")
+            .register(registry);
+        Gauge.builder(PREFIX + ".pending", statistics, OffloadStatistics::getPending)
+            .description("The number of deliveries waiting for the executor")
+            .register(registry);
+        FunctionCounter.builder(PREFIX + ".rejected", statistics, OffloadStatistics::getRejected)
+            .description("The number of deliveries rejected because the executor was saturated")
+            .register(registry);
+    }
+}
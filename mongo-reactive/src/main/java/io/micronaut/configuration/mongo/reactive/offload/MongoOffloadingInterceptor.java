@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.offload;
+
+import io.micronaut.configuration.mongo.core.intercept.MongoOperation;
+import io.micronaut.configuration.mongo.reactive.intercept.ReactiveMongoOperationInterceptor;
+import io.micronaut.context.BeanLocator;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.exceptions.ConfigurationException;
+import io.micronaut.core.order.Ordered;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Delivers the results of the Reactive Streams driver on an executor, so that slow subscribers do not stall the I/O
+ * threads of the driver and with them every connection. The interceptor runs before all other interceptors, so
+ * everything downstream of a MongoDB publisher runs on the executor.
+ *
+ * <p>Results are delivered either on a named Micronaut executor, for example <code>virtual</code>, or on a bounded
+ * elastic scheduler that rejects deliveries once its queues are full.</p>
+ *
+ * @since 5.6.0
+ */
+@Singleton
+@Requires(property = MongoOffloadConfiguration.PREFIX + ".enabled", value = StringUtils.TRUE)
+public class MongoOffloadingInterceptor implements ReactiveMongoOperationInterceptor {
+
+    /**
+     * The order of the interceptor, which runs before all other interceptors.
+     */
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    private static final String SCHEDULER_NAME = "mongodb-offload";
+
+    private final Scheduler scheduler;
+    private final boolean ownsScheduler;
+    private final int prefetch;
+    private final OffloadStatistics statistics = new OffloadStatistics();
+
+    /**
+     * @param configuration The offloading configuration
+     * @param beanLocator   The bean locator the named executor is looked up with
+     */
+    public MongoOffloadingInterceptor(MongoOffloadConfiguration configuration, BeanLocator beanLocator) {
+        String executor = configuration.getExecutor();
+        Scheduler delegate;
+        if (executor == null) {
+            delegate = Schedulers.newBoundedElastic(configuration.getThreadCap(), configuration.getQueuedTaskCap(), SCHEDULER_NAME);
+        } else {
+            ExecutorService executorService = beanLocator.findBean(ExecutorService.class, Qualifiers.byName(executor))
+                .orElseThrow(() -> new ConfigurationException("No executor named [" + executor + "] exists for [" + MongoOffloadConfiguration.PREFIX + ".executor]"));
+            delegate = Schedulers.fromExecutorService(executorService, SCHEDULER_NAME + "-" + executor);
+        }
+        this.scheduler = new MeteredScheduler(delegate, statistics);
+        this.ownsScheduler = executor == null;
+        this.prefetch = configuration.getPrefetch();
+    }
+
+    /**
+     * @return The offloading statistics
+     */
+    public OffloadStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public <T> Publisher<T> intercept(MongoOperation operation, Publisher<T> publisher) {
+        return Flux.from(publisher).publishOn(scheduler, prefetch);
+    }
+
+    /**
+     * Disposes the bounded elastic scheduler. Named executors are managed by Micronaut.
+     */
+    @PreDestroy
+    public void close() {
+        if (ownsScheduler) {
+            scheduler.dispose();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.offload;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of {@link MongoOffloadingInterceptor}. A handoff is a task scheduled by a driver thread to deliver the
+ * results that arrived in the meantime, its latency is the time the task waited for the executor.
+ *
+ * @since 5.6.0
+ */
+public final class OffloadStatistics {
+
+    private final LongAdder handoffs = new LongAdder();
+    private final LongAdder handoffNanos = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicLong pending = new AtomicLong();
+    private final LongAccumulator maxHandoffNanos = new LongAccumulator(Math::max, 0);
+
+    OffloadStatistics() {
+    }
+
+    /**
+     * @return The number of handoffs executed
+     */
+    public long getHandoffs() {
+        return handoffs.sum();
+    }
+
+    /**
+     * @param unit The time unit
+     * @return The total time the executed handoffs waited for the executor
+     */
+    public double getTotalHandoffTime(TimeUnit unit) {
+        return (double) handoffNanos.sum() / unit.toNanos(1);
+    }
+
+    /**
+     * @return The longest time a handoff waited for the executor in nanoseconds since the last call
+     */
+    public long getMaxHandoffNanos() {
+        return maxHandoffNanos.getThenReset();
+    }
+
+    /**
+     * @return The number of handoffs waiting for the executor
+     */
+    public long getPending() {
+        return pending.get();
+    }
+
+    /**
+     * @return The number of handoffs rejected because the executor was saturated
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    void scheduled() {
+        pending.incrementAndGet();
+    }
+
+    void started(long waitNanos) {
+        pending.decrementAndGet();
+        handoffs.increment();
+        handoffNanos.add(waitNanos);
+        maxHandoffNanos.accumulate(waitNanos);
+    }
+
+    void cancelled() {
+        pending.decrementAndGet();
+    }
+
+    void rejected() {
+        pending.decrementAndGet();
+        rejected.increment();
+    }
+}
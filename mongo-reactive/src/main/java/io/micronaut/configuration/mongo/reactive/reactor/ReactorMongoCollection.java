@@ -0,0 +1,297 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.reactor;
+
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.InsertManyResult;
+import com.mongodb.client.result.InsertOneResult;
+import com.mongodb.client.result.UpdateResult;
+import com.mongodb.reactivestreams.client.AggregatePublisher;
+import com.mongodb.reactivestreams.client.FindPublisher;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import org.bson.BsonDocument;
+import org.bson.conversions.Bson;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.concurrent.Queues;
+
+import java.util.List;
+
+/**
+ * Reactor API over a {@link MongoCollection} of the Reactive Streams driver.
+ *
+ * <p>Without an explicit batch size the driver sizes every <code>getMore</code> after the demand of the subscriber, so
+ * operators requesting a few results at a time cause many small round trips. Cursors opened through this class always
+ * have a batch size and their results are requested exactly one batch at a time, so every <code>getMore</code> returns a
+ * full batch and the driver never buffers more than one batch ahead of the subscriber.</p>
+ *
+ * <p>Operations returning at most one result are adapted with {@link Mono#fromDirect(org.reactivestreams.Publisher)},
+ * avoiding the operator that cancels after the first result, and the <code>first</code>, <code>exists</code> and
+ * <code>page</code> variants complete within a single round trip.</p>
+ *
+ * @param <T> The document type
+ * @since 5.6.0
+ */
+public final class ReactorMongoCollection<T> {
+
+    /**
+     * The default batch size, which matches the default prefetch of Reactor operators.
+     */
+    public static final int DEFAULT_BATCH_SIZE = Queues.SMALL_BUFFER_SIZE;
+
+    private static final Bson ID_ONLY = Projections.include("_id");
+
+    private final MongoCollection<T> collection;
+    private final int batchSize;
+
+    private ReactorMongoCollection(MongoCollection<T> collection, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+        }
+        this.collection = collection;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @param collection The collection
+     * @param <T>        The document type
+     * @return The Reactor API over the collection, using the {@link #DEFAULT_BATCH_SIZE}
+     */
+    public static <T> ReactorMongoCollection<T> of(MongoCollection<T> collection) {
+        return new ReactorMongoCollection<>(collection, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param collection The collection
+     * @param batchSize  The batch size of the cursors
+     * @param <T>        The document type
+     * @return The Reactor API over the collection
+     */
+    public static <T> ReactorMongoCollection<T> of(MongoCollection<T> collection, int batchSize) {
+        return new ReactorMongoCollection<>(collection, batchSize);
+    }
+
+    /**
+     * Executes a find, requesting its results one batch at a time.
+     *
+     * @param find      The find
+     * @param batchSize The batch size
+     * @param <R>       The result type
+     * @return The results
+     */
+    public static <R> Flux<R> batched(FindPublisher<R> find, int batchSize) {
+        return Flux.from(find.batchSize(batchSize)).limitRate(batchSize, 0);
+    }
+
+    /**
+     * Executes an aggregation, requesting its results one batch at a time.
+     *
+     * @param aggregate The aggregation
+     * @param batchSize The batch size
+     * @param <R>       The result type
+     * @return The results
+     */
+    public static <R> Flux<R> batched(AggregatePublisher<R> aggregate, int batchSize) {
+        return Flux.from(aggregate.batchSize(batchSize)).limitRate(batchSize, 0);
+    }
+
+    /**
+     * @return The collection
+     */
+    public MongoCollection<T> getCollection() {
+        return collection;
+    }
+
+    /**
+     * @return The batch size of the cursors
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @param batchSize The batch size of the cursors
+     * @return The Reactor API over the same collection with another batch size
+     */
+    public ReactorMongoCollection<T> withBatchSize(int batchSize) {
+        return batchSize == this.batchSize ? this : new ReactorMongoCollection<>(collection, batchSize);
+    }
+
+    /**
+     * @param filter The filter
+     * @return The matching documents
+     */
+    public Flux<T> find(Bson filter) {
+        return batched(collection.find(filter), batchSize);
+    }
+
+    /**
+     * @param filter The filter
+     * @param sort   The sort specification
+     * @return The matching documents in sort order
+     */
+    public Flux<T> find(Bson filter, Bson sort) {
+        return batched(collection.find(filter).sort(sort), batchSize);
+    }
+
+    /**
+     * Finds one page of documents within a single round trip, since the batch size equals the page size. Without a
+     * limit the remaining documents are fetched with the batch size of this collection, like {@link #find(Bson, Bson)}.
+     *
+     * @param filter The filter
+     * @param sort   The sort specification
+     * @param skip   The number of documents to skip
+     * @param limit  The page size or zero for all remaining documents
+     * @return The documents of the page
+     */
+    public Flux<T> findPage(Bson filter, Bson sort, int skip, int limit) {
+        FindPublisher<T> find = collection.find(filter).sort(sort).skip(skip).limit(limit);
+        return batched(find, limit == 0 ? batchSize : Math.abs(limit));
+    }
+
+    /**
+     * @param filter The filter
+     * @return The first matching document
+     */
+    public Mono<T> findFirst(Bson filter) {
+        return Mono.fromDirect(collection.find(filter).first());
+    }
+
+    /**
+     * @param filter The filter
+     * @param sort   The sort specification
+     * @return The first matching document in sort order
+     */
+    public Mono<T> findFirst(Bson filter, Bson sort) {
+        return Mono.fromDirect(collection.find(filter).sort(sort).first());
+    }
+
+    /**
+     * Checks whether a document matches, only returning its id from the server.
+     *
+     * @param filter The filter
+     * @return Whether a document matches
+     */
+    public Mono<Boolean> exists(Bson filter) {
+        return Mono.fromDirect(collection.withDocumentClass(BsonDocument.class).find(filter).projection(ID_ONLY).first())
+            .hasElement();
+    }
+
+    /**
+     * @param filter The filter
+     * @return The number of matching documents
+     */
+    public Mono<Long> count(Bson filter) {
+        return Mono.fromDirect(collection.countDocuments(filter));
+    }
+
+    /**
+     * @param pipeline The pipeline
+     * @return The results of the aggregation
+     */
+    public Flux<T> aggregate(List<? extends Bson> pipeline) {
+        return batched(collection.aggregate(pipeline), batchSize);
+    }
+
+    /**
+     * @param pipeline   The pipeline
+     * @param resultType The result type
+     * @param <R>        The result type
+     * @return The results of the aggregation
+     */
+    public <R> Flux<R> aggregate(List<? extends Bson> pipeline, Class<R> resultType) {
+        return batched(collection.aggregate(pipeline, resultType), batchSize);
+    }
+
+    /**
+     * @param pipeline   The pipeline
+     * @param resultType The result type
+     * @param <R>        The result type
+     * @return The first result of the aggregation
+     */
+    public <R> Mono<R> aggregateFirst(List<? extends Bson> pipeline, Class<R> resultType) {
+        return Mono.fromDirect(collection.aggregate(pipeline, resultType).first());
+    }
+
+    /**
+     * @param document The document
+     * @return The result
+     */
+    public Mono<InsertOneResult> insertOne(T document) {
+        return Mono.fromDirect(collection.insertOne(document));
+    }
+
+    /**
+     * @param documents The documents
+     * @return The result
+     */
+    public Mono<InsertManyResult> insertMany(List<? extends T> documents) {
+        return Mono.fromDirect(collection.insertMany(documents));
+    }
+
+    /**
+     * @param filter The filter
+     * @param update The update
+     * @return The result
+     */
+    public Mono<UpdateResult> updateOne(Bson filter, Bson update) {
+        return Mono.fromDirect(collection.updateOne(filter, update));
+    }
+
+    /**
+     * @param filter The filter
+     * @param update The update
+     * @return The result
+     */
+    public Mono<UpdateResult> updateMany(Bson filter, Bson update) {
+        return Mono.fromDirect(collection.updateMany(filter, update));
+    }
+
+    /**
+     * @param filter      The filter
+     * @param replacement The replacement
+     * @return The result
+     */
+    public Mono<UpdateResult> replaceOne(Bson filter, T replacement) {
+        return Mono.fromDirect(collection.replaceOne(filter, replacement));
+    }
+
+    /**
+     * @param filter The filter
+     * @param update The update
+     * @return The document before the update, if any
+     */
+    public Mono<T> findOneAndUpdate(Bson filter, Bson update) {
+        return Mono.fromDirect(collection.findOneAndUpdate(filter, update));
+    }
+
+    /**
+     * @param filter The filter
+     * @return The result
+     */
+    public Mono<DeleteResult> deleteOne(Bson filter) {
+        return Mono.fromDirect(collection.deleteOne(filter));
+    }
+
+    /**
+     * @param filter The filter
+     * @return The result
+     */
+    public Mono<DeleteResult> deleteMany(Bson filter) {
+        return Mono.fromDirect(collection.deleteMany(filter));
+    }
+}
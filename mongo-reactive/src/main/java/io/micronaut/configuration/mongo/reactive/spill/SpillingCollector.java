@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.spill;
+
+import com.mongodb.reactivestreams.client.MongoCollection;
+import io.micronaut.configuration.mongo.core.spill.SpilledResults;
+import io.micronaut.configuration.mongo.core.spill.SpillingResultBuffer;
+import io.micronaut.core.annotation.Nullable;
+import org.bson.BsonDocument;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Decoder;
+import org.bson.conversions.Bson;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Materializes the results of queries on a collection, keeping them in memory up to a budget and spilling the rest
+ * as raw BSON to a temporary memory mapped file. The documents are collected on the bounded elastic scheduler and
+ * only decoded when the results are iterated.
+ *
+ * <pre>{@code
+ * SpillingCollector.of(collection)
+ *     .find(Filters.eq("year", 2025))
+ *     .flatMapMany(orders -> Flux.fromStream(orders.stream()))
+ *     .subscribe(...);
+ * }</pre>
+ *
+ * @param <T> The document type
+ * @since 5.6.0
+ */
+public final class SpillingCollector<T> {
+
+    private final MongoCollection<RawBsonDocument> collection;
+    private final Decoder<T> decoder;
+    private final long memoryBudget;
+    private final Path directory;
+
+    private SpillingCollector(MongoCollection<RawBsonDocument> collection, Decoder<T> decoder, long memoryBudget, @Nullable Path directory) {
+        this.collection = collection;
+        this.decoder = decoder;
+        this.memoryBudget = memoryBudget;
+        this.directory = directory;
+    }
+
+    /**
+     * @param collection The collection, whose codec registry decodes the results
+     * @param <T>        The document type
+     * @return A collector with the {@link SpillingResultBuffer#DEFAULT_MEMORY_BUDGET default memory budget}
+     */
+    public static <T> SpillingCollector<T> of(MongoCollection<T> collection) {
+        Decoder<T> decoder = collection.getCodecRegistry().get(collection.getDocumentClass());
+        return new SpillingCollector<>(collection.withDocumentClass(RawBsonDocument.class), decoder,
+            SpillingResultBuffer.DEFAULT_MEMORY_BUDGET, null);
+    }
+
+    /**
+     * @param memoryBudget The maximum number of bytes of the documents kept in memory
+     * @return A collector with the given budget
+     */
+    public SpillingCollector<T> withMemoryBudget(long memoryBudget) {
+        if (memoryBudget < 0) {
+            throw new IllegalArgumentException("Memory budget must not be negative: " + memoryBudget);
+        }
+        return new SpillingCollector<>(collection, decoder, memoryBudget, directory);
+    }
+
+    /**
+     * @param directory The directory of the temporary files
+     * @return A collector spilling to the given directory
+     */
+    public SpillingCollector<T> withDirectory(Path directory) {
+        return new SpillingCollector<>(collection, decoder, memoryBudget, directory);
+    }
+
+    /**
+     * @return The collection returning raw documents, to build queries for {@link #collect(Publisher)}
+     */
+    public MongoCollection<RawBsonDocument> getRawCollection() {
+        return collection;
+    }
+
+    /**
+     * @param filter The query filter
+     * @return The matching documents
+     */
+    public Mono<SpilledResults<T>> find(Bson filter) {
+        return collect(collection.find(filter));
+    }
+
+    /**
+     * @param pipeline The aggregation pipeline
+     * @return The documents returned by the pipeline
+     */
+    public Mono<SpilledResults<T>> aggregate(List<? extends Bson> pipeline) {
+        return collect(collection.aggregate(pipeline));
+    }
+
+    /**
+     * @return All documents of the collection
+     */
+    public Mono<SpilledResults<T>> findAll() {
+        return find(new BsonDocument());
+    }
+
+    /**
+     * @param results The raw results of a query, for example of <code>getRawCollection().find(filter).sort(sort)</code>
+     * @return The results, emitted once all documents are collected
+     */
+    public Mono<SpilledResults<T>> collect(Publisher<RawBsonDocument> results) {
+        return Mono.using(
+            () -> SpillingResultBuffer.create(memoryBudget, directory),
+            buffer -> Flux.from(results)
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(buffer::add)
+                .then(Mono.fromSupplier(() -> buffer.results(decoder))),
+            SpillingResultBuffer::close);
+    }
+}
@@ -0,0 +1,710 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.timeseries;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import io.micronaut.core.annotation.Nullable;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Inserts measurements into a time series collection in batches. Measurements are partitioned by the value of their
+ * meta field and buffered in a ring buffer per partition that is allocated up front. A partition is flushed once it
+ * holds a full batch or the flush interval elapsed, as an unordered <code>insertMany</code> of the batch sorted by
+ * meta field and time, so that the server fills few buckets per batch. At most the configured number of inserts are
+ * in flight.
+ *
+ * <p>{@link #ingest(Publisher)} requests measurements only as the buffers have room for them, while
+ * {@link #tryOffer(Object)} drops the measurement if its buffer is full. Dropped measurements, measurements older
+ * than the maximum lateness and failed inserts are counted and passed to the {@link TimeSeriesListener}.</p>
+ *
+ * <pre>{@code
+ * TimeSeriesIngester<Document> ingester = TimeSeriesIngester.builder(collection,
+ *         (Document d) -> d.get("sensor"),
+ *         (Document d) -> d.getDate("timestamp").getTime())
+ *     .batchSize(1000)
+ *     .parallelism(4)
+ *     .build();
+ * ingester.ingest(measurements).subscribe();
+ * }</pre>
+ *
+ * @param <T> The measurement type
+ * @since 5.6.0
+ */
+public final class TimeSeriesIngester<T> implements Disposable {
+
+    private static final InsertManyOptions UNORDERED = new InsertManyOptions().ordered(false);
+
+    private final MongoCollection<T> collection;
+    private final Function<? super T, ?> metaField;
+    private final ToLongFunction<? super T> timeField;
+    private final Comparator<T> order;
+    private final int batchSize;
+    private final int parallelism;
+    private final long maxLatenessMillis;
+    private final TimeSeriesListener<T> listener;
+    private final List<Partition> partitions;
+    private final Disposable flushTimer;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    private final List<PendingFlush> flushes = new ArrayList<>();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder inserted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder late = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private int nextPartition;
+    private volatile boolean disposed;
+
+    private TimeSeriesIngester(Builder<T> builder) {
+        this.collection = builder.collection;
+        this.metaField = builder.metaField;
+        this.timeField = builder.timeField;
+        this.order = Comparator.<T, Object>comparing(metaField::apply, TimeSeriesIngester::compareMeta)
+            .thenComparingLong(timeField);
+        this.batchSize = builder.batchSize;
+        this.parallelism = builder.parallelism;
+        this.maxLatenessMillis = builder.maxLateness == null ? -1 : builder.maxLateness.toMillis();
+        this.listener = builder.listener;
+        this.partitions = new ArrayList<>(builder.partitions);
+        for (int i = 0; i < builder.partitions; i++) {
+            partitions.add(new Partition(builder.capacity));
+        }
+        long interval = builder.flushInterval.toMillis();
+        this.flushTimer = Schedulers.parallel().schedulePeriodically(this::flushAll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param collection The time series collection
+     * @param metaField  The value of the meta field of a measurement
+     * @param timeField  The value of the time field of a measurement in milliseconds since the epoch
+     * @param <T>        The measurement type
+     * @return A new builder
+     */
+    public static <T> Builder<T> builder(MongoCollection<T> collection, Function<? super T, ?> metaField, ToLongFunction<? super T> timeField) {
+        return new Builder<>(collection, metaField, timeField);
+    }
+
+    /**
+     * Buffers the measurements of a publisher, requesting them only as the buffers have room for them.
+     *
+     * @param measurements The measurements
+     * @return A publisher completing once all measurements are buffered
+     */
+    public Mono<Void> ingest(Publisher<? extends T> measurements) {
+        return Flux.from(measurements).concatMap(this::offer).then();
+    }
+
+    /**
+     * @param measurement The measurement
+     * @return A publisher completing once the measurement is buffered, or immediately if it is late. Cancelling it
+     * while the measurement waits for room withdraws the measurement.
+     */
+    public Mono<Void> offer(T measurement) {
+        if (disposed) {
+            return Mono.error(disposedException());
+        }
+        Partition partition = partition(measurement);
+        long time = timeField.applyAsLong(measurement);
+        int offered = partition.offer(measurement, time, null);
+        if (offered == Partition.DISPOSED) {
+            return Mono.error(disposedException());
+        } else if (offered == Partition.LATE) {
+            rejectLate(measurement);
+        } else if (offered == Partition.FULL) {
+            return Mono.create(sink -> {
+                int waited = partition.offer(measurement, time, sink);
+                if (waited == Partition.FULL) {
+                    sink.onCancel(() -> partition.withdraw(sink));
+                    return;
+                }
+                if (waited == Partition.DISPOSED) {
+                    sink.error(disposedException());
+                    return;
+                }
+                if (waited == Partition.LATE) {
+                    rejectLate(measurement);
+                }
+                sink.success();
+            });
+        }
+        return Mono.empty();
+    }
+
+    /**
+     * @param measurement The measurement
+     * @return Whether the measurement was buffered, false if its buffer was full or it is late
+     */
+    public boolean tryOffer(T measurement) {
+        if (disposed) {
+            throw disposedException();
+        }
+        int offered = partition(measurement).offer(measurement, timeField.applyAsLong(measurement), null);
+        if (offered == Partition.DISPOSED) {
+            throw disposedException();
+        } else if (offered == Partition.LATE) {
+            rejectLate(measurement);
+        } else if (offered == Partition.FULL) {
+            dropped.increment();
+            listener.onDropped(measurement);
+        }
+        return offered == Partition.BUFFERED;
+    }
+
+    /**
+     * Flushes all partitions regardless of the number of buffered measurements. Measurements buffered after the
+     * flush started do not delay it, so it completes while producers keep offering.
+     *
+     * @return A publisher completing once the measurements buffered when it was subscribed are inserted or failed
+     */
+    public Mono<Void> flush() {
+        return Mono.create(sink -> {
+            long[] targets = new long[partitions.size()];
+            for (int i = 0; i < targets.length; i++) {
+                targets[i] = partitions.get(i).requestFlush();
+            }
+            PendingFlush flush = new PendingFlush(sink, targets);
+            synchronized (flushes) {
+                flushes.add(flush);
+            }
+            sink.onCancel(() -> {
+                synchronized (flushes) {
+                    flushes.remove(flush);
+                }
+            });
+            drain();
+            completeFlushes();
+        });
+    }
+
+    /**
+     * Stops accepting measurements and inserts the buffered ones. Measurements still waiting for room are dropped:
+     * their offers fail and they are passed to {@link TimeSeriesListener#onDropped(Object)}.
+     */
+    @Override
+    public void dispose() {
+        disposed = true;
+        flushTimer.dispose();
+        for (Partition partition : partitions) {
+            List<Waiting> rejected = partition.rejectWaiting();
+            for (Waiting next : rejected) {
+                dropped.increment();
+                listener.onDropped(next.measurement);
+                next.sink.error(disposedException());
+            }
+        }
+        flushAll();
+    }
+
+    /**
+     * Disposes the ingester once subscribed, see {@link #dispose()}.
+     *
+     * @return A publisher completing once the measurements buffered when the ingester was disposed are inserted or failed
+     */
+    public Mono<Void> disposeGracefully() {
+        return Mono.defer(() -> {
+            dispose();
+            return flush();
+        });
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    /**
+     * @return The number of measurements buffered
+     */
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    /**
+     * @return The number of measurements inserted
+     */
+    public long getInserted() {
+        return inserted.sum();
+    }
+
+    /**
+     * @return The number of measurements dropped because their buffer was full
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return The number of measurements dropped because they were late
+     */
+    public long getLate() {
+        return late.sum();
+    }
+
+    /**
+     * @return The number of measurements whose insert failed
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * @return The number of measurements buffered or being inserted
+     */
+    public long getPending() {
+        return accepted.sum() - inserted.sum() - failed.sum();
+    }
+
+    private Partition partition(T measurement) {
+        int hash = Objects.hashCode(metaField.apply(measurement));
+        return partitions.get(Math.floorMod(hash ^ (hash >>> 16), partitions.size()));
+    }
+
+    /**
+     * Orders the meta field values by hash and then by value, so that the measurements of every meta field value
+     * are adjacent even if the hashes of different values collide.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareMeta(Object a, Object b) {
+        int byHash = Integer.compare(Objects.hashCode(a), Objects.hashCode(b));
+        if (byHash != 0 || Objects.equals(a, b)) {
+            return byHash;
+        }
+        if (a == null || b == null) {
+            return a == null ? -1 : 1;
+        }
+        if (a instanceof Comparable comparable && a.getClass() == b.getClass()) {
+            return comparable.compareTo(b);
+        }
+        int byType = a.getClass().getName().compareTo(b.getClass().getName());
+        return byType != 0 ? byType : String.valueOf(a).compareTo(String.valueOf(b));
+    }
+
+    private static IllegalStateException disposedException() {
+        return new IllegalStateException("Ingester is disposed");
+    }
+
+    private void rejectLate(T measurement) {
+        late.increment();
+        listener.onLate(measurement);
+    }
+
+    private void flushAll() {
+        for (Partition partition : partitions) {
+            partition.requestFlush();
+        }
+        drain();
+    }
+
+    private void drain() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        do {
+            int idle = 0;
+            while (idle < partitions.size() && inFlight.get() < parallelism) {
+                nextPartition = (nextPartition + 1) % partitions.size();
+                Batch batch = partitions.get(nextPartition).take();
+                if (batch == null) {
+                    idle++;
+                } else {
+                    idle = 0;
+                    inFlight.incrementAndGet();
+                    insert(batch);
+                }
+            }
+        } while (drainRequests.decrementAndGet() != 0);
+    }
+
+    private void insert(Batch batch) {
+        List<T> measurements = batch.measurements;
+        measurements.sort(order);
+        Mono.from(collection.insertMany(measurements, UNORDERED)).subscribe(
+            result -> {
+                inserted.add(measurements.size());
+                completed(batch);
+            },
+            error -> {
+                int failures = error instanceof MongoBulkWriteException bulk ? bulk.getWriteErrors().size() : measurements.size();
+                inserted.add(measurements.size() - failures);
+                failed.add(failures);
+                listener.onFailed(measurements, error);
+                completed(batch);
+            }
+        );
+    }
+
+    private void completed(Batch batch) {
+        batch.partition.completed(batch.start);
+        inFlight.decrementAndGet();
+        drain();
+        completeFlushes();
+    }
+
+    private void completeFlushes() {
+        List<MonoSink<Void>> completed = null;
+        synchronized (flushes) {
+            for (Iterator<PendingFlush> iterator = flushes.iterator(); iterator.hasNext(); ) {
+                PendingFlush flush = iterator.next();
+                if (flush.isComplete()) {
+                    iterator.remove();
+                    if (completed == null) {
+                        completed = new ArrayList<>();
+                    }
+                    completed.add(flush.sink);
+                }
+            }
+        }
+        if (completed != null) {
+            completed.forEach(MonoSink::success);
+        }
+    }
+
+    /**
+     * The ring buffer of the measurements of a partition and the measurements waiting for room in it. Measurements
+     * are numbered in the order they are buffered, so that a flush waits only for the measurements buffered before it.
+     */
+    private final class Partition {
+
+        static final int BUFFERED = 0;
+        static final int FULL = 1;
+        static final int LATE = 2;
+        static final int DISPOSED = 3;
+
+        private final Object[] ring;
+        private final ArrayDeque<Waiting> waiting = new ArrayDeque<>();
+        private int head;
+        private int size;
+        private final TreeSet<Long> inserting = new TreeSet<>();
+        private long maxTime = Long.MIN_VALUE;
+        private long added;
+        private long taken;
+        private long flushUntil;
+
+        Partition(int capacity) {
+            this.ring = new Object[capacity];
+        }
+
+        /**
+         * @param measurement The measurement
+         * @param time        The time of the measurement
+         * @param sink        The sink to complete once there is room, or null to not wait
+         * @return Whether the measurement was buffered, is waiting or was rejected as {@link #FULL}, {@link #LATE}
+         * or {@link #DISPOSED}
+         */
+        int offer(T measurement, long time, @Nullable MonoSink<Void> sink) {
+            boolean full;
+            boolean batchReady;
+            synchronized (this) {
+                // checked under the lock, so that no measurement is buffered or waits after the waiting ones were rejected
+                if (disposed) {
+                    return DISPOSED;
+                }
+                // unsigned, since the distance between two times may exceed Long.MAX_VALUE
+                if (maxLatenessMillis >= 0 && time < maxTime && Long.compareUnsigned(maxTime - time, maxLatenessMillis) > 0) {
+                    return LATE;
+                }
+                full = !waiting.isEmpty() || size == ring.length;
+                if (full && sink != null) {
+                    waiting.add(new Waiting(measurement, time, sink));
+                } else if (!full) {
+                    add(measurement, time);
+                }
+                batchReady = size >= batchSize;
+            }
+            if (batchReady) {
+                drain();
+            }
+            return full ? FULL : BUFFERED;
+        }
+
+        /**
+         * @param sink The sink of a waiting measurement to remove
+         */
+        synchronized void withdraw(MonoSink<Void> sink) {
+            waiting.removeIf(next -> next.sink == sink);
+        }
+
+        /**
+         * @return The measurements that were waiting for room, removed from the partition
+         */
+        synchronized List<Waiting> rejectWaiting() {
+            List<Waiting> rejected = new ArrayList<>(waiting);
+            waiting.clear();
+            return rejected;
+        }
+
+        /**
+         * Requests the measurements buffered so far to be taken even if they do not fill a batch.
+         *
+         * @return The number of the first measurement buffered after the flush
+         */
+        synchronized long requestFlush() {
+            flushUntil = added;
+            return added;
+        }
+
+        /**
+         * @param target The number returned by {@link #requestFlush()}
+         * @return Whether all measurements buffered before the flush are inserted or failed
+         */
+        synchronized boolean isFlushed(long target) {
+            return taken >= target && (inserting.isEmpty() || inserting.first() >= target);
+        }
+
+        /**
+         * @param start The number of the first measurement of a batch whose insert completed
+         */
+        synchronized void completed(long start) {
+            inserting.remove(start);
+        }
+
+        /**
+         * @return The next batch or null if there is no full batch and no flush was requested
+         */
+        Batch take() {
+            Batch batch;
+            List<MonoSink<Void>> admitted = null;
+            synchronized (this) {
+                if (size == 0 || size < batchSize && taken >= flushUntil) {
+                    return null;
+                }
+                int count = Math.min(size, batchSize);
+                List<T> measurements = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    int index = (head + i) % ring.length;
+                    measurements.add(measurement(index));
+                    ring[index] = null;
+                }
+                head = (head + count) % ring.length;
+                size -= count;
+                batch = new Batch(this, taken, measurements);
+                inserting.add(taken);
+                taken += count;
+                while (!waiting.isEmpty() && size < ring.length) {
+                    Waiting next = waiting.poll();
+                    add(next.measurement, next.time);
+                    if (admitted == null) {
+                        admitted = new ArrayList<>();
+                    }
+                    admitted.add(next.sink);
+                }
+            }
+            if (admitted != null) {
+                admitted.forEach(MonoSink::success);
+            }
+            return batch;
+        }
+
+        private void add(T measurement, long time) {
+            ring[(head + size) % ring.length] = measurement;
+            size++;
+            added++;
+            maxTime = Math.max(maxTime, time);
+            accepted.increment();
+        }
+
+        @SuppressWarnings("unchecked")
+        private T measurement(int index) {
+            return (T) ring[index];
+        }
+    }
+
+    /**
+     * Measurements taken from a partition to be inserted.
+     */
+    private final class Batch {
+
+        private final Partition partition;
+        private final long start;
+        private final List<T> measurements;
+
+        Batch(Partition partition, long start, List<T> measurements) {
+            this.partition = partition;
+            this.start = start;
+            this.measurements = measurements;
+        }
+    }
+
+    /**
+     * A flush waiting for the measurements buffered before it.
+     */
+    private final class PendingFlush {
+
+        private final MonoSink<Void> sink;
+        private final long[] targets;
+
+        PendingFlush(MonoSink<Void> sink, long[] targets) {
+            this.sink = sink;
+            this.targets = targets;
+        }
+
+        boolean isComplete() {
+            for (int i = 0; i < targets.length; i++) {
+                if (!partitions.get(i).isFlushed(targets[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A measurement waiting for room in the buffer of its partition.
+     */
+    private final class Waiting {
+
+        private final T measurement;
+        private final long time;
+        private final MonoSink<Void> sink;
+
+        Waiting(T measurement, long time, MonoSink<Void> sink) {
+            this.measurement = measurement;
+            this.time = time;
+            this.sink = sink;
+        }
+    }
+
+    /**
+     * Builder of {@link TimeSeriesIngester}.
+     *
+     * @param <T> The measurement type
+     */
+    public static final class Builder<T> {
+
+        private final MongoCollection<T> collection;
+        private final Function<? super T, ?> metaField;
+        private final ToLongFunction<? super T> timeField;
+        private int partitions = Runtime.getRuntime().availableProcessors();
+        private int capacity = 8192;
+        private int batchSize = 1000;
+        private int parallelism = 4;
+        private Duration flushInterval = Duration.ofMillis(100);
+        private Duration maxLateness;
+        private TimeSeriesListener<T> listener = new TimeSeriesListener<>() {
+        };
+
+        private Builder(MongoCollection<T> collection, Function<? super T, ?> metaField, ToLongFunction<? super T> timeField) {
+            this.collection = collection;
+            this.metaField = metaField;
+            this.timeField = timeField;
+        }
+
+        /**
+         * @param partitions The number of partitions (defaults to the number of processors)
+         * @return This builder
+         */
+        public Builder<T> partitions(int partitions) {
+            this.partitions = positive("partitions", partitions);
+            return this;
+        }
+
+        /**
+         * @param capacity The number of measurements buffered per partition (defaults to 8192)
+         * @return This builder
+         */
+        public Builder<T> capacity(int capacity) {
+            this.capacity = positive("capacity", capacity);
+            return this;
+        }
+
+        /**
+         * @param batchSize The maximum number of measurements per insert (defaults to 1000)
+         * @return This builder
+         */
+        public Builder<T> batchSize(int batchSize) {
+            this.batchSize = positive("batchSize", batchSize);
+            return this;
+        }
+
+        /**
+         * @param parallelism The maximum number of inserts in flight (defaults to 4)
+         * @return This builder
+         */
+        public Builder<T> parallelism(int parallelism) {
+            this.parallelism = positive("parallelism", parallelism);
+            return this;
+        }
+
+        /**
+         * @param flushInterval The interval partitions are flushed in regardless of the number of buffered measurements (defaults to 100ms)
+         * @return This builder
+         */
+        public Builder<T> flushInterval(Duration flushInterval) {
+            if (flushInterval.isNegative() || flushInterval.isZero()) {
+                throw new IllegalArgumentException("flushInterval must be positive: " + flushInterval);
+            }
+            this.flushInterval = flushInterval;
+            return this;
+        }
+
+        /**
+         * @param maxLateness How much older than the newest measurement of its partition a measurement may be, or null
+         *                    to accept all measurements (defaults to null)
+         * @return This builder
+         */
+        public Builder<T> maxLateness(@Nullable Duration maxLateness) {
+            this.maxLateness = maxLateness;
+            return this;
+        }
+
+        /**
+         * @param listener The listener of the measurements that were not inserted
+         * @return This builder
+         */
+        public Builder<T> listener(TimeSeriesListener<T> listener) {
+            this.listener = Objects.requireNonNull(listener, "listener");
+            return this;
+        }
+
+        /**
+         * @return The ingester, flushing its partitions until disposed
+         */
+        public TimeSeriesIngester<T> build() {
+            if (batchSize > capacity) {
+                throw new IllegalArgumentException("batchSize " + batchSize + " exceeds capacity " + capacity);
+            }
+            return new TimeSeriesIngester<>(this);
+        }
+
+        private static int positive(String name, int value) {
+            if (value < 1) {
+                throw new IllegalArgumentException(name + " must be positive: " + value);
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.timeseries;
+
+import java.util.List;
+
+/**
+ * Receives the measurements a {@link TimeSeriesIngester} did not insert. The methods are called on the thread that
+ * offered the measurement or completed the insert and must not block.
+ *
+ * @param <T> The measurement type
+ * @since 5.6.0
+ */
+public interface TimeSeriesListener<T> {
+
+    /**
+     * @param measurement A measurement dropped because the buffer of its partition was full
+     */
+    default void onDropped(T measurement) {
+    }
+
+    /**
+     * @param measurement A measurement dropped because it is older than the maximum lateness allows
+     */
+    default void onLate(T measurement) {
+    }
+
+    /**
+     * @param batch The batch, sorted as it was inserted
+     * @param error The error, a {@link com.mongodb.MongoBulkWriteException} listing the failed measurements if some of the batch was inserted
+     */
+    default void onFailed(List<T> batch, Throwable error) {
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive
+
+import com.mongodb.ConnectionString
+import com.mongodb.MongoClientSettings
+import com.mongodb.event.CommandListener
+import com.mongodb.event.CommandStartedEvent
+import com.mongodb.reactivestreams.client.MongoClient
+import io.micronaut.configuration.mongo.embedded.EmbeddedMongoServer
+import io.micronaut.context.ApplicationContext
+import io.micronaut.inject.qualifiers.Qualifiers
+import org.bson.Document
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+class BridgedMongoClientSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedMongoServer server = EmbeddedMongoServer.start()
+
+    void "test the synchronous and the reactive client share one connection pool"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'mongodb.uri': server.connectionString,
+                'mongodb.bridged.enabled': true
+        )
+        com.mongodb.client.MongoClient syncClient = context.getBean(com.mongodb.client.MongoClient)
+        MongoClient reactiveClient = context.getBean(MongoClient)
+
+        when:
+        syncClient.getDatabase('test').getCollection('bridged').insertOne(new Document('n', 1))
+        Mono.from(reactiveClient.getDatabase('test').getCollection('bridged').insertOne(new Document('n', 2))).block()
+
+        then:
+        syncClient.getDatabase('test').getCollection('bridged').countDocuments() == 2
+        Flux.from(reactiveClient.getDatabase('test').getCollection('bridged').find()).collectList().block().size() == 2
+        context.getBean(BridgedMongoClientRegistry)
+
+        and: 'one pooled connection besides the monitoring connections of one client'
+        server.connections <= 3
+
+        when:
+        context.close()
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert server.connections == 0
+        }
+    }
+
+    void "test named servers are bridged"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'mongodb.servers.other.uri': server.connectionString,
+                'mongodb.bridged.enabled': true
+        )
+        com.mongodb.client.MongoClient syncClient = context.getBean(com.mongodb.client.MongoClient, Qualifiers.byName('other'))
+        MongoClient reactiveClient = context.getBean(MongoClient, Qualifiers.byName('other'))
+
+        when:
+        syncClient.getDatabase('test').getCollection('named').insertOne(new Document('n', 1))
+
+        then:
+        Mono.from(reactiveClient.getDatabase('test').getCollection('named').countDocuments()).block() == 1
+
+        cleanup:
+        context.close()
+    }
+
+    void "test closing ends the sessions of both clients before the cluster is closed"() {
+        given:
+        List<String> commands = Collections.synchronizedList([])
+        CommandListener listener = new CommandListener() {
+            @Override
+            void commandStarted(CommandStartedEvent event) {
+                commands << event.commandName
+            }
+        }
+        BridgedMongoClients clients = BridgedMongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(server.connectionString))
+                .addCommandListener(listener)
+                .build())
+
+        when:
+        clients.syncClient.getDatabase('test').getCollection('closed').insertOne(new Document('n', 1))
+        Mono.from(clients.reactiveClient.getDatabase('test').getCollection('closed').countDocuments()).block()
+        clients.close()
+
+        then:
+        noExceptionThrown()
+        commands.count('endSessions') == 2
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.batch
+
+import com.mongodb.client.model.Aggregates
+import com.mongodb.client.model.Filters
+import com.mongodb.reactivestreams.client.MongoClient
+import com.mongodb.reactivestreams.client.MongoCollection
+import io.micronaut.configuration.mongo.core.DefaultMongoConfiguration
+import io.micronaut.configuration.mongo.core.batch.MongoBatchSizeAdvisor
+import io.micronaut.configuration.mongo.core.batch.QueryShape
+import io.micronaut.configuration.mongo.core.monitor.MongoClientMonitor
+import io.micronaut.configuration.mongo.embedded.EmbeddedMongoServer
+import io.micronaut.context.ApplicationContext
+import org.bson.Document
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class MongoBatchSizeInterceptorSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedMongoServer server = EmbeddedMongoServer.start()
+
+    void "test aggregations use the batch size picked from the observed document sizes"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'mongodb.uri': server.connectionString,
+                'mongodb.monitoring-enabled': true,
+                'mongodb.batch-size.enabled': true,
+                'mongodb.batch-size.target-bytes': '4KB',
+                'mongodb.batch-size.min-documents': 20
+        )
+        MongoCollection<Document> collection = context.getBean(MongoClient).getDatabase('test').getCollection('batch')
+        MongoBatchSizeAdvisor advisor = context.getBean(MongoBatchSizeAdvisor)
+        MongoClientMonitor monitor = context.getBean(DefaultMongoConfiguration).monitors[0]
+        List pipeline = [Aggregates.match(Filters.lt('n', 100)), Aggregates.project(new Document('text', 1))]
+        QueryShape shape = QueryShape.aggregate('test.batch', pipeline.collect { it.toBsonDocument() })
+
+        when:
+        Mono.from(collection.insertMany((0..<200).collect { new Document('n', it).append('text', 'x' * 200) })).block()
+        Flux.from(collection.aggregate(pipeline)).collectList().block()
+        int batchSize = advisor.advise(shape).asInt
+        long getMores = monitor.commands.find { it.commandName == 'getMore' }?.count ?: 0
+        List<Document> documents = Flux.from(collection.aggregate(pipeline)).collectList().block()
+
+        then:
+        batchSize == (int) (4096 / advisor.getEstimate(shape).averageSize)
+        documents.size() == 100
+        monitor.commands.find { it.commandName == 'getMore' }.count - getMores == Math.ceil(100 / batchSize) - 1
+
+        cleanup:
+        context?.close()
+    }
+}
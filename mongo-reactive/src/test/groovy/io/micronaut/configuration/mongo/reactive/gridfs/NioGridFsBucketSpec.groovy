@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.gridfs
+
+import com.mongodb.MongoGridFSException
+import com.mongodb.reactivestreams.client.MongoClient
+import com.mongodb.reactivestreams.client.MongoClients
+import com.mongodb.reactivestreams.client.MongoDatabase
+import com.mongodb.reactivestreams.client.gridfs.GridFSBuckets
+import io.micronaut.buffer.netty.NettyByteBufferFactory
+import io.micronaut.configuration.mongo.embedded.EmbeddedMongoServer
+import org.bson.BsonObjectId
+import org.bson.types.ObjectId
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+import java.nio.channels.Channels
+import java.nio.channels.FileChannel
+import java.nio.file.Files
+import java.nio.file.Path
+
+class NioGridFsBucketSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedMongoServer server = EmbeddedMongoServer.start()
+    @Shared @AutoCleanup MongoClient client = MongoClients.create(server.connectionString)
+    @Shared byte[] content = new byte[600_001]
+
+    def setupSpec() {
+        new Random(1).nextBytes(content)
+    }
+
+    void "test files uploaded from buffers are readable by the driver"() {
+        given:
+        MongoDatabase database = client.getDatabase('gridfs')
+        NioGridFsBucket bucket = NioGridFsBucket.of(database)
+        List<ByteBuffer> buffers = (0..<content.length).step(7777).collect {
+            ByteBuffer.wrap(content, it, Math.min(7777, content.length - it))
+        }
+
+        when:
+        ObjectId id = bucket.upload('media.bin', Flux.fromIterable(buffers)).block()
+        List<ByteBuffer> downloaded = Flux.from(GridFSBuckets.create(database).downloadToPublisher(id)).collectList().block()
+
+        then:
+        concat(downloaded) == content
+    }
+
+    void "test files are uploaded from and downloaded to channels"() {
+        given:
+        Path path = Files.write(Files.createTempFile('gridfs', '.bin'), content)
+        NioGridFsBucket bucket = NioGridFsBucket.of(client.getDatabase('gridfs'), 'channels')
+        ByteArrayOutputStream out = new ByteArrayOutputStream()
+
+        when:
+        ObjectId id = FileChannel.open(path).withCloseable { bucket.upload('media.bin', it).block() }
+        long length = bucket.download(new BsonObjectId(id), Channels.newChannel(out)).block()
+
+        then:
+        length == content.length
+        out.toByteArray() == content
+        bucket.download(id).count().block() == 3
+
+        cleanup:
+        Files.delete(path)
+    }
+
+    void "test files are downloaded as Micronaut buffers"() {
+        given:
+        MongoDatabase database = client.getDatabase('gridfs')
+        ObjectId id = Mono.from(GridFSBuckets.create(database, 'http').uploadFromPublisher('driver.bin', Mono.just(ByteBuffer.wrap(content)))).block()
+        NioGridFsBucket bucket = NioGridFsBucket.of(database, 'http')
+
+        when:
+        List<byte[]> chunks = bucket.download(new BsonObjectId(id), NettyByteBufferFactory.DEFAULT).map { it.toByteArray() }.collectList().block()
+
+        then:
+        chunks*.length == [261120, 261120, 77761]
+        concat(chunks.collect { ByteBuffer.wrap(it) }) == content
+
+        when:
+        bucket.download(new ObjectId()).blockLast()
+
+        then:
+        thrown(MongoGridFSException)
+    }
+
+    private static byte[] concat(List<ByteBuffer> buffers) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream()
+        buffers.each { Channels.newChannel(out).write(it) }
+        out.toByteArray()
+    }
+}
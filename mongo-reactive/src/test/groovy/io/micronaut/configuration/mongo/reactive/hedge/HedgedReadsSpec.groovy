@@ -0,0 +1,264 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.hedge
+
+import com.mongodb.MongoClientException
+import com.mongodb.MongoException
+import com.mongodb.ReadPreference
+import com.mongodb.ServerAddress
+import com.mongodb.connection.ClusterConnectionMode
+import com.mongodb.connection.ClusterDescription
+import com.mongodb.connection.ClusterType
+import com.mongodb.connection.ServerConnectionState
+import com.mongodb.connection.ServerDescription
+import com.mongodb.connection.ServerType
+import com.mongodb.reactivestreams.client.MongoCollection
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class HedgedReadsSpec extends Specification {
+
+    HedgingServerSelector selector = new HedgingServerSelector(15, TimeUnit.MILLISECONDS)
+    ClusterDescription cluster = cluster('a:27017', 'b:27017', 'c:27017')
+
+    void "test a slow read is hedged to another member and the second attempt wins"() {
+        given:
+        HedgedReads hedgedReads = new HedgedReads(new HedgingConfiguration(initialDelay: Duration.ofMillis(10)))
+        MongoCollection collection = Stub {
+            getReadPreference() >> ReadPreference.secondaryPreferred()
+        }
+        AtomicInteger attempts = new AtomicInteger()
+        AtomicInteger cancelled = new AtomicInteger()
+        ServerAddress first = null
+
+        when:
+        ServerAddress result = Flux.from(hedgedReads.execute(collection, { c ->
+            attempts.incrementAndGet() == 1 ?
+                    Mono.fromRunnable { first = select(cluster) }.then(Mono.never()).doOnCancel { cancelled.incrementAndGet() } :
+                    Mono.fromCallable { select(cluster) }
+        })).blockFirst(Duration.ofSeconds(5))
+
+        then:
+        first != null
+        result != first
+        attempts.get() == 2
+        cancelled.get() == 1
+        hedgedReads.statistics.operations == 1
+        hedgedReads.statistics.hedged == 1
+        hedgedReads.statistics.hedgeWins == 1
+        hedgedReads.statistics.winRate == 1
+
+        and: 'the latencies of both attempts are recorded'
+        hedgedReads.latencies.recorded == 2
+    }
+
+    void "test a failed first attempt starts the second attempt right away"() {
+        given:
+        HedgedReads hedgedReads = new HedgedReads(new HedgingConfiguration(initialDelay: Duration.ofSeconds(30)))
+        MongoCollection collection = Stub {
+            getReadPreference() >> ReadPreference.nearest()
+        }
+        AtomicInteger attempts = new AtomicInteger()
+
+        when:
+        String result = Flux.from(hedgedReads.execute(collection, { c ->
+            attempts.incrementAndGet() == 1 ?
+                    Mono.fromRunnable { select(cluster) }.then(Mono.error(new MongoException("down"))) :
+                    Mono.fromCallable { select(cluster) }.thenReturn("second")
+        })).blockFirst(Duration.ofSeconds(5))
+
+        then:
+        result == "second"
+        hedgedReads.statistics.hedged == 1
+        hedgedReads.statistics.hedgeWins == 1
+    }
+
+    void "test a failed second attempt does not win"() {
+        given:
+        HedgedReads hedgedReads = new HedgedReads(new HedgingConfiguration(initialDelay: Duration.ofMillis(10)))
+        MongoCollection collection = Stub {
+            getReadPreference() >> ReadPreference.secondary()
+        }
+        AtomicInteger attempts = new AtomicInteger()
+
+        when:
+        String result = Flux.from(hedgedReads.execute(collection, { c ->
+            attempts.incrementAndGet() == 1 ?
+                    Mono.fromRunnable { select(cluster) }.then(Mono.delay(Duration.ofMillis(200))).thenReturn("first") :
+                    Mono.fromRunnable { select(cluster) }.then(Mono.error(new MongoException("down")))
+        })).blockFirst(Duration.ofSeconds(5))
+
+        then:
+        result == "first"
+        attempts.get() == 2
+        hedgedReads.statistics.hedged == 1
+        hedgedReads.statistics.hedgeWins == 0
+    }
+
+    void "test the read fails once both attempts failed"() {
+        given:
+        HedgedReads hedgedReads = new HedgedReads(new HedgingConfiguration(initialDelay: Duration.ofMillis(10)))
+        MongoCollection collection = Stub {
+            getReadPreference() >> ReadPreference.secondary()
+        }
+        AtomicInteger attempts = new AtomicInteger()
+
+        when:
+        Flux.from(hedgedReads.execute(collection, { c ->
+            int attempt = attempts.incrementAndGet()
+            Mono.fromRunnable { select(cluster) }.then(Mono.delay(Duration.ofMillis(50))).then(Mono.error(new MongoException("down " + attempt)))
+        })).blockFirst(Duration.ofSeconds(5))
+
+        then:
+        thrown(MongoException)
+        attempts.get() == 2
+    }
+
+    void "test a read is not hedged without another eligible member"() {
+        given:
+        HedgedReads hedgedReads = new HedgedReads(new HedgingConfiguration(initialDelay: Duration.ofMillis(2)))
+        MongoCollection collection = Stub {
+            getReadPreference() >> ReadPreference.secondaryPreferred()
+        }
+        ClusterDescription single = cluster('a:27017')
+        AtomicInteger attempts = new AtomicInteger()
+
+        when:
+        String result = Flux.from(hedgedReads.execute(collection, { c ->
+            attempts.incrementAndGet()
+            Mono.fromRunnable { select(single) }.then(Mono.delay(Duration.ofMillis(50))).thenReturn("only")
+        })).blockFirst(Duration.ofSeconds(5))
+
+        then:
+        result == "only"
+        attempts.get() == 1
+        hedgedReads.statistics.hedged == 0
+    }
+
+    void "test the second attempt is never sent to the member of the first one"() {
+        given:
+        HedgedRead read = new HedgedRead()
+        ClusterDescription single = cluster('a:27017')
+
+        when:
+        ServerAddress first = Mono.from(HedgingServerSelector.bind(Mono.fromCallable { select(single) }, read, HedgedRead.FIRST)).block()
+        Mono.from(HedgingServerSelector.bind(Mono.fromCallable { select(single) }, read, HedgedRead.SECOND)).block()
+
+        then:
+        first == new ServerAddress('a:27017')
+        thrown(MongoClientException)
+    }
+
+    void "test operations outside hedged reads are left to the driver"() {
+        expect:
+        selector.select(cluster) == cluster.serverDescriptions
+    }
+
+    void "test a fast read is not hedged"() {
+        given:
+        HedgedReads hedgedReads = new HedgedReads(new HedgingConfiguration(initialDelay: Duration.ofSeconds(1)))
+        MongoCollection collection = Stub {
+            getReadPreference() >> ReadPreference.nearest()
+        }
+        AtomicInteger attempts = new AtomicInteger()
+
+        when:
+        List<String> result = Flux.from(hedgedReads.execute(collection, { c ->
+            attempts.incrementAndGet()
+            Flux.just("a", "b")
+        })).collectList().block()
+
+        then:
+        result == ["a", "b"]
+        attempts.get() == 1
+        hedgedReads.statistics.operations == 1
+        hedgedReads.statistics.hedged == 0
+        hedgedReads.statistics.hedgeRate == 0
+        hedgedReads.latencies.recorded == 1
+    }
+
+    void "test reads that prefer the primary are never hedged"() {
+        given:
+        HedgedReads hedgedReads = new HedgedReads(new HedgingConfiguration(initialDelay: Duration.ofMillis(2)))
+        MongoCollection collection = Stub {
+            getReadPreference() >> readPreference
+        }
+
+        when:
+        String result = Mono.from(hedgedReads.execute(collection, { c -> Mono.just("primary") })).block()
+
+        then:
+        result == "primary"
+        hedgedReads.statistics.operations == 0
+
+        where:
+        readPreference << [ReadPreference.primary(), ReadPreference.primaryPreferred()]
+    }
+
+    void "test latencies can be recorded concurrently"() {
+        given:
+        LatencyWindow window = new LatencyWindow(new HedgingConfiguration(
+                percentile: 0.5,
+                sampleSize: 64,
+                minDelay: Duration.ofNanos(1),
+                maxDelay: Duration.ofSeconds(10)))
+
+        when:
+        List<Thread> threads = (1..8).collect { Thread.start { 1000.times { window.record(5000L) } } }
+        threads*.join()
+
+        then:
+        window.recorded == 8000
+        window.delayNanos == 5000L
+    }
+
+    void "test the delay follows the observed latency percentile"() {
+        given:
+        HedgingConfiguration configuration = new HedgingConfiguration(
+                percentile: 0.9,
+                sampleSize: 100,
+                minDelay: Duration.ofNanos(1),
+                maxDelay: Duration.ofSeconds(10))
+        LatencyWindow window = new LatencyWindow(configuration)
+
+        when:
+        (1..128).each { window.record(it * 1000L) }
+
+        then:
+        window.delayNanos == 118_000L
+    }
+
+    private ServerAddress select(ClusterDescription description) {
+        selector.select(description).get(0).address
+    }
+
+    private static ClusterDescription cluster(String... hosts) {
+        new ClusterDescription(ClusterConnectionMode.MULTIPLE, ClusterType.REPLICA_SET, hosts.collect { host ->
+            ServerDescription.builder()
+                    .address(new ServerAddress(host))
+                    .state(ServerConnectionState.CONNECTED)
+                    .type(ServerType.REPLICA_SET_SECONDARY)
+                    .roundTripTime(1, TimeUnit.MILLISECONDS)
+                    .ok(true)
+                    .build()
+        })
+    }
+}
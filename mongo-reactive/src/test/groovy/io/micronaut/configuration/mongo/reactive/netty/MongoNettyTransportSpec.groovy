@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.netty
+
+import com.mongodb.reactivestreams.client.MongoClient
+import io.micronaut.configuration.mongo.embedded.EmbeddedMongoServer
+import io.micronaut.context.ApplicationContext
+import io.micronaut.http.netty.channel.EventLoopGroupRegistry
+import io.micronaut.inject.qualifiers.Qualifiers
+import io.netty.channel.EventLoopGroup
+import org.bson.Document
+import reactor.core.publisher.Mono
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class MongoNettyTransportSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedMongoServer server = EmbeddedMongoServer.start()
+
+    void "test clients run on the shared event loop group"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'mongodb.uri': server.connectionString,
+                'mongodb.event-loop-group': 'default',
+                'mongodb.servers.other.uri': server.connectionString,
+                'mongodb.servers.other.event-loop-group': 'default'
+        )
+        EventLoopGroup group = context.getBean(EventLoopGroupRegistry).defaultEventLoopGroup
+
+        when:
+        List<Thread> threads = [context.getBean(MongoClient), context.getBean(MongoClient, Qualifiers.byName('other'))].collect { MongoClient client ->
+            def collection = client.getDatabase('test').getCollection('netty')
+            Mono.from(collection.insertOne(new Document('name', 'netty'))).block()
+            Mono.from(collection.find().first()).map { Thread.currentThread() }.block()
+        }
+
+        then:
+        threads.every { Thread thread -> group.any { it.inEventLoop(thread) } }
+
+        cleanup:
+        context?.close()
+    }
+
+    void "test the driver transport is used without an event loop group"() {
+        given:
+        ApplicationContext context = ApplicationContext.run('mongodb.uri': server.connectionString)
+        EventLoopGroup group = context.getBean(EventLoopGroupRegistry).defaultEventLoopGroup
+        def collection = context.getBean(MongoClient).getDatabase('test').getCollection('netty')
+
+        when:
+        Mono.from(collection.insertOne(new Document('name', 'driver'))).block()
+        Thread thread = Mono.from(collection.find().first()).map { Thread.currentThread() }.block()
+
+        then:
+        !group.any { it.inEventLoop(thread) }
+
+        cleanup:
+        context?.close()
+    }
+
+    void "test an unknown event loop group fails"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'mongodb.uri': server.connectionString,
+                'mongodb.event-loop-group': 'missing'
+        )
+
+        when:
+        context.getBean(MongoClient)
+
+        then:
+        RuntimeException e = thrown()
+        e.message.contains('No event loop group named [missing]')
+
+        cleanup:
+        context?.close()
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.offload
+
+import com.mongodb.reactivestreams.client.MongoClient
+import com.mongodb.reactivestreams.client.MongoCollection
+import io.micronaut.configuration.mongo.embedded.EmbeddedMongoServer
+import io.micronaut.context.ApplicationContext
+import org.bson.Document
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class MongoOffloadingInterceptorSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedMongoServer server = EmbeddedMongoServer.start()
+
+    void "test results are delivered on the bounded elastic scheduler"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'mongodb.uri': server.connectionString,
+                'mongodb.offload.enabled': true,
+                'mongodb.offload.thread-cap': 2
+        )
+        MongoCollection<Document> collection = context.getBean(MongoClient).getDatabase('test').getCollection('offload')
+        OffloadStatistics statistics = context.getBean(MongoOffloadingInterceptor).statistics
+
+        when:
+        Mono.from(collection.insertMany((0..<50).collect { new Document('_id', it) })).block()
+        List<String> threads = Flux.from(collection.find().batchSize(10)).map { Thread.currentThread().name }.collectList().block()
+
+        then:
+        threads.size() == 50
+        threads.every { it.startsWith('mongodb-offload') }
+        statistics.handoffs > 0
+        statistics.pending == 0
+        statistics.rejected == 0
+
+        cleanup:
+        context?.close()
+    }
+
+    void "test results are delivered on a named executor"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'mongodb.uri': server.connectionString,
+                'mongodb.offload.enabled': true,
+                'mongodb.offload.executor': 'io'
+        )
+        MongoCollection<Document> collection = context.getBean(MongoClient).getDatabase('test').getCollection('offload-io')
+
+        when:
+        String thread = Mono.from(collection.insertOne(new Document('name', 'io'))).map { Thread.currentThread().name }.block()
+
+        then:
+        thread.startsWith('io-executor-thread')
+
+        cleanup:
+        context?.close()
+    }
+
+    void "test an unknown executor fails"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'mongodb.uri': server.connectionString,
+                'mongodb.offload.enabled': true,
+                'mongodb.offload.executor': 'missing'
+        )
+
+        when:
+        context.getBean(MongoOffloadingInterceptor)
+
+        then:
+        RuntimeException e = thrown()
+        e.message.contains('No executor named [missing]')
+
+        cleanup:
+        context?.close()
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.page
+
+import com.mongodb.client.model.Sorts
+import com.mongodb.reactivestreams.client.MongoClient
+import com.mongodb.reactivestreams.client.MongoClients
+import com.mongodb.reactivestreams.client.MongoCollection
+import io.micronaut.configuration.mongo.core.page.KeysetPage
+import io.micronaut.configuration.mongo.embedded.EmbeddedMongoServer
+import org.bson.Document
+import reactor.core.publisher.Mono
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class KeysetPaginatorSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedMongoServer server = EmbeddedMongoServer.start()
+    @Shared @AutoCleanup MongoClient client = MongoClients.create(server.connectionString)
+
+    void "test pages continue after the sort key values of the last result"() {
+        given:
+        MongoCollection<Document> collection = client.getDatabase('test').getCollection('keyset')
+        Mono.from(collection.insertMany((0..<100).collect { new Document('_id', it).append('name', 'n' + (99 - it) % 10) })).block()
+        KeysetPaginator<Document> paginator = KeysetPaginator.of(collection, Sorts.descending('name'))
+
+        when:
+        KeysetPage<Document> first = paginator.page(30, null).block()
+        KeysetPage<Document> second = paginator.page(30, first.nextToken).block()
+        KeysetPage<Document> last = paginator.page(30, paginator.page(30, second.nextToken).block().nextToken).block()
+
+        then:
+        first.items.size() == 30
+        first.items*.name.unique() == ['n9', 'n8', 'n7']
+        second.items*.name.unique() == ['n6', 'n5', 'n4']
+        last.items.size() == 10
+        !last.hasNext()
+
+        when:
+        paginator.page(0, null).block()
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
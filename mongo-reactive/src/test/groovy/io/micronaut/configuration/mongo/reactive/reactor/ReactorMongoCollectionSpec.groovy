@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.reactor
+
+import com.mongodb.ConnectionString
+import com.mongodb.MongoClientSettings
+import com.mongodb.client.model.Aggregates
+import com.mongodb.client.model.Filters
+import com.mongodb.client.model.Sorts
+import com.mongodb.event.CommandListener
+import com.mongodb.event.CommandStartedEvent
+import com.mongodb.reactivestreams.client.MongoClient
+import com.mongodb.reactivestreams.client.MongoClients
+import com.mongodb.reactivestreams.client.MongoCollection
+import io.micronaut.configuration.mongo.embedded.EmbeddedMongoServer
+import org.bson.Document
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.util.concurrent.atomic.AtomicInteger
+
+class ReactorMongoCollectionSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedMongoServer server = EmbeddedMongoServer.start()
+    @Shared AtomicInteger getMores = new AtomicInteger()
+    @Shared @AutoCleanup MongoClient client
+    @Shared MongoCollection<Document> collection
+
+    def setupSpec() {
+        client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(server.connectionString))
+                .addCommandListener(new CommandListener() {
+                    @Override
+                    void commandStarted(CommandStartedEvent event) {
+                        if (event.commandName == 'getMore') {
+                            getMores.incrementAndGet()
+                        }
+                    }
+                })
+                .build())
+        collection = client.getDatabase('test').getCollection('reactor')
+        Mono.from(collection.insertMany((0..<1000).collect { new Document('_id', it).append('group', it % 10) })).block()
+    }
+
+    def setup() {
+        getMores.set(0)
+    }
+
+    void "test aligned demand avoids small getMore round trips"() {
+        when:"the subscriber requests few documents at a time"
+        long naive = Flux.from(collection.find()).limitRate(16).count().block()
+        int naiveGetMores = getMores.getAndSet(0)
+        long aligned = ReactorMongoCollection.of(collection, 100).find(Filters.empty()).limitRate(16).count().block()
+        int alignedGetMores = getMores.getAndSet(0)
+
+        then:"the driver sizes batches after the demand, the aligned cursor fetches full batches"
+        naive == 1000
+        aligned == 1000
+        alignedGetMores == 9
+        naiveGetMores > 5 * alignedGetMores
+    }
+
+    void "test fused operations complete within a single round trip"() {
+        given:
+        ReactorMongoCollection<Document> reactor = ReactorMongoCollection.of(collection)
+
+        expect:
+        reactor.findFirst(Filters.eq('_id', 5)).block().getInteger('group') == 5
+        reactor.findFirst(Filters.eq('group', 3), Sorts.descending('_id')).block().getInteger('_id') == 993
+        reactor.exists(Filters.eq('_id', 5)).block()
+        !reactor.exists(Filters.eq('_id', -1)).block()
+        reactor.findPage(Filters.empty(), Sorts.ascending('_id'), 500, 20).map { it.getInteger('_id') }.collectList().block() == (500..<520).toList()
+        reactor.findPage(Filters.empty(), Sorts.ascending('_id'), 990, 0).map { it.getInteger('_id') }.collectList().block() == (990..<1000).toList()
+        reactor.count(Filters.eq('group', 1)).block() == 100
+        reactor.aggregateFirst([Aggregates.match(Filters.eq('group', 2)), Aggregates.count('n')], Document).block().getInteger('n') == 100
+        getMores.get() == 0
+    }
+
+    void "test writes and aggregations"() {
+        given:
+        ReactorMongoCollection<Document> reactor = ReactorMongoCollection.of(client.getDatabase('test').getCollection('reactor-writes'), 10)
+
+        when:
+        reactor.insertMany((0..<50).collect { new Document('_id', it) }).block()
+        reactor.updateMany(Filters.lt('_id', 25), new Document('$set', new Document('low', true))).block()
+        reactor.deleteOne(Filters.eq('_id', 0)).block()
+
+        then:
+        reactor.aggregate([Aggregates.match(Filters.eq('low', true))]).count().block() == 24
+        reactor.find(Filters.empty(), Sorts.descending('_id')).next().block().getInteger('_id') == 49
+        reactor.withBatchSize(5).batchSize == 5
+    }
+
+    void "test the batch size must be positive"() {
+        when:
+        ReactorMongoCollection.of(collection, 0)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.reactive.timeseries
+
+import com.mongodb.client.model.InsertManyOptions
+import com.mongodb.reactivestreams.client.MongoClient
+import com.mongodb.reactivestreams.client.MongoClients
+import com.mongodb.reactivestreams.client.MongoCollection
+import io.micronaut.configuration.mongo.embedded.EmbeddedMongoServer
+import org.bson.Document
+import reactor.core.Disposable
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import reactor.core.publisher.Sinks
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+
+class TimeSeriesIngesterSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedMongoServer server = EmbeddedMongoServer.start()
+    @Shared @AutoCleanup MongoClient client = MongoClients.create(server.connectionString)
+
+    void "test measurements are inserted in batches with backpressure"() {
+        given:
+        MongoCollection<Document> collection = client.getDatabase('metrics').getCollection('backpressure')
+        TimeSeriesIngester<Document> ingester = builder(collection)
+                .partitions(4)
+                .capacity(200)
+                .batchSize(100)
+                .parallelism(2)
+                .build()
+
+        when:
+        ingester.ingest(Flux.range(0, 10_000).map { measurement('sensor' + it % 16, 1_000_000L + it) }).block()
+        ingester.flush().block()
+
+        then:
+        ingester.accepted == 10_000
+        ingester.inserted == 10_000
+        ingester.dropped == 0
+        ingester.pending == 0
+        Mono.from(collection.countDocuments()).block() == 10_000
+
+        cleanup:
+        ingester.dispose()
+    }
+
+    void "test late and dropped measurements are reported"() {
+        given:
+        MongoCollection<Document> collection = client.getDatabase('metrics').getCollection('rejected')
+        List<Document> late = []
+        List<Document> dropped = []
+        TimeSeriesIngester<Document> ingester = builder(collection)
+                .partitions(1)
+                .capacity(10)
+                .batchSize(10)
+                .parallelism(1)
+                .flushInterval(Duration.ofHours(1))
+                .maxLateness(Duration.ofSeconds(10))
+                .listener(new TimeSeriesListener<Document>() {
+                    @Override
+                    void onDropped(Document measurement) {
+                        dropped << measurement
+                    }
+
+                    @Override
+                    void onLate(Document measurement) {
+                        late << measurement
+                    }
+                })
+                .build()
+
+        when:
+        ingester.offer(measurement('a', 100_000)).block()
+        ingester.offer(measurement('a', 85_000)).block()
+
+        then:
+        ingester.late == 1
+        late*.getLong('timestamp') == [85_000L]
+
+        when: 'the buffer is full while the inserts are in flight'
+        int accepted = (1..50).count { ingester.tryOffer(measurement('a', 100_000 + it)) }
+
+        then:
+        accepted < 50
+        ingester.dropped == 50 - accepted
+        dropped.size() == 50 - accepted
+
+        when:
+        ingester.dispose()
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert Mono.from(collection.countDocuments()).block() == accepted + 1
+        }
+    }
+
+    void "test measurements of meta field values with colliding hashes are not interleaved"() {
+        given:
+        MongoCollection<Document> collection = client.getDatabase('metrics').getCollection('colliding')
+        TimeSeriesIngester<Document> ingester = builder(collection)
+                .partitions(1)
+                .flushInterval(Duration.ofHours(1))
+                .build()
+
+        expect:
+        'Aa'.hashCode() == 'BB'.hashCode()
+
+        when:
+        (0..<20).each { ingester.offer(measurement(it % 2 == 0 ? 'Aa' : 'BB', it)).block() }
+        ingester.flush().block()
+
+        then:
+        Flux.from(collection.find()).map { it.getString('sensor') }.collectList().block() == ['Aa'] * 10 + ['BB'] * 10
+
+        cleanup:
+        ingester.dispose()
+    }
+
+    void "test measurements are never late without a max lateness"() {
+        given:
+        TimeSeriesIngester<Document> ingester = builder(client.getDatabase('metrics').getCollection('unbounded'))
+                .partitions(1)
+                .build()
+
+        when:
+        ingester.offer(measurement('a', -10)).block()
+        ingester.offer(measurement('a', Long.MIN_VALUE + 5)).block()
+
+        then:
+        ingester.late == 0
+        ingester.accepted == 2
+
+        cleanup:
+        ingester.dispose()
+    }
+
+    void "test the max lateness applies across the whole time range"() {
+        given:
+        TimeSeriesIngester<Document> ingester = builder(client.getDatabase('metrics').getCollection('range'))
+                .partitions(1)
+                .maxLateness(Duration.ofSeconds(10))
+                .build()
+
+        when:
+        ingester.offer(measurement('a', Long.MAX_VALUE - 1)).block()
+        ingester.offer(measurement('a', Long.MIN_VALUE + 5)).block()
+        ingester.offer(measurement('a', Long.MAX_VALUE - 5_000)).block()
+
+        then:
+        ingester.late == 1
+        ingester.accepted == 2
+
+        cleanup:
+        ingester.dispose()
+    }
+
+    void "test cancelled offers are withdrawn"() {
+        given:
+        MongoCollection<Document> collection = client.getDatabase('metrics').getCollection('withdrawn')
+        TimeSeriesIngester<Document> ingester = builder(collection)
+                .partitions(1)
+                .capacity(10)
+                .batchSize(10)
+                .parallelism(1)
+                .flushInterval(Duration.ofHours(1))
+                .build()
+
+        when: 'the buffer is full while the first batch is in flight'
+        (0..<10).each { ingester.tryOffer(measurement('a', it)) }
+        List<Disposable> offers = (10..<40).collect { ingester.offer(measurement('a', it)).subscribe() }
+        offers*.dispose()
+        ingester.flush().block()
+
+        then:
+        ingester.accepted < 40
+        Mono.from(collection.countDocuments()).block() == ingester.accepted
+
+        cleanup:
+        ingester.dispose()
+    }
+
+    void "test flush completes while measurements keep arriving"() {
+        given:
+        TimeSeriesIngester<Document> ingester = builder(client.getDatabase('metrics').getCollection('continuous'))
+                .partitions(2)
+                .capacity(1000)
+                .batchSize(500)
+                .flushInterval(Duration.ofHours(1))
+                .build()
+        Disposable producer = Flux.interval(Duration.ofMillis(1))
+                .concatMap { ingester.offer(measurement('sensor' + it % 4, it)) }
+                .subscribe()
+
+        when:
+        new PollingConditions(timeout: 10).eventually {
+            assert ingester.accepted >= 100
+        }
+        long accepted = ingester.accepted
+        ingester.flush().block(Duration.ofSeconds(10))
+
+        then:
+        ingester.inserted >= accepted
+
+        cleanup:
+        producer.dispose()
+        ingester.dispose()
+    }
+
+    void "test dispose drops the waiting offers and completes once the buffered measurements are inserted"() {
+        given: 'inserts that wait for the gate to open'
+        MongoCollection<Document> collection = client.getDatabase('metrics').getCollection('disposed')
+        Sinks.Empty<Void> gate = Sinks.empty()
+        MongoCollection<Document> stalled = [insertMany: { List<Document> measurements, InsertManyOptions options ->
+            gate.asMono().then(Mono.from(collection.insertMany(measurements, options)))
+        }] as MongoCollection
+        List<Document> dropped = []
+        List<Throwable> errors = []
+        TimeSeriesIngester<Document> ingester = builder(stalled)
+                .partitions(1)
+                .capacity(10)
+                .batchSize(10)
+                .parallelism(1)
+                .flushInterval(Duration.ofHours(1))
+                .listener(new TimeSeriesListener<Document>() {
+                    @Override
+                    void onDropped(Document measurement) {
+                        dropped << measurement
+                    }
+                })
+                .build()
+
+        when: 'one batch is in flight, one is buffered and five offers wait for room'
+        (0..<20).each { ingester.tryOffer(measurement('a', it)) }
+        (20..<25).each {
+            ingester.offer(measurement('a', it)).onErrorResume { errors << it; Mono.empty() }.subscribe()
+        }
+        CompletableFuture<Void> disposed = ingester.disposeGracefully().toFuture()
+
+        then:
+        ingester.disposed
+        errors.size() == 5
+        errors.every { it instanceof IllegalStateException }
+        dropped*.getLong('timestamp') == (20L..<25L).toList()
+        ingester.dropped == 5
+        !disposed.done
+
+        when:
+        gate.tryEmitEmpty()
+        disposed.get(10, TimeUnit.SECONDS)
+
+        then:
+        ingester.inserted == 20
+        ingester.pending == 0
+        Mono.from(collection.countDocuments()).block() == 20
+
+        when:
+        ingester.tryOffer(measurement('a', 25))
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    void "test the batch size must fit the capacity"() {
+        when:
+        builder(client.getDatabase('metrics').getCollection('invalid')).capacity(10).batchSize(20).build()
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    private static TimeSeriesIngester.Builder<Document> builder(MongoCollection<Document> collection) {
+        TimeSeriesIngester.builder(collection, { Document d -> d.get('sensor') }, { Document d -> d.getLong('timestamp') })
+    }
+
+    private static Document measurement(String sensor, long timestamp) {
+        new Document('sensor', sensor).append('timestamp', timestamp).append('value', 1.0d)
+    }
+}
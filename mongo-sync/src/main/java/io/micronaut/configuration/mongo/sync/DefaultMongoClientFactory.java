@@ -19,11 +19,17 @@ import com.mongodb.MongoClientSettings;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import io.micronaut.configuration.mongo.core.DefaultMongoConfiguration;
+import io.micronaut.configuration.mongo.core.MongoSettings;
+import io.micronaut.configuration.mongo.core.crac.RestorableClientRegistry;
+import io.micronaut.configuration.mongo.core.lane.MongoLaneRegistry;
+import io.micronaut.context.BeanProvider;
 import io.micronaut.context.annotation.Bean;
 import io.micronaut.context.annotation.Factory;
 import io.micronaut.context.annotation.Primary;
 import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
 
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
 /**
@@ -37,6 +43,31 @@ import jakarta.inject.Singleton;
 @Factory
 public class DefaultMongoClientFactory {
 
+    @Nullable
+    private final BeanProvider<RestorableClientRegistry> restorableClients;
+    @Nullable
+    private final BeanProvider<MongoLaneRegistry> lanes;
+
+    /**
+     * Creates a factory whose client is neither split into lanes nor recreated after a CRaC restore.
+     */
+    public DefaultMongoClientFactory() {
+        this.restorableClients = null;
+        this.lanes = null;
+    }
+
+    /**
+     * @param restorableClients The registry of the clients recreated after a CRaC restore, present if enabled
+     * @param lanes             The lanes of the servers, present if configured
+     * @since 5.6.0
+     */
+    @Inject
+    public DefaultMongoClientFactory(BeanProvider<RestorableClientRegistry> restorableClients,
+                                     BeanProvider<MongoLaneRegistry> lanes) {
+        this.restorableClients = restorableClients;
+        this.lanes = lanes;
+    }
+
     /**
      * Factory method to return a client.
      * @param settings configuration pulled in
@@ -46,8 +77,11 @@ public class DefaultMongoClientFactory {
     @Primary
     @Singleton
     protected MongoClient mongoClient(MongoClientSettings settings) {
-        return MongoClients.create(
-                settings
-        );
+        if (restorableClients == null || lanes == null) {
+            return MongoClients.create(
+                    settings
+            );
+        }
+        return MongoClientCreator.create(MongoSettings.DEFAULT_SERVER_NAME, settings, restorableClients, lanes);
     }
 }
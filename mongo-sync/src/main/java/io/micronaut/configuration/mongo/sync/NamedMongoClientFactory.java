@@ -16,9 +16,11 @@
 package io.micronaut.configuration.mongo.sync;
 
 import com.mongodb.client.MongoClient;
-import com.mongodb.client.MongoClients;
 import io.micronaut.configuration.mongo.core.MongoSettings;
 import io.micronaut.configuration.mongo.core.NamedMongoConfiguration;
+import io.micronaut.configuration.mongo.core.crac.RestorableClientRegistry;
+import io.micronaut.configuration.mongo.core.lane.MongoLaneRegistry;
+import io.micronaut.context.BeanProvider;
 import io.micronaut.context.annotation.Bean;
 import io.micronaut.context.annotation.EachBean;
 import io.micronaut.context.annotation.Factory;
@@ -36,12 +38,15 @@ public class NamedMongoClientFactory {
     /**
      * Factory name to create a client.
      * @param configuration configuration pulled in
+     * @param restorableClients The registry of the clients recreated after a CRaC restore, present if enabled
+     * @param lanes The lanes of the servers, present if configured
      * @return mongoClient
      */
     @Bean(preDestroy = "close")
     @EachBean(NamedMongoConfiguration.class)
     @Refreshable(MongoSettings.PREFIX)
-    MongoClient mongoClient(NamedMongoConfiguration configuration) {
-        return MongoClients.create(configuration.buildSettings());
+    MongoClient mongoClient(NamedMongoConfiguration configuration, BeanProvider<RestorableClientRegistry> restorableClients,
+                            BeanProvider<MongoLaneRegistry> lanes) {
+        return MongoClientCreator.create(configuration.getServerName(), configuration.buildSettings(), restorableClients, lanes);
     }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.sync.bulkhead;
+
+import io.micronaut.configuration.mongo.core.bulkhead.MongoBulkhead;
+import io.micronaut.configuration.mongo.core.bulkhead.MongoBulkheadCondition;
+import io.micronaut.configuration.mongo.core.bulkhead.MongoBulkheadRegistry;
+import io.micronaut.configuration.mongo.core.bulkhead.MongoRateLimiter;
+import io.micronaut.configuration.mongo.core.intercept.MongoOperation;
+import io.micronaut.configuration.mongo.sync.intercept.SyncMongoOperationInterceptor;
+import io.micronaut.context.annotation.Requires;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Applies the bulkheads and rate limits to the operations of the synchronous driver. Since the synchronous driver
+ * blocks anyway, delayed operations block the calling thread.
+ *
+ * @since 5.6.0
+ */
+@Singleton
+@Requires(condition = MongoBulkheadCondition.class)
+public class MongoBulkheadInterceptor implements SyncMongoOperationInterceptor {
+
+    private final MongoBulkheadRegistry registry;
+
+    /**
+     * @param registry The bulkhead registry
+     */
+    public MongoBulkheadInterceptor(MongoBulkheadRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public int getOrder() {
+        return MongoBulkheadRegistry.INTERCEPTOR_ORDER;
+    }
+
+    @Override
+    public Object intercept(MongoOperation operation, Callable<Object> execution) throws Exception {
+        for (MongoRateLimiter limiter : registry.getRateLimiters()) {
+            if (limiter.matches(operation)) {
+                long wait = limiter.reserve();
+                if (wait < 0) {
+                    throw limiter.rejected();
+                }
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+            }
+        }
+        MongoBulkhead bulkhead = registry.getBulkhead(operation.getServerName());
+        if (bulkhead == null) {
+            return execution.call();
+        }
+        CompletableFuture<Void> permit = bulkhead.acquire();
+        try {
+            permit.get(bulkhead.getSettings().getMaxWaitTime().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw (Exception) e.getCause();
+        } catch (TimeoutException e) {
+            bulkhead.abandon(permit);
+            throw bulkhead.timeout();
+        } catch (InterruptedException e) {
+            bulkhead.abandon(permit);
+            throw e;
+        }
+        try {
+            return execution.call();
+        } finally {
+            bulkhead.release();
+        }
+    }
+}
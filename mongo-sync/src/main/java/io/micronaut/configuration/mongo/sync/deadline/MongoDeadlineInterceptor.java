@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.sync.deadline;
+
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.MongoInterruptedException;
+import io.micronaut.configuration.mongo.core.deadline.AbstractDeadlineInterceptor;
+import io.micronaut.configuration.mongo.core.deadline.MongoDeadline;
+import io.micronaut.configuration.mongo.core.deadline.MongoDeadlineConfiguration;
+import io.micronaut.configuration.mongo.core.intercept.MongoOperation;
+import io.micronaut.configuration.mongo.sync.intercept.SyncMongoOperationInterceptor;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.propagation.PropagatedContext;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.scheduling.TaskExecutors;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Applies the {@link MongoDeadline} of the current context to the operations of the synchronous driver. Operations
+ * started after the deadline fail fast instead of waiting for a connection. Since the socket reads of the driver
+ * cannot be interrupted, operations started before the deadline are executed on the {@link TaskExecutors#IO}
+ * executor and the caller stops waiting for them when the deadline expires. The server stops them once their
+ * <code>maxTimeMS</code> or <code>wtimeout</code> elapses, and a cursor returned after the deadline is closed.
+ *
+ * @since 5.6.0
+ */
+@Singleton
+@Requires(property = MongoDeadlineConfiguration.PREFIX + ".enabled", value = StringUtils.TRUE)
+public class MongoDeadlineInterceptor extends AbstractDeadlineInterceptor implements SyncMongoOperationInterceptor {
+
+    private final ExecutorService executorService;
+
+    /**
+     * @param executorService The executor the operations with a deadline are executed on
+     */
+    public MongoDeadlineInterceptor(@Named(TaskExecutors.IO) ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    @Override
+    public Object intercept(MongoOperation operation, Callable<Object> execution) throws Exception {
+        MongoDeadline deadline = deadline(operation);
+        if (deadline == null) {
+            return execution.call();
+        }
+        if (deadline.isExpired()) {
+            throw deadline.exceeded();
+        }
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        Callable<Object> propagated = PropagatedContext.wrapCurrent(execution);
+        executorService.execute(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                Object value = propagated.call();
+                if (!result.complete(value) && value instanceof AutoCloseable closeable) {
+                    // the caller gave up waiting, nobody else closes the cursor
+                    closeable.close();
+                }
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        try {
+            return result.get(deadline.remaining(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            MongoExecutionTimeoutException exceeded = deadline.exceeded();
+            if (result.completeExceptionally(exceeded)) {
+                throw exceeded;
+            }
+            return join(result);
+        } catch (ExecutionException e) {
+            throw rethrow(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+            throw new MongoInterruptedException("Interrupted waiting for the operation " + operation.getName(), e);
+        }
+    }
+
+    private static Object join(CompletableFuture<Object> result) throws Exception {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static Exception rethrow(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return cause instanceof Exception exception ? exception : e;
+    }
+}
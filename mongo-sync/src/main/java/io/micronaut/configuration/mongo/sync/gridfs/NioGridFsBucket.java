@@ -0,0 +1,353 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.sync.gridfs;
+
+import com.mongodb.MongoGridFSException;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import io.micronaut.configuration.mongo.core.gridfs.GridFsChunkReader;
+import io.micronaut.configuration.mongo.core.gridfs.GridFsChunkWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonObjectId;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.types.ObjectId;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.function.Consumer;
+
+/**
+ * A GridFS bucket that uploads from and downloads to NIO channels and buffers, compatible with the files of the
+ * {@link com.mongodb.client.gridfs.GridFSBucket} of the driver. The data of a chunk is copied once on upload, into
+ * the encoded chunk document, and not at all on download, where it is handed out as a view of the chunk document
+ * received from the server.
+ *
+ * <pre>{@code
+ * NioGridFsBucket bucket = NioGridFsBucket.of(database);
+ * try (FileChannel channel = FileChannel.open(path)) {
+ *     ObjectId id = bucket.upload("video.mp4", channel);
+ * }
+ * }</pre>
+ *
+ * @since 5.6.0
+ */
+public final class NioGridFsBucket {
+
+    /**
+     * The name of the default bucket.
+     */
+    public static final String DEFAULT_BUCKET_NAME = "fs";
+
+    private final String bucketName;
+    private final int chunkSizeBytes;
+    private final MongoCollection<BsonDocument> filesCollection;
+    private final MongoCollection<RawBsonDocument> chunksCollection;
+    private volatile boolean checkedIndexes;
+
+    private NioGridFsBucket(MongoCollection<BsonDocument> filesCollection, MongoCollection<RawBsonDocument> chunksCollection,
+                            String bucketName, int chunkSizeBytes) {
+        this.bucketName = bucketName;
+        this.chunkSizeBytes = chunkSizeBytes;
+        this.filesCollection = filesCollection;
+        this.chunksCollection = chunksCollection;
+    }
+
+    /**
+     * @param database The database
+     * @return The bucket named <code>fs</code>
+     */
+    public static NioGridFsBucket of(MongoDatabase database) {
+        return of(database, DEFAULT_BUCKET_NAME);
+    }
+
+    /**
+     * @param database   The database
+     * @param bucketName The bucket name
+     * @return The bucket
+     */
+    public static NioGridFsBucket of(MongoDatabase database, String bucketName) {
+        return new NioGridFsBucket(
+            database.getCollection(bucketName + ".files", BsonDocument.class),
+            database.getCollection(bucketName + ".chunks", RawBsonDocument.class),
+            bucketName,
+            GridFsChunkWriter.DEFAULT_CHUNK_SIZE
+        );
+    }
+
+    /**
+     * @param chunkSizeBytes The chunk size of uploaded files
+     * @return A bucket with the chunk size
+     */
+    public NioGridFsBucket withChunkSizeBytes(int chunkSizeBytes) {
+        return new NioGridFsBucket(filesCollection, chunksCollection, bucketName, chunkSizeBytes);
+    }
+
+    /**
+     * @return The bucket name
+     */
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    /**
+     * @return The chunk size of uploaded files (defaults to 255 KiB)
+     */
+    public int getChunkSizeBytes() {
+        return chunkSizeBytes;
+    }
+
+    /**
+     * @param filename The file name
+     * @param source   The blocking channel to read the content from until its end
+     * @return The id of the uploaded file
+     */
+    public ObjectId upload(String filename, ReadableByteChannel source) {
+        return upload(filename, source, new GridFSUploadOptions());
+    }
+
+    /**
+     * @param filename The file name
+     * @param source   The blocking channel to read the content from until its end
+     * @param options  The upload options
+     * @return The id of the uploaded file
+     */
+    public ObjectId upload(String filename, ReadableByteChannel source, GridFSUploadOptions options) {
+        ObjectId id = new ObjectId();
+        upload(new BsonObjectId(id), filename, source, options);
+        return id;
+    }
+
+    /**
+     * @param id       The id of the file
+     * @param filename The file name
+     * @param source   The blocking channel to read the content from until its end
+     * @param options  The upload options
+     */
+    public void upload(BsonValue id, String filename, ReadableByteChannel source, GridFSUploadOptions options) {
+        upload(id, filename, options, writer -> {
+            try {
+                RawBsonDocument chunk;
+                while ((chunk = writer.read(source)) != null) {
+                    chunksCollection.insertOne(chunk);
+                }
+            } catch (IOException e) {
+                throw new MongoGridFSException("IOException when reading from the channel", e);
+            }
+        });
+    }
+
+    /**
+     * @param filename The file name
+     * @param source   The buffer with the content, which is consumed
+     * @return The id of the uploaded file
+     */
+    public ObjectId upload(String filename, ByteBuffer source) {
+        return upload(filename, source, new GridFSUploadOptions());
+    }
+
+    /**
+     * @param filename The file name
+     * @param source   The buffer with the content, which is consumed
+     * @param options  The upload options
+     * @return The id of the uploaded file
+     */
+    public ObjectId upload(String filename, ByteBuffer source, GridFSUploadOptions options) {
+        ObjectId id = new ObjectId();
+        upload(new BsonObjectId(id), filename, options, writer -> {
+            writer.write(source, chunksCollection::insertOne);
+            RawBsonDocument last = writer.flush();
+            if (last != null) {
+                chunksCollection.insertOne(last);
+            }
+        });
+        return id;
+    }
+
+    /**
+     * @param id     The id of the file
+     * @param target The blocking channel to write the content to
+     * @return The number of bytes written
+     * @throws MongoGridFSException If the file does not exist or its chunks are missing or corrupt
+     */
+    public long download(ObjectId id, WritableByteChannel target) {
+        return download(new BsonObjectId(id), target);
+    }
+
+    /**
+     * @param id     The id of the file
+     * @param target The blocking channel to write the content to
+     * @return The number of bytes written
+     * @throws MongoGridFSException If the file does not exist or its chunks are missing or corrupt
+     */
+    public long download(BsonValue id, WritableByteChannel target) {
+        GridFsChunkReader reader = reader(id);
+        try (MongoCursor<RawBsonDocument> chunks = chunks(reader)) {
+            while (chunks.hasNext()) {
+                ByteBuffer data = reader.next(chunks.next());
+                while (data.hasRemaining()) {
+                    target.write(data);
+                }
+            }
+        } catch (IOException e) {
+            throw new MongoGridFSException("IOException when writing to the channel", e);
+        }
+        reader.complete();
+        return reader.getLength();
+    }
+
+    /**
+     * Opens a stream over the content of a file, for example to return it as a
+     * <code>io.micronaut.http.server.types.files.StreamedFile</code>. The chunks are fetched as the stream is read and
+     * {@link InputStream#transferTo(OutputStream)} writes them without copying.
+     *
+     * @param id The id of the file
+     * @return The stream, which must be closed
+     * @throws MongoGridFSException If the file does not exist
+     */
+    public InputStream openDownloadStream(BsonValue id) {
+        GridFsChunkReader reader = reader(id);
+        return new ChunkInputStream(reader, chunks(reader));
+    }
+
+    /**
+     * @param id The id of the file
+     * @return The stream, which must be closed
+     * @throws MongoGridFSException If the file does not exist
+     */
+    public InputStream openDownloadStream(ObjectId id) {
+        return openDownloadStream(new BsonObjectId(id));
+    }
+
+    private void upload(BsonValue id, String filename, GridFSUploadOptions options, Consumer<GridFsChunkWriter> chunks) {
+        checkIndexes();
+        int chunkSize = options.getChunkSizeBytes() == null ? chunkSizeBytes : options.getChunkSizeBytes();
+        GridFsChunkWriter writer = GridFsChunkWriter.of(id, chunkSize);
+        try {
+            chunks.accept(writer);
+            BsonDocument metadata = options.getMetadata() == null ? null
+                : options.getMetadata().toBsonDocument(BsonDocument.class, filesCollection.getCodecRegistry());
+            filesCollection.insertOne(writer.toFilesDocument(filename, metadata));
+        } catch (RuntimeException e) {
+            chunksCollection.deleteMany(new BsonDocument("files_id", id));
+            throw e;
+        }
+    }
+
+    private GridFsChunkReader reader(BsonValue id) {
+        BsonDocument file = filesCollection.find(GridFsChunkReader.fileFilter(id)).first();
+        if (file == null) {
+            throw new MongoGridFSException("No file found with the id: " + id);
+        }
+        return GridFsChunkReader.of(file);
+    }
+
+    private MongoCursor<RawBsonDocument> chunks(GridFsChunkReader reader) {
+        return chunksCollection.find(reader.filter())
+            .projection(reader.projection())
+            .sort(reader.sort())
+            .batchSize(reader.getBatchSize())
+            .iterator();
+    }
+
+    private void checkIndexes() {
+        if (checkedIndexes) {
+            return;
+        }
+        MongoCollection<BsonDocument> primaryFiles = filesCollection.withReadPreference(ReadPreference.primary());
+        if (primaryFiles.find().projection(new BsonDocument("_id", new BsonInt32(1))).first() == null) {
+            filesCollection.createIndex(Indexes.ascending("filename", "uploadDate"));
+            chunksCollection.createIndex(Indexes.ascending("files_id", "n"), new IndexOptions().unique(true));
+        }
+        checkedIndexes = true;
+    }
+
+    /**
+     * Serves the data of the chunks of a file as they are fetched.
+     */
+    private static final class ChunkInputStream extends InputStream {
+
+        private final GridFsChunkReader reader;
+        private final MongoCursor<RawBsonDocument> chunks;
+        private ByteBuffer data = ByteBuffer.allocate(0);
+
+        ChunkInputStream(GridFsChunkReader reader, MongoCursor<RawBsonDocument> chunks) {
+            this.reader = reader;
+            this.chunks = chunks;
+        }
+
+        @Override
+        public int read() {
+            return nextData() ? data.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!nextData()) {
+                return -1;
+            }
+            int count = Math.min(len, data.remaining());
+            data.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return data.remaining();
+        }
+
+        @Override
+        public long transferTo(OutputStream out) throws IOException {
+            long transferred = 0;
+            while (nextData()) {
+                int count = data.remaining();
+                out.write(data.array(), data.arrayOffset() + data.position(), count);
+                data.position(data.limit());
+                transferred += count;
+            }
+            return transferred;
+        }
+
+        @Override
+        public void close() {
+            chunks.close();
+        }
+
+        private boolean nextData() {
+            while (!data.hasRemaining()) {
+                if (!chunks.hasNext()) {
+                    reader.complete();
+                    return false;
+                }
+                data = reader.next(chunks.next());
+            }
+            return true;
+        }
+    }
+}
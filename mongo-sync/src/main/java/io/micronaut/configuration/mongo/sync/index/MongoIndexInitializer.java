@@ -0,0 +1,156 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.sync.index;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexModel;
+import io.micronaut.configuration.mongo.core.MongoSettings;
+import io.micronaut.configuration.mongo.core.index.IndexReport;
+import io.micronaut.configuration.mongo.core.index.MongoIndexConfiguration;
+import io.micronaut.configuration.mongo.core.index.MongoIndexRegistry;
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.context.exceptions.ConfigurationException;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.inject.qualifiers.Qualifiers;
+import io.micronaut.scheduling.TaskExecutors;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.bson.BsonDocument;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Creates or verifies the declared {@link io.micronaut.configuration.mongo.core.index.MongoIndex} indexes
+ * at startup using the blocking {@link MongoClient} of every server, default and named. Collections are processed
+ * in parallel, the missing indexes of a collection are created with a single <code>createIndexes</code> command.
+ *
+ * @since 5.6.0
+ */
+@Singleton
+@Requires(beans = MongoClient.class)
+@Requires(property = MongoIndexConfiguration.PREFIX + ".enabled", notEquals = StringUtils.FALSE)
+public class MongoIndexInitializer implements ApplicationEventListener<StartupEvent> {
+
+    private final BeanContext beanContext;
+    private final MongoIndexRegistry registry;
+    private final ExecutorService executorService;
+
+    /**
+     * @param beanContext     The bean context the clients are looked up from
+     * @param registry        The index registry
+     * @param executorService The executor used to process the collections
+     */
+    public MongoIndexInitializer(BeanContext beanContext,
+                                 MongoIndexRegistry registry,
+                                 @Named(TaskExecutors.IO) ExecutorService executorService) {
+        this.beanContext = beanContext;
+        this.registry = registry;
+        this.executorService = executorService;
+    }
+
+    @Override
+    public void onApplicationEvent(StartupEvent event) {
+        if (!registry.claim()) {
+            return;
+        }
+        MongoIndexConfiguration configuration = registry.getConfiguration();
+        List<Declaration> declarations = new ArrayList<>();
+        for (Map.Entry<String, Map<MongoNamespace, List<IndexModel>>> server : registry.getIndexes().entrySet()) {
+            MongoClient client = client(server.getKey());
+            for (Map.Entry<MongoNamespace, List<IndexModel>> entry : server.getValue().entrySet()) {
+                declarations.add(new Declaration(server.getKey(), client, entry.getKey(), entry.getValue()));
+            }
+        }
+        int parallelism = Math.min(configuration.getParallelism(), declarations.size());
+        List<CompletableFuture<Void>> futures = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            int offset = i;
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int j = offset; j < declarations.size(); j += parallelism) {
+                    Declaration declaration = declarations.get(j);
+                    declaration.report = ensureIndexes(declaration, configuration.isCreate());
+                }
+            }, executorService));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .get(configuration.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConfigurationException("Interrupted while creating MongoDB indexes", e);
+        } catch (ExecutionException e) {
+            throw new ConfigurationException("Error creating MongoDB indexes: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new ConfigurationException("Timeout creating MongoDB indexes after " + configuration.getTimeout(), e);
+        }
+        Map<String, List<IndexReport>> reports = new LinkedHashMap<>();
+        for (Declaration declaration : declarations) {
+            reports.computeIfAbsent(declaration.server, server -> new ArrayList<>()).add(declaration.report);
+        }
+        registry.report(reports);
+    }
+
+    private MongoClient client(String server) {
+        if (MongoSettings.DEFAULT_SERVER_NAME.equals(server)) {
+            return beanContext.getBean(MongoClient.class);
+        }
+        return beanContext.getBean(MongoClient.class, Qualifiers.byName(server));
+    }
+
+    private IndexReport ensureIndexes(Declaration declaration, boolean create) {
+        MongoNamespace namespace = declaration.namespace;
+        MongoCollection<BsonDocument> collection = declaration.client.getDatabase(namespace.getDatabaseName())
+            .getCollection(namespace.getCollectionName(), BsonDocument.class);
+        List<BsonDocument> existing = collection.listIndexes(BsonDocument.class).into(new ArrayList<>());
+        IndexReport report = IndexReport.compare(namespace, declaration.indexes, existing);
+        if (create && !report.getMissing().isEmpty()) {
+            collection.createIndexes(report.getMissing());
+        }
+        return report;
+    }
+
+    /**
+     * The declared indexes of a collection of a server.
+     */
+    private static final class Declaration {
+
+        private final String server;
+        private final MongoClient client;
+        private final MongoNamespace namespace;
+        private final List<IndexModel> indexes;
+        private IndexReport report;
+
+        Declaration(String server, MongoClient client, MongoNamespace namespace, List<IndexModel> indexes) {
+            this.server = server;
+            this.client = client;
+            this.namespace = namespace;
+            this.indexes = indexes;
+        }
+    }
+}
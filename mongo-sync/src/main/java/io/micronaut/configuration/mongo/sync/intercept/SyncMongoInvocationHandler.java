@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.sync.intercept;
+
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.MongoIterable;
+import io.micronaut.configuration.mongo.core.intercept.MongoInvocationHandler;
+import io.micronaut.configuration.mongo.core.intercept.MongoOperation;
+import io.micronaut.configuration.mongo.core.intercept.MongoOperationOptions;
+import io.micronaut.core.annotation.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Routes the operations of the synchronous driver through the {@link SyncMongoOperationInterceptor} beans.
+ * Change streams are not intercepted.
+ *
+ * @since 5.6.0
+ */
+final class SyncMongoInvocationHandler extends MongoInvocationHandler<SyncMongoOperationInterceptor> {
+
+    SyncMongoInvocationHandler(Object target,
+                               Class<?> type,
+                               String serverName,
+                               @Nullable String databaseName,
+                               @Nullable String collectionName,
+                               @Nullable MongoOperation operation,
+                               List<SyncMongoOperationInterceptor> interceptors) {
+        super(target, type, serverName, databaseName, collectionName, operation, interceptors);
+    }
+
+    @Override
+    protected MongoInvocationHandler<SyncMongoOperationInterceptor> create(Object target,
+                                                                           Class<?> type,
+                                                                           @Nullable String databaseName,
+                                                                           @Nullable String collectionName,
+                                                                           @Nullable MongoOperation operation) {
+        return new SyncMongoInvocationHandler(target, type, getServerName(), databaseName, collectionName, operation, getInterceptors());
+    }
+
+    @Override
+    protected MongoOperationOptions options() {
+        return SyncMongoOperationOptions.INSTANCE;
+    }
+
+    @Override
+    protected boolean isResource(Class<?> type) {
+        return type == MongoClient.class || type == MongoDatabase.class || type == MongoCollection.class;
+    }
+
+    @Override
+    protected boolean isOperation(Class<?> type) {
+        return MongoIterable.class.isAssignableFrom(type) && !ChangeStreamIterable.class.isAssignableFrom(type);
+    }
+
+    @Override
+    protected String databaseName(Object resource) {
+        if (resource instanceof MongoDatabase database) {
+            return database.getName();
+        }
+        if (resource instanceof MongoCollection<?> collection) {
+            return collection.getNamespace().getDatabaseName();
+        }
+        return null;
+    }
+
+    @Override
+    protected String collectionName(Object resource) {
+        if (resource instanceof MongoCollection<?> collection) {
+            return collection.getNamespace().getCollectionName();
+        }
+        return null;
+    }
+
+    @Override
+    protected Object execute(MongoOperation operation, Method method, Object[] args) throws Throwable {
+        MongoOperation execution = execution(operation);
+        return proceed(execution, 0, () -> {
+            prepare(execution);
+            try {
+                return invoke(execution, method, args);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private Object proceed(MongoOperation operation, int index, Callable<Object> invocation) throws Exception {
+        List<SyncMongoOperationInterceptor> interceptors = getInterceptors();
+        if (index == interceptors.size()) {
+            return invocation.call();
+        }
+        return interceptors.get(index).intercept(operation, () -> proceed(operation, index + 1, invocation));
+    }
+}
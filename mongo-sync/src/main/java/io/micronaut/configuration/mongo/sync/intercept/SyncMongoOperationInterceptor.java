@@ -0,0 +1,47 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.sync.intercept;
+
+import io.micronaut.configuration.mongo.core.intercept.MongoOperation;
+import io.micronaut.configuration.mongo.core.intercept.MongoOperationInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Intercepts the operations of the synchronous driver. Every {@link com.mongodb.client.MongoClient} bean is wrapped
+ * when at least one interceptor bean exists.
+ *
+ * <p>Operations that execute immediately, for example <code>insertOne</code>, are intercepted when invoked. Iterables
+ * such as the one returned by <code>find</code> are intercepted when executed, that is when
+ * <code>iterator</code>, <code>cursor</code>, <code>first</code>, <code>forEach</code> or <code>into</code> is
+ * invoked. For cursors the interception covers the initial batch only.</p>
+ *
+ * @since 5.6.0
+ */
+public interface SyncMongoOperationInterceptor extends MongoOperationInterceptor {
+
+    /**
+     * Intercepts the execution of an operation.
+     *
+     * @param operation The operation
+     * @param execution The execution, which must be invoked to proceed
+     * @return The result of the execution
+     * @throws Exception If the execution failed or the operation is rejected
+     */
+    default Object intercept(MongoOperation operation, Callable<Object> execution) throws Exception {
+        return execution.call();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.sync.intercept;
+
+import com.mongodb.WriteConcern;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.DistinctIterable;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.ListCollectionsIterable;
+import com.mongodb.client.ListDatabasesIterable;
+import com.mongodb.client.ListIndexesIterable;
+import com.mongodb.client.ListSearchIndexesIterable;
+import com.mongodb.client.MapReduceIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoIterable;
+import io.micronaut.configuration.mongo.core.intercept.MongoOperationOptions;
+import io.micronaut.core.annotation.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sets the options of the iterables and collections of the synchronous driver.
+ *
+ * @since 5.6.0
+ */
+@SuppressWarnings("deprecation")
+final class SyncMongoOperationOptions implements MongoOperationOptions {
+
+    static final SyncMongoOperationOptions INSTANCE = new SyncMongoOperationOptions();
+
+    private SyncMongoOperationOptions() {
+    }
+
+    @Override
+    public boolean supportsMaxTime(Object target) {
+        return target instanceof FindIterable
+            || target instanceof AggregateIterable
+            || target instanceof DistinctIterable
+            || target instanceof ListCollectionsIterable
+            || target instanceof ListDatabasesIterable
+            || target instanceof ListIndexesIterable
+            || target instanceof ListSearchIndexesIterable
+            || target instanceof MapReduceIterable;
+    }
+
+    @Override
+    public boolean supportsBatchSize(Object target) {
+        return target instanceof MongoIterable;
+    }
+
+    @Override
+    public boolean maxTime(Object target, long maxTime, TimeUnit unit) {
+        if (target instanceof FindIterable<?> iterable) {
+            iterable.maxTime(maxTime, unit);
+        } else if (target instanceof AggregateIterable<?> iterable) {
+            iterable.maxTime(maxTime, unit);
+        } else if (target instanceof DistinctIterable<?> iterable) {
+            iterable.maxTime(maxTime, unit);
+        } else if (target instanceof ListCollectionsIterable<?> iterable) {
+            iterable.maxTime(maxTime, unit);
+        } else if (target instanceof ListDatabasesIterable<?> iterable) {
+            iterable.maxTime(maxTime, unit);
+        } else if (target instanceof ListIndexesIterable<?> iterable) {
+            iterable.maxTime(maxTime, unit);
+        } else if (target instanceof ListSearchIndexesIterable<?> iterable) {
+            iterable.maxTime(maxTime, unit);
+        } else if (target instanceof MapReduceIterable<?> iterable) {
+            iterable.maxTime(maxTime, unit);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean batchSize(Object target, int batchSize) {
+        if (target instanceof MongoIterable<?> iterable) {
+            iterable.batchSize(batchSize);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    @Nullable
+    public WriteConcern getWriteConcern(Object target) {
+        return target instanceof MongoCollection<?> collection ? collection.getWriteConcern() : null;
+    }
+
+    @Override
+    public Object withWriteConcern(Object target, WriteConcern writeConcern) {
+        return ((MongoCollection<?>) target).withWriteConcern(writeConcern);
+    }
+}
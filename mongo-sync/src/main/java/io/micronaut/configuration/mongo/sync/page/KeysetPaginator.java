@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.sync.page;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import io.micronaut.configuration.mongo.core.page.KeysetPage;
+import io.micronaut.configuration.mongo.core.page.KeysetSort;
+import io.micronaut.core.annotation.Nullable;
+import org.bson.conversions.Bson;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pages through a {@link MongoCollection} by continuing after the sort key values of the last result instead of
+ * skipping results, so that deep pages cost the same as the first one. Every page is fetched in a single round
+ * trip.
+ *
+ * <pre>{@code
+ * KeysetPaginator<Book> books = KeysetPaginator.of(collection, Sorts.ascending("title"));
+ * KeysetPage<Book> first = books.page(Filters.eq("author", "King"), 20, null);
+ * KeysetPage<Book> second = books.page(Filters.eq("author", "King"), 20, first.getNextToken());
+ * }</pre>
+ *
+ * @param <T> The document type
+ * @since 5.6.0
+ */
+public final class KeysetPaginator<T> {
+
+    private final MongoCollection<T> collection;
+    private final KeysetSort sort;
+
+    private KeysetPaginator(MongoCollection<T> collection, KeysetSort sort) {
+        this.collection = collection;
+        this.sort = sort;
+    }
+
+    /**
+     * @param collection The collection
+     * @param sort       The sort, <code>_id</code> is added as the last sort key unless present
+     * @param <T>        The document type
+     * @return The paginator
+     */
+    public static <T> KeysetPaginator<T> of(MongoCollection<T> collection, Bson sort) {
+        return new KeysetPaginator<>(collection, KeysetSort.of(sort));
+    }
+
+    /**
+     * @param collection The collection
+     * @param sort       The sort, <code>_id</code> is added as the last sort key unless present
+     * @param secret     The secret signing the continuation tokens, shared by all instances accepting them
+     * @param <T>        The document type
+     * @return The paginator
+     */
+    public static <T> KeysetPaginator<T> of(MongoCollection<T> collection, Bson sort, byte[] secret) {
+        return new KeysetPaginator<>(collection, KeysetSort.of(sort, secret));
+    }
+
+    /**
+     * @return The sort of the pages
+     */
+    public KeysetSort getSort() {
+        return sort;
+    }
+
+    /**
+     * @param size  The page size
+     * @param token The continuation token of the previous page or null for the first page
+     * @return The page
+     */
+    public KeysetPage<T> page(int size, @Nullable String token) {
+        return page(Filters.empty(), size, token);
+    }
+
+    /**
+     * @param filter The filter, which must be the same for all pages
+     * @param size   The page size
+     * @param token  The continuation token of the previous page or null for the first page
+     * @return The page
+     * @throws IllegalArgumentException If the token is invalid or was created for another sort
+     */
+    public KeysetPage<T> page(Bson filter, int size, @Nullable String token) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + size);
+        }
+        List<T> results = collection.find(sort.filter(filter, token))
+            .sort(sort.toSort())
+            .limit(size + 1)
+            .batchSize(size + 1)
+            .into(new ArrayList<>(size + 1));
+        return KeysetPage.of(sort, results, size, collection.getCodecRegistry());
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.sync.virtual;
+
+import io.micronaut.context.annotation.Context;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.scheduling.LoomSupport;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Streams the <code>jdk.VirtualThreadPinned</code> JDK Flight Recorder events of the running application when the
+ * virtual thread mode is enabled. Events whose stack trace contains a frame of the driver or of this integration are
+ * logged as warnings and kept for inspection. On a JVM without virtual threads a warning is logged and the detector
+ * stays inactive.
+ *
+ * @since 5.6.0
+ */
+@Context
+@Requires(property = MongoVirtualThreadConfiguration.PREFIX + ".enabled", value = StringUtils.TRUE)
+public class MongoPinningDetector implements Closeable {
+
+    /**
+     * The JDK Flight Recorder event emitted when a virtual thread parks while pinned to its carrier.
+     */
+    public static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final Logger LOG = LoggerFactory.getLogger(MongoPinningDetector.class);
+    private static final List<String> MONGO_PACKAGES = List.of("com.mongodb.", "io.micronaut.configuration.mongo.");
+
+    private final int maxRecorded;
+    private final RecordingStream stream;
+    private final LongAdder pinned = new LongAdder();
+    private final Deque<PinnedOperation> recorded = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * @param configuration The virtual thread configuration
+     */
+    public MongoPinningDetector(MongoVirtualThreadConfiguration configuration) {
+        this.maxRecorded = configuration.getMaxRecordedPinnings();
+        boolean supported = LoomSupport.isSupported();
+        if (!supported && LOG.isWarnEnabled()) {
+            LOG.warn("Virtual threads are enabled with [{}.enabled] but are not supported by this JVM, pinned carriers are not detected", MongoVirtualThreadConfiguration.PREFIX);
+        }
+        if (supported && configuration.isPinningDetection()) {
+            this.stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(configuration.getPinningThreshold()).withStackTrace();
+            stream.onEvent(PINNED_EVENT, this::onPinned);
+            stream.startAsync();
+        } else {
+            this.stream = null;
+        }
+    }
+
+    /**
+     * @return Whether pinned carriers are detected
+     */
+    public boolean isActive() {
+        return stream != null;
+    }
+
+    /**
+     * @return The number of MongoDB operations that pinned their carrier since startup or the last {@link #reset()}
+     */
+    public long getPinnedCount() {
+        return pinned.sum();
+    }
+
+    /**
+     * @return The most recent MongoDB operations that pinned their carrier, oldest first
+     */
+    public List<PinnedOperation> getPinnedOperations() {
+        lock.lock();
+        try {
+            return new ArrayList<>(recorded);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Clears the count and the recorded operations, for example between tests.
+     */
+    public void reset() {
+        lock.lock();
+        try {
+            pinned.reset();
+            recorded.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @PreDestroy
+    public void close() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return;
+        }
+        List<String> frames = new ArrayList<>(stackTrace.getFrames().size());
+        boolean mongo = false;
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            RecordedMethod method = frame.getMethod();
+            if (method == null) {
+                continue;
+            }
+            String className = method.getType().getName();
+            mongo |= MONGO_PACKAGES.stream().anyMatch(className::startsWith);
+            frames.add(className + "." + method.getName() + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : ""));
+        }
+        if (!mongo) {
+            return;
+        }
+        RecordedThread thread = event.getThread();
+        String threadName = thread == null ? "unknown" : thread.getJavaName();
+        if (threadName == null || threadName.isEmpty()) {
+            threadName = "virtual-" + thread.getJavaThreadId();
+        }
+        PinnedOperation operation = new PinnedOperation(threadName, event.getDuration(), List.copyOf(frames));
+        lock.lock();
+        try {
+            pinned.increment();
+            recorded.addLast(operation);
+            while (recorded.size() > maxRecorded) {
+                recorded.removeFirst();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (LOG.isWarnEnabled()) {
+            LOG.warn("Virtual thread {} pinned its carrier for {}ms during a MongoDB operation:\n\tat {}",
+                threadName, operation.getDuration().toMillis(), String.join("\n\tat ", frames));
+        }
+    }
+}
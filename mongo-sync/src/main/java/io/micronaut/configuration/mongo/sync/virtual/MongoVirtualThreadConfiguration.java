@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.sync.virtual;
+
+import io.micronaut.configuration.mongo.core.MongoSettings;
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the virtual thread mode of the synchronous driver.
+ *
+ * <p>The I/O path of the driver guards its state with {@link java.util.concurrent.locks.ReentrantLock}s, so a virtual
+ * thread blocked on a socket or waiting for a pooled connection unmounts from its carrier. Concurrency is then bounded by
+ * <code>mongodb.connection-pool.max-size</code>, and operations waiting for a connection fail after
+ * <code>mongodb.connection-pool.max-wait-time</code>, which should be sized for the expected queue of virtual threads.</p>
+ *
+ * @since 5.6.0
+ */
+@ConfigurationProperties(MongoVirtualThreadConfiguration.PREFIX)
+public class MongoVirtualThreadConfiguration {
+
+    /**
+     * The prefix of the virtual thread settings.
+     */
+    public static final String PREFIX = MongoSettings.PREFIX + ".virtual-threads";
+
+    /**
+     * The default duration from which pinned carriers are reported.
+     */
+    public static final Duration DEFAULT_PINNING_THRESHOLD = Duration.ofMillis(20);
+
+    /**
+     * The default number of pinned operations kept for inspection.
+     */
+    public static final int DEFAULT_MAX_RECORDED_PINNINGS = 100;
+
+    private boolean enabled;
+    private boolean pinningDetection = true;
+    private Duration pinningThreshold = DEFAULT_PINNING_THRESHOLD;
+    private int maxRecordedPinnings = DEFAULT_MAX_RECORDED_PINNINGS;
+
+    /**
+     * @return Whether the application runs MongoDB operations on virtual threads (defaults to false). A warning is
+     * logged and the mode is disabled if the JVM does not support virtual threads.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param enabled Whether the application runs MongoDB operations on virtual threads
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return Whether virtual threads pinning their carrier during MongoDB operations are reported, using JDK Flight
+     * Recorder events (defaults to true)
+     */
+    public boolean isPinningDetection() {
+        return pinningDetection;
+    }
+
+    /**
+     * @param pinningDetection Whether virtual threads pinning their carrier during MongoDB operations are reported
+     */
+    public void setPinningDetection(boolean pinningDetection) {
+        this.pinningDetection = pinningDetection;
+    }
+
+    /**
+     * @return The duration from which pinned carriers are reported (defaults to 20ms)
+     */
+    public Duration getPinningThreshold() {
+        return pinningThreshold;
+    }
+
+    /**
+     * @param pinningThreshold The duration from which pinned carriers are reported
+     */
+    public void setPinningThreshold(Duration pinningThreshold) {
+        this.pinningThreshold = pinningThreshold;
+    }
+
+    /**
+     * @return The number of most recent pinned operations kept for inspection (defaults to 100)
+     */
+    public int getMaxRecordedPinnings() {
+        return maxRecordedPinnings;
+    }
+
+    /**
+     * @param maxRecordedPinnings The number of most recent pinned operations kept for inspection
+     */
+    public void setMaxRecordedPinnings(int maxRecordedPinnings) {
+        this.maxRecordedPinnings = maxRecordedPinnings;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.sync.virtual;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * A virtual thread that pinned its carrier thread while executing a MongoDB operation.
+ *
+ * @since 5.6.0
+ */
+public final class PinnedOperation {
+
+    private final String threadName;
+    private final Duration duration;
+    private final List<String> stackTrace;
+
+    PinnedOperation(String threadName, Duration duration, List<String> stackTrace) {
+        this.threadName = threadName;
+        this.duration = duration;
+        this.stackTrace = stackTrace;
+    }
+
+    /**
+     * @return The name of the virtual thread
+     */
+    public String getThreadName() {
+        return threadName;
+    }
+
+    /**
+     * @return How long the carrier was pinned
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return The frames of the virtual thread when it parked while pinned, innermost first
+     */
+    public List<String> getStackTrace() {
+        return stackTrace;
+    }
+
+    @Override
+    public String toString() {
+        return threadName + " pinned for " + duration.toMillis() + "ms";
+    }
+}
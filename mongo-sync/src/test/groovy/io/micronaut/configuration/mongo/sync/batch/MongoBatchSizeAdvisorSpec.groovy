@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.sync.batch
+
+import com.mongodb.client.MongoClient
+import com.mongodb.client.MongoCollection
+import com.mongodb.client.model.Aggregates
+import com.mongodb.client.model.Filters
+import io.micronaut.configuration.mongo.core.DefaultMongoConfiguration
+import io.micronaut.configuration.mongo.core.batch.DocumentSizeEstimate
+import io.micronaut.configuration.mongo.core.batch.MongoBatchSizeAdvisor
+import io.micronaut.configuration.mongo.core.batch.QueryShape
+import io.micronaut.configuration.mongo.core.monitor.MongoClientMonitor
+import io.micronaut.configuration.mongo.embedded.EmbeddedMongoServer
+import io.micronaut.context.ApplicationContext
+import org.bson.BsonDocument
+import org.bson.Document
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class MongoBatchSizeAdvisorSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedMongoServer server = EmbeddedMongoServer.start()
+
+    void "test the batch size is picked from the observed document sizes"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'mongodb.uri': server.connectionString,
+                'mongodb.monitoring-enabled': true,
+                'mongodb.batch-size.enabled': true,
+                'mongodb.batch-size.target-bytes': '10KB',
+                'mongodb.batch-size.min-documents': 20
+        )
+        MongoCollection<Document> collection = context.getBean(MongoClient).getDatabase('test').getCollection('batch')
+        MongoBatchSizeAdvisor advisor = context.getBean(MongoBatchSizeAdvisor)
+        MongoClientMonitor monitor = context.getBean(DefaultMongoConfiguration).monitors[0]
+        QueryShape shape = QueryShape.find('test.batch', BsonDocument.parse('{"n": {"$gte": 0}}'))
+
+        when:
+        collection.insertMany((0..<200).collect { new Document('n', it).append('text', 'x' * 500) })
+
+        then:
+        !advisor.advise(shape).present
+
+        when:
+        collection.find(Filters.gte('n', 0)).into([])
+        DocumentSizeEstimate estimate = advisor.getEstimate(shape)
+
+        then:
+        estimate.shape == shape
+        estimate.documents == 200
+        estimate.averageSize > 500 && estimate.averageSize < 600
+        advisor.advise(shape).asInt == (int) (10240 / estimate.averageSize)
+
+        when:
+        long getMores = getMores(monitor)
+        collection.find(Filters.gte('n', 100)).into([])
+
+        then: 'the shape is the same for other values'
+        getMores(monitor) - getMores == Math.ceil(100 / advisor.advise(shape).asInt) - 1
+
+        when:
+        getMores = getMores(monitor)
+        collection.find(Filters.gte('n', 0)).batchSize(50).into([])
+
+        then: 'the batch size of the caller is kept'
+        getMores(monitor) - getMores == 3
+
+        cleanup:
+        context?.close()
+    }
+
+    void "test rarely seen shapes use the estimate of their collection"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'mongodb.uri': server.connectionString,
+                'mongodb.batch-size.enabled': true,
+                'mongodb.batch-size.min-documents': 20
+        )
+        MongoCollection<Document> collection = context.getBean(MongoClient).getDatabase('test').getCollection('batch-shapes')
+        MongoBatchSizeAdvisor advisor = context.getBean(MongoBatchSizeAdvisor)
+
+        when:
+        collection.insertMany((0..<50).collect { new Document('n', it).append('tag', 't' + it % 5) })
+        collection.find().into([])
+        collection.find(Filters.eq('tag', 't1')).into([])
+
+        then:
+        advisor.getEstimate(QueryShape.find('test.batch-shapes', BsonDocument.parse('{"tag": "t2"}'))).shape == QueryShape.of('test.batch-shapes', QueryShape.FIND)
+        advisor.getEstimate(QueryShape.of('test.batch-shapes', QueryShape.FIND)).documents == 60
+        advisor.getEstimate(QueryShape.of('test.batch-shapes', QueryShape.AGGREGATE)) == null
+
+        when:
+        advisor.reset()
+
+        then:
+        advisor.estimates.empty
+
+        cleanup:
+        context?.close()
+    }
+
+    void "test query shapes ignore values"() {
+        expect:
+        QueryShape.find('db.c', BsonDocument.parse('{"b": 1, "$or": [{"a": {"$gt": 2}}, {"c": null}]}')).fields == 'a,b,c'
+        QueryShape.find('db.c', BsonDocument.parse('{"a": 1}')) == QueryShape.find('db.c', BsonDocument.parse('{"a": {"$in": [1, 2]}}'))
+        QueryShape.aggregate('db.c', [Aggregates.match(Filters.eq('a', 1)), Aggregates.limit(5)].collect { it.toBsonDocument() }).fields == '$match(a),$limit'
+        QueryShape.find('db.c', null).collectionShape == QueryShape.of('db.c', QueryShape.FIND)
+    }
+
+    private static long getMores(MongoClientMonitor monitor) {
+        monitor.commands.find { it.commandName == 'getMore' }?.count ?: 0
+    }
+}
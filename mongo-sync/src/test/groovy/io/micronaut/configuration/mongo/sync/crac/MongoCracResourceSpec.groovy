@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.sync.crac
+
+import com.mongodb.client.MongoClient
+import com.mongodb.client.MongoCollection
+import io.micronaut.configuration.mongo.core.crac.MongoCracResource
+import io.micronaut.configuration.mongo.core.crac.RestorableClientRegistry
+import io.micronaut.configuration.mongo.embedded.EmbeddedMongoServer
+import io.micronaut.context.ApplicationContext
+import org.bson.Document
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+class MongoCracResourceSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedMongoServer server = EmbeddedMongoServer.start()
+
+    void "test the client is closed before a checkpoint and recreated after a restore"() {
+        given:
+        ApplicationContext context = ApplicationContext.run('mongodb.uri': server.connectionString)
+        MongoCracResource resource = context.getBean(MongoCracResource)
+        RestorableClientRegistry registry = context.getBean(RestorableClientRegistry)
+        MongoCollection<Document> collection = context.getBean(MongoClient).getDatabase('test').getCollection('crac')
+        PollingConditions conditions = new PollingConditions(timeout: 5)
+
+        when:
+        collection.insertOne(new Document('n', 1))
+
+        then:
+        server.connections > 0
+        registry.clients*.serverName == ['default']
+
+        when:
+        resource.beforeCheckpoint(null)
+
+        then:
+        conditions.eventually {
+            assert server.connections == 0
+        }
+        registry.clients[0].checkpointed
+
+        when:
+        resource.afterRestore(null)
+
+        then: 'the client is connected again'
+        server.connections > 0
+        registry.clients[0].generation == 1
+
+        when: 'the collection obtained before the checkpoint is used'
+        collection.insertOne(new Document('n', 2))
+
+        then:
+        collection.countDocuments() == 2
+        context.getBean(MongoClient).getDatabase('test').getCollection('crac').is(collection)
+
+        when:
+        context.close()
+
+        then:
+        conditions.eventually {
+            assert server.connections == 0
+        }
+        registry.clients.empty
+    }
+
+    void "test the clients are not registered if disabled"() {
+        given:
+        ApplicationContext context = ApplicationContext.run('mongodb.uri': server.connectionString, 'mongodb.crac.enabled': false)
+
+        expect:
+        !context.containsBean(MongoCracResource)
+        !context.containsBean(RestorableClientRegistry)
+        context.getBean(MongoClient).getDatabase('test').getCollection('crac').countDocuments() >= 0
+
+        cleanup:
+        context.close()
+    }
+}
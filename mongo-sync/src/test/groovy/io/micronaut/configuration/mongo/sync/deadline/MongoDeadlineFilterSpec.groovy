@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.sync.deadline
+
+import io.micronaut.configuration.mongo.core.deadline.MongoDeadline
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.HttpClient
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class MongoDeadlineFilterSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedServer server = ApplicationContext.run(EmbeddedServer, [
+            'spec.name'                 : 'MongoDeadlineFilterSpec',
+            'mongodb.uri'               : 'mongodb://localhost:27017',
+            'mongodb.deadline.enabled'  : true
+    ])
+    @Shared @AutoCleanup HttpClient client = server.applicationContext.createBean(HttpClient, server.URL)
+
+    void "test the deadline of the request header is propagated to the request"() {
+        when:
+        long remaining = client.toBlocking().retrieve(HttpRequest.GET('/deadline').header('X-Request-Timeout', '5s'), Long)
+
+        then:
+        remaining > 0
+        remaining <= 5000
+    }
+
+    void "test requests without a deadline propagate none"() {
+        expect:
+        client.toBlocking().retrieve(HttpRequest.GET('/deadline'), Long) == -1L
+    }
+
+    @Requires(property = 'spec.name', value = 'MongoDeadlineFilterSpec')
+    @Controller('/deadline')
+    static class DeadlineController {
+
+        @Get
+        long remaining() {
+            MongoDeadline.current().map { it.remaining(TimeUnit.MILLISECONDS) }.orElse(-1L)
+        }
+    }
+}
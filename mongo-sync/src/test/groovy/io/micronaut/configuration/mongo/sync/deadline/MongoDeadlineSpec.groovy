@@ -0,0 +1,210 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.sync.deadline
+
+import com.mongodb.ConnectionString
+import com.mongodb.MongoClientSettings
+import com.mongodb.MongoExecutionTimeoutException
+import com.mongodb.WriteConcern
+import com.mongodb.client.FindIterable
+import com.mongodb.client.MongoClient
+import com.mongodb.client.MongoClients
+import com.mongodb.client.MongoCollection
+import com.mongodb.client.model.CountOptions
+import com.mongodb.client.model.Filters
+import com.mongodb.client.model.Updates
+import com.mongodb.event.CommandListener
+import com.mongodb.event.CommandStartedEvent
+import io.micronaut.configuration.mongo.core.deadline.MongoDeadline
+import io.micronaut.configuration.mongo.embedded.EmbeddedMongoServer
+import io.micronaut.configuration.mongo.sync.intercept.SyncMongoInvocationHandler
+import io.micronaut.context.ApplicationContext
+import io.micronaut.core.propagation.PropagatedContext
+import org.bson.BsonDocument
+import org.bson.Document
+import org.bson.conversions.Bson
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.lang.reflect.Proxy
+import java.time.Duration
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class MongoDeadlineSpec extends Specification {
+
+    @Shared @AutoCleanup('shutdown') ExecutorService executorService = Executors.newCachedThreadPool()
+    @Shared @AutoCleanup EmbeddedMongoServer server = EmbeddedMongoServer.start()
+    @Shared List<CommandStartedEvent> started = new CopyOnWriteArrayList<>()
+    @Shared @AutoCleanup MongoClient client = MongoClients.create(MongoClientSettings.builder()
+            .applyConnectionString(new ConnectionString(server.connectionString))
+            .addCommandListener(new CommandListener() {
+                @Override
+                void commandStarted(CommandStartedEvent event) {
+                    started << event
+                }
+            })
+            .build())
+
+    void setupSpec() {
+        // an unindexed regular expression scans all documents, which takes far longer than the budgets below
+        client.getDatabase('test').getCollection('deadline')
+                .insertMany((0..<100_000).collect { new Document('_id', it).append('s', 'v' + it) })
+    }
+
+    void "test clients are not wrapped if deadlines are disabled"() {
+        given:
+        ApplicationContext context = ApplicationContext.run('mongodb.uri': 'mongodb://localhost:27017')
+        MongoClient client = context.getBean(MongoClient)
+
+        expect:
+        !context.containsBean(MongoDeadlineInterceptor)
+        !Proxy.isProxyClass(client.getClass()) || !(Proxy.getInvocationHandler(client) instanceof SyncMongoInvocationHandler)
+
+        cleanup:
+        context.close()
+    }
+
+    void "test operations without a deadline keep their options"() {
+        given:
+        FindIterable iterable = Mock(FindIterable)
+        MongoCollection collection = Stub(MongoCollection) {
+            find() >> iterable
+        }
+        MongoCollection proxy = proxy(collection)
+
+        when:
+        proxy.find().batchSize(10).first()
+
+        then:
+        1 * iterable.batchSize(10) >> iterable
+        0 * iterable.maxTime(_, _)
+        1 * iterable.first() >> new Document()
+    }
+
+    void "test the remaining time is bounded by the maxTime of the caller"() {
+        given:
+        FindIterable iterable = Mock(FindIterable)
+        FindIterable copy = Mock(FindIterable)
+        MongoCollection collection = Stub(MongoCollection) {
+            find() >>> [iterable, copy]
+        }
+        MongoCollection proxy = proxy(collection)
+
+        when:
+        try (PropagatedContext.Scope ignore = PropagatedContext.getOrEmpty().plus(MongoDeadline.after(Duration.ofSeconds(5))).propagate()) {
+            proxy.find().maxTime(1, TimeUnit.SECONDS).first()
+        }
+
+        then:
+        1 * iterable.maxTime(1, TimeUnit.SECONDS) >> iterable
+        1 * copy.maxTime(1, TimeUnit.SECONDS) >> copy
+        1 * copy.maxTime(1000, TimeUnit.MILLISECONDS) >> copy
+        1 * copy.first() >> new Document()
+        0 * iterable.first()
+    }
+
+    void "test a reused iterable is never changed by a deadline"() {
+        given:
+        FindIterable iterable = Mock(FindIterable)
+        FindIterable copy = Mock(FindIterable)
+        MongoCollection collection = Stub(MongoCollection) {
+            find() >>> [iterable, copy]
+        }
+        FindIterable find = proxy(collection).find()
+
+        when:
+        try (PropagatedContext.Scope ignore = PropagatedContext.getOrEmpty().plus(MongoDeadline.after(Duration.ofSeconds(5))).propagate()) {
+            find.first()
+        }
+
+        then: 'the maxTime is set on a copy made for the execution'
+        1 * copy.maxTime({ it > 1000 && it <= 5000 }, TimeUnit.MILLISECONDS) >> copy
+        1 * copy.first() >> new Document()
+        0 * iterable._
+
+        when: 'the iterable is executed again outside of the deadline'
+        find.first()
+
+        then:
+        0 * iterable.maxTime(_, _)
+        1 * iterable.first() >> new Document()
+    }
+
+    void "test the options of countDocuments and findOneAndUpdate and the write concern of writes receive the remaining time"() {
+        given:
+        MongoCollection bounded = Mock(MongoCollection)
+        MongoCollection collection = Mock(MongoCollection) {
+            getWriteConcern() >> WriteConcern.MAJORITY.withWTimeout(1, TimeUnit.SECONDS)
+            withWriteConcern({ it.getWTimeout(TimeUnit.MILLISECONDS) > 500 && it.getWTimeout(TimeUnit.MILLISECONDS) <= 1000 }) >> bounded
+        }
+        MongoCollection proxy = proxy(collection)
+        CountOptions options = new CountOptions().limit(10)
+        Bson filter = Filters.eq('a', 1)
+        Bson update = Updates.inc('b', 1)
+
+        when:
+        try (PropagatedContext.Scope ignore = PropagatedContext.getOrEmpty().plus(MongoDeadline.after(Duration.ofSeconds(5))).propagate()) {
+            proxy.countDocuments()
+            proxy.countDocuments(filter, options)
+            proxy.findOneAndUpdate(filter, update)
+            proxy.updateMany(filter, update)
+        }
+
+        then:
+        1 * collection.countDocuments(new BsonDocument(), { it.getMaxTime(TimeUnit.MILLISECONDS) > 1000 && it.getMaxTime(TimeUnit.MILLISECONDS) <= 5000 }) >> 1L
+        1 * collection.countDocuments(filter, { it.limit == 10 && it.getMaxTime(TimeUnit.MILLISECONDS) > 1000 && it.getMaxTime(TimeUnit.MILLISECONDS) <= 5000 }) >> 1L
+        1 * collection.findOneAndUpdate(filter, update, { it.getMaxTime(TimeUnit.MILLISECONDS) > 1000 }) >> new Document()
+        1 * bounded.updateMany(filter, update)
+        0 * collection.updateMany(*_)
+        options.getMaxTime(TimeUnit.MILLISECONDS) == 0
+    }
+
+    void "test an unindexed #name that outlives its budget fails at the deadline"() {
+        given:
+        started.clear()
+        MongoCollection<Document> proxy = proxy(client.getDatabase('test').getCollection('deadline'))
+
+        when:
+        long start = System.nanoTime()
+        try (PropagatedContext.Scope ignore = PropagatedContext.getOrEmpty().plus(MongoDeadline.after(Duration.ofMillis(20))).propagate()) {
+            operation(proxy)
+        }
+
+        then: 'the caller stops waiting at the deadline and the server is given the remaining time'
+        thrown(MongoExecutionTimeoutException)
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000
+        new PollingConditions(timeout: 5).eventually {
+            BsonDocument command = started.find { it.commandName == commandName }?.command
+            assert command != null
+            BsonDocument options = option == 'wtimeout' ? command.getDocument('writeConcern') : command
+            assert options.getNumber(option).longValue() <= 20
+        }
+
+        where:
+        name             | commandName | option      | operation
+        'countDocuments' | 'aggregate' | 'maxTimeMS' | { MongoCollection c -> c.countDocuments(Filters.regex('s', '9$')) }
+        'updateMany'     | 'update'    | 'wtimeout'  | { MongoCollection c -> c.updateMany(Filters.regex('s', '9$'), Updates.inc('n', 1)) }
+    }
+
+    private MongoCollection proxy(MongoCollection collection) {
+        (MongoCollection) new SyncMongoInvocationHandler(collection, MongoCollection, 'default', 'test', 'books', null, [new MongoDeadlineInterceptor(executorService)]).proxy()
+    }
+}
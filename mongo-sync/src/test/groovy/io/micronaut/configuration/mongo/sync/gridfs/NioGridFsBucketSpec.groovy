@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.sync.gridfs
+
+import com.mongodb.MongoGridFSException
+import com.mongodb.client.MongoClient
+import com.mongodb.client.MongoClients
+import com.mongodb.client.MongoDatabase
+import com.mongodb.client.gridfs.GridFSBuckets
+import com.mongodb.client.gridfs.model.GridFSUploadOptions
+import io.micronaut.configuration.mongo.embedded.EmbeddedMongoServer
+import org.bson.Document
+import org.bson.types.ObjectId
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+import java.nio.channels.Channels
+import java.nio.channels.FileChannel
+import java.nio.file.Files
+import java.nio.file.Path
+
+class NioGridFsBucketSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedMongoServer server = EmbeddedMongoServer.start()
+    @Shared @AutoCleanup MongoClient client = MongoClients.create(server.connectionString)
+    @Shared byte[] content = new byte[600_001]
+
+    def setupSpec() {
+        new Random(1).nextBytes(content)
+    }
+
+    void "test files uploaded from a channel are readable by the driver"() {
+        given:
+        MongoDatabase database = client.getDatabase('gridfs')
+        Path path = Files.write(Files.createTempFile('gridfs', '.bin'), content)
+        NioGridFsBucket bucket = NioGridFsBucket.of(database)
+
+        when:
+        ObjectId id = FileChannel.open(path).withCloseable {
+            bucket.upload('media.bin', it, new GridFSUploadOptions().metadata(new Document('type', 'video')))
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream()
+        GridFSBuckets.create(database).downloadToStream(id, out)
+
+        then:
+        out.toByteArray() == content
+        database.getCollection('fs.chunks').countDocuments() == 3
+        database.getCollection('fs.files').find().first().get('metadata') == new Document('type', 'video')
+
+        cleanup:
+        Files.delete(path)
+    }
+
+    void "test files uploaded by the driver are downloaded to a channel and a stream"() {
+        given:
+        MongoDatabase database = client.getDatabase('gridfs')
+        NioGridFsBucket bucket = NioGridFsBucket.of(database)
+        ObjectId id = GridFSBuckets.create(database).uploadFromStream('driver.bin', new ByteArrayInputStream(content))
+        ByteArrayOutputStream channel = new ByteArrayOutputStream()
+        ByteArrayOutputStream stream = new ByteArrayOutputStream()
+
+        when:
+        long length = bucket.download(id, Channels.newChannel(channel))
+        bucket.openDownloadStream(id).withCloseable { it.transferTo(stream) }
+
+        then:
+        length == content.length
+        channel.toByteArray() == content
+        stream.toByteArray() == content
+    }
+
+    void "test buffers are uploaded in chunks of the configured size"() {
+        given:
+        MongoDatabase database = client.getDatabase('gridfs')
+        NioGridFsBucket bucket = NioGridFsBucket.of(database, 'small').withChunkSizeBytes(1000)
+
+        when:
+        ObjectId id = bucket.upload('buffer.bin', ByteBuffer.allocateDirect(2500).put(content, 0, 2500).flip())
+        byte[] downloaded = bucket.openDownloadStream(id).withCloseable { it.readAllBytes() }
+
+        then:
+        downloaded == Arrays.copyOf(content, 2500)
+        database.getCollection('small.chunks').find().into([])*.getInteger('n') == [0, 1, 2]
+        database.getCollection('small.files').find().first().getInteger('chunkSize') == 1000
+    }
+
+    void "test missing files and chunks fail the download"() {
+        given:
+        MongoDatabase database = client.getDatabase('gridfs')
+        NioGridFsBucket bucket = NioGridFsBucket.of(database, 'broken').withChunkSizeBytes(1000)
+        ObjectId id = bucket.upload('broken.bin', ByteBuffer.wrap(content, 0, 2500))
+        database.getCollection('broken.chunks').deleteOne(new Document('files_id', id).append('n', 1))
+
+        when:
+        bucket.download(new ObjectId(), Channels.newChannel(new ByteArrayOutputStream()))
+
+        then:
+        MongoGridFSException e = thrown()
+        e.message.startsWith('No file found')
+
+        when:
+        bucket.download(id, Channels.newChannel(new ByteArrayOutputStream()))
+
+        then:
+        e = thrown()
+        e.message.contains('at chunk index 1')
+    }
+}
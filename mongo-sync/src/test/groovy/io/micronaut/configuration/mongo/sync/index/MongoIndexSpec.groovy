@@ -0,0 +1,186 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.sync.index
+
+import com.mongodb.MongoNamespace
+import com.mongodb.client.MongoClient
+import com.mongodb.client.model.IndexModel
+import io.micronaut.configuration.mongo.core.index.IndexField
+import io.micronaut.configuration.mongo.core.index.IndexReport
+import io.micronaut.configuration.mongo.core.index.IndexType
+import io.micronaut.configuration.mongo.core.index.MongoIndex
+import io.micronaut.configuration.mongo.core.index.MongoIndexRegistry
+import io.micronaut.configuration.mongo.embedded.EmbeddedMongoServer
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.exceptions.ConfigurationException
+import io.micronaut.core.annotation.Introspected
+import io.micronaut.inject.qualifiers.Qualifiers
+import org.bson.BsonDocument
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class MongoIndexSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedMongoServer server = EmbeddedMongoServer.start()
+
+    void "test resolve index declarations"() {
+        when:
+        Map<MongoNamespace, List<IndexModel>> indexes = MongoIndexRegistry.resolve([Book, Session], "test")
+
+        then:
+        indexes.size() == 2
+
+        when:
+        List<IndexModel> books = indexes[new MongoNamespace("library", "books")]
+
+        then:
+        books.size() == 2
+        books[0].keys.toBsonDocument() == BsonDocument.parse('{"title": 1}')
+        books[0].options.unique
+        books[0].options.collation.locale == "en"
+        books[1].keys.toBsonDocument() == BsonDocument.parse('{"author": 1, "published": -1}')
+        books[1].options.partialFilterExpression.toBsonDocument() == BsonDocument.parse('{"published": {"$exists": true}}')
+
+        when:
+        List<IndexModel> sessions = indexes[new MongoNamespace("test", "session")]
+
+        then:
+        sessions.size() == 1
+        sessions[0].options.getExpireAfter(TimeUnit.SECONDS) == 3600
+    }
+
+    void "test declaration without database fails"() {
+        when:
+        MongoIndexRegistry.resolve([Session], null)
+
+        then:
+        thrown(ConfigurationException)
+    }
+
+    void "test compare declared with existing indexes"() {
+        given:
+        List<IndexModel> declared = MongoIndexRegistry.resolve([Book], null)[new MongoNamespace("library", "books")]
+        List<BsonDocument> existing = [
+                BsonDocument.parse('{"v": 2, "key": {"_id": 1}, "name": "_id_"}'),
+                BsonDocument.parse('{"v": 2, "key": {"title": 1.0}, "name": "title_1", "collation": {"locale": "en", "strength": 3}}'),
+                BsonDocument.parse('{"v": 2, "key": {"isbn": 1}, "name": "isbn_1"}')
+        ]
+
+        when:
+        IndexReport report = IndexReport.compare(new MongoNamespace("library", "books"), declared, existing)
+
+        then:
+        report.hasDrift()
+        report.missing.size() == 1
+        report.missing[0].keys.toBsonDocument() == BsonDocument.parse('{"author": 1, "published": -1}')
+        report.drifted.size() == 1
+        report.drifted[0].startsWith("title_1")
+        report.undeclared == ["isbn_1"]
+    }
+
+    void "test indexes are created for every named server"() {
+        given:
+        ApplicationContext context = ApplicationContext.builder(
+                'mongodb.servers.one.uri': server.connectionString + '/alpha',
+                'mongodb.servers.two.uri': server.connectionString + '/beta'
+        ).packages(MongoIndexSpec.package.name).start()
+
+        expect:
+        context.getBean(MongoIndexRegistry).indexes.keySet() == ['one', 'two'] as Set
+        indexNames(context, 'one', 'alpha').contains('created_1')
+        indexNames(context, 'two', 'beta').contains('created_1')
+
+        cleanup:
+        context.close()
+    }
+
+    void "test entities are taken from the packages of the codec registry of a server"() {
+        given:
+        ApplicationContext context = ApplicationContext.builder(
+                'mongodb.servers.one.uri': server.connectionString + '/gamma',
+                'mongodb.servers.two.uri': server.connectionString + '/delta',
+                'mongodb.servers.two.package-names': 'io.micronaut.configuration.mongo.sync.gridfs'
+        ).packages(MongoIndexSpec.package.name).start()
+
+        expect:
+        context.getBean(MongoIndexRegistry).indexes.keySet() == ['one'] as Set
+        indexNames(context, 'one', 'gamma').contains('created_1')
+        !indexNames(context, 'two', 'delta').contains('created_1')
+
+        cleanup:
+        context.close()
+    }
+
+    private static List<String> indexNames(ApplicationContext context, String server, String database) {
+        context.getBean(MongoClient, Qualifiers.byName(server)).getDatabase(database).getCollection('session')
+                .listIndexes().into([])*.getString('name')
+    }
+
+    @MongoIndex(database = "library", collection = "books", fields = @IndexField("title"), unique = true, collationLocale = "en")
+    void "test indexes are created for every named server"() {
+        given:
+        ApplicationContext context = ApplicationContext.builder(
+                'mongodb.servers.one.uri': server.connectionString + '/alpha',
+                'mongodb.servers.two.uri': server.connectionString + '/beta'
+        ).packages(MongoIndexSpec.package.name).start()
+
+        expect:
+        context.getBean(MongoIndexRegistry).indexes.keySet() == ['one', 'two'] as Set
+        indexNames(context, 'one', 'alpha').contains('created_1')
+        indexNames(context, 'two', 'beta').contains('created_1')
+
+        cleanup:
+        context.close()
+    }
+
+    void "test entities are taken from the packages of the codec registry of a server"() {
+        given:
+        ApplicationContext context = ApplicationContext.builder(
+                'mongodb.servers.one.uri': server.connectionString + '/gamma',
+                'mongodb.servers.two.uri': server.connectionString + '/delta',
+                'mongodb.servers.two.package-names': 'io.micronaut.configuration.mongo.sync.gridfs'
+        ).packages(MongoIndexSpec.package.name).start()
+
+        expect:
+        context.getBean(MongoIndexRegistry).indexes.keySet() == ['one'] as Set
+        indexNames(context, 'one', 'gamma').contains('created_1')
+        !indexNames(context, 'two', 'delta').contains('created_1')
+
+        cleanup:
+        context.close()
+    }
+
+    private static List<String> indexNames(ApplicationContext context, String server, String database) {
+        context.getBean(MongoClient, Qualifiers.byName(server)).getDatabase(database).getCollection('session')
+                .listIndexes().into([])*.getString('name')
+    }
+
+    @MongoIndex(database = "library", collection = "books", fields = [
+            @IndexField("author"),
+            @IndexField(value = "published", type = IndexType.DESCENDING)
+    ], partialFilter = '{"published": {"$exists": true}}')
+    @Introspected
+    static class Book {
+    }
+
+    @MongoIndex(fields = @IndexField("created"), expireAfterSeconds = 3600L)
+    @Introspected
+    static class Session {
+    }
+}
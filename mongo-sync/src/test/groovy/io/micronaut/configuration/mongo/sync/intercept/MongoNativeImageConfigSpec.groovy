@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.sync.intercept
+
+import com.mongodb.client.ChangeStreamIterable
+import com.mongodb.client.MongoIterable
+import com.mongodb.reactivestreams.client.ChangeStreamPublisher
+import groovy.json.JsonSlurper
+import org.reactivestreams.Publisher
+import spock.lang.Specification
+
+import java.lang.reflect.Method
+
+class MongoNativeImageConfigSpec extends Specification {
+
+    void "test the native image configuration of #module covers the proxied interfaces"() {
+        given:
+        Set<String> proxies = (json(module, 'proxy-config.json')*.interfaces).flatten() as Set<String>
+        Set<String> reflective = json(module, 'reflect-config.json')*.name as Set<String>
+
+        expect:
+        proxies == proxied(client, operation, excluded)
+        reflective == proxies
+
+        where:
+        module                     | client                                                | operation     | excluded
+        'micronaut-mongo-sync'     | com.mongodb.client.MongoClient                        | MongoIterable | ChangeStreamIterable
+        'micronaut-mongo-reactive' | com.mongodb.reactivestreams.client.MongoClient        | Publisher     | ChangeStreamPublisher
+    }
+
+    private static List<Map> json(String module, String file) {
+        URL url = MongoNativeImageConfigSpec.classLoader.getResource("META-INF/native-image/io.micronaut.mongodb/$module/$file")
+        assert url != null
+        (List<Map>) new JsonSlurper().parse(url)
+    }
+
+    /**
+     * Walks the interfaces proxied by the interceptors, lanes and restorable clients: the client, its databases and
+     * collections, the operations with deferred execution and the operations derived from them.
+     */
+    private static Set<String> proxied(Class<?> client, Class<?> operation, Class<?> excluded) {
+        Set<Class<?>> resources = [client] as Set
+        Set<Class<?>> operations = [] as Set
+        List<Class<?>> pending = [client]
+        while (pending) {
+            Class<?> type = pending.remove(0)
+            for (Method method : type.methods) {
+                Class<?> returnType = method.returnType
+                if (!returnType.interface || returnType == Object || excluded.isAssignableFrom(returnType)) {
+                    continue
+                }
+                if (resources.contains(type) && returnType.package == client.package && returnType.simpleName in ['MongoDatabase', 'MongoCollection']) {
+                    if (resources.add(returnType)) {
+                        pending << returnType
+                    }
+                } else if (resources.contains(type) && operation.isAssignableFrom(returnType) && returnType != Publisher) {
+                    if (operations.add(returnType)) {
+                        pending << returnType
+                    }
+                } else if (operations.contains(type) && returnType.isAssignableFrom(type)) {
+                    if (operations.add(returnType)) {
+                        pending << returnType
+                    }
+                }
+            }
+        }
+        (resources + operations)*.name as Set<String>
+    }
+}
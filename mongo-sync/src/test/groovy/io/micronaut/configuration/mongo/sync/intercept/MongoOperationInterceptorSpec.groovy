@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.sync.intercept
+
+import com.mongodb.MongoExecutionTimeoutException
+import com.mongodb.client.FindIterable
+import com.mongodb.client.MongoCollection
+import io.micronaut.configuration.mongo.core.bulkhead.MongoBulkhead
+import io.micronaut.configuration.mongo.core.bulkhead.MongoBulkheadRegistry
+import io.micronaut.configuration.mongo.core.bulkhead.MongoOperationRejectedException
+import io.micronaut.configuration.mongo.core.deadline.MongoDeadline
+import io.micronaut.configuration.mongo.core.intercept.MongoOperationTag
+import io.micronaut.configuration.mongo.sync.bulkhead.MongoBulkheadInterceptor
+import io.micronaut.configuration.mongo.sync.deadline.MongoDeadlineInterceptor
+import io.micronaut.context.ApplicationContext
+import io.micronaut.core.propagation.PropagatedContext
+import org.bson.Document
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class MongoOperationInterceptorSpec extends Specification {
+
+    @Shared @AutoCleanup('shutdown') ExecutorService executorService = Executors.newCachedThreadPool()
+
+    void "test the remaining time of the deadline is applied as maxTimeMS"() {
+        given:
+        FindIterable iterable = Mock(FindIterable)
+        FindIterable copy = Mock(FindIterable)
+        MongoCollection collection = Stub(MongoCollection) {
+            find() >>> [iterable, copy, iterable]
+        }
+        MongoCollection proxy = proxy(collection, new MongoDeadlineInterceptor(executorService))
+
+        when:
+        try (PropagatedContext.Scope ignore = PropagatedContext.getOrEmpty().plus(MongoDeadline.after(Duration.ofSeconds(5))).propagate()) {
+            proxy.find().batchSize(10).first()
+        }
+        proxy.find().maxTime(1, TimeUnit.SECONDS).first()
+
+        then: 'the maxTime of the deadline is set on a copy of the iterable of the caller'
+        1 * iterable.batchSize(10) >> iterable
+        1 * copy.batchSize(10) >> copy
+        1 * copy.maxTime({ it > 1000 && it <= 5000 }, TimeUnit.MILLISECONDS) >> copy
+        1 * copy.first() >> new Document()
+        0 * iterable.maxTime(_, TimeUnit.MILLISECONDS)
+        1 * iterable.maxTime(1, TimeUnit.SECONDS) >> iterable
+        1 * iterable.first() >> new Document()
+    }
+
+    void "test operations fail fast once the deadline has passed"() {
+        given:
+        MongoCollection collection = Mock(MongoCollection)
+        MongoCollection proxy = proxy(collection, new MongoDeadlineInterceptor(executorService))
+
+        when:
+        try (PropagatedContext.Scope ignore = PropagatedContext.getOrEmpty().plus(MongoDeadline.after(Duration.ZERO)).propagate()) {
+            proxy.insertOne(new Document())
+        }
+
+        then:
+        thrown(MongoExecutionTimeoutException)
+        0 * collection.insertOne(_)
+    }
+
+    void "test the bulkhead rejects operations once all permits are taken"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'mongodb.uri': 'mongodb://localhost:27017',
+                'mongodb.bulkhead.max-concurrent': 1,
+                'mongodb.bulkhead.max-wait-time': '50ms'
+        )
+        MongoBulkhead bulkhead = context.getBean(MongoBulkheadRegistry).getBulkhead('default')
+        MongoCollection collection = Mock(MongoCollection)
+        MongoCollection proxy = proxy(collection, context.getBean(MongoBulkheadInterceptor))
+
+        when:
+        bulkhead.acquire()
+        proxy.insertOne(new Document())
+
+        then:
+        thrown(MongoOperationRejectedException)
+        0 * collection.insertOne(_)
+        bulkhead.rejected == 1
+
+        when:
+        bulkhead.release()
+        proxy.insertOne(new Document())
+
+        then:
+        1 * collection.insertOne(_)
+        bulkhead.active == 0
+        bulkhead.acquired == 2
+
+        cleanup:
+        context.close()
+    }
+
+    void "test rate limits apply to tagged operations"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'mongodb.uri': 'mongodb://localhost:27017',
+                'mongodb.rate-limits.reports.tag': 'reports',
+                'mongodb.rate-limits.reports.rate': 1,
+                'mongodb.rate-limits.reports.max-wait-time': '10ms'
+        )
+        MongoCollection collection = Mock(MongoCollection)
+        MongoCollection proxy = proxy(collection, context.getBean(MongoBulkheadInterceptor))
+
+        when:
+        3.times { proxy.insertOne(new Document()) }
+
+        then:
+        3 * collection.insertOne(_)
+
+        when:
+        try (PropagatedContext.Scope ignore = PropagatedContext.getOrEmpty().plus(MongoOperationTag.of("reports")).propagate()) {
+            2.times { proxy.insertOne(new Document()) }
+        }
+
+        then:
+        thrown(MongoOperationRejectedException)
+        1 * collection.insertOne(_)
+        context.getBean(MongoBulkheadRegistry).rateLimiters[0].rejected == 1
+
+        cleanup:
+        context.close()
+    }
+
+    private static MongoCollection proxy(MongoCollection collection, SyncMongoOperationInterceptor interceptor) {
+        (MongoCollection) new SyncMongoInvocationHandler(collection, MongoCollection, 'default', 'test', 'books', null, [interceptor]).proxy()
+    }
+}
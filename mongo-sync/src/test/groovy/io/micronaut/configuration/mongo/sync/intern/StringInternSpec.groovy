@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.sync.intern
+
+import com.mongodb.client.MongoClient
+import com.mongodb.client.MongoCollection
+import io.micronaut.configuration.mongo.core.intern.InterningCodecRegistry
+import io.micronaut.configuration.mongo.core.intern.StringInternTable
+import io.micronaut.configuration.mongo.embedded.EmbeddedMongoServer
+import io.micronaut.context.ApplicationContext
+import org.bson.BsonDocument
+import org.bson.Document
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class StringInternSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedMongoServer server = EmbeddedMongoServer.start()
+
+    void "test decoded field names and values of configured fields are interned"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'mongodb.uri': server.connectionString,
+                'mongodb.string-intern.enabled': true,
+                'mongodb.string-intern.value-fields': ['status', 'tags']
+        )
+        MongoClient client = context.getBean(MongoClient)
+        MongoCollection<Document> collection = client.getDatabase('test').getCollection('intern')
+        collection.insertMany((0..<10).collect {
+            new Document('status', it % 2 ? 'DONE' : 'ACTIVE')
+                    .append('name', 'name' + it % 2)
+                    .append('tags', ['a', 'b'])
+                    .append('nested', new Document('status', 'ACTIVE'))
+        })
+
+        when:
+        List<Document> documents = collection.find().into([])
+        Document first = documents[0]
+        Document third = documents[2]
+
+        then:
+        client.getDatabase('test').codecRegistry instanceof InterningCodecRegistry
+        first.keySet()[0].is(third.keySet()[0])
+        first.getString('status').is(third.getString('status'))
+        first.getList('tags', String)[0].is(third.getList('tags', String)[0])
+        first.get('nested', Document).getString('status').is(first.getString('status'))
+        !first.getString('name').is(third.getString('name'))
+
+        and: 'BSON documents are decoded as they are'
+        client.getDatabase('test').getCollection('intern', BsonDocument).find().first().size() == 5
+
+        cleanup:
+        context.close()
+    }
+
+    void "test the intern table is bounded"() {
+        given:
+        StringInternTable table = new StringInternTable(5)
+        String first = new String('status')
+
+        expect:
+        table.size() == 8
+        table.intern(first).is(first)
+        table.intern(new String('status')).is(first)
+        table.intern(null) == null
+        (0..<1000).each { table.intern('value' + it) }
+        table.size() == 8
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.sync.lane
+
+import com.mongodb.client.MongoClient
+import com.mongodb.client.MongoCollection
+import io.micronaut.configuration.mongo.core.AbstractMongoConfiguration
+import io.micronaut.configuration.mongo.core.intercept.MongoOperationTag
+import io.micronaut.configuration.mongo.core.intercept.MongoTag
+import io.micronaut.configuration.mongo.core.lane.MongoLaneRegistry
+import io.micronaut.configuration.mongo.core.monitor.MongoClientMonitor
+import io.micronaut.configuration.mongo.embedded.EmbeddedMongoServer
+import io.micronaut.context.ApplicationContext
+import io.micronaut.core.propagation.PropagatedContext
+import jakarta.inject.Singleton
+import org.bson.Document
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+class MongoLaneSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedMongoServer server = EmbeddedMongoServer.start()
+
+    void "test tagged operations are executed by the client of their lane"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'mongodb.uri': server.connectionString,
+                'mongodb.lanes.analytics.max-pool-size': 2,
+                'mongodb.lanes.analytics.tags': ['analytics', 'reports']
+        )
+        MongoCollection<Document> collection = context.getBean(MongoClient).getDatabase('test').getCollection('lanes')
+        PollingConditions conditions = new PollingConditions(timeout: 5)
+
+        expect:
+        context.getBean(MongoLaneRegistry).getLanes('default')*.name == ['analytics']
+
+        and: 'databases and collections are proxied once'
+        context.getBean(MongoClient).getDatabase('test').getCollection('lanes').is(collection)
+
+        when:
+        collection.insertOne(new Document('n', 1))
+        int connections = server.connections
+
+        and: 'an operation of another tag is executed'
+        tagged('other') { collection.countDocuments() }
+
+        then: 'it uses the connection of the default pool'
+        server.connections == connections
+
+        when:
+        long count = tagged('reports') { collection.countDocuments() }
+
+        then: 'the lane opens a connection of its own'
+        count == 1
+        server.connections == connections + 1
+
+        when:
+        context.getBean(AnalyticsService).count(collection)
+
+        then: 'the annotated method reuses the connection of the lane'
+        server.connections == connections + 1
+
+        when:
+        context.close()
+
+        then:
+        conditions.eventually {
+            assert server.connections == 0
+        }
+    }
+
+    void "test every lane is monitored on its own"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'mongodb.uri': server.connectionString,
+                'mongodb.monitoring-enabled': true,
+                'mongodb.lanes.analytics.max-pool-size': 2,
+                'mongodb.lanes.lookups.max-pool-size': 2
+        )
+        MongoCollection<Document> collection = context.getBean(MongoClient).getDatabase('test').getCollection('monitored')
+
+        when:
+        collection.insertOne(new Document('n', 1))
+        tagged('analytics') { collection.countDocuments() }
+        tagged('analytics') { collection.countDocuments() }
+        List<MongoClientMonitor> monitors = context.getBean(AbstractMongoConfiguration).monitors
+
+        then: 'one monitor per client, labelled with its lane'
+        monitors*.lane as Set == [null, 'analytics', 'lookups'] as Set
+        monitors.find { it.lane == 'analytics' }.commands.find { it.commandName == 'aggregate' }.count == 2
+        !monitors.find { it.lane == null }.commands.any { it.commandName == 'aggregate' }
+        monitors.find { it.lane == 'lookups' }.settings.connectionPoolSettings.maxSize == 2
+
+        cleanup:
+        context.close()
+    }
+
+    private static <T> T tagged(String tag, Closure<T> closure) {
+        try (PropagatedContext.Scope ignore = PropagatedContext.getOrEmpty().plus(MongoOperationTag.of(tag)).propagate()) {
+            return closure.call()
+        }
+    }
+
+    @Singleton
+    static class AnalyticsService {
+
+        @MongoTag('analytics')
+        long count(MongoCollection<Document> collection) {
+            collection.countDocuments()
+        }
+    }
+}
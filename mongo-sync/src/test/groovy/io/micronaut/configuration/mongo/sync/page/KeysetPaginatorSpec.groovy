@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.sync.page
+
+import com.mongodb.client.MongoClient
+import com.mongodb.client.MongoClients
+import com.mongodb.client.MongoCollection
+import com.mongodb.client.model.Filters
+import com.mongodb.client.model.Sorts
+import io.micronaut.configuration.mongo.core.page.KeysetPage
+import io.micronaut.configuration.mongo.embedded.EmbeddedMongoServer
+import org.bson.Document
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class KeysetPaginatorSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedMongoServer server = EmbeddedMongoServer.start()
+    @Shared @AutoCleanup MongoClient client = MongoClients.create(server.connectionString)
+    @Shared MongoCollection<Document> collection = client.getDatabase('test').getCollection('keyset')
+
+    void setupSpec() {
+        collection.insertMany((0..<250).collect { new Document('_id', it).append('category', 'c' + it % 4).append('score', it % 7) })
+    }
+
+    void "test pages continue after the sort key values of the last result"() {
+        given:
+        KeysetPaginator<Document> paginator = KeysetPaginator.of(collection, Sorts.orderBy(Sorts.ascending('category'), Sorts.descending('score')))
+        List expected = collection.find(Filters.gte('_id', 10))
+                .sort(Sorts.orderBy(Sorts.ascending('category'), Sorts.descending('score'), Sorts.ascending('_id')))
+                .collect { it._id }
+
+        when:
+        List ids = []
+        int pages = 0
+        String token = null
+        while (pages == 0 || token != null) {
+            KeysetPage<Document> page = paginator.page(Filters.gte('_id', 10), 20, token)
+            ids.addAll(page.items*._id)
+            token = page.nextToken
+            pages++
+        }
+
+        then:
+        paginator.sort.fields == ['category', 'score', '_id']
+        ids == expected
+        pages == 12
+    }
+
+    void "test null and missing sort keys are paged in sort order"() {
+        given:
+        MongoCollection<Document> nulls = client.getDatabase('test').getCollection('keyset-nulls')
+        nulls.insertMany((0..<30).collect {
+            Document document = new Document('_id', it)
+            if (it % 3 == 1) {
+                document.append('score', null)
+            } else if (it % 3 == 2) {
+                document.append('score', it % 4)
+            }
+            document
+        })
+        KeysetPaginator<Document> paginator = KeysetPaginator.of(nulls, sort)
+        List expected = nulls.find().sort(Sorts.orderBy(sort, Sorts.ascending('_id'))).collect { it._id }
+
+        when:
+        List ids = []
+        String token = null
+        int pages = 0
+        while (pages == 0 || token != null) {
+            KeysetPage<Document> page = paginator.page(4, token)
+            ids.addAll(page.items*._id)
+            token = page.nextToken
+            pages++
+        }
+
+        then:
+        ids == expected
+
+        cleanup:
+        nulls.drop()
+
+        where:
+        sort << [Sorts.ascending('score'), Sorts.descending('score')]
+    }
+
+    void "test tokens are signed"() {
+        given:
+        KeysetPaginator<Document> paginator = KeysetPaginator.of(collection, Sorts.ascending('category'), secret('a'))
+        String token = paginator.page(5, null).nextToken
+
+        expect:
+        paginator.page(5, token).items.size() == 5
+
+        when: 'the token is verified with another secret'
+        KeysetPaginator.of(collection, Sorts.ascending('category'), secret('b')).page(5, token)
+
+        then:
+        IllegalArgumentException e = thrown()
+        e.message.contains('was modified')
+
+        when: 'a value of the token is modified'
+        byte[] bytes = Base64.urlDecoder.decode(token)
+        bytes[18] ^= 1
+        paginator.page(5, Base64.urlEncoder.withoutPadding().encodeToString(bytes))
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    void "test invalid tokens are rejected"() {
+        given:
+        KeysetPaginator<Document> paginator = KeysetPaginator.of(collection, Sorts.ascending('category'))
+        String token = KeysetPaginator.of(collection, Sorts.descending('score')).page(5, null).nextToken
+
+        when:
+        paginator.page(5, token)
+
+        then:
+        IllegalArgumentException e = thrown()
+        e.message.contains('another sort')
+
+        when:
+        paginator.page(5, 'not-a-token')
+
+        then:
+        e = thrown(IllegalArgumentException)
+        e.message.startsWith('Invalid continuation token')
+
+        when:
+        KeysetPaginator.of(collection, Sorts.metaTextScore('score'))
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    private static byte[] secret(String seed) {
+        (seed * 32).bytes
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.sync.select
+
+import com.mongodb.ServerAddress
+import com.mongodb.client.MongoClient
+import com.mongodb.client.MongoCollection
+import com.mongodb.connection.ClusterConnectionMode
+import com.mongodb.connection.ClusterDescription
+import com.mongodb.connection.ClusterType
+import com.mongodb.connection.ServerConnectionState
+import com.mongodb.connection.ServerDescription
+import com.mongodb.connection.ServerType
+import io.micronaut.configuration.mongo.core.DefaultMongoConfiguration
+import io.micronaut.configuration.mongo.core.select.LoadAwareServerSelector
+import io.micronaut.configuration.mongo.core.select.ServerSelectionMode
+import io.micronaut.configuration.mongo.embedded.EmbeddedMongoServer
+import io.micronaut.context.ApplicationContext
+import org.bson.Document
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class LoadAwareServerSelectorSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedMongoServer server = EmbeddedMongoServer.start()
+
+    void "test the driver selection is used by default"() {
+        given:
+        ApplicationContext context = ApplicationContext.run('mongodb.uri': server.connectionString)
+
+        expect:
+        context.getBean(DefaultMongoConfiguration).serverSelector == null
+        context.getBean(DefaultMongoConfiguration).buildSettings().clusterSettings.serverSelector == null
+
+        cleanup:
+        context.close()
+    }
+
+    void "test the configured selector tracks the load of the servers"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'mongodb.uri': server.connectionString,
+                'mongodb.server-selection.mode': 'least-outstanding'
+        )
+        LoadAwareServerSelector selector = context.getBean(DefaultMongoConfiguration).serverSelector
+
+        when:
+        MongoCollection<Document> collection = context.getBean(MongoClient).getDatabase('test').getCollection('selection')
+        collection.insertOne(new Document('n', 1))
+
+        then:
+        selector.mode == ServerSelectionMode.LEAST_OUTSTANDING
+        collection.countDocuments() == 1
+        selector.loads*.address*.port == [server.port]
+        selector.loads[0].outstanding == 0
+
+        cleanup:
+        context.close()
+    }
+
+    void "test weighted selection prefers servers with a lower latency"() {
+        given:
+        LoadAwareServerSelector selector = new LoadAwareServerSelector(ServerSelectionMode.WEIGHTED)
+        ServerDescription fast = router('fast', 1)
+        ServerDescription slow = router('slow', 9)
+        ClusterDescription cluster = new ClusterDescription(ClusterConnectionMode.MULTIPLE, ClusterType.SHARDED, [fast, slow])
+
+        when:
+        int selected = (1..1000).count { selector.select(cluster) == [fast] }
+
+        then:
+        selected > 800
+        selected < 980
+    }
+
+    void "test least outstanding selection spreads operations over idle servers"() {
+        given:
+        LoadAwareServerSelector selector = new LoadAwareServerSelector(ServerSelectionMode.LEAST_OUTSTANDING)
+        ServerDescription first = router('first', 1)
+        ServerDescription second = router('second', 5)
+        ClusterDescription cluster = new ClusterDescription(ClusterConnectionMode.MULTIPLE, ClusterType.SHARDED, [first, second])
+
+        when:
+        int selected = (1..1000).count { selector.select(cluster) == [first] }
+
+        then:
+        selected > 350
+        selected < 650
+    }
+
+    void "test the driver mode is rejected"() {
+        when:
+        new LoadAwareServerSelector(ServerSelectionMode.DRIVER)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    private static ServerDescription router(String host, long roundTripMillis) {
+        ServerDescription.builder()
+                .address(new ServerAddress(host, 27017))
+                .state(ServerConnectionState.CONNECTED)
+                .type(ServerType.SHARD_ROUTER)
+                .roundTripTime(roundTripMillis, TimeUnit.MILLISECONDS)
+                .build()
+    }
+}
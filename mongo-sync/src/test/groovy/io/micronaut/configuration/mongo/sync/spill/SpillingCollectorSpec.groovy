@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.sync.spill
+
+import com.mongodb.client.MongoClient
+import com.mongodb.client.MongoClients
+import com.mongodb.client.MongoCollection
+import com.mongodb.client.MongoIterable
+import com.mongodb.client.model.Filters
+import com.mongodb.client.model.Sorts
+import io.micronaut.configuration.mongo.core.spill.SpilledResults
+import io.micronaut.configuration.mongo.embedded.EmbeddedMongoServer
+import org.bson.Document
+import org.bson.RawBsonDocument
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class SpillingCollectorSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedMongoServer server = EmbeddedMongoServer.start()
+    @Shared @AutoCleanup MongoClient client = MongoClients.create(server.connectionString)
+
+    void setupSpec() {
+        client.getDatabase('test').getCollection('spill').insertMany((0..<500).collect {
+            new Document('_id', it).append('value', 'x' * 1000)
+        })
+    }
+
+    void "test results within the budget are kept in memory"() {
+        given:
+        MongoCollection<Document> collection = client.getDatabase('test').getCollection('spill')
+
+        when:
+        SpilledResults<Document> results = SpillingCollector.of(collection).find(Filters.lt('_id', 10))
+
+        then:
+        results.size() == 10
+        !results.spilled
+        results.file == null
+        results.spilledBytes == 0
+        results.collect { it.getInteger('_id') } == (0..<10).toList()
+
+        cleanup:
+        results?.close()
+    }
+
+    void "test results beyond the budget are spilled to disk and read lazily"() {
+        given:
+        Path directory = Files.createTempDirectory('spill')
+        MongoCollection<Document> collection = client.getDatabase('test').getCollection('spill')
+        SpillingCollector<Document> collector = SpillingCollector.of(collection)
+                .withMemoryBudget(20_000)
+                .withDirectory(directory)
+
+        when:
+        SpilledResults<Document> results = collector.collect(collector.rawCollection.find().sort(Sorts.descending('_id')))
+        Path file = results.file
+
+        then:
+        results.size() == 500
+        results.spilled
+        results.memoryBytes <= 20_000
+        results.spilledBytes > 0
+        file.parent == directory
+        Files.exists(file)
+        results.collect { it.getInteger('_id') } == (499..0).toList()
+        results.stream().filter { it.getInteger('_id') % 100 == 0 }.count() == 5
+
+        when:
+        results.close()
+
+        then:
+        !Files.exists(file)
+
+        when:
+        results.iterator().next()
+
+        then:
+        thrown(IllegalStateException)
+
+        cleanup:
+        Files.deleteIfExists(directory)
+    }
+
+    void "test the file of a failed collection is deleted"() {
+        given:
+        Path directory = Files.createTempDirectory('spill')
+        MongoCollection<Document> collection = client.getDatabase('test').getCollection('spill')
+        SpillingCollector<Document> collector = SpillingCollector.of(collection).withMemoryBudget(0).withDirectory(directory)
+        MongoIterable<RawBsonDocument> failing = collector.rawCollection.find().map {
+            if (it.getInt32('_id').value == 10) {
+                throw new IllegalStateException('failed')
+            }
+            it
+        }
+
+        when:
+        collector.collect(failing)
+
+        then:
+        thrown(IllegalStateException)
+        Files.list(directory).count() == 0
+
+        cleanup:
+        Files.deleteIfExists(directory)
+    }
+}
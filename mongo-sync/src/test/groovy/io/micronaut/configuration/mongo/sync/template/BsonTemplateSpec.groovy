@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.sync.template
+
+import com.mongodb.MongoClientSettings
+import com.mongodb.client.MongoClient
+import com.mongodb.client.MongoClients
+import com.mongodb.client.MongoCollection
+import com.mongodb.client.model.Accumulators
+import com.mongodb.client.model.Aggregates
+import com.mongodb.client.model.Filters
+import com.mongodb.client.model.Sorts
+import io.micronaut.configuration.mongo.core.template.BsonPipelineTemplate
+import io.micronaut.configuration.mongo.core.template.BsonTemplate
+import io.micronaut.configuration.mongo.embedded.EmbeddedMongoServer
+import org.bson.BsonDocument
+import org.bson.Document
+import org.bson.RawBsonDocument
+import org.bson.codecs.configuration.CodecRegistry
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import static io.micronaut.configuration.mongo.core.template.BsonTemplate.param
+
+class BsonTemplateSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedMongoServer server = EmbeddedMongoServer.start()
+    @Shared @AutoCleanup MongoClient client = MongoClients.create(server.connectionString)
+    @Shared CodecRegistry registry = MongoClientSettings.defaultCodecRegistry
+
+    void "test bound templates are encoded like the filter they replace"() {
+        given:
+        BsonTemplate template = BsonTemplate.compile(Filters.and(
+                Filters.eq('status', param('status')),
+                Filters.gte('total', param('min')),
+                Filters.in('tags', ['a', 'b']),
+                Filters.ne('previous', param('status'))
+        ), registry)
+
+        expect:
+        template.parameterNames == ['status', 'min']
+        template.bind(status, min) == Filters.and(
+                Filters.eq('status', status),
+                Filters.gte('total', min),
+                Filters.in('tags', ['a', 'b']),
+                Filters.ne('previous', status)
+        ).toBsonDocument(BsonDocument, registry)
+
+        where:
+        status                  | min
+        'A'                     | 1
+        'a much longer status'  | 100L
+        null                    | new Document('nested', [1, 2, 3])
+    }
+
+    void "test parameters are bound by name"() {
+        given:
+        BsonTemplate template = BsonTemplate.compile(Filters.eq('status', param('status')), registry)
+
+        expect:
+        template.bind(status: 'A') == new BsonDocument('status', new org.bson.BsonString('A'))
+
+        when:
+        template.bind([:])
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when:
+        template.bind('A', 'B')
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    void "test bound filters and pipelines are executed"() {
+        given:
+        MongoCollection<Document> collection = client.getDatabase('test').getCollection('templates')
+        collection.insertMany((0..<20).collect {
+            new Document('status', it % 2 ? 'B' : 'A').append('total', it * 10).append('region', it % 3 ? 'US' : 'EU')
+        })
+        BsonTemplate filter = BsonTemplate.compile(Filters.and(Filters.eq('status', param('status')), Filters.gte('total', param('min'))), registry)
+        BsonPipelineTemplate pipeline = BsonPipelineTemplate.compile([
+                Aggregates.match(Filters.eq('region', param('region'))),
+                Aggregates.group('$status', Accumulators.sum('total', '$total')),
+                Aggregates.sort(Sorts.ascending('_id'))
+        ], registry)
+
+        expect:
+        filter.bind('A', 100) instanceof RawBsonDocument
+        collection.countDocuments(filter.bind('A', 100)) == 5
+        pipeline.parameterNames == ['region']
+        collection.aggregate(pipeline.bind('EU')).into([]) == [new Document('_id', 'A').append('total', 360), new Document('_id', 'B').append('total', 270)]
+    }
+}
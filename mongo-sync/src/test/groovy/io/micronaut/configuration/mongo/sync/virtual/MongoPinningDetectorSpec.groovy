@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.sync.virtual
+
+import com.mongodb.client.MongoClient
+import com.mongodb.client.MongoCollection
+import com.mongodb.client.model.Filters
+import io.micronaut.configuration.mongo.embedded.EmbeddedMongoServer
+import io.micronaut.context.ApplicationContext
+import io.micronaut.scheduling.LoomSupport
+import org.bson.Document
+import spock.lang.AutoCleanup
+import spock.lang.IgnoreIf
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.ThreadFactory
+
+class MongoPinningDetectorSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedMongoServer server = EmbeddedMongoServer.start()
+
+    @IgnoreIf({ !LoomSupport.isSupported() })
+    void "test driver operations on virtual threads do not pin their carrier"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'mongodb.uri': server.connectionString,
+                'mongodb.connection-pool.max-size': 4,
+                'mongodb.virtual-threads.enabled': true,
+                'mongodb.virtual-threads.pinning-threshold': '0ms'
+        )
+        MongoPinningDetector detector = context.getBean(MongoPinningDetector)
+        MongoCollection<Document> collection = context.getBean(MongoClient).getDatabase('test').getCollection('pinning')
+        ThreadFactory threads = LoomSupport.newVirtualThreadFactory('unpinned-')
+        Object monitor = new Object()
+
+        expect:
+        detector.active
+
+        when:"many more virtual threads than pooled connections run operations"
+        List<Thread> workers = (0..<200).collect { int i ->
+            threads.newThread {
+                collection.insertOne(new Document('_id', i))
+                collection.find(Filters.eq('_id', i)).first()
+                collection.updateOne(Filters.eq('_id', i), new Document('$set', new Document('seen', true)))
+            }
+        }
+        workers*.start()
+        workers*.join()
+
+        and:"an operation runs while holding a monitor, which pins the carrier"
+        Thread pinning = LoomSupport.newVirtualThreadFactory('pinned-').newThread {
+            synchronized (monitor) {
+                50.times { collection.find(Filters.eq('_id', it)).first() }
+            }
+        }
+        pinning.start()
+        pinning.join()
+
+        then:"only the operations holding the monitor are reported"
+        new PollingConditions(timeout: 10).eventually {
+            assert detector.pinnedCount > 0
+        }
+        detector.pinnedOperations.every { it.threadName.startsWith('pinned-') }
+        detector.pinnedOperations.every { it.stackTrace.any { it.startsWith('com.mongodb.') } }
+        collection.countDocuments(Filters.eq('seen', true)) == 200
+
+        cleanup:
+        context?.close()
+    }
+
+    @IgnoreIf({ LoomSupport.isSupported() })
+    void "test enabling virtual threads is disabled on a JVM without support"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'mongodb.uri': server.connectionString,
+                'mongodb.virtual-threads.enabled': true
+        )
+
+        expect:"the application starts and pinned carriers are not detected"
+        !context.getBean(MongoPinningDetector).active
+        context.getBean(MongoClient).getDatabase('test').getCollection('pinning').countDocuments() >= 0
+
+        cleanup:
+        context?.close()
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.test;
+
+import java.util.List;
+
+/**
+ * Fails a test whose queries have rejected plans.
+ *
+ * @since 5.6.0
+ */
+public final class QueryPlanAssertionError extends AssertionError {
+
+    private final transient List<QueryPlanViolation> violations;
+
+    /**
+     * @param violations The violations
+     */
+    public QueryPlanAssertionError(List<QueryPlanViolation> violations) {
+        super(message(violations));
+        this.violations = List.copyOf(violations);
+    }
+
+    /**
+     * @return The violations
+     */
+    public List<QueryPlanViolation> getViolations() {
+        return violations;
+    }
+
+    private static String message(List<QueryPlanViolation> violations) {
+        StringBuilder message = new StringBuilder(violations.size() + " queries with rejected plans:");
+        for (QueryPlanViolation violation : violations) {
+            message.append(System.lineSeparator()).append("  ").append(violation);
+        }
+        return message.toString();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.test;
+
+import io.micronaut.configuration.mongo.core.MongoSettings;
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Configuration of the {@link QueryPlanRecorder}, which decides which query plans fail a test.
+ *
+ * @since 5.6.0
+ */
+@ConfigurationProperties(QueryPlanConfiguration.PREFIX)
+public class QueryPlanConfiguration {
+
+    /**
+     * The prefix of the query plan settings.
+     */
+    public static final String PREFIX = MongoSettings.PREFIX + ".query-plan";
+
+    /**
+     * The default number of documents a query may examine per returned document.
+     */
+    public static final double DEFAULT_MAX_EXAMINED_RATIO = 10;
+
+    private boolean enabled;
+    private boolean allowCollectionScans;
+    private boolean checkUnfilteredQueries;
+    private double maxExaminedRatio = DEFAULT_MAX_EXAMINED_RATIO;
+    private long minExamined;
+    private Set<String> ignoredCollections = Collections.emptySet();
+
+    /**
+     * @return Whether the queries of every client are recorded (defaults to false)
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param enabled Whether the queries of every client are recorded
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return Whether queries may scan the collection (defaults to false)
+     */
+    public boolean isAllowCollectionScans() {
+        return allowCollectionScans;
+    }
+
+    /**
+     * @param allowCollectionScans Whether queries may scan the collection
+     */
+    public void setAllowCollectionScans(boolean allowCollectionScans) {
+        this.allowCollectionScans = allowCollectionScans;
+    }
+
+    /**
+     * @return Whether queries without a filter and empty pipelines, which scan the collection by definition, are checked
+     * (defaults to false)
+     */
+    public boolean isCheckUnfilteredQueries() {
+        return checkUnfilteredQueries;
+    }
+
+    /**
+     * @param checkUnfilteredQueries Whether queries without a filter are checked
+     */
+    public void setCheckUnfilteredQueries(boolean checkUnfilteredQueries) {
+        this.checkUnfilteredQueries = checkUnfilteredQueries;
+    }
+
+    /**
+     * @return The number of documents a query may examine per returned document (defaults to {@value #DEFAULT_MAX_EXAMINED_RATIO})
+     */
+    public double getMaxExaminedRatio() {
+        return maxExaminedRatio;
+    }
+
+    /**
+     * @param maxExaminedRatio The number of documents a query may examine per returned document
+     */
+    public void setMaxExaminedRatio(double maxExaminedRatio) {
+        if (maxExaminedRatio >= 1) {
+            this.maxExaminedRatio = maxExaminedRatio;
+        }
+    }
+
+    /**
+     * @return The number of examined documents below which the ratio is not checked (defaults to 0)
+     */
+    public long getMinExamined() {
+        return minExamined;
+    }
+
+    /**
+     * @param minExamined The number of examined documents below which the ratio is not checked
+     */
+    public void setMinExamined(long minExamined) {
+        this.minExamined = Math.max(0, minExamined);
+    }
+
+    /**
+     * @return The names of the collections whose queries are not recorded
+     */
+    public Set<String> getIgnoredCollections() {
+        return ignoredCollections;
+    }
+
+    /**
+     * @param ignoredCollections The names of the collections whose queries are not recorded
+     */
+    public void setIgnoredCollections(Set<String> ignoredCollections) {
+        this.ignoredCollections = ignoredCollections == null ? Collections.emptySet() : new HashSet<>(ignoredCollections);
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.test;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoClient;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.StringUtils;
+import jakarta.inject.Singleton;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Records the queries sent by a client and checks their plans with the <code>explain</code> command. A plan is
+ * rejected if it scans the collection or examines more than {@link QueryPlanConfiguration#getMaxExaminedRatio()}
+ * documents per returned document. As a {@link CommandListener} bean it is registered with every client when
+ * <code>mongodb.query-plan.enabled</code> is set.
+ *
+ * <pre>{@code
+ * @AfterEach
+ * void verifyQueryPlans() {
+ *     recorder.assertPlans(mongoClient);
+ * }
+ * }</pre>
+ *
+ * <p>The queries are explained when they are verified, against the data at that time, so tests verify before they
+ * clean up. Each query shape, that is the command without the values of its filter, update and pipeline, is explained
+ * once.</p>
+ *
+ * @since 5.6.0
+ */
+@Singleton
+@Requires(property = QueryPlanConfiguration.PREFIX + ".enabled", value = StringUtils.TRUE)
+public class QueryPlanRecorder implements CommandListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(QueryPlanRecorder.class);
+
+    private static final Set<String> EXPLAINABLE = Set.of("find", "aggregate", "count", "distinct", "update", "delete", "findAndModify");
+    private static final Set<String> INTERNAL_DATABASES = Set.of("admin", "config", "local");
+    private static final Set<String> SESSION_FIELDS = Set.of("lsid", "$db", "$clusterTime", "$readPreference", "txnNumber",
+        "autocommit", "startTransaction", "writeConcern", "readConcern", "apiVersion", "apiStrict", "apiDeprecationErrors");
+    private static final Set<String> LITERAL_FIELDS = Set.of("filter", "query", "q", "u", "update", "pipeline", "let", "skip", "limit", "batchSize");
+    private static final BsonString LITERAL = new BsonString("?");
+    private static final String COLLECTION_SCAN = "COLLSCAN";
+
+    private final QueryPlanConfiguration configuration;
+    private final Map<String, RecordedQuery> queries = new LinkedHashMap<>();
+
+    /**
+     * @param configuration The configuration
+     */
+    public QueryPlanRecorder(QueryPlanConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * @return The first query of each shape recorded since the last verification
+     */
+    public synchronized List<RecordedQuery> getQueries() {
+        return new ArrayList<>(queries.values());
+    }
+
+    /**
+     * Forgets the recorded queries.
+     */
+    public synchronized void clear() {
+        queries.clear();
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String name = event.getCommandName();
+        if (!EXPLAINABLE.contains(name) || INTERNAL_DATABASES.contains(event.getDatabaseName())) {
+            return;
+        }
+        BsonDocument command = event.getCommand();
+        BsonValue collection = command.get(name);
+        if (collection == null || !collection.isString() || collection.asString().getValue().startsWith("system.")
+            || configuration.getIgnoredCollections().contains(collection.asString().getValue())) {
+            return;
+        }
+        BsonDocument explained = new BsonDocument();
+        for (Map.Entry<String, BsonValue> field : command.clone().entrySet()) {
+            if (!SESSION_FIELDS.contains(field.getKey())) {
+                explained.put(field.getKey(), field.getValue());
+            }
+        }
+        switch (name) {
+            case "update" -> statements(event.getDatabaseName(), explained, "updates");
+            case "delete" -> statements(event.getDatabaseName(), explained, "deletes");
+            default -> record(event.getDatabaseName(), explained);
+        }
+    }
+
+    /**
+     * Explains the recorded queries and forgets them.
+     *
+     * @param client A client connected to the server the queries were sent to
+     * @return The queries whose plans are rejected
+     */
+    public List<QueryPlanViolation> verify(MongoClient client) {
+        List<RecordedQuery> recorded;
+        synchronized (this) {
+            recorded = new ArrayList<>(queries.values());
+            queries.clear();
+        }
+        List<QueryPlanViolation> violations = new ArrayList<>();
+        for (RecordedQuery query : recorded) {
+            BsonDocument explain;
+            try {
+                explain = client.getDatabase(query.getDatabase()).runCommand(new BsonDocument("explain", query.getCommand())
+                    .append("verbosity", new BsonString(writesOutput(query) ? "queryPlanner" : "executionStats")), BsonDocument.class);
+            } catch (MongoException e) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Query could not be explained: {}", query, e);
+                }
+                continue;
+            }
+            QueryPlanViolation violation = check(query, explain);
+            if (violation != null) {
+                violations.add(violation);
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Explains the recorded queries and forgets them.
+     *
+     * @param client A client connected to the server the queries were sent to
+     * @throws QueryPlanAssertionError If plans are rejected
+     */
+    public void assertPlans(MongoClient client) {
+        List<QueryPlanViolation> violations = verify(client);
+        if (!violations.isEmpty()) {
+            throw new QueryPlanAssertionError(violations);
+        }
+    }
+
+    private QueryPlanViolation check(RecordedQuery query, BsonDocument explain) {
+        if (!configuration.isCheckUnfilteredQueries() && isUnfiltered(query.getCommand())) {
+            return null;
+        }
+        if (!configuration.isAllowCollectionScans() && scansCollection(explain, false)) {
+            return new QueryPlanViolation(query, "collection scan", explain);
+        }
+        BsonDocument stats = find(explain, "executionStats");
+        if (stats != null) {
+            long examined = Math.max(number(stats, "totalDocsExamined"), number(stats, "totalKeysExamined"));
+            long returned = number(stats, "nReturned");
+            if (examined >= configuration.getMinExamined() && examined > configuration.getMaxExaminedRatio() * Math.max(1, returned)) {
+                return new QueryPlanViolation(query, "examined " + examined + " documents to return " + returned, explain);
+            }
+        }
+        return null;
+    }
+
+    private synchronized void record(String database, BsonDocument command) {
+        queries.computeIfAbsent(database + "." + shape(command, false).asDocument().toJson(), key -> new RecordedQuery(database, command, filter(command)));
+    }
+
+    /**
+     * @param value   A part of a command
+     * @param literal Whether the value is part of a field holding literals, such as a filter
+     * @return The value with its literals replaced, except the field paths and variables of a pipeline, and the
+     * literals of an array collapsed, so that an <code>$in</code> matches the same shape whatever its length
+     */
+    private static BsonValue shape(BsonValue value, boolean literal) {
+        if (value.isDocument()) {
+            BsonDocument shape = new BsonDocument();
+            for (Map.Entry<String, BsonValue> field : value.asDocument().entrySet()) {
+                shape.put(field.getKey(), shape(field.getValue(), literal || LITERAL_FIELDS.contains(field.getKey())));
+            }
+            return shape;
+        }
+        if (value.isArray()) {
+            BsonArray shape = new BsonArray();
+            for (BsonValue element : value.asArray()) {
+                BsonValue elementShape = shape(element, literal);
+                if (elementShape != LITERAL || !shape.contains(LITERAL)) {
+                    shape.add(elementShape);
+                }
+            }
+            return shape;
+        }
+        if (!literal || value.isString() && value.asString().getValue().startsWith("$")) {
+            return value;
+        }
+        return LITERAL;
+    }
+
+    private void statements(String database, BsonDocument command, String field) {
+        BsonValue statements = command.remove(field);
+        if (statements == null || !statements.isArray()) {
+            return;
+        }
+        for (BsonValue statement : statements.asArray()) {
+            BsonDocument single = command.clone();
+            single.put(field, new BsonArray(List.of(statement)));
+            record(database, single);
+        }
+    }
+
+    private static BsonDocument filter(BsonDocument command) {
+        BsonValue filter = switch (command.getFirstKey()) {
+            case "find" -> command.get("filter");
+            case "count", "distinct", "findAndModify" -> command.get("query");
+            case "update" -> command.getArray("updates").get(0).asDocument().get("q");
+            case "delete" -> command.getArray("deletes").get(0).asDocument().get("q");
+            case "aggregate" -> {
+                BsonArray pipeline = command.getArray("pipeline", new BsonArray());
+                yield pipeline.isEmpty() ? null : pipeline.get(0).asDocument().get("$match");
+            }
+            default -> null;
+        };
+        return filter != null && filter.isDocument() ? filter.asDocument() : new BsonDocument();
+    }
+
+    /**
+     * @param command The command
+     * @return Whether the command reads every document of the collection by definition, a pipeline only if it is empty
+     */
+    private static boolean isUnfiltered(BsonDocument command) {
+        if (command.getFirstKey().equals("aggregate")) {
+            return command.getArray("pipeline", new BsonArray()).isEmpty();
+        }
+        return filter(command).isEmpty();
+    }
+
+    private static boolean writesOutput(RecordedQuery query) {
+        if (!query.getCommandName().equals("aggregate")) {
+            return false;
+        }
+        for (BsonValue stage : query.getCommand().getArray("pipeline", new BsonArray())) {
+            if (stage.asDocument().containsKey("$out") || stage.asDocument().containsKey("$merge")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param value      A part of the explain reply
+     * @param inWinning  Whether the value is part of a winning plan
+     * @return Whether a winning plan contains a collection scan, rejected plans are not considered
+     */
+    private static boolean scansCollection(BsonValue value, boolean inWinning) {
+        if (value.isArray()) {
+            for (BsonValue element : value.asArray()) {
+                if (scansCollection(element, inWinning)) {
+                    return true;
+                }
+            }
+        } else if (value.isDocument()) {
+            BsonDocument document = value.asDocument();
+            if (inWinning && COLLECTION_SCAN.equals(stage(document))) {
+                return true;
+            }
+            for (Map.Entry<String, BsonValue> field : document.entrySet()) {
+                if (!field.getKey().equals("rejectedPlans") && scansCollection(field.getValue(), inWinning || field.getKey().equals("winningPlan"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String stage(BsonDocument document) {
+        BsonValue stage = document.get("stage");
+        return stage != null && stage.isString() ? stage.asString().getValue() : null;
+    }
+
+    private static BsonDocument find(BsonValue value, String name) {
+        if (value.isDocument()) {
+            for (Map.Entry<String, BsonValue> field : value.asDocument().entrySet()) {
+                if (field.getKey().equals(name) && field.getValue().isDocument()) {
+                    return field.getValue().asDocument();
+                }
+            }
+            for (BsonValue child : value.asDocument().values()) {
+                BsonDocument found = find(child, name);
+                if (found != null) {
+                    return found;
+                }
+            }
+        } else if (value.isArray()) {
+            for (BsonValue child : value.asArray()) {
+                BsonDocument found = find(child, name);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static long number(BsonDocument document, String name) {
+        BsonValue value = document.get(name);
+        return value != null && value.isNumber() ? value.asNumber().longValue() : 0;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.test;
+
+import org.bson.BsonDocument;
+
+/**
+ * A query whose plan violates the {@link QueryPlanConfiguration}.
+ *
+ * @since 5.6.0
+ */
+public final class QueryPlanViolation {
+
+    private final RecordedQuery query;
+    private final String reason;
+    private final BsonDocument explain;
+
+    QueryPlanViolation(RecordedQuery query, String reason, BsonDocument explain) {
+        this.query = query;
+        this.reason = reason;
+        this.explain = explain;
+    }
+
+    /**
+     * @return The query
+     */
+    public RecordedQuery getQuery() {
+        return query;
+    }
+
+    /**
+     * @return Why the plan is rejected
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * @return The reply of the <code>explain</code> command
+     */
+    public BsonDocument getExplain() {
+        return explain;
+    }
+
+    @Override
+    public String toString() {
+        return reason + ": " + query;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.test;
+
+import org.bson.BsonDocument;
+
+/**
+ * A query recorded by the {@link QueryPlanRecorder}: the command as it is explained, without session and write
+ * concern fields and with a single statement for updates and deletes.
+ *
+ * @since 5.6.0
+ */
+public final class RecordedQuery {
+
+    private final String database;
+    private final BsonDocument command;
+    private final BsonDocument filter;
+
+    RecordedQuery(String database, BsonDocument command, BsonDocument filter) {
+        this.database = database;
+        this.command = command;
+        this.filter = filter;
+    }
+
+    /**
+     * @return The database name
+     */
+    public String getDatabase() {
+        return database;
+    }
+
+    /**
+     * @return The command name, for example <code>find</code>
+     */
+    public String getCommandName() {
+        return command.getFirstKey();
+    }
+
+    /**
+     * @return The collection name
+     */
+    public String getCollection() {
+        return command.getString(command.getFirstKey()).getValue();
+    }
+
+    /**
+     * @return The command
+     */
+    public BsonDocument getCommand() {
+        return command;
+    }
+
+    /**
+     * @return The filter of the query, the leading <code>$match</code> stage of a pipeline, empty if there is none
+     */
+    public BsonDocument getFilter() {
+        return filter;
+    }
+
+    @Override
+    public String toString() {
+        return database + "." + getCollection() + " " + command.toJson();
+    }
+}
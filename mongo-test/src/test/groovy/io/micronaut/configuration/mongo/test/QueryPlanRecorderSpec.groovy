@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017-2026 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.configuration.mongo.test
+
+import com.mongodb.client.MongoClient
+import com.mongodb.client.MongoCollection
+import com.mongodb.client.model.Accumulators
+import com.mongodb.client.model.Aggregates
+import com.mongodb.client.model.Filters
+import com.mongodb.client.model.Indexes
+import com.mongodb.client.model.Updates
+import io.micronaut.context.ApplicationContext
+import org.bson.Document
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class QueryPlanRecorderSpec extends Specification {
+
+    @Shared @AutoCleanup ApplicationContext context = ApplicationContext.run(
+            'mongodb.embedded.enabled': true,
+            'mongodb.uri': 'mongodb://localhost:1',
+            'mongodb.query-plan.enabled': true,
+            'mongodb.query-plan.ignored-collections': ['ignored']
+    )
+
+    @Shared MongoClient client = context.getBean(MongoClient)
+    @Shared QueryPlanRecorder recorder = context.getBean(QueryPlanRecorder)
+    @Shared MongoCollection<Document> collection = client.getDatabase('test').getCollection('orders')
+
+    void setupSpec() {
+        collection.insertMany((0..<1000).collect {
+            new Document('_id', it).append('status', it % 2 ? 'OPEN' : 'DONE').append('name', 'order' + it)
+        })
+        collection.createIndex(Indexes.ascending('status'))
+    }
+
+    void setup() {
+        recorder.clear()
+    }
+
+    void "test indexed and unfiltered queries pass"() {
+        when:
+        collection.find(Filters.eq('_id', 3)).first()
+        collection.find().into([])
+        collection.aggregate([]).into([])
+        collection.countDocuments(Filters.eq('status', 'OPEN'))
+        client.getDatabase('test').getCollection('ignored').find(Filters.eq('name', 'order1')).first()
+        recorder.assertPlans(client)
+
+        then:
+        noExceptionThrown()
+        recorder.queries.empty
+    }
+
+    void "test collection scans fail"() {
+        when:
+        collection.find(Filters.eq('name', 'order5')).first()
+        collection.updateMany(Filters.eq('name', 'order7'), Updates.set('seen', true))
+        recorder.assertPlans(client)
+
+        then:
+        QueryPlanAssertionError e = thrown()
+        e.violations*.reason == ['collection scan', 'collection scan']
+        e.violations*.query*.commandName == ['find', 'update']
+        e.violations[1].query.command.getArray('updates').size() == 1
+        e.message.contains('order5')
+
+        and: 'explaining does not apply writes'
+        collection.countDocuments(Filters.eq('seen', true)) == 0
+    }
+
+    void "test queries examining many more documents than they return fail"() {
+        when:
+        collection.find(Filters.and(Filters.eq('status', 'OPEN'), Filters.eq('name', 'order9'))).first()
+        collection.find(Filters.and(Filters.eq('status', 'OPEN'), Filters.eq('name', 'order9'))).first()
+        List<QueryPlanViolation> violations = recorder.verify(client)
+
+        then:
+        violations.size() == 1
+        violations[0].reason == 'examined 500 documents to return 1'
+        violations[0].explain.getDocument('queryPlanner').getDocument('winningPlan').getDocument('inputStage').getString('indexName').value == 'status_1'
+    }
+
+    void "test pipelines not starting with a match stage are checked"() {
+        when:
+        collection.aggregate([Aggregates.group('$status', Accumulators.sum('n', 1))]).into([])
+        List<QueryPlanViolation> violations = recorder.verify(client)
+
+        then:
+        violations*.reason == ['collection scan']
+        violations[0].query.commandName == 'aggregate'
+    }
+
+    void "test queries differing only in their values are explained once"() {
+        when:
+        collection.find(Filters.eq('name', 'order5')).first()
+        collection.find(Filters.eq('name', 'order6')).first()
+        collection.find(Filters.in('_id', 1, 2, 3)).first()
+        collection.find(Filters.in('_id', 4)).first()
+        collection.find(Filters.eq('status', 'OPEN')).first()
+
+        then:
+        recorder.queries*.filter*.toJson() == ['{"name": "order5"}', '{"_id": {"$in": [1, 2, 3]}}', '{"status": "OPEN"}']
+
+        when:
+        List<QueryPlanViolation> violations = recorder.verify(client)
+
+        then:
+        violations*.reason == ['collection scan', 'examined 500 documents to return 1']
+    }
+}
@@ -0,0 +1,13 @@
+package example;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.runtime.Micronaut;
+
+public class Application {
+
+    public static void main(String[] args) {
+        try (ApplicationContext context = Micronaut.run(Application.class, args)) {
+            context.getBean(LoadTestRunner.class).run();
+        }
+    }
+}
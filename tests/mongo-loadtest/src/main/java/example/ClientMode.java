@@ -0,0 +1,27 @@
+package example;
+
+/**
+ * The clients a load test is run with.
+ */
+public enum ClientMode {
+
+    /**
+     * The blocking client driven by platform threads.
+     */
+    SYNC_PLATFORM,
+
+    /**
+     * The blocking client driven by virtual threads.
+     */
+    SYNC_VIRTUAL,
+
+    /**
+     * The Reactive Streams client adapted with <code>Flux.from</code> and <code>Mono.from</code>.
+     */
+    REACTIVE,
+
+    /**
+     * The Reactive Streams client through the Reactor API.
+     */
+    REACTOR
+}
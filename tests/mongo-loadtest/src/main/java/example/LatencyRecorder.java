@@ -0,0 +1,41 @@
+package example;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the latency of a fixed number of operations from any number of threads.
+ */
+final class LatencyRecorder {
+
+    private final long[] samples;
+    private final AtomicInteger count = new AtomicInteger();
+
+    LatencyRecorder(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    void record(long nanos) {
+        int index = count.getAndIncrement();
+        if (index < samples.length) {
+            samples[index] = nanos;
+        }
+    }
+
+    /**
+     * @return The recorded samples in ascending order
+     */
+    long[] sorted() {
+        long[] sorted = Arrays.copyOf(samples, Math.min(count.get(), samples.length));
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
@@ -0,0 +1,189 @@
+package example;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Configuration of the load test.
+ */
+@ConfigurationProperties("loadtest")
+public class LoadTestConfiguration {
+
+    private int operations = 20_000;
+    private int warmupOperations = 2_000;
+    private int concurrency = 64;
+    private List<Integer> concurrencyLevels = new ArrayList<>();
+    private int platformThreadLimit = 1_000;
+    private int documents = 10_000;
+    private int payloadSize = 256;
+    private String database = "loadtest";
+    private String collection = "documents";
+    private Set<ClientMode> modes = EnumSet.allOf(ClientMode.class);
+    private Map<String, Integer> mix = new LinkedHashMap<>(Map.of(
+        "find", 70,
+        "update", 15,
+        "insert", 10,
+        "delete", 5
+    ));
+
+    /**
+     * @return The number of measured operations per client mode
+     */
+    public int getOperations() {
+        return operations;
+    }
+
+    /**
+     * @param operations The number of measured operations per client mode
+     */
+    public void setOperations(int operations) {
+        this.operations = operations;
+    }
+
+    /**
+     * @return The number of operations run before measuring
+     */
+    public int getWarmupOperations() {
+        return warmupOperations;
+    }
+
+    /**
+     * @param warmupOperations The number of operations run before measuring
+     */
+    public void setWarmupOperations(int warmupOperations) {
+        this.warmupOperations = warmupOperations;
+    }
+
+    /**
+     * @return The number of threads, or of operations in flight for the reactive client
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * @param concurrency The number of threads, or of operations in flight for the reactive client
+     */
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * @return The concurrency levels to run every client mode with, if empty only {@link #getConcurrency()} is run
+     */
+    public List<Integer> getConcurrencyLevels() {
+        return concurrencyLevels;
+    }
+
+    /**
+     * @param concurrencyLevels The concurrency levels to run every client mode with
+     */
+    public void setConcurrencyLevels(List<Integer> concurrencyLevels) {
+        this.concurrencyLevels = concurrencyLevels;
+    }
+
+    /**
+     * @return The highest concurrency the {@link ClientMode#SYNC_PLATFORM} mode is run with, as every operation in
+     * flight takes a platform thread
+     */
+    public int getPlatformThreadLimit() {
+        return platformThreadLimit;
+    }
+
+    /**
+     * @param platformThreadLimit The highest concurrency the {@link ClientMode#SYNC_PLATFORM} mode is run with
+     */
+    public void setPlatformThreadLimit(int platformThreadLimit) {
+        this.platformThreadLimit = platformThreadLimit;
+    }
+
+    /**
+     * @return The number of documents the collection is seeded with
+     */
+    public int getDocuments() {
+        return documents;
+    }
+
+    /**
+     * @param documents The number of documents the collection is seeded with
+     */
+    public void setDocuments(int documents) {
+        this.documents = documents;
+    }
+
+    /**
+     * @return The size of the payload of every document in bytes
+     */
+    public int getPayloadSize() {
+        return payloadSize;
+    }
+
+    /**
+     * @param payloadSize The size of the payload of every document in bytes
+     */
+    public void setPayloadSize(int payloadSize) {
+        this.payloadSize = payloadSize;
+    }
+
+    /**
+     * @return The database name
+     */
+    public String getDatabase() {
+        return database;
+    }
+
+    /**
+     * @param database The database name
+     */
+    public void setDatabase(String database) {
+        this.database = database;
+    }
+
+    /**
+     * @return The collection name
+     */
+    public String getCollection() {
+        return collection;
+    }
+
+    /**
+     * @param collection The collection name
+     */
+    public void setCollection(String collection) {
+        this.collection = collection;
+    }
+
+    /**
+     * @return The client modes to run
+     */
+    public Set<ClientMode> getModes() {
+        return modes;
+    }
+
+    /**
+     * @param modes The client modes to run
+     */
+    public void setModes(Set<ClientMode> modes) {
+        this.modes = modes;
+    }
+
+    /**
+     * @return The relative weights of the operations <code>find</code>, <code>update</code>, <code>insert</code> and <code>delete</code>
+     */
+    public Map<String, Integer> getMix() {
+        return mix;
+    }
+
+    /**
+     * @param mix The relative weights of the operations
+     */
+    public void setMix(Map<String, Integer> mix) {
+        this.mix = mix;
+    }
+}
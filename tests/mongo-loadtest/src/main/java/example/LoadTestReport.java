@@ -0,0 +1,116 @@
+package example;
+
+import java.util.Locale;
+
+/**
+ * The result of running the load test with one client mode and concurrency level.
+ */
+public final class LoadTestReport {
+
+    private final ClientMode mode;
+    private final int concurrency;
+    private final int operations;
+    private final long errors;
+    private final long elapsedNanos;
+    private final long p50Nanos;
+    private final long p99Nanos;
+    private final long p999Nanos;
+    private final long allocatedBytes;
+    private final long poolWaitNanos;
+
+    LoadTestReport(ClientMode mode, int concurrency, int operations, long errors, long elapsedNanos, long[] sortedLatencies,
+                   long allocatedBytes, long poolWaitNanos) {
+        this.mode = mode;
+        this.concurrency = concurrency;
+        this.operations = operations;
+        this.errors = errors;
+        this.elapsedNanos = elapsedNanos;
+        this.p50Nanos = LatencyRecorder.percentile(sortedLatencies, 0.5);
+        this.p99Nanos = LatencyRecorder.percentile(sortedLatencies, 0.99);
+        this.p999Nanos = LatencyRecorder.percentile(sortedLatencies, 0.999);
+        this.allocatedBytes = allocatedBytes;
+        this.poolWaitNanos = poolWaitNanos;
+    }
+
+    /**
+     * @return The client mode
+     */
+    public ClientMode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return The number of threads, or of operations in flight for the reactive client
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * @return The number of measured operations
+     */
+    public int getOperations() {
+        return operations;
+    }
+
+    /**
+     * @return The number of failed operations
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return The operations per second
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : operations * 1_000_000_000d / elapsedNanos;
+    }
+
+    /**
+     * @return The median latency in nanoseconds
+     */
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    /**
+     * @return The 99th percentile of the latency in nanoseconds
+     */
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    /**
+     * @return The 99.9th percentile of the latency in nanoseconds
+     */
+    public long getP999Nanos() {
+        return p999Nanos;
+    }
+
+    /**
+     * @return The bytes allocated per second by the threads generating the load, -1 if the JVM cannot measure it
+     */
+    public double getAllocationRate() {
+        return allocatedBytes < 0 || elapsedNanos == 0 ? -1 : allocatedBytes * 1_000_000_000d / elapsedNanos;
+    }
+
+    /**
+     * @return The average time an operation waited for a pooled connection in nanoseconds
+     */
+    public long getPoolWaitNanos() {
+        return poolWaitNanos;
+    }
+
+    static String header() {
+        return String.format(Locale.ROOT, "%-14s %11s %10s %8s %10s %10s %10s %12s %12s",
+            "mode", "concurrency", "ops/s", "errors", "p50 ms", "p99 ms", "p999 ms", "alloc MB/s", "pool wait ms");
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%-14s %11d %10.0f %8d %10.3f %10.3f %10.3f %12.1f %12.3f",
+            mode, concurrency, getThroughput(), errors, p50Nanos / 1e6, p99Nanos / 1e6, p999Nanos / 1e6,
+            getAllocationRate() / (1024 * 1024), poolWaitNanos / 1e6);
+    }
+}
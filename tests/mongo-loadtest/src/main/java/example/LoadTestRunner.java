@@ -0,0 +1,320 @@
+package example;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+import io.micronaut.configuration.mongo.core.AbstractMongoConfiguration;
+import io.micronaut.configuration.mongo.core.monitor.MongoClientMonitor;
+import io.micronaut.configuration.mongo.core.monitor.ServerStatistics;
+import io.micronaut.configuration.mongo.reactive.reactor.ReactorMongoCollection;
+import io.micronaut.scheduling.LoomSupport;
+import jakarta.inject.Singleton;
+import org.bson.Document;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs a mix of CRUD operations with every configured {@link ClientMode} and concurrency level and reports
+ * throughput, latency, allocation rate and connection pool wait time.
+ */
+@Singleton
+public class LoadTestRunner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private final LoadTestConfiguration configuration;
+    private final MongoClient syncClient;
+    private final com.mongodb.reactivestreams.client.MongoClient reactiveClient;
+    private final AbstractMongoConfiguration mongoConfiguration;
+    private final String[] operations;
+    private final int[] cumulativeWeights;
+    private final AtomicLong insertIds = new AtomicLong();
+
+    /**
+     * @param configuration      The load test configuration
+     * @param syncClient         The blocking client
+     * @param reactiveClient     The Reactive Streams client
+     * @param mongoConfiguration The configuration both clients are created from
+     */
+    public LoadTestRunner(LoadTestConfiguration configuration,
+                          MongoClient syncClient,
+                          com.mongodb.reactivestreams.client.MongoClient reactiveClient,
+                          AbstractMongoConfiguration mongoConfiguration) {
+        this.configuration = configuration;
+        this.syncClient = syncClient;
+        this.reactiveClient = reactiveClient;
+        this.mongoConfiguration = mongoConfiguration;
+        Map<String, Integer> mix = configuration.getMix();
+        this.operations = new String[mix.size()];
+        this.cumulativeWeights = new int[mix.size()];
+        int total = 0;
+        int i = 0;
+        for (Map.Entry<String, Integer> operation : mix.entrySet()) {
+            total += Math.max(0, operation.getValue());
+            operations[i] = operation.getKey();
+            cumulativeWeights[i++] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("The operation mix must have a positive weight");
+        }
+    }
+
+    /**
+     * Seeds the collection and runs the load test with every configured client mode and concurrency level.
+     *
+     * @return The reports
+     */
+    public List<LoadTestReport> run() {
+        seed();
+        List<Integer> levels = configuration.getConcurrencyLevels().isEmpty() ? List.of(configuration.getConcurrency()) : configuration.getConcurrencyLevels();
+        List<LoadTestReport> reports = new ArrayList<>();
+        for (int concurrency : levels) {
+            for (ClientMode mode : configuration.getModes()) {
+                if (mode == ClientMode.SYNC_VIRTUAL && !LoomSupport.isSupported()) {
+                    LOG.warn("Skipping {}, virtual threads are not supported by this JVM", mode);
+                    continue;
+                }
+                if (mode == ClientMode.SYNC_PLATFORM && concurrency > configuration.getPlatformThreadLimit()) {
+                    LOG.warn("Skipping {} with concurrency {}, the platform thread limit is {}", mode, concurrency, configuration.getPlatformThreadLimit());
+                    continue;
+                }
+                execute(mode, concurrency, configuration.getWarmupOperations(), null, null);
+                reports.add(measure(mode, concurrency));
+            }
+        }
+        if (LOG.isInfoEnabled()) {
+            LOG.info("Load test with {} operations, concurrency {} and mix {}", configuration.getOperations(), levels, configuration.getMix());
+            LOG.info(LoadTestReport.header());
+            reports.forEach(report -> LOG.info(report.toString()));
+        }
+        return reports;
+    }
+
+    private void seed() {
+        MongoCollection<Document> collection = syncCollection();
+        collection.drop();
+        String payload = "x".repeat(configuration.getPayloadSize());
+        List<Document> batch = new ArrayList<>(1000);
+        for (int id = 0; id < configuration.getDocuments(); id++) {
+            batch.add(new Document("_id", id).append("n", 0).append("payload", payload));
+            if (batch.size() == 1000) {
+                collection.insertMany(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            collection.insertMany(batch);
+        }
+        insertIds.set(configuration.getDocuments());
+    }
+
+    private LoadTestReport measure(ClientMode mode, int concurrency) {
+        LatencyRecorder recorder = new LatencyRecorder(configuration.getOperations());
+        WorkerAllocations allocations = WorkerAllocations.start();
+        long[] poolBefore = poolWait();
+        long start = System.nanoTime();
+        long errors = execute(mode, concurrency, configuration.getOperations(), recorder, allocations);
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocations == null ? -1 : allocations.stop();
+        long[] poolAfter = poolWait();
+        long checkOuts = poolAfter[0] - poolBefore[0];
+        long poolWait = checkOuts <= 0 ? 0 : (poolAfter[1] - poolBefore[1]) / checkOuts;
+        return new LoadTestReport(mode, concurrency, configuration.getOperations(), errors, elapsed, recorder.sorted(), allocated, poolWait);
+    }
+
+    private long execute(ClientMode mode, int concurrency, int count, LatencyRecorder recorder, WorkerAllocations allocations) {
+        return switch (mode) {
+            case SYNC_PLATFORM -> executeSync(platformThreadFactory(), concurrency, count, recorder, allocations);
+            case SYNC_VIRTUAL -> executeSync(LoomSupport.newVirtualThreadFactory("loadtest-virtual-"), concurrency, count, recorder, allocations);
+            case REACTIVE -> executeReactive(concurrency, count, recorder, allocations);
+            case REACTOR -> executeReactor(concurrency, count, recorder, allocations);
+        };
+    }
+
+    private long executeSync(ThreadFactory threadFactory, int concurrency, int count, LatencyRecorder recorder, WorkerAllocations allocations) {
+        MongoCollection<Document> collection = syncCollection();
+        AtomicInteger remaining = new AtomicInteger(count);
+        LongAdder errors = new LongAdder();
+        List<Thread> workers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(threadFactory.newThread(() -> {
+                if (allocations != null) {
+                    allocations.enter();
+                }
+                while (remaining.getAndDecrement() > 0) {
+                    String operation = nextOperation();
+                    long start = System.nanoTime();
+                    try {
+                        executeSync(collection, operation);
+                    } catch (MongoException e) {
+                        errors.increment();
+                    }
+                    if (recorder != null) {
+                        recorder.record(System.nanoTime() - start);
+                    }
+                }
+                if (allocations != null) {
+                    allocations.exit();
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the load test to finish", e);
+            }
+        }
+        return errors.sum();
+    }
+
+    private void executeSync(MongoCollection<Document> collection, String operation) {
+        switch (operation) {
+            case "find" -> collection.find(Filters.eq("_id", randomId())).first();
+            case "update" -> collection.updateOne(Filters.eq("_id", randomId()), Updates.inc("n", 1));
+            case "insert" -> collection.insertOne(newDocument());
+            case "delete" -> collection.deleteOne(Filters.eq("_id", randomId()));
+            default -> throw new IllegalArgumentException("Unknown operation: " + operation);
+        }
+    }
+
+    private long executeReactive(int concurrency, int count, LatencyRecorder recorder, WorkerAllocations allocations) {
+        com.mongodb.reactivestreams.client.MongoCollection<Document> collection = reactiveClient
+            .getDatabase(configuration.getDatabase())
+            .getCollection(configuration.getCollection());
+        LongAdder errors = new LongAdder();
+        Flux.range(0, count)
+            .flatMap(i -> {
+                String operation = nextOperation();
+                long start = System.nanoTime();
+                if (allocations != null) {
+                    allocations.enter();
+                }
+                return Mono.from(executeReactive(collection, operation))
+                    .then()
+                    .onErrorResume(MongoException.class, e -> {
+                        errors.increment();
+                        return Mono.empty();
+                    })
+                    .doFinally(signal -> {
+                        if (allocations != null) {
+                            allocations.enter();
+                        }
+                        if (recorder != null) {
+                            recorder.record(System.nanoTime() - start);
+                        }
+                    });
+            }, concurrency)
+            .blockLast();
+        return errors.sum();
+    }
+
+    private Publisher<?> executeReactive(com.mongodb.reactivestreams.client.MongoCollection<Document> collection, String operation) {
+        return switch (operation) {
+            case "find" -> collection.find(Filters.eq("_id", randomId())).first();
+            case "update" -> collection.updateOne(Filters.eq("_id", randomId()), Updates.inc("n", 1));
+            case "insert" -> collection.insertOne(newDocument());
+            case "delete" -> collection.deleteOne(Filters.eq("_id", randomId()));
+            default -> throw new IllegalArgumentException("Unknown operation: " + operation);
+        };
+    }
+
+    private long executeReactor(int concurrency, int count, LatencyRecorder recorder, WorkerAllocations allocations) {
+        ReactorMongoCollection<Document> collection = ReactorMongoCollection.of(reactiveClient
+            .getDatabase(configuration.getDatabase())
+            .getCollection(configuration.getCollection()));
+        LongAdder errors = new LongAdder();
+        Flux.range(0, count)
+            .flatMap(i -> {
+                String operation = nextOperation();
+                long start = System.nanoTime();
+                if (allocations != null) {
+                    allocations.enter();
+                }
+                return executeReactor(collection, operation)
+                    .onErrorResume(MongoException.class, e -> {
+                        errors.increment();
+                        return Mono.empty();
+                    })
+                    .doFinally(signal -> {
+                        if (allocations != null) {
+                            allocations.enter();
+                        }
+                        if (recorder != null) {
+                            recorder.record(System.nanoTime() - start);
+                        }
+                    });
+            }, concurrency)
+            .blockLast();
+        return errors.sum();
+    }
+
+    private Mono<?> executeReactor(ReactorMongoCollection<Document> collection, String operation) {
+        return switch (operation) {
+            case "find" -> collection.findFirst(Filters.eq("_id", randomId()));
+            case "update" -> collection.updateOne(Filters.eq("_id", randomId()), Updates.inc("n", 1));
+            case "insert" -> collection.insertOne(newDocument());
+            case "delete" -> collection.deleteOne(Filters.eq("_id", randomId()));
+            default -> throw new IllegalArgumentException("Unknown operation: " + operation);
+        };
+    }
+
+    private MongoCollection<Document> syncCollection() {
+        return syncClient.getDatabase(configuration.getDatabase()).getCollection(configuration.getCollection());
+    }
+
+    private String nextOperation() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private int randomId() {
+        return ThreadLocalRandom.current().nextInt(Math.max(1, configuration.getDocuments()));
+    }
+
+    private Document newDocument() {
+        return new Document("_id", insertIds.getAndIncrement()).append("n", 0).append("payload", "y".repeat(configuration.getPayloadSize()));
+    }
+
+    private long[] poolWait() {
+        long checkOuts = 0;
+        long waitNanos = 0;
+        for (MongoClientMonitor monitor : mongoConfiguration.getMonitors()) {
+            for (ServerStatistics server : monitor.getServers()) {
+                checkOuts += server.getCheckOuts();
+                waitNanos += server.getAverageCheckOutWaitNanos() * server.getCheckOuts();
+            }
+        }
+        return new long[] {checkOuts, waitNanos};
+    }
+
+    private static ThreadFactory platformThreadFactory() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-platform-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
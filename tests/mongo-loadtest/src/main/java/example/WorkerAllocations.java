@@ -0,0 +1,93 @@
+package example;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the heap allocations of the threads that generate the load by thread id, leaving out every other thread
+ * of the process such as the threads of the embedded server. A thread is measured from the first time it calls
+ * {@link #enter()}. The allocations of virtual threads cannot be read, they are measured on the carrier threads.
+ */
+final class WorkerAllocations {
+
+    private static final String CARRIER_THREAD = "jdk.internal.misc.CarrierThread";
+
+    private final com.sun.management.ThreadMXBean threads;
+    private final Map<Long, Long> baselines = new ConcurrentHashMap<>();
+    private final Map<Long, Long> carrierBaselines;
+    private final LongAdder exited = new LongAdder();
+
+    private WorkerAllocations(com.sun.management.ThreadMXBean threads) {
+        this.threads = threads;
+        this.carrierBaselines = carriers(threads);
+    }
+
+    /**
+     * @return A new measurement or null if the JVM cannot measure the allocations per thread
+     */
+    static WorkerAllocations start() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean allocations && allocations.isThreadAllocatedMemoryEnabled()) {
+            return new WorkerAllocations(allocations);
+        }
+        return null;
+    }
+
+    /**
+     * Measures the current thread from now on unless it is measured already.
+     */
+    void enter() {
+        long id = Thread.currentThread().getId();
+        if (!baselines.containsKey(id)) {
+            long allocated = threads.getCurrentThreadAllocatedBytes();
+            if (allocated >= 0) {
+                baselines.putIfAbsent(id, allocated);
+            }
+        }
+    }
+
+    /**
+     * Adds the allocations of the current thread before it terminates, since they cannot be read afterwards.
+     */
+    void exit() {
+        Long baseline = baselines.remove(Thread.currentThread().getId());
+        if (baseline != null) {
+            exited.add(threads.getCurrentThreadAllocatedBytes() - baseline);
+        }
+    }
+
+    /**
+     * @return The bytes allocated by the measured threads and the carrier threads since the measurement started
+     */
+    long stop() {
+        long total = exited.sum();
+        long[] ids = baselines.keySet().stream().mapToLong(Long::longValue).toArray();
+        long[] allocated = threads.getThreadAllocatedBytes(ids);
+        for (int i = 0; i < ids.length; i++) {
+            if (allocated[i] >= 0) {
+                total += allocated[i] - baselines.get(ids[i]);
+            }
+        }
+        for (Map.Entry<Long, Long> carrier : carriers(threads).entrySet()) {
+            total += carrier.getValue() - carrierBaselines.getOrDefault(carrier.getKey(), 0L);
+        }
+        return total;
+    }
+
+    private static Map<Long, Long> carriers(com.sun.management.ThreadMXBean threads) {
+        Map<Long, Long> carriers = new HashMap<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (CARRIER_THREAD.equals(thread.getClass().getName())) {
+                long allocated = threads.getThreadAllocatedBytes(thread.getId());
+                if (allocated >= 0) {
+                    carriers.put(thread.getId(), allocated);
+                }
+            }
+        }
+        return carriers;
+    }
+}
@@ -0,0 +1,30 @@
+package example;
+
+import io.micronaut.scheduling.LoomSupport;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+@MicronautTest
+class LoadTestRunnerTest {
+
+    @Inject
+    LoadTestRunner runner;
+
+    @Test
+    void testRunAllModes() {
+        List<LoadTestReport> reports = runner.run();
+
+        Assertions.assertEquals(LoomSupport.isSupported() ? 4 : 3, reports.size());
+        for (LoadTestReport report : reports) {
+            Assertions.assertEquals(500, report.getOperations());
+            Assertions.assertEquals(8, report.getConcurrency());
+            Assertions.assertEquals(0, report.getErrors(), report.toString());
+            Assertions.assertTrue(report.getThroughput() > 0, report.toString());
+            Assertions.assertTrue(report.getP50Nanos() <= report.getP99Nanos(), report.toString());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package example;
+
+import io.micronaut.configuration.mongo.core.AbstractMongoConfiguration;
+import io.micronaut.configuration.mongo.core.monitor.MongoClientMonitor;
+import io.micronaut.configuration.mongo.core.monitor.ServerStatistics;
+import io.micronaut.configuration.mongo.sync.virtual.MongoPinningDetector;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.util.List;
+
+// the throughput of platform and virtual threads is compared by running the application with the scaling environment
+@MicronautTest
+@EnabledForJreRange(min = JRE.JAVA_21)
+@Property(name = "mongodb.connection-pool.max-size", value = "4")
+@Property(name = "mongodb.virtual-threads.enabled", value = "true")
+@Property(name = "mongodb.virtual-threads.pinning-threshold", value = "0ms")
+@Property(name = "loadtest.modes", value = "SYNC_VIRTUAL")
+@Property(name = "loadtest.operations", value = "4000")
+@Property(name = "loadtest.concurrency-levels", value = "2000")
+class VirtualThreadScalingTest {
+
+    @Inject
+    LoadTestRunner runner;
+
+    @Inject
+    MongoPinningDetector pinningDetector;
+
+    @Inject
+    AbstractMongoConfiguration mongoConfiguration;
+
+    @Test
+    void testVirtualThreadsQueueForThePoolWithoutPinning() {
+        pinningDetector.reset();
+
+        List<LoadTestReport> reports = runner.run();
+
+        Assertions.assertEquals(1, reports.size());
+        LoadTestReport report = reports.get(0);
+        Assertions.assertEquals(2000, report.getConcurrency());
+        Assertions.assertEquals(4000, report.getOperations());
+        Assertions.assertEquals(0, report.getErrors(), report.toString());
+        // 2000 virtual threads share 4 connections: every check out eventually succeeds and no carrier is pinned
+        for (MongoClientMonitor monitor : mongoConfiguration.getMonitors()) {
+            for (ServerStatistics server : monitor.getServers()) {
+                Assertions.assertTrue(server.getConnections() <= 4, server.getAddress() + " has " + server.getConnections() + " connections");
+                Assertions.assertEquals(0, server.getCheckOutFailures(), server.getAddress() + " failed check outs");
+            }
+        }
+        Assertions.assertTrue(pinningDetector.isActive());
+        Assertions.assertEquals(0, pinningDetector.getPinnedCount(), pinningDetector.getPinnedOperations().toString());
+    }
+}
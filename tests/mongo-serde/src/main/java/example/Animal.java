@@ -0,0 +1,30 @@
+package example;
+
+import io.micronaut.serde.annotation.Serdeable;
+import org.bson.codecs.pojo.annotations.BsonDiscriminator;
+import org.bson.codecs.pojo.annotations.BsonId;
+import org.bson.types.ObjectId;
+
+@Serdeable
+@BsonDiscriminator
+public abstract class Animal {
+    @BsonId
+    private ObjectId id;
+    private final String name;
+
+    protected Animal(String name) {
+        this.name = name;
+    }
+
+    public ObjectId getId() {
+        return id;
+    }
+
+    public void setId(ObjectId id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,19 @@
+package example;
+
+import io.micronaut.serde.annotation.Serdeable;
+import org.bson.codecs.pojo.annotations.BsonDiscriminator;
+
+@Serdeable
+@BsonDiscriminator("cat")
+public class Cat extends Animal {
+    private final int lives;
+
+    public Cat(String name, int lives) {
+        super(name);
+        this.lives = lives;
+    }
+
+    public int getLives() {
+        return lives;
+    }
+}
@@ -0,0 +1,19 @@
+package example;
+
+import io.micronaut.serde.annotation.Serdeable;
+import org.bson.codecs.pojo.annotations.BsonDiscriminator;
+
+@Serdeable
+@BsonDiscriminator("dog")
+public class Dog extends Animal {
+    private final boolean goodBoy;
+
+    public Dog(String name, boolean goodBoy) {
+        super(name);
+        this.goodBoy = goodBoy;
+    }
+
+    public boolean isGoodBoy() {
+        return goodBoy;
+    }
+}
@@ -1,5 +1,20 @@
 package example;
 
+import com.mongodb.client.MongoClient;
+import io.micronaut.configuration.mongo.test.QueryPlanRecorder;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+
 public abstract class AbstractMongoSpec {
 
+    @Inject
+    QueryPlanRecorder queryPlanRecorder;
+
+    @Inject
+    MongoClient queryPlanClient;
+
+    @AfterEach
+    void verifyQueryPlans() {
+        queryPlanRecorder.assertPlans(queryPlanClient);
+    }
 }
@@ -0,0 +1,56 @@
+package example;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Sorts;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@MicronautTest
+class AnimalTest extends AbstractMongoSpec {
+
+    @Inject
+    MongoClient mongoClient;
+
+    @Test
+    void testPolymorphicCrud() {
+        MongoDatabase defaultDatabase = mongoClient.getDatabase("default");
+        MongoCollection<Animal> animals = defaultDatabase.getCollection("animals", Animal.class);
+        animals.createIndex(Indexes.ascending("_t"));
+        animals.insertMany(List.of(new Dog("Rex", true), new Cat("Tom", 9)));
+
+        List<Animal> found = animals.find().sort(Sorts.ascending("_t")).into(new ArrayList<>());
+        Assertions.assertEquals(2, found.size());
+        Cat cat = Assertions.assertInstanceOf(Cat.class, found.get(0));
+        Assertions.assertEquals(9, cat.getLives());
+        Dog dog = Assertions.assertInstanceOf(Dog.class, found.get(1));
+        Assertions.assertEquals("Rex", dog.getName());
+        Assertions.assertTrue(dog.isGoodBoy());
+        Assertions.assertNotNull(dog.getId());
+
+        BsonDocument raw = defaultDatabase.getCollection("animals", BsonDocument.class).find(Filters.eq("_t", "dog")).first();
+        Assertions.assertEquals("_t", raw.getFirstKey());
+        Assertions.assertEquals("Rex", raw.getString("name").getValue());
+
+        MongoCollection<Cat> cats = defaultDatabase.getCollection("animals", Cat.class);
+        Cat foundCat = cats.find(Filters.eq("_t", "cat")).first();
+        Assertions.assertEquals("Tom", foundCat.getName());
+    }
+
+    @AfterAll
+    void cleanup() {
+        mongoClient.getDatabase("default").getCollection("animals").drop();
+    }
+}